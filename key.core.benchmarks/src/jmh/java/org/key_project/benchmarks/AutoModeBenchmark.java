@@ -0,0 +1,66 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.speclang.Contract;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Full auto mode runs on the proof obligations of the {@code key.core.example} sources.
+ * {@code add} is provable, the auto mode stops with open goals on the erroneous {@code sub}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class AutoModeBenchmark {
+    /**
+     * The example method whose contract is proven.
+     */
+    @Param({ "add", "sub" })
+    public String method;
+
+    private KeYEnvironment<?> env;
+    private Contract contract;
+    private Proof proof;
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        contract = ExampleProblems.contract(env, method);
+    }
+
+    @Setup(Level.Invocation)
+    public void createProof() throws Exception {
+        proof = ExampleProblems.createProof(env, contract, ExampleProblems.MAX_STEPS);
+    }
+
+    @TearDown(Level.Invocation)
+    public void disposeProof() {
+        proof.dispose();
+    }
+
+    @TearDown
+    public void tearDown() {
+        env.dispose();
+    }
+
+    /**
+     * Run the auto mode until it stops.
+     *
+     * @return the number of rule applications
+     */
+    @Benchmark
+    public int autoMode() {
+        ExampleProblems.runAutoMode(env, proof);
+        return proof.countNodes();
+    }
+}
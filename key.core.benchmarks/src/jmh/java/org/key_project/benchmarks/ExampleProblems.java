@@ -0,0 +1,150 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.io.File;
+import java.util.*;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.logic.op.IObserverFunction;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.settings.ChoiceSettings;
+import de.uka.ilkd.key.settings.ProofSettings;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+import de.uka.ilkd.key.util.KeYTypeUtil;
+import de.uka.ilkd.key.util.MiscTools;
+
+/**
+ * The fixed set of problems the benchmarks work on: the contracts of the Java sources of the
+ * {@code key.core.example} project. The location of the sources is given by the system property
+ * {@value #EXAMPLES_PROPERTY} (set by the build script), the contracts are identified by the name
+ * of the specified method.
+ */
+final class ExampleProblems {
+    /**
+     * System property pointing to the directory with the example sources.
+     */
+    static final String EXAMPLES_PROPERTY = "key.benchmarks.examples";
+
+    /**
+     * Maximal number of rule applications of a single auto mode run.
+     */
+    static final int MAX_STEPS = 10000;
+
+    private ExampleProblems() {
+    }
+
+    /**
+     * Load the example sources with the default taclet options.
+     *
+     * @return the environment of the example sources
+     * @throws ProblemLoaderException if the sources cannot be loaded
+     */
+    static KeYEnvironment<DefaultUserInterfaceControl> load() throws ProblemLoaderException {
+        final String location = System.getProperty(EXAMPLES_PROPERTY, "example");
+        final File examples = new File(location);
+        if (!examples.isDirectory()) {
+            throw new IllegalStateException("Example sources not found at " + location
+                + ", set the system property " + EXAMPLES_PROPERTY);
+        }
+        if (!ProofSettings.isChoiceSettingInitialised()) {
+            KeYEnvironment.load(examples, null, null, null).dispose();
+        }
+        final ChoiceSettings choiceSettings = ProofSettings.DEFAULT_SETTINGS.getChoiceSettings();
+        final Map<String, String> choices = new HashMap<>(choiceSettings.getDefaultChoices());
+        choices.putAll(MiscTools.getDefaultTacletOptions());
+        choiceSettings.setDefaultChoices(choices);
+        return KeYEnvironment.load(examples, null, null, null);
+    }
+
+    /**
+     * Find the contract of the example method with the given name.
+     *
+     * @param env the environment of the example sources
+     * @param method name of the specified method
+     * @return the first contract of the method
+     */
+    static Contract contract(KeYEnvironment<?> env, String method) {
+        for (KeYJavaType type : env.getJavaInfo().getAllKeYJavaTypes()) {
+            if (KeYTypeUtil.isLibraryClass(type)) {
+                continue;
+            }
+            for (IObserverFunction target : env.getSpecificationRepository()
+                    .getContractTargets(type)) {
+                if (target.name().toString().endsWith("::" + method)) {
+                    for (Contract contract : env.getSpecificationRepository().getContracts(type,
+                        target)) {
+                        return contract;
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("No contract for the example method " + method);
+    }
+
+    /**
+     * Create the proof obligation of a contract with the strategy settings of the
+     * {@code key.core.example} application.
+     *
+     * @param env the environment of the example sources
+     * @param contract the contract
+     * @param maxSteps maximal number of rule applications of the auto mode
+     * @return the new proof
+     * @throws ProofInputException if the proof obligation cannot be created
+     */
+    static Proof createProof(KeYEnvironment<?> env, Contract contract, int maxSteps)
+            throws ProofInputException {
+        final Proof proof =
+            env.createProof(contract.createProofObl(env.getInitConfig(), contract));
+        final StrategyProperties sp =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        sp.setProperty(StrategyProperties.METHOD_OPTIONS_KEY, StrategyProperties.METHOD_CONTRACT);
+        sp.setProperty(StrategyProperties.DEP_OPTIONS_KEY, StrategyProperties.DEP_ON);
+        sp.setProperty(StrategyProperties.QUERY_OPTIONS_KEY, StrategyProperties.QUERY_ON);
+        sp.setProperty(StrategyProperties.NON_LIN_ARITH_OPTIONS_KEY,
+            StrategyProperties.NON_LIN_ARITH_DEF_OPS);
+        sp.setProperty(StrategyProperties.STOPMODE_OPTIONS_KEY,
+            StrategyProperties.STOPMODE_NONCLOSE);
+        proof.getSettings().getStrategySettings().setActiveStrategyProperties(sp);
+        proof.getSettings().getStrategySettings().setMaxSteps(maxSteps);
+        proof.setActiveStrategy(
+            proof.getServices().getProfile().getDefaultStrategyFactory().create(proof, sp));
+        return proof;
+    }
+
+    /**
+     * Create the proof obligation of a contract and run the auto mode for a few steps, so the
+     * open goals have sequents as they occur in the middle of a proof.
+     *
+     * @param env the environment of the example sources
+     * @param method name of the specified method
+     * @param steps number of rule applications
+     * @return the partial proof
+     * @throws ProofInputException if the proof obligation cannot be created
+     */
+    static Proof partialProof(KeYEnvironment<?> env, String method, int steps)
+            throws ProofInputException {
+        final Proof proof = createProof(env, contract(env, method), steps);
+        runAutoMode(env, proof);
+        if (proof.closed()) {
+            throw new IllegalStateException("The proof closed within " + steps + " steps");
+        }
+        return proof;
+    }
+
+    /**
+     * Run the auto mode on a proof until it stops.
+     *
+     * @param env the environment of the proof
+     * @param proof the proof
+     */
+    static void runAutoMode(KeYEnvironment<?> env, Proof proof) {
+        env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+    }
+}
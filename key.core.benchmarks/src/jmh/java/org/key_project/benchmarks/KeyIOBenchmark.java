@@ -0,0 +1,66 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.net.URL;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.nparser.KeyIO;
+import de.uka.ilkd.key.proof.init.JavaProfile;
+import de.uka.ilkd.key.proof.init.Profile;
+import de.uka.ilkd.key.proof.io.RuleSourceFactory;
+import de.uka.ilkd.key.rule.Taclet;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Parsing of the built-in rule files by {@link KeyIO}. The rule file is loaded together with
+ * all files it includes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class KeyIOBenchmark {
+    /**
+     * The built-in rule file.
+     */
+    @Param({ "standardRules.key" })
+    public String ruleFile;
+
+    private Profile profile;
+    private URL url;
+
+    @Setup
+    public void setUp() throws Exception {
+        profile = JavaProfile.getDefaultInstance();
+        url = RuleSourceFactory.fromBuiltInRule(ruleFile).url();
+    }
+
+    /**
+     * Parse the files into syntax trees.
+     *
+     * @return the loader holding the syntax trees
+     * @throws Exception if the files cannot be parsed
+     */
+    @Benchmark
+    public KeyIO.Loader parse() throws Exception {
+        return new KeyIO(new Services(profile)).load(url).parseFile();
+    }
+
+    /**
+     * Parse the files, evaluate their declarations and build the taclets.
+     *
+     * @return the taclets
+     * @throws Exception if the files cannot be loaded
+     */
+    @Benchmark
+    public List<Taclet> loadTaclets() throws Exception {
+        return new KeyIO(new Services(profile)).load(url).loadComplete();
+    }
+}
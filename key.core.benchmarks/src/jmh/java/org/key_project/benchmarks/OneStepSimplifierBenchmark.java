@@ -0,0 +1,105 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.OneStepSimplifier;
+import de.uka.ilkd.key.util.MiscTools;
+
+import org.key_project.util.collection.ImmutableList;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Application of the {@link OneStepSimplifier} to a formula of an open goal. The proof is pruned
+ * back to the goal after every application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OneStepSimplifierBenchmark {
+    /**
+     * The example method whose proof obligation provides the goal.
+     */
+    @Param({ "sub" })
+    public String method;
+
+    /**
+     * Number of rule applications before an open goal is taken.
+     */
+    @Param({ "0" })
+    public int steps;
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+    private OneStepSimplifier simplifier;
+    private Node node;
+    private PosInOccurrence pos;
+    private Goal goal;
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        proof = ExampleProblems.partialProof(env, method, steps);
+        simplifier = MiscTools.findOneStepSimplifier(proof);
+        for (Goal open : proof.openGoals()) {
+            pos = applicablePosition(open);
+            if (pos != null) {
+                node = open.node();
+                return;
+            }
+        }
+        throw new IllegalStateException("The one step simplifier is not applicable");
+    }
+
+    private PosInOccurrence applicablePosition(Goal open) {
+        final Sequent sequent = open.sequent();
+        for (SequentFormula sf : sequent) {
+            final PosInOccurrence candidate = new PosInOccurrence(sf, PosInTerm.getTopLevel(),
+                sequent.antecedent().contains(sf));
+            if (simplifier.isApplicable(open, candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    @Setup(Level.Invocation)
+    public void reopen() {
+        goal = proof.getOpenGoal(node);
+    }
+
+    @TearDown(Level.Invocation)
+    public void prune() {
+        proof.pruneProof(node);
+    }
+
+    @TearDown
+    public void tearDown() {
+        proof.dispose();
+        env.dispose();
+    }
+
+    /**
+     * Simplify the formula.
+     *
+     * @return the new goal
+     */
+    @Benchmark
+    public ImmutableList<Goal> apply() {
+        return goal.apply(simplifier.createApp(pos, proof.getServices()));
+    }
+}
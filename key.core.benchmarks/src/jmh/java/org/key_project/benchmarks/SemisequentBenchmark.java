@@ -0,0 +1,96 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.TermBuilder;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Insertion and replacement of formulas in a {@link Semisequent}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SemisequentBenchmark {
+    /**
+     * Number of formulas of the semisequent.
+     */
+    @Param({ "10", "100" })
+    public int size;
+
+    private KeYEnvironment<?> env;
+    private SequentFormula[] formulas;
+    private SequentFormula[] replacements;
+    private Semisequent full;
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        final TermBuilder tb = env.getServices().getTermBuilder();
+        formulas = new SequentFormula[size];
+        replacements = new SequentFormula[size];
+        full = Semisequent.EMPTY_SEMISEQUENT;
+        for (int i = 0; i < size; i++) {
+            formulas[i] = new SequentFormula(tb.gt(tb.zTerm(i), tb.zTerm(0)));
+            replacements[i] = new SequentFormula(tb.lt(tb.zTerm(i), tb.zTerm(0)));
+            full = full.insertLast(formulas[i]).semisequent();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        env.dispose();
+    }
+
+    /**
+     * Build the semisequent by inserting its formulas one after another.
+     *
+     * @return the built semisequent
+     */
+    @Benchmark
+    public Semisequent insertLast() {
+        Semisequent result = Semisequent.EMPTY_SEMISEQUENT;
+        for (SequentFormula formula : formulas) {
+            result = result.insertLast(formula).semisequent();
+        }
+        return result;
+    }
+
+    /**
+     * Build the semisequent by inserting its formulas at the front.
+     *
+     * @return the built semisequent
+     */
+    @Benchmark
+    public Semisequent insertFirst() {
+        Semisequent result = Semisequent.EMPTY_SEMISEQUENT;
+        for (int i = formulas.length - 1; i >= 0; i--) {
+            result = result.insertFirst(formulas[i]).semisequent();
+        }
+        return result;
+    }
+
+    /**
+     * Replace every formula of the full semisequent.
+     *
+     * @return the semisequent with all formulas replaced
+     */
+    @Benchmark
+    public Semisequent replace() {
+        Semisequent result = full;
+        for (int i = 0; i < replacements.length; i++) {
+            result = result.replace(i, replacements[i]).semisequent();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,109 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentChangeInfo;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.TacletAppIndex;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Construction and incremental update of the {@link TacletAppIndex} of an open goal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TacletAppIndexBenchmark {
+    /**
+     * The example method whose proof obligation provides the goal.
+     */
+    @Param({ "sub" })
+    public String method;
+
+    /**
+     * Number of rule applications before the first open goal is taken.
+     */
+    @Param({ "50" })
+    public int steps;
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+    private TacletAppIndex index;
+    /**
+     * The sequent the index is currently up-to-date with.
+     */
+    private Sequent sequent;
+    /**
+     * The first succedent formula of the goal.
+     */
+    private PosInOccurrence original;
+    /**
+     * The double negation of {@link #original}, which replaces it in the update benchmark.
+     */
+    private PosInOccurrence negated;
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        proof = ExampleProblems.partialProof(env, method, steps);
+        final Goal goal = proof.openGoals().head();
+        index = new TacletAppIndex(goal.ruleAppIndex().tacletIndex(), goal, proof.getServices());
+        index.fillCache();
+
+        sequent = goal.sequent();
+        final SequentFormula formula = sequent.succedent().getFirst();
+        final TermBuilder tb = proof.getServices().getTermBuilder();
+        original = new PosInOccurrence(formula, PosInTerm.getTopLevel(), false);
+        negated = new PosInOccurrence(new SequentFormula(tb.not(tb.not(formula.formula()))),
+            PosInTerm.getTopLevel(), false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        proof.dispose();
+        env.dispose();
+    }
+
+    /**
+     * Compute the index of the whole sequent with an empty cache.
+     *
+     * @return the filled index
+     */
+    @Benchmark
+    public TacletAppIndex createAll() {
+        index.clearAndDetachCache();
+        index.fillCache();
+        return index;
+    }
+
+    /**
+     * Update the index after a formula has been replaced, and after it has been put back.
+     *
+     * @return the updated index
+     */
+    @Benchmark
+    public TacletAppIndex sequentChanged() {
+        final SequentChangeInfo change =
+            sequent.changeFormula(negated.sequentFormula(), original);
+        index.sequentChanged(change);
+        final SequentChangeInfo revert =
+            change.sequent().changeFormula(original.sequentFormula(), negated);
+        index.sequentChanged(revert);
+        sequent = revert.sequent();
+        return index;
+    }
+}
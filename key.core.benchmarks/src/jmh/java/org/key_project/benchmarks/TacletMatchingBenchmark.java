@@ -0,0 +1,104 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.SchemaVariable;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.FindTaclet;
+import de.uka.ilkd.key.rule.MatchConditions;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.match.vm.VMTacletMatcher;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Matching of the find parts of all active taclets against the subterms of an open goal by the
+ * {@link VMTacletMatcher}.
+ * <p>
+ * Like the taclet index, the candidates are restricted to the taclets whose find term has the
+ * same top level operator as the subterm (or a schema variable).
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TacletMatchingBenchmark {
+    /**
+     * The example method whose proof obligation provides the terms.
+     */
+    @Param({ "sub" })
+    public String method;
+
+    /**
+     * Number of rule applications before the terms are taken from the first open goal.
+     */
+    @Param({ "50" })
+    public int steps;
+
+    private KeYEnvironment<?> env;
+    private Proof proof;
+    private Services services;
+    private final List<Term> terms = new ArrayList<>();
+    private final List<FindTaclet> taclets = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        proof = ExampleProblems.partialProof(env, method, steps);
+        services = proof.getServices();
+        final Goal goal = proof.openGoals().head();
+        for (SequentFormula sf : goal.sequent()) {
+            collectSubterms(sf.formula());
+        }
+        for (Taclet taclet : proof.getInitConfig().activatedTaclets()) {
+            if (taclet instanceof FindTaclet findTaclet) {
+                taclets.add(findTaclet);
+            }
+        }
+    }
+
+    private void collectSubterms(Term term) {
+        terms.add(term);
+        for (Term sub : term.subs()) {
+            collectSubterms(sub);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        proof.dispose();
+        env.dispose();
+    }
+
+    /**
+     * Match all candidate taclets against all subterms.
+     *
+     * @param blackhole consumer of the match results
+     */
+    @Benchmark
+    public void matchFind(Blackhole blackhole) {
+        for (Term term : terms) {
+            for (FindTaclet taclet : taclets) {
+                final Term find = taclet.find();
+                if (find.op() == term.op() || find.op() instanceof SchemaVariable) {
+                    blackhole.consume(taclet.getMatcher().matchFind(term,
+                        MatchConditions.EMPTY_MATCHCONDITIONS, services));
+                }
+            }
+        }
+    }
+}
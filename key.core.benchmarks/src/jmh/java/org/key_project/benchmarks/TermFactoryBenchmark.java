@@ -0,0 +1,77 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.TermFactory;
+import de.uka.ilkd.key.logic.op.JFunction;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Creation of terms by {@link TermFactory#createTerm(org.key_project.logic.op.Operator, Term...)}
+ * with and without the term cache shared by the proofs of an environment.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TermFactoryBenchmark {
+    /**
+     * Number of leaves of the created terms.
+     */
+    private static final int LEAVES = 64;
+
+    /**
+     * Whether the factory uses the term cache of the services.
+     */
+    @Param({ "true", "false" })
+    public boolean cached;
+
+    private KeYEnvironment<?> env;
+    private TermFactory factory;
+    private JFunction add;
+    private Term[] leaves;
+
+    @Setup
+    public void setUp() throws Exception {
+        env = ExampleProblems.load();
+        final Services services = env.getServices();
+        factory = cached ? services.getTermFactory() : new TermFactory();
+        add = services.getTypeConverter().getIntegerLDT().getAdd();
+        leaves = new Term[LEAVES];
+        for (int i = 0; i < LEAVES; i++) {
+            leaves[i] = services.getTermBuilder().zTerm(i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        env.dispose();
+    }
+
+    /**
+     * Create a balanced sum of integer literals.
+     *
+     * @return the created term
+     */
+    @Benchmark
+    public Term createBalancedSum() {
+        return sum(0, LEAVES);
+    }
+
+    private Term sum(int from, int to) {
+        if (to - from == 1) {
+            return leaves[from];
+        }
+        final int middle = (from + to) >>> 1;
+        return factory.createTerm(add, sum(from, middle), sum(middle, to));
+    }
+}
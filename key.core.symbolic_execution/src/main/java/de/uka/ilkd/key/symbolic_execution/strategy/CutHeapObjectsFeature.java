@@ -49,6 +49,7 @@ public class CutHeapObjectsFeature extends BinaryFeature {
                 Term cutFormulaC0 = cutFormula.sub(0);
                 Term cutFormulaC1 = cutFormula.sub(1);
                 boolean contains = false;
+                mState.markGoalDependent();
                 Iterator<SequentFormula> iter = goal.sequent().iterator();
                 while (!contains && iter.hasNext()) {
                     Term formula = iter.next().formula();
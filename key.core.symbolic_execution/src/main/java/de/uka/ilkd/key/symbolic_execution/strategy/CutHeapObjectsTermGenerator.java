@@ -36,6 +36,7 @@ public class CutHeapObjectsTermGenerator implements TermGenerator {
     public Iterator<Term> generate(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
         // Compute collect terms of sequent formulas
+        mState.markGoalDependent();
         Sequent sequent = goal.sequent();
         Set<Term> topTerms = new LinkedHashSet<>();
         for (SequentFormula sf : sequent) {
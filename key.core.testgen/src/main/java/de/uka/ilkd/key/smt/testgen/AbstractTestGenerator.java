@@ -5,6 +5,8 @@ package de.uka.ilkd.key.smt.testgen;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import de.uka.ilkd.key.control.UserInterfaceControl;
 import de.uka.ilkd.key.logic.Choice;
@@ -38,6 +40,7 @@ import de.uka.ilkd.key.smt.*;
 import de.uka.ilkd.key.smt.model.Model;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
+import de.uka.ilkd.key.testgen.ModelGenerator;
 import de.uka.ilkd.key.testgen.TestCaseGenerator;
 import de.uka.ilkd.key.util.ProofStarter;
 import de.uka.ilkd.key.util.SideProofUtil;
@@ -57,7 +60,8 @@ public abstract class AbstractTestGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTestGenerator.class);
     private final UserInterfaceControl ui;
     private final Proof originalProof;
-    private SolverLauncher launcher;
+    /** the models currently generated, null if no models are generated */
+    private volatile Stream<ModelGenerator.GeneratedModel> models;
     private List<Proof> proofs;
 
     /**
@@ -113,7 +117,7 @@ public abstract class AbstractTestGenerator {
         } else {
             log.writeln("No test data constraints were extracted.");
         }
-        final Collection<SMTProblem> problems = new LinkedList<>();
+        final List<Goal> goals = new LinkedList<>();
         log.writeln("Test data generation: appling semantic blasting macro on proofs");
         try {
             for (final Proof proof : proofs) {
@@ -133,7 +137,9 @@ public abstract class AbstractTestGenerator {
 
                     ptl.taskStarted(new DefaultTaskStartedInfo(TaskKind.Macro, macro.getName(), 0));
                     info = macro.applyTo(ui, proof, proof.openEnabledGoals(), null, ptl);
-                    problems.addAll(SMTProblem.createSMTProblems(proof));
+                    for (Goal goal : proof.openGoals()) {
+                        goals.add(goal);
+                    }
                 } catch (final InterruptedException e) {
                     LOGGER.debug("Semantics blasting interrupted");
                     log.writeln("\n Warning: semantics blasting was interrupted. "
@@ -163,22 +169,6 @@ public abstract class AbstractTestGenerator {
         // invoke z3 for counterexamples
         final DefaultSMTSettings smtsettings =
             new DefaultSMTSettings(pdSettings, piSettings, newSettings, proof);
-        launcher = new SolverLauncher(smtsettings);
-        launcher.addListener(new SolverLauncherListener() {
-            @Override
-            public void launcherStopped(SolverLauncher launcher,
-                    Collection<SMTSolver> finishedSolvers) {
-                handleLauncherStopped(launcher, finishedSolvers, log);
-            }
-
-            @Override
-            public void launcherStarted(Collection<SMTProblem> problems,
-                    Collection<SolverType> solverTypes, SolverLauncher launcher) {
-                handleLauncherStarted(problems, solverTypes, launcher, log);
-            }
-        });
-        final List<SolverType> solvers = new LinkedList<>();
-        solvers.add(SolverTypes.Z3_CE_SOLVER);
         SolverTypes.Z3_CE_SOLVER.checkForSupport();
         if (stopRequest != null && stopRequest.shouldStop()) {
             return;
@@ -186,7 +176,18 @@ public abstract class AbstractTestGenerator {
         if (Thread.interrupted()) {
             return;
         }
-        launcher.launch(solvers, problems, proof.getServices());
+        // each goal is translated once and solved in a solver session of its own, the test
+        // methods are generated while the models arrive
+        handleModelGenerationStarted(goals, log);
+        final Stream<ModelGenerator.GeneratedModel> generated =
+            ModelGenerator.generate(goals, 1, settings.getNumberOfProcesses(), smtsettings);
+        models = generated;
+        try {
+            handleModelsGenerated(generated, log);
+        } finally {
+            models = null;
+            generated.close();
+        }
     }
 
     protected void handleAllProofsPerformed(UserInterfaceControl ui) {
@@ -340,12 +341,94 @@ public abstract class AbstractTestGenerator {
     }
 
 
+    protected void handleModelGenerationStarted(Collection<Goal> goals, TestGenerationLog log) {
+        log.writeln("Test data generation: solving " + goals.size()
+            + " SMT problems... \n please wait...");
+    }
+
+    /**
+     * Generates the test files from the models while they are generated. Models which can not be
+     * used for test cases are skipped.
+     *
+     * @param models the generated models (see
+     *        {@link ModelGenerator#generate(Collection, int, int, DefaultSMTSettings)})
+     * @param log the log to write to
+     */
+    protected void handleModelsGenerated(Stream<ModelGenerator.GeneratedModel> models,
+            TestGenerationLog log) {
+        try {
+            final SolverStatistics statistics = new SolverStatistics();
+            final Iterator<ModelGenerator.GeneratedModel> usable = models.peek(statistics::add)
+                    .filter(m -> TestCaseGenerator.modelIsOK(m.model())).iterator();
+            if (usable.hasNext()) {
+                generateFiles(StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(usable, Spliterator.ORDERED), false), log,
+                    originalProof);
+                statistics.write(log);
+            } else {
+                statistics.write(log);
+                log.writeln("No test data was generated.");
+                informAboutNoTestResults(log, originalProof);
+            }
+            log.testGenerationCompleted();
+        } catch (Exception e) {
+            log.writeException(e);
+        }
+    }
+
+    protected void generateFiles(Stream<ModelGenerator.GeneratedModel> models,
+            TestGenerationLog log, Proof originalProof) throws IOException {
+        final TestCaseGenerator tg = new TestCaseGenerator(originalProof);
+        tg.setLogger(log);
+
+        tg.generateJUnitTestSuite(models);
+        if (tg.isJunit()) {
+            log.writeln("Compile the generated files using a Java compiler.");
+        } else {
+            log.writeln("Compile and run the file with openjml!");
+        }
+    }
+
+    /**
+     * This method is used in the Eclipse world to show a dialog with the log. By default, it
+     * delegates to the deprecated
+     * {@link #informAboutNoTestResults(SolverLauncher, Collection, TestGenerationLog, Proof)}
+     * such that existing subclasses keep working.
+     */
+    protected void informAboutNoTestResults(TestGenerationLog log, Proof originalProof) {
+        informAboutNoTestResults(null, Collections.emptyList(), log, originalProof);
+    }
+
+    /**
+     * This method is used in the Eclipse world to show a dialog with the log.
+     *
+     * @deprecated The solvers are no longer started by a {@link SolverLauncher}, override
+     *             {@link #informAboutNoTestResults(TestGenerationLog, Proof)} instead. The
+     *             launcher is always null and the solvers are empty.
+     */
+    @Deprecated
+    protected void informAboutNoTestResults(SolverLauncher launcher,
+            Collection<SMTSolver> problemSolvers, TestGenerationLog log, Proof originalProof) {
+    }
+
+    /**
+     * @deprecated Use {@link #handleModelGenerationStarted(Collection, TestGenerationLog)}. This
+     *             method is no longer called by the test generation.
+     */
+    @Deprecated
     protected void handleLauncherStarted(Collection<SMTProblem> problems,
             Collection<SolverType> solverTypes, SolverLauncher launcher, TestGenerationLog log) {
         log.writeln("Test data generation: solving " + problems.size()
             + " SMT problems... \n please wait...");
     }
 
+    /**
+     * Generates the test files from the results of the given solvers.
+     *
+     * @deprecated Use {@link #handleModelsGenerated(Stream, TestGenerationLog)}. This method is
+     *             no longer called by the test generation.
+     */
+    @Deprecated
     protected void handleLauncherStopped(SolverLauncher launcher,
             Collection<SMTSolver> problemSolvers, TestGenerationLog log) {
         try {
@@ -363,6 +446,10 @@ public abstract class AbstractTestGenerator {
         }
     }
 
+    /**
+     * @deprecated Use {@link #generateFiles(Stream, TestGenerationLog, Proof)}.
+     */
+    @Deprecated
     protected void generateFiles(Collection<SMTSolver> problemSolvers, TestGenerationLog log,
             Proof originalProof) throws IOException {
         final TestCaseGenerator tg = new TestCaseGenerator(originalProof);
@@ -377,12 +464,10 @@ public abstract class AbstractTestGenerator {
     }
 
     /**
-     * This method is used in the Eclipse world to show a dialog with the log.
+     * @deprecated The statistics of the test generation are written by
+     *             {@link #handleModelsGenerated(Stream, TestGenerationLog)}.
      */
-    protected void informAboutNoTestResults(SolverLauncher launcher,
-            Collection<SMTSolver> problemSolvers, TestGenerationLog log, Proof originalProof) {
-    }
-
+    @Deprecated
     public Collection<SMTSolver> filterSolverResultsAndShowSolverStatistics(
             Collection<SMTSolver> problemSolvers, TestGenerationLog log) {
         int unknown = 0;
@@ -430,12 +515,24 @@ public abstract class AbstractTestGenerator {
         return output;
     }
 
-    public void stopSMTLauncher() {
-        if (launcher != null) {
-            launcher.stop();
+    /**
+     * Stops the generation of models. The test files are generated from the models found so far.
+     */
+    public void stopModelGeneration() {
+        final Stream<ModelGenerator.GeneratedModel> running = models;
+        if (running != null) {
+            running.close();
         }
     }
 
+    /**
+     * @deprecated Use {@link #stopModelGeneration()}.
+     */
+    @Deprecated
+    public void stopSMTLauncher() {
+        stopModelGeneration();
+    }
+
     protected Proof getOriginalProof() {
         return originalProof;
     }
@@ -456,4 +553,43 @@ public abstract class AbstractTestGenerator {
     public static boolean isSolverAvailable() {
         return SolverTypes.Z3_CE_SOLVER.isInstalled(true);
     }
+
+    /**
+     * Counts the results of the model generation and writes them to the log.
+     */
+    private static final class SolverStatistics {
+        private int unknown;
+        private int infeasiblePaths;
+        private int solvedPaths;
+        private int problem;
+
+        void add(ModelGenerator.GeneratedModel generated) {
+            switch (generated.result()) {
+            case UNKNOWN -> unknown++;
+            case VALID -> infeasiblePaths++;
+            case FALSIFIABLE -> {
+                solvedPaths++;
+                if (!TestCaseGenerator.modelIsOK(generated.model())) {
+                    problem++;
+                }
+            }
+            }
+        }
+
+        void write(TestGenerationLog log) {
+            log.writeln("Finished solving SMT problems: "
+                + (unknown + infeasiblePaths + solvedPaths));
+            log.writeln("--- SMT Solver Results ---\n" + " solved pathconditions:" + solvedPaths
+                + "\n" + " invalid pre-/pathconditions:" + infeasiblePaths + "\n" + " unknown:"
+                + unknown);
+            if (problem > 0) {
+                log.writeln(" problems             :" + problem);
+            }
+            if (unknown > 0) {
+                log.writeln(
+                    " Adjust the SMT solver settings (e.g. timeout) in Options->SMT Solvers and restart key.\n Make sure you use Z3 version 4.3.1.");
+            }
+            log.writeln("----------------------");
+        }
+    }
 }
@@ -3,9 +3,19 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.testgen;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Namespace;
@@ -14,8 +24,8 @@ import de.uka.ilkd.key.logic.SequentFormula;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.TermBuilder;
 import de.uka.ilkd.key.logic.op.IProgramVariable;
-import de.uka.ilkd.key.logic.op.ProgramVariable;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.settings.DefaultSMTSettings;
 import de.uka.ilkd.key.settings.NewSMTTranslationSettings;
 import de.uka.ilkd.key.settings.ProofDependentSMTSettings;
@@ -23,7 +33,8 @@ import de.uka.ilkd.key.settings.ProofIndependentSMTSettings;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.settings.TestGenerationSettings;
 import de.uka.ilkd.key.smt.*;
-import de.uka.ilkd.key.smt.lang.SMTSort;
+import de.uka.ilkd.key.smt.communication.IncrementalSolverSession;
+import de.uka.ilkd.key.smt.communication.SolverProcessPool;
 import de.uka.ilkd.key.smt.model.Model;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
@@ -34,49 +45,196 @@ import org.key_project.util.collection.ImmutableSLList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-public class ModelGenerator implements SolverLauncherListener {
+/**
+ * Generates several different models (i.e., test data) for a goal. The goal is translated once
+ * and a single solver session is used for all models: after a model has been found, an assertion
+ * excluding the values of its integer constants is sent to the solver, which then is asked for
+ * the next model (see {@link IncrementalSolverSession}).
+ */
+public class ModelGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelGenerator.class);
 
+    /**
+     * A model generated for a node.
+     *
+     * @param node the node the model has been generated for
+     * @param model the model, null if no model has been found for the node
+     * @param result the result of the first check of the node
+     */
+    public record GeneratedModel(Node node, Model model,
+            SMTSolverResult.ThreeValuedTruth result) {
+    }
+
     private final Services services;
 
     private final Goal goal;
 
-    private int count;
-
-
     // models that have been found until now
     private final List<Model> models;
     // how many models we are looking for
     private final int target;
 
+    /** the SMT settings to use, null for the defaults of test generation */
+    private final DefaultSMTSettings settings;
+
+    /** the result of the first check of the goal */
+    private SMTSolverResult.ThreeValuedTruth firstResult =
+        SMTSolverResult.ThreeValuedTruth.UNKNOWN;
+
 
     public ModelGenerator(Goal s, int target, Services services) {
+        this(s, target, services, null);
+    }
+
+    /**
+     * Creates a model generator using the given SMT settings.
+     *
+     * @param s the goal to generate models for
+     * @param target the number of models to generate
+     * @param services the services of the goal
+     * @param settings the SMT settings, null for the defaults of test generation
+     */
+    public ModelGenerator(Goal s, int target, Services services, DefaultSMTSettings settings) {
         this.goal = s;
         this.services = services;
         this.target = target;
+        this.settings = settings;
         models = new LinkedList<>();
-        this.count = 0;
     }
 
+    /**
+     * Generates the models for the goals concurrently, using as many threads as solver processes
+     * are allowed by the {@link TestGenerationSettings}.
+     *
+     * @param goals the goals to generate models for
+     * @param target the number of models to generate per goal
+     * @return the generated models, ordered by goal; the stream blocks until the models of the
+     *         next goal are available
+     */
+    public static Stream<GeneratedModel> generate(Collection<Goal> goals, int target) {
+        return generate(goals, target, TestGenerationSettings.getInstance().getNumberOfProcesses(),
+            null);
+    }
 
     /**
-     * Try finding a model for the term with z3.
+     * Generates the models for the goals concurrently.
+     *
+     * @param goals the goals to generate models for
+     * @param target the number of models to generate per goal
+     * @param threads the maximal number of goals handled concurrently
+     * @param settings the SMT settings, null for the defaults of test generation
+     * @return the generated models, ordered by goal, with one entry without a model for each goal
+     *         for which no model has been found; the stream blocks until the models of the next
+     *         goal are available. Closing the stream stops the remaining solvers.
      */
-    public void launch() {
-        LOGGER.debug("Launch {}", count++);
-        SolverLauncher launcher = prepareLauncher();
-        SolverType solver = SolverTypes.Z3_CE_SOLVER;
-        SMTProblem problem = new SMTProblem(goal);
-        launcher.addListener(this);
-        launcher.launch(problem, services, solver);
+    public static Stream<GeneratedModel> generate(Collection<Goal> goals, int target,
+            int threads, DefaultSMTSettings settings) {
+        if (goals.isEmpty()) {
+            return Stream.empty();
+        }
+        final ExecutorService executor =
+            Executors.newFixedThreadPool(Math.max(1, Math.min(threads, goals.size())));
+        final List<Future<List<GeneratedModel>>> futures = new ArrayList<>();
+        for (Goal g : goals) {
+            futures.add(executor.submit(() -> {
+                final Node node = g.node();
+                final ModelGenerator generator =
+                    new ModelGenerator(g, target, g.proof().getServices(), settings);
+                final List<Model> found = generator.launch();
+                if (found.isEmpty()) {
+                    return List.of(new GeneratedModel(node, null, generator.getResult()));
+                }
+                return found.stream()
+                        .map(m -> new GeneratedModel(node, m, generator.getResult()))
+                        .collect(Collectors.toList());
+            }));
+        }
+        // the submitted tasks are still executed
+        executor.shutdown();
+        return futures.stream().flatMap(f -> await(f).stream()).onClose(() -> {
+            // tasks which have not started yet are never run after the shutdown, so they are
+            // cancelled such that waiting for them does not block
+            for (Future<List<GeneratedModel>> f : futures) {
+                f.cancel(true);
+            }
+            executor.shutdownNow();
+        });
+    }
+
+    private static List<GeneratedModel> await(Future<List<GeneratedModel>> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            LOGGER.warn("Model generation failed", e);
+            return List.of();
+        } catch (CancellationException e) {
+            // the stream has been closed
+            return List.of();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return List.of();
+        }
     }
 
     /**
-     * Creates a SolverLauncher with the appropriate settings.
+     * Try finding models for the goal with z3.
      *
-     * @return
+     * @return the models found, at most as many as requested
+     */
+    public List<Model> launch() {
+        final SolverType solver = SolverTypes.Z3_CE_SOLVER;
+        final DefaultSMTSettings settings =
+            this.settings != null ? this.settings : prepareSettings();
+        final long timeout = settings.getTimeout(solver);
+        final SolverProcessPool pool =
+            settings.reuseSolverProcesses() ? SolverProcessPool.getInstance() : null;
+
+        final SMTObjTranslator translator = new SMTObjTranslator(settings, services,
+            SMTObjTranslator.getTypeOfClassUnderTest(goal.proof()));
+        final ModelExtractor query;
+        final String problem;
+        try {
+            problem = translator.translateProblem(goal.sequent(), services, settings).toString();
+            query = translator.getQuery();
+        } catch (IllegalFormulaException e) {
+            LOGGER.warn("Goal can not be translated", e);
+            return models;
+        }
+
+        try (IncrementalSolverSession session = new IncrementalSolverSession(solver, query)) {
+            SMTSolverResult result = session.start(problem, pool, timeout);
+            firstResult = result.isValid();
+            while (result.isValid() == SMTSolverResult.ThreeValuedTruth.FALSIFIABLE
+                    && models.size() < target) {
+                models.add(query.getModel());
+                final String exclusion =
+                    excludeModel(programVariableValues(query.getIntConstantValues()));
+                if (exclusion == null || models.size() >= target) {
+                    break;
+                }
+                result = session.checkSat(exclusion, timeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            LOGGER.warn("Model generation failed", e);
+        }
+        finish();
+        return models;
+    }
+
+    /**
+     * @return the result of the first check of the goal, unknown if the goal has not been
+     *         checked (yet) or the check failed
      */
-    private SolverLauncher prepareLauncher() {
+    public SMTSolverResult.ThreeValuedTruth getResult() {
+        return firstResult;
+    }
+
+    /**
+     * Creates the SMT settings for test generation.
+     */
+    private DefaultSMTSettings prepareSettings() {
         final TestGenerationSettings settings = TestGenerationSettings.getInstance();
         final ProofIndependentSMTSettings piSettings =
             ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings().clone();
@@ -87,74 +245,48 @@ public class ModelGenerator implements SolverLauncherListener {
             ProofDependentSMTSettings.getDefaultSettingsData();
         pdSettings.setInvariantForall(settings.invariantForAll());
         // invoke z3 for counterexamples
-        final DefaultSMTSettings smtsettings =
-            new DefaultSMTSettings(pdSettings, piSettings, new NewSMTTranslationSettings(), null);
-        return new SolverLauncher(smtsettings);
+        return new DefaultSMTSettings(pdSettings, piSettings, new NewSMTTranslationSettings(),
+            null);
     }
 
-    @Override
-    public void launcherStopped(SolverLauncher launcher, Collection<SMTSolver> finishedSolvers) {
-
-        for (SMTSolver solver : finishedSolvers) {
-            SMTSolverResult result = solver.getFinalResult();
-            if (result.isValid().equals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE)
-                    && models.size() < target) {
-                Model model = solver.getSocket().getQuery().getModel();
-                models.add(model);
-                addModelToTerm(model);
-
-
-                if (models.size() >= target) {
-                    finish();
-                } else {
-                    launch();
-                }
-
-            } else {
-                finish();
+    /**
+     * Restricts the values of the integer constants of a model to the constants of program
+     * variables. Test cases only depend on those, so models differing only in constants
+     * introduced by the translation would lead to the same test case.
+     *
+     * @param values the values of the integer constants of the model
+     * @return the values of the constants of program variables
+     */
+    private Map<String, String> programVariableValues(Map<String, String> values) {
+        // the goal knows the program variables introduced on its branch
+        final Namespace<IProgramVariable> variables =
+            goal.getLocalNamespaces().programVariables();
+        final Map<String, String> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            if (variables.lookup(Model.removePipes(e.getKey())) != null) {
+                result.put(e.getKey(), e.getValue());
             }
         }
-
+        return result;
     }
 
-
-
     /**
-     * Changes the term such that when evaluated again with z3 another model will be generated. If
-     * we have a model (c1=v1 & c2 = v2 & ...) where c1, c2, ... are integer constants we change the
-     * term t to the following form: t & !(c1=v1 & c2 = v2 & ...)
+     * Creates an SMT formula which excludes the given model: If we have a model (c1=v1 & c2 = v2 &
+     * ...) where c1, c2, ... are integer constants, the formula is !(c1=v1 & c2 = v2 & ...).
      *
-     * @param m the model
-     * @return true if the term has been changed
+     * @param values the values of the integer constants of the model
+     * @return the formula, or null if there are no values
      */
-    private boolean addModelToTerm(Model m) {
-        TermBuilder tb = services.getTermBuilder();
-        Namespace<IProgramVariable> variables = services.getNamespaces().programVariables();
-        Term tmodel = tb.tt();
-        for (String c : m.getConstants().keySet()) {
-
-            SMTSort sort = m.getTypes().getTypeForConstant(c);
-
-            if (sort != null && sort.getId().equals(SMTObjTranslator.BINT_SORT)) {
-                String val = m.getConstants().get(c);
-                int value = Integer.parseInt(val);
-                ProgramVariable v = (ProgramVariable) variables.lookup(c);
-                Term termConst = tb.var(v);
-                Term termVal = tb.zTerm(value);
-                Term termEquals = tb.equals(termConst, termVal);
-                tmodel = tb.and(tmodel, termEquals);
-            }
+    private static String excludeModel(Map<String, String> values) {
+        if (values.isEmpty()) {
+            return null;
         }
-
-
-        if (!tmodel.equals(tb.tt())) {
-            Term notTerm = tb.not(tmodel);
-            SequentFormula sf = new SequentFormula(notTerm);
-            goal.addFormula(sf, true, true);
-            return true;
+        final List<String> equalities = new ArrayList<>();
+        for (Map.Entry<String, String> e : values.entrySet()) {
+            equalities.add("(= " + e.getKey() + " " + e.getValue() + ")");
         }
-        return false;
-
+        return equalities.size() == 1 ? "(not " + equalities.get(0) + ")"
+                : "(not (and " + String.join(" ", equalities) + "))";
     }
 
     private void finish() {
@@ -164,11 +296,6 @@ public class ModelGenerator implements SolverLauncherListener {
         }
     }
 
-    @Override
-    public void launcherStarted(Collection<SMTProblem> problems, Collection<SolverType> solverTypes,
-            SolverLauncher launcher) {
-    }
-
     public Term sequentToTerm(Sequent s) {
 
         ImmutableList<Term> ante = ImmutableSLList.nil();
@@ -6,6 +6,7 @@ package de.uka.ilkd.key.testgen;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.stream.Stream;
 
 import de.uka.ilkd.key.java.JavaInfo;
 import de.uka.ilkd.key.java.Services;
@@ -471,8 +472,22 @@ public class TestCaseGenerator {
     }
 
     public String generateJUnitTestSuite(Collection<SMTSolver> problemSolvers) throws IOException {
+        return generateJUnitTestSuite(problemSolvers.stream().map(TestCaseGenerator::toModel));
+    }
+
+    /**
+     * Generates a test suite from the given models, e.g. as generated by
+     * {@link ModelGenerator#generate(Collection, int)}. The test methods are generated while the
+     * stream provides the models.
+     *
+     * @param models the models, a null model denotes a node for which no model has been found
+     * @return the test suite
+     * @throws IOException if writing the files fails
+     */
+    public String generateJUnitTestSuite(Stream<ModelGenerator.GeneratedModel> models)
+            throws IOException {
         initFileName();
-        StringBuilder testSuite = createTestCaseCotent(problemSolvers);
+        StringBuilder testSuite = createTestCaseContent(models);
         writeToFile(fileName + JAVA_FILE_EXTENSION_WITH_DOT, testSuite);
         logger.writeln("Writing test file to:" + directory + modDir + File.separator + fileName
             + JAVA_FILE_EXTENSION_WITH_DOT);
@@ -504,29 +519,47 @@ public class TestCaseGenerator {
         }
     }
 
+    private static ModelGenerator.GeneratedModel toModel(SMTSolver solver) {
+        /*
+         * TODO:Warning this is wrong if we generate a test from an inner node (e.g. closed proof
+         * tree), because goals are mutable.
+         */
+        final Node node = solver.getProblem().getGoal().node();
+        return new ModelGenerator.GeneratedModel(node,
+            solver.getSocket().getQuery() != null ? solver.getSocket().getQuery().getModel()
+                    : null,
+            solver.getFinalResult().isValid());
+    }
+
     public StringBuilder createTestCaseCotent(Collection<SMTSolver> problemSolvers) {
+        return createTestCaseContent(problemSolvers.stream().map(TestCaseGenerator::toModel));
+    }
+
+    /**
+     * Creates the content of a test suite from the given models.
+     *
+     * @param models the models, a null model denotes a node for which no model has been found
+     * @return the content of the test suite
+     */
+    public StringBuilder createTestCaseContent(Stream<ModelGenerator.GeneratedModel> models) {
         // TODO: Include package definition (same as type containing the proof obligation)
         final StringBuilder testSuite = new StringBuilder();
         testSuite.append(getFilePrefix(fileName, packageName)).append(NEW_LINE);
         final StringBuilder testMethods = new StringBuilder();
         int i = 0;
-        for (final SMTSolver solver : problemSolvers) {
+        int count = 0;
+        for (final Iterator<ModelGenerator.GeneratedModel> it = models.iterator(); it.hasNext();) {
+            final ModelGenerator.GeneratedModel generated = it.next();
+            count++;
             try {
                 final StringBuilder testMethod = new StringBuilder();
-                final String originalNodeName = solver.getProblem().getGoal()
-                        /*
-                         * TODO:Warning this is wrong if we generate a test from an inner node (e.g.
-                         * closed proof tree), because goals are mutable. A Node should be used here
-                         * instead.
-                         */
-                        .proof().name().toString();
+                final String originalNodeName = generated.node().proof().name().toString();
                 boolean success = false;
-                if (solver.getSocket().getQuery() != null) {
-                    final Model m = solver.getSocket().getQuery().getModel();
+                if (generated.model() != null) {
+                    final Model m = generated.model();
                     if (TestCaseGenerator.modelIsOK(m)) {
                         logger.writeln("Generate: " + originalNodeName);
-                        Map<String, Sort> typeInfMap =
-                            generateTypeInferenceMap(solver.getProblem().getGoal().node());
+                        Map<String, Sort> typeInfMap = generateTypeInferenceMap(generated.node());
 
                         testMethod.append("  //").append(originalNodeName).append(NEW_LINE);
                         testMethod.append(getTestMethodSignature(i)).append("{").append(NEW_LINE);
@@ -570,7 +603,7 @@ public class TestCaseGenerator {
             logger.writeln(
                 "Warning: no test case was generated. Adjust the SMT solver settings (e.g. timeout) "
                     + "in Options->SMT Solvers.");
-        } else if (i < problemSolvers.size()) {
+        } else if (i < count) {
             logger.writeln("Warning: SMT solver could not solve all test data constraints. "
                 + "Adjust the SMT solver settings (e.g. timeout) in Options->SMT Solvers.");
         }
@@ -4,15 +4,30 @@
 package de.uka.ilkd.key.testcase.smt.testgen;
 
 import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.macros.TestGenMacro;
+import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.DefaultSMTSettings;
+import de.uka.ilkd.key.settings.NewSMTTranslationSettings;
+import de.uka.ilkd.key.settings.ProofDependentSMTSettings;
+import de.uka.ilkd.key.settings.ProofIndependentSettings;
+import de.uka.ilkd.key.smt.ModelExtractor;
+import de.uka.ilkd.key.smt.SMTObjTranslator;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.communication.IncrementalSolverSession;
+import de.uka.ilkd.key.smt.model.Model;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.suite.util.HelperClassForTestgenTests;
 import de.uka.ilkd.key.testcase.smt.ce.TestCommons;
+import de.uka.ilkd.key.testgen.ModelGenerator;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -56,7 +71,7 @@ public class TestTestgen extends TestCommons {
                 }
             }
         }
-        return isInstalled;
+        return !isInstalled;
     }
 
     public SolverType getSolverType() {
@@ -85,4 +100,68 @@ public class TestTestgen extends TestCommons {
         }
     }
 
+    @Test
+    public void testFurtherModelIsExtracted() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testFile, "middle.key"), null, null, null);
+        try {
+            Proof proof = env.getLoadedProof();
+            new TestGenMacro().applyTo(env.getUi(), proof, proof.openEnabledGoals(), null, null);
+            Goal goal = proof.openGoals().head();
+            Services services = proof.getServices();
+            DefaultSMTSettings settings = new DefaultSMTSettings(
+                ProofDependentSMTSettings.getDefaultSettingsData(),
+                ProofIndependentSettings.DEFAULT_INSTANCE.getSMTSettings().clone(),
+                new NewSMTTranslationSettings(), proof);
+            SMTObjTranslator translator = new SMTObjTranslator(settings, services,
+                services.getSpecificationRepository().getProofOblInput(proof).getContainerType());
+            String problem =
+                translator.translateProblem(goal.sequent(), services, settings).toString();
+            ModelExtractor query = translator.getQuery();
+
+            try (IncrementalSolverSession session =
+                new IncrementalSolverSession(getSolverType(), query)) {
+                assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+                    session.start(problem, null, 0).isValid());
+                Model first = query.getModel();
+                Map<String, String> firstValues = new HashMap<>(query.getIntConstantValues());
+                assertFalse(firstValues.isEmpty());
+
+                StringBuilder exclusion = new StringBuilder("(not (and true");
+                firstValues.forEach(
+                    (c, v) -> exclusion.append(" (= ").append(c).append(' ').append(v).append(')'));
+                exclusion.append("))");
+                assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+                    session.checkSat(exclusion.toString(), 0).isValid());
+                Model second = query.getModel();
+
+                // the first model is kept, the second one is extracted completely
+                assertNotSame(first, second);
+                assertEquals(firstValues.keySet(), query.getIntConstantValues().keySet());
+                assertNotEquals(firstValues, query.getIntConstantValues());
+                assertEquals(first.getConstants().keySet(), second.getConstants().keySet());
+            }
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    public void testModelGeneratorExcludesModels() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testFile, "middle.key"), null, null, null);
+        try {
+            Proof proof = env.getLoadedProof();
+            new TestGenMacro().applyTo(env.getUi(), proof, proof.openEnabledGoals(), null, null);
+            Goal goal = proof.openGoals().head();
+            List<Model> models = new ModelGenerator(goal, 2, proof.getServices()).launch();
+            assertEquals(2, models.size());
+            assertEquals(models.get(0).getConstants().keySet(),
+                models.get(1).getConstants().keySet());
+            assertNotEquals(models.get(0).getConstants(), models.get(1).getConstants());
+        } finally {
+            env.dispose();
+        }
+    }
+
 }
@@ -11,6 +11,7 @@ import de.uka.ilkd.key.control.instantiation_model.TacletInstantiationModel;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.*;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
 import de.uka.ilkd.key.prover.ProverTaskListener;
 import de.uka.ilkd.key.prover.TaskFinishedInfo;
@@ -590,7 +591,8 @@ public abstract class AbstractProofControl implements ProofControl {
      */
     @Override
     public synchronized void startAutoMode(Proof proof, ImmutableList<Goal> goals) {
-        startAutoMode(proof, goals, null);
+        // branches of a lazily loaded proof are replayed before they are searched
+        startAutoMode(proof, IntermediateProofReplayer.replayPendingGoals(proof, goals), null);
     }
 
     protected abstract void startAutoMode(Proof proof, ImmutableList<Goal> goals,
@@ -603,6 +605,14 @@ public abstract class AbstractProofControl implements ProofControl {
      */
     @Override
     public synchronized void startFocussedAutoMode(PosInOccurrence focus, Goal goal) {
+        final Proof proof = goal.proof();
+        final ImmutableList<Goal> goals = IntermediateProofReplayer.replayPendingGoals(proof,
+            ImmutableSLList.<Goal>nil().prepend(goal));
+        if (goals.size() != 1 || goals.head() != goal) {
+            // the goal belonged to a deferred branch of a lazily loaded proof: the focus refers to
+            // the sequent of a node which is no longer a goal, the recorded steps take its place
+            return;
+        }
         if (focus != null) {
             // exchange the rule app manager of that goal to filter rule apps
 
@@ -613,8 +623,7 @@ public abstract class AbstractProofControl implements ProofControl {
             goal.setRuleAppManager(focusManager);
         }
 
-        startAutoMode(goal.proof(), ImmutableSLList.<Goal>nil().prepend(goal),
-            new FocussedAutoModeTaskListener(goal.proof()));
+        startAutoMode(proof, goals, new FocussedAutoModeTaskListener(proof));
     }
 
     /**
@@ -0,0 +1,134 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.*;
+import java.lang.ref.SoftReference;
+import java.nio.charset.StandardCharsets;
+
+import de.uka.ilkd.key.java.recoderext.ExtendedIdentifier;
+
+import org.key_project.util.ConcurrentLRUCache;
+import org.key_project.util.java.IOUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import recoder.ParserException;
+import recoder.ProgramFactory;
+import recoder.convenience.TreeWalker;
+import recoder.java.CompilationUnit;
+import recoder.java.ProgramElement;
+
+/**
+ * Caches parsed compilation units by the hash of their source text, such that loading the same
+ * sources again (e.g., for another proof or after a change of some other file) does not parse them
+ * again.
+ * <p>
+ * The cache is shared by all {@link Recoder2KeY} instances, since the parser is shared as well and
+ * parsed compilation units do not depend on the services. It stores untransformed copies and hands
+ * out deep clones, hence the model transformations of a load do not affect other loads. Cached
+ * compilation units are softly referenced and may be reclaimed if memory gets low.
+ * </p>
+ */
+public final class CompilationUnitCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CompilationUnitCache.class);
+
+    /** the maximal number of cached compilation units */
+    public static final int MAX_ENTRIES = 10000;
+
+    private static final CompilationUnitCache INSTANCE = new CompilationUnitCache(MAX_ENTRIES);
+
+    /** the parsed compilation units by the program factory and the hash of the source text */
+    private final ConcurrentLRUCache<String, SoftReference<CompilationUnit>> units;
+
+    CompilationUnitCache(int maxEntries) {
+        units = new ConcurrentLRUCache<>(maxEntries);
+    }
+
+    /**
+     * @return the cache shared by all loads
+     */
+    public static CompilationUnitCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Parses a compilation unit from the given stream, or returns a copy of the compilation unit
+     * parsed before from the same source text by the same kind of program factory.
+     *
+     * @param factory the program factory used for parsing
+     * @param in the source text, encoded in UTF-8
+     * @return the compilation unit, which is not shared with any other caller
+     * @throws IOException if the stream can not be read
+     * @throws ParserException if the source text can not be parsed
+     */
+    public CompilationUnit parse(ProgramFactory factory, InputStream in)
+            throws IOException, ParserException {
+        final byte[] content = in.readAllBytes();
+        final String key = factory.getClass().getName() + ':' + IOUtil.sha256(content);
+        final SoftReference<CompilationUnit> ref = units.get(key);
+        final CompilationUnit cached = ref == null ? null : ref.get();
+        if (cached != null) {
+            return copy(cached);
+        }
+        final CompilationUnit result;
+        try (Reader reader = new BufferedReader(new InputStreamReader(
+            new ByteArrayInputStream(content), StandardCharsets.UTF_8))) {
+            result = factory.parseCompilationUnit(reader);
+        }
+        if (isCopyable(result)) {
+            try {
+                units.put(key, new SoftReference<>(copy(result)));
+            } catch (RuntimeException e) {
+                LOGGER.debug("Compilation unit can not be cached", e);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether all program elements of the unit are copied completely by
+     * {@link CompilationUnit#deepClone()}. This is the case for the elements of RECODER, but not
+     * for all KeY specific ones, which do not occur in usual source files.
+     */
+    private static boolean isCopyable(CompilationUnit unit) {
+        final TreeWalker walker = new TreeWalker(unit);
+        while (walker.next()) {
+            final ProgramElement element = walker.getProgramElement();
+            if (!(element instanceof ExtendedIdentifier)
+                    && !element.getClass().getName().startsWith("recoder.")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static CompilationUnit copy(CompilationUnit unit) {
+        // the data location is not copied, it is set by the caller
+        final CompilationUnit result = unit.deepClone();
+        result.makeAllParentRolesValid();
+        return result;
+    }
+
+    /**
+     * @return the number of cached compilation units, including those already reclaimed
+     */
+    public int size() {
+        return units.size();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of the cache
+     */
+    public ConcurrentLRUCache.Statistics getStatistics() {
+        return units.getStatistics();
+    }
+
+    /**
+     * Removes all cached compilation units.
+     */
+    public void clear() {
+        units.clear();
+    }
+}
@@ -5,7 +5,6 @@ package de.uka.ilkd.key.java;
 
 import java.io.*;
 import java.net.MalformedURLException;
-import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import java.util.*;
 
@@ -329,10 +328,8 @@ public class Recoder2KeY implements JavaReader {
      */
     private CompilationUnit readViaFileRepo(FileRepo fileRepo, String filename)
             throws ParseExceptionInFile {
-        try (InputStream is = fileRepo.getInputStream(Paths.get(filename));
-                Reader fr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
+        try (InputStream is = fileRepo.getInputStream(Paths.get(filename))) {
+            return CompilationUnitCache.getInstance().parse(servConf.getProgramFactory(), is);
         } catch (Throwable e) {
             // using throwable here since TokenMgrErrors are not Exceptions ...
             throw new ParseExceptionInFile(filename, e);
@@ -348,9 +345,8 @@ public class Recoder2KeY implements JavaReader {
      * @throws ParseExceptionInFile exceptions are wrapped into this to provide location information
      */
     private CompilationUnit readWithoutFileRepo(String filename) throws ParseExceptionInFile {
-        try (Reader fr = new FileReader(filename, StandardCharsets.UTF_8);
-                BufferedReader br = new BufferedReader(fr)) {
-            return servConf.getProgramFactory().parseCompilationUnit(br);
+        try (InputStream is = new FileInputStream(filename)) {
+            return CompilationUnitCache.getInstance().parse(servConf.getProgramFactory(), is);
         } catch (Exception e) {
             throw new ParseExceptionInFile(filename, e);
         }
@@ -539,11 +535,8 @@ public class Recoder2KeY implements JavaReader {
 
         while (walker.step()) {
             DataLocation loc = walker.getCurrentDataLocation();
-            try (InputStream is = walker.openCurrent(fileRepo);
-                    Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                    Reader f = new BufferedReader(isr)) {
-
-                recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
+            try (InputStream is = walker.openCurrent(fileRepo)) {
+                recoder.java.CompilationUnit rcu = CompilationUnitCache.getInstance().parse(pf, is);
                 rcu.setDataLocation(loc);
                 // done by parser : rcu.makeAllParentRolesValid();
                 rcuList.add(rcu);
@@ -607,11 +600,9 @@ public class Recoder2KeY implements JavaReader {
             FileCollection.Walker walker = fc.createWalker(".jml");
             while (walker.step()) {
                 currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
+                try (InputStream is = walker.openCurrent(fileRepo)) {
+                    recoder.java.CompilationUnit rcu =
+                        CompilationUnitCache.getInstance().parse(pf, is);
                     rcu.setDataLocation(currentDataLocation);
                     removeCodeFromClasses(rcu, false);
                     rcuList.add(rcu);
@@ -627,11 +618,9 @@ public class Recoder2KeY implements JavaReader {
             FileCollection.Walker walker = fc.createWalker(".java");
             while (walker.step()) {
                 currentDataLocation = walker.getCurrentDataLocation();
-                try (InputStream is = walker.openCurrent(fileRepo);
-                        Reader isr = new InputStreamReader(is, StandardCharsets.UTF_8);
-                        Reader f = new BufferedReader(isr)) {
-
-                    recoder.java.CompilationUnit rcu = pf.parseCompilationUnit(f);
+                try (InputStream is = walker.openCurrent(fileRepo)) {
+                    recoder.java.CompilationUnit rcu =
+                        CompilationUnitCache.getInstance().parse(pf, is);
                     rcu.setDataLocation(currentDataLocation);
                     removeCodeFromClasses(rcu, true);
                     rcuList.add(rcu);
@@ -3,10 +3,13 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.java;
 
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.WeakHashMap;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.Operator;
 import de.uka.ilkd.key.proof.Node;
@@ -22,11 +25,13 @@ import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.feature.AbstractBetaFeature.TermInfo;
 import de.uka.ilkd.key.strategy.feature.AppliedRuleAppsNameCache;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.ClausesGraph;
+import de.uka.ilkd.key.strategy.quantifierHeuristics.Instantiation;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.Metavariable;
 import de.uka.ilkd.key.strategy.quantifierHeuristics.TriggersSet;
+import de.uka.ilkd.key.util.SideProofCache;
 
 import org.key_project.logic.sort.Sort;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableSet;
 import org.key_project.util.collection.Pair;
 
@@ -76,10 +81,13 @@ public class ServiceCaches {
     public static final int MAX_TERM_TACLET_APP_INDEX_ENTRIES = 5000;
 
     /**
-     * The cache used by {@link TermTacletAppIndexCacheSet} instances.
+     * The cache used by {@link TermTacletAppIndexCacheSet} instances. The order of the rule
+     * applications found by the strategy depends on whether an index is taken from this cache.
+     * It therefore uses a single segment such that eviction does not depend on (identity) hash
+     * codes and proof search stays reproducible.
      */
-    private final Map<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
-        new LRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES);
+    private final ConcurrentLRUCache<CacheKey, TermTacletAppIndex> termTacletAppIndexCache =
+        new ConcurrentLRUCache<>(MAX_TERM_TACLET_APP_INDEX_ENTRIES, 1);
 
     /*
      * Table of formulas which could be splitted using the beta rule This is the cache the method
@@ -87,33 +95,52 @@ public class ServiceCaches {
      *
      * keys: Term values: TermInfo
      */
-    private final LRUCache<Term, TermInfo> betaCandidates = new LRUCache<>(1000);
+    private final ConcurrentLRUCache<Term, TermInfo> betaCandidates =
+        new ConcurrentLRUCache<>(1000);
 
-    private final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
-        new LRUCache<>(1000);
+    private final ConcurrentLRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        new ConcurrentLRUCache<>(1000);
 
-    private final LRUCache<Operator, Integer> introductionTimeCache =
-        new LRUCache<>(10000);
+    private final ConcurrentLRUCache<Operator, Integer> introductionTimeCache =
+        new ConcurrentLRUCache<>(10000);
 
-    private final LRUCache<Term, Monomial> monomialCache = new LRUCache<>(2000);
+    private final ConcurrentLRUCache<Term, Monomial> monomialCache =
+        new ConcurrentLRUCache<>(2000);
 
-    private final LRUCache<Term, Polynomial> polynomialCache = new LRUCache<>(2000);
+    private final ConcurrentLRUCache<Term, Polynomial> polynomialCache =
+        new ConcurrentLRUCache<>(2000);
 
     /**
      * a <code>HashMap</code> from <code>Term</code> to <code>TriggersSet</code> uses to cache all
      * created TriggersSets
      */
-    private final Map<Term, TriggersSet> triggerSetCache = new LRUCache<>(1000);
+    private final ConcurrentLRUCache<Term, TriggersSet> triggerSetCache =
+        new ConcurrentLRUCache<>(1000);
+
+    /**
+     * Map from the formulas of sequents to the head symbols of their ground subterms, used to
+     * skip matching triggers against formulas which can not contain an instance
+     */
+    private final ConcurrentLRUCache<Term, Set<Operator>> headSymbolCache =
+        new ConcurrentLRUCache<>(5000);
+
+    /**
+     * Map from a quantified formula and a sequent to the instances suggested by the triggers of
+     * the formula. Several entries are kept, since the strategy alternates between goals.
+     */
+    private final ConcurrentLRUCache<Pair<Term, Sequent>, Instantiation> instantiationCache =
+        new ConcurrentLRUCache<>(100);
 
     /**
      * Map from <code>Term</code>(allTerm) to <code>ClausesGraph</code>
      */
-    private final Map<Term, ClausesGraph> graphCache = new LRUCache<>(1000);
+    private final ConcurrentLRUCache<Term, ClausesGraph> graphCache =
+        new ConcurrentLRUCache<>(1000);
 
     /**
      * Cache used by the TermFactory to avoid unnecessary creation of terms
      */
-    private final Map<Term, Term> termCache = new LRUCache<>(20000);
+    private final ConcurrentLRUCache<Term, Term> termCache = new ConcurrentLRUCache<>(20000);
 
     /**
      * Cache used by TypeComparisonCondition
@@ -124,15 +151,17 @@ public class ServiceCaches {
     /**
      * Cache used by HandleArith for caching formatted terms
      */
-    private final LRUCache<Term, Term> formattedTermCache = new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Term, Term> formattedTermCache =
+        new ConcurrentLRUCache<>(5000);
 
     /**
      * Caches used bu HandleArith to cache proof results
      */
-    private final LRUCache<Term, Term> provedByArithFstCache = new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Term, Term> provedByArithFstCache =
+        new ConcurrentLRUCache<>(5000);
 
-    private final LRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
-        new LRUCache<>(5000);
+    private final ConcurrentLRUCache<Pair<Term, Term>, Term> provedByArithSndCache =
+        new ConcurrentLRUCache<>(5000);
 
     /** Cache used by the exhaustive macro */
     private final Map<Node, PosInOccurrence> exhaustiveMacroCache =
@@ -150,7 +179,11 @@ public class ServiceCaches {
         new AppliedRuleAppsNameCache();
 
     /** Cache used by EqualityConstraint to speed up meta variable search */
-    private final LRUCache<Term, ImmutableSet<Metavariable>> mvCache = new LRUCache<>(2000);
+    private final ConcurrentLRUCache<Term, ImmutableSet<Metavariable>> mvCache =
+        new ConcurrentLRUCache<>(2000);
+
+    /** Cache of the results of provability checks in side proofs */
+    private final SideProofCache sideProofCache = new SideProofCache();
 
 
     /**
@@ -162,23 +195,23 @@ public class ServiceCaches {
         return termTacletAppIndexCache;
     }
 
-    public final LRUCache<Term, TermInfo> getBetaCandidates() {
+    public final ConcurrentLRUCache<Term, TermInfo> getBetaCandidates() {
         return betaCandidates;
     }
 
-    public final LRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
+    public final ConcurrentLRUCache<PosInOccurrence, RuleAppCost> getIfThenElseMalusCache() {
         return ifThenElseMalusCache;
     }
 
-    public final LRUCache<Operator, Integer> getIntroductionTimeCache() {
+    public final ConcurrentLRUCache<Operator, Integer> getIntroductionTimeCache() {
         return introductionTimeCache;
     }
 
-    public final LRUCache<Term, Monomial> getMonomialCache() {
+    public final ConcurrentLRUCache<Term, Monomial> getMonomialCache() {
         return monomialCache;
     }
 
-    public final LRUCache<Term, Polynomial> getPolynomialCache() {
+    public final ConcurrentLRUCache<Term, Polynomial> getPolynomialCache() {
         return polynomialCache;
     }
 
@@ -186,6 +219,14 @@ public class ServiceCaches {
         return triggerSetCache;
     }
 
+    public final Map<Term, Set<Operator>> getHeadSymbolCache() {
+        return headSymbolCache;
+    }
+
+    public final ConcurrentLRUCache<Pair<Term, Sequent>, Instantiation> getInstantiationCache() {
+        return instantiationCache;
+    }
+
     public final Map<Term, ClausesGraph> getGraphCache() {
         return graphCache;
     }
@@ -198,15 +239,15 @@ public class ServiceCaches {
         return disjointnessCache;
     }
 
-    public final LRUCache<Term, Term> getFormattedTermCache() {
+    public final ConcurrentLRUCache<Term, Term> getFormattedTermCache() {
         return formattedTermCache;
     }
 
-    public final LRUCache<Term, Term> getProvedByArithFstCache() {
+    public final ConcurrentLRUCache<Term, Term> getProvedByArithFstCache() {
         return provedByArithFstCache;
     }
 
-    public final LRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
+    public final ConcurrentLRUCache<Pair<Term, Term>, Term> getProvedByArithSndCache() {
         return provedByArithSndCache;
     }
 
@@ -226,8 +267,38 @@ public class ServiceCaches {
         return appliedRuleAppsNameCache;
     }
 
-    public LRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
+    public ConcurrentLRUCache<Term, ImmutableSet<Metavariable>> getMVCache() {
         return mvCache;
     }
 
+    public SideProofCache getSideProofCache() {
+        return sideProofCache;
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the bounded caches.
+     *
+     * @return the statistics of the bounded caches by name
+     */
+    public Map<String, ConcurrentLRUCache.Statistics> getStatistics() {
+        final Map<String, ConcurrentLRUCache.Statistics> result = new LinkedHashMap<>();
+        result.put("termTacletAppIndex", termTacletAppIndexCache.getStatistics());
+        result.put("betaCandidates", betaCandidates.getStatistics());
+        result.put("ifThenElseMalus", ifThenElseMalusCache.getStatistics());
+        result.put("introductionTime", introductionTimeCache.getStatistics());
+        result.put("monomial", monomialCache.getStatistics());
+        result.put("polynomial", polynomialCache.getStatistics());
+        result.put("triggerSet", triggerSetCache.getStatistics());
+        result.put("headSymbols", headSymbolCache.getStatistics());
+        result.put("instantiation", instantiationCache.getStatistics());
+        result.put("graph", graphCache.getStatistics());
+        result.put("term", termCache.getStatistics());
+        result.put("formattedTerm", formattedTermCache.getStatistics());
+        result.put("provedByArithFst", provedByArithFstCache.getStatistics());
+        result.put("provedByArithSnd", provedByArithSndCache.getStatistics());
+        result.put("metavariables", mvCache.getStatistics());
+        result.put("sideProofs", sideProofCache.getStatistics());
+        return result;
+    }
+
 }
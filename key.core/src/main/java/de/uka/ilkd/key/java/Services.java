@@ -280,11 +280,23 @@ public class Services implements TermServices, LogicServices {
      * creates a new service object with the same ldt information as the actual one
      */
     public Services copyPreservesLDTInformation() {
+        return copyPreservesLDTInformation(getProfile());
+    }
+
+    /**
+     * Creates a copy of this {@link Services} in which the {@link Profile} is replaced. Like
+     * {@link #copyPreservesLDTInformation()}, the copy preserves the LDTs and namespaces, hence
+     * the given profile has to be compatible with them.
+     *
+     * @param profile The new {@link Profile} to use in the copy of this {@link Services}.
+     * @return The created copy.
+     */
+    public Services copyPreservesLDTInformation(Profile profile) {
         Debug.assertTrue(
             !(javainfo.getKeYProgModelInfo()
                     .getServConf() instanceof SchemaCrossReferenceServiceConfiguration),
             "services: tried to copy schema cross reference service config.");
-        Services s = new Services(getProfile());
+        Services s = new Services(profile);
         s.setTypeConverter(getTypeConverter().copy(s));
         s.setNamespaces(namespaces.copy());
         nameRecorder = nameRecorder.copy();
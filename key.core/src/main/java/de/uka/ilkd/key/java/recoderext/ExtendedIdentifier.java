@@ -16,6 +16,15 @@ public class ExtendedIdentifier extends recoder.java.Identifier {
         super(arg0);
     }
 
+    /**
+     * Copy constructor, preserving the position of the prototype.
+     *
+     * @param proto the identifier to copy
+     */
+    protected ExtendedIdentifier(ExtendedIdentifier proto) {
+        super(proto);
+    }
+
     public void setText(String text) {
         if (text.charAt(0) == '#') {
             throw new IllegalArgumentException(
@@ -27,6 +36,6 @@ public class ExtendedIdentifier extends recoder.java.Identifier {
     }
 
     public ExtendedIdentifier deepClone() {
-        return new ExtendedIdentifier(id);
+        return new ExtendedIdentifier(this);
     }
 }
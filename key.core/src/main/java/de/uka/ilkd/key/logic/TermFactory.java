@@ -30,6 +30,8 @@ public final class TermFactory {
 
     private static final ImmutableArray<Term> NO_SUBTERMS = new ImmutableArray<>();
     private final Map<Term, Term> cache;
+    /** the JVM wide interner if hash-consing is enabled, {@code null} otherwise */
+    private final TermInterner interner;
 
 
     // -------------------------------------------------------------------------
@@ -39,10 +41,20 @@ public final class TermFactory {
 
     public TermFactory() {
         this.cache = null;
+        this.interner = null;
     }
 
+    /**
+     * Creates a term factory which shares terms without Java blocks via the given cache. The cache
+     * is accessed without synchronization and hence has to be thread-safe. If
+     * {@link TermInterner#isEnabled() hash-consing} is enabled, all terms are shared via the
+     * {@link TermInterner} instead.
+     *
+     * @param cache the thread-safe cache of already created terms
+     */
     public TermFactory(Map<Term, Term> cache) {
         this.cache = cache;
+        this.interner = TermInterner.isEnabled() ? TermInterner.getInstance() : null;
     }
 
     // -------------------------------------------------------------------------
@@ -121,19 +133,18 @@ public final class TermFactory {
             (labels == null || labels.isEmpty()
                     ? new TermImpl(op, subs, boundVars, origin)
                     : new LabeledTermImpl(op, subs, boundVars, labels, origin));
+        if (interner != null && origin.isEmpty()) {
+            newTerm.checked();
+            return interner.intern(newTerm);
+        }
         // Check if caching is possible. It is not possible if a non-empty JavaBlock is available
         // in the term or in one of its children because the meta information like PositionInfos
         // may be different.
         if (cache != null && !newTerm.containsJavaBlockRecursive()) {
-            Term term;
-            synchronized (cache) {
-                term = cache.get(newTerm);
-            }
+            Term term = cache.get(newTerm);
             if (term == null) {
                 term = newTerm.checked();
-                synchronized (cache) {
-                    cache.put(term, term);
-                }
+                cache.put(term, term);
             }
             return term;
         } else {
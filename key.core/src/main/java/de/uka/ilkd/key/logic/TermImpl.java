@@ -79,6 +79,12 @@ class TermImpl implements Term {
      */
     private ThreeValuedTruth containsJavaBlockRecursive = ThreeValuedTruth.UNKNOWN;
 
+    /**
+     * This flag indicates that this term is the unique representative of its equivalence class in
+     * the {@link TermInterner}. Two different interned terms are never equal.
+     */
+    private boolean interned;
+
     // -------------------------------------------------------------------------
     // constructors
     // -------------------------------------------------------------------------
@@ -314,6 +320,11 @@ class TermImpl implements Term {
 
         final TermImpl t = (TermImpl) o;
 
+        if (interned && t.interned) {
+            // hash-consed terms are equal iff they are identical
+            return false;
+        }
+
         return op.equals(t.op) && t.hasLabels() == hasLabels() && subs.equals(t.subs)
                 && boundVars.equals(t.boundVars)
                 // TODO (DD): below is no longer necessary
@@ -392,6 +403,13 @@ class TermImpl implements Term {
     }
 
 
+    /**
+     * Marks this term as representative of its equivalence class, see {@link TermInterner}.
+     */
+    void markInterned() {
+        interned = true;
+    }
+
     @Override
     public int serialNumber() {
         return serialNumber;
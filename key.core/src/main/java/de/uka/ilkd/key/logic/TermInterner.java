@@ -0,0 +1,245 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.logic;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM wide hash-consing of terms.
+ * <p>
+ * If enabled by the system property {@value #HASH_CONSING_PROPERTY}, the {@link TermFactory}
+ * instances of the {@link de.uka.ilkd.key.java.Services} return for each term the unique
+ * representative of all structurally equal terms created so far. Since there is at most one
+ * representative per equivalence class, {@link TermImpl#equals(Object)} of two interned terms is
+ * an identity check, and lazily computed information such as the hash code, the free variables or
+ * the depth is computed once per class instead of once per copy.
+ * </p>
+ * <p>
+ * In contrast to the per proof term cache of {@link de.uka.ilkd.key.java.ServiceCaches} the
+ * representatives are only weakly referenced, hence terms no longer used by any proof are
+ * reclaimed by the garbage collector. Terms containing a {@link JavaBlock} are interned as well:
+ * two such terms are only equal if they refer to the same {@link de.uka.ilkd.key.logic.op.Modality}
+ * instance, which owns the program, so that no position information is lost.
+ * </p>
+ * <p>
+ * {@link #measure(Iterable)} reports how much structure a given set of terms, e.g., the formulas
+ * of all sequents of a proof, shares.
+ * </p>
+ */
+public final class TermInterner {
+    /**
+     * The Java system property enabling hash-consing of terms.
+     */
+    public static final String HASH_CONSING_PROPERTY = "key.term.hashConsing";
+
+    /**
+     * Estimated shallow size of a {@link TermImpl} in bytes (object header, compressed references
+     * and the cached values).
+     */
+    private static final int TERM_SIZE = 64;
+
+    /**
+     * Estimated size of an {@link org.key_project.util.collection.ImmutableArray} of sub terms in
+     * bytes without its elements.
+     */
+    private static final int SUBS_SIZE = 32;
+
+    /** the number of independently locked tables, a power of two */
+    private static final int STRIPES = 16;
+
+    private static final TermInterner INSTANCE = new TermInterner();
+
+    private static volatile boolean enabled = Boolean.getBoolean(HASH_CONSING_PROPERTY);
+
+    /** the interned terms, mapped to a weak reference to themselves */
+    // generic arrays can not be created, all tables have the same type
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private final WeakHashMap<TermImpl, WeakReference<TermImpl>>[] tables =
+        new WeakHashMap[STRIPES];
+
+    /** number of calls of {@link #intern(TermImpl)} */
+    private final LongAdder requests = new LongAdder();
+    /** number of calls of {@link #intern(TermImpl)} which returned an existing representative */
+    private final LongAdder hits = new LongAdder();
+    /** estimated number of bytes of the terms replaced by an existing representative */
+    private final LongAdder savedBytes = new LongAdder();
+
+    private TermInterner() {
+        for (int i = 0; i < STRIPES; i++) {
+            tables[i] = new WeakHashMap<>();
+        }
+    }
+
+    /**
+     * @return the JVM wide instance
+     */
+    public static TermInterner getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return true iff terms are hash-consed
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables hash-consing for all term factories created afterwards. Terms interned
+     * so far stay interned.
+     *
+     * @param value true iff terms shall be hash-consed
+     */
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    /**
+     * Returns the unique representative of the given term. If there is none yet, the given term
+     * becomes the representative.
+     *
+     * @param term a checked term whose sub terms have been interned
+     * @return the representative structurally equal to term
+     */
+    Term intern(TermImpl term) {
+        requests.increment();
+        final int h = term.hashCode();
+        final WeakHashMap<TermImpl, WeakReference<TermImpl>> table =
+            tables[(h ^ (h >>> 16)) & (STRIPES - 1)];
+        synchronized (table) {
+            final WeakReference<TermImpl> ref = table.get(term);
+            final TermImpl existing = ref == null ? null : ref.get();
+            if (existing != null) {
+                hits.increment();
+                savedBytes.add(estimatedSize(term));
+                return existing;
+            }
+            term.markInterned();
+            table.put(term, new WeakReference<>(term));
+        }
+        return term;
+    }
+
+    /**
+     * @return the current interning statistics
+     */
+    public Statistics getStatistics() {
+        int live = 0;
+        for (WeakHashMap<TermImpl, WeakReference<TermImpl>> table : tables) {
+            synchronized (table) {
+                live += table.size();
+            }
+        }
+        return new Statistics(requests.sum(), hits.sum(), live, savedBytes.sum());
+    }
+
+    /**
+     * resets the request, hit and saved bytes counters
+     */
+    public void resetStatistics() {
+        requests.reset();
+        hits.reset();
+        savedBytes.reset();
+    }
+
+    private static int estimatedSize(Term term) {
+        return term.arity() == 0 ? TERM_SIZE : TERM_SIZE + SUBS_SIZE + 4 * term.arity();
+    }
+
+    /**
+     * Computes how much the given terms share their structure.
+     *
+     * @param terms the root terms, e.g., the formulas of all sequents of a proof
+     * @return the sharing report
+     */
+    public static SharingReport measure(Iterable<? extends Term> terms) {
+        final Set<Term> objects = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<Term> classes = new HashSet<>();
+        final Deque<Term> todo = new ArrayDeque<>();
+        long occurrences = 0;
+        long retainedBytes = 0;
+        long duplicateBytes = 0;
+        for (Term root : terms) {
+            todo.push(root);
+            while (!todo.isEmpty()) {
+                final Term term = todo.pop();
+                occurrences++;
+                if (objects.add(term)) {
+                    final int size = estimatedSize(term);
+                    retainedBytes += size;
+                    if (!classes.add(term)) {
+                        duplicateBytes += size;
+                    }
+                    for (Term sub : term.subs()) {
+                        todo.push(sub);
+                    }
+                }
+            }
+        }
+        return new SharingReport(occurrences, objects.size(), classes.size(), retainedBytes,
+            duplicateBytes);
+    }
+
+    /**
+     * Counters of the {@link TermInterner}.
+     *
+     * @param requests number of terms passed to the interner
+     * @param hits number of terms replaced by an existing representative
+     * @param liveTerms number of representatives not yet reclaimed by the garbage collector
+     * @param savedBytes estimated number of bytes of the replaced terms
+     */
+    public record Statistics(long requests, long hits, int liveTerms, long savedBytes) {
+        /**
+         * @return the ratio of terms replaced by an existing representative
+         */
+        public double sharingRatio() {
+            return requests == 0 ? 0 : (double) hits / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "requests: %d, hits: %d, live terms: %d, saved bytes: %d, sharing ratio: %.2f",
+                requests, hits, liveTerms, savedBytes, sharingRatio());
+        }
+    }
+
+    /**
+     * Result of {@link TermInterner#measure(Iterable)}.
+     *
+     * @param occurrences number of visited term positions, where a term object reachable along
+     *        several paths is counted only once per distinct parent object
+     * @param objects number of distinct term objects
+     * @param distinctTerms number of structurally distinct terms
+     * @param retainedBytes estimated number of bytes retained by the term objects
+     * @param duplicateBytes estimated number of bytes of term objects which are structurally equal
+     *        to another visited term object and could be shared
+     */
+    public record SharingReport(long occurrences, int objects, int distinctTerms,
+            long retainedBytes, long duplicateBytes) {
+        /**
+         * @return the ratio of term positions that refer to an already visited object
+         */
+        public double sharingRatio() {
+            return occurrences == 0 ? 0 : 1 - (double) objects / occurrences;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                "occurrences: %d, objects: %d, distinct terms: %d, retained bytes: %d, "
+                    + "duplicate bytes: %d, sharing ratio: %.2f",
+                occurrences, objects, distinctTerms, retainedBytes, duplicateBytes,
+                sharingRatio());
+        }
+    }
+}
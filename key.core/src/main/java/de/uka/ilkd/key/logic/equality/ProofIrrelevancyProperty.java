@@ -106,9 +106,12 @@ public class ProofIrrelevancyProperty implements Property<Term> {
      */
     @Override
     public int hashCodeModThisProperty(Term term) {
-        int hashcode = Objects.hash(term.op(),
+        // operators and programs are hashed modulo proof irrelevancy as well, so that the
+        // hashcode is consistent with equalsModThisProperty for terms of different proofs
+        int hashcode = Objects.hash(term.op().hashCodeModProofIrrelevancy(),
             EqualityUtils.hashCodeModPropertyOfIterable(PROOF_IRRELEVANCY_PROPERTY, term.subs()),
-            EqualsModProofIrrelevancyUtil.hashCodeIterable(term.boundVars()), term.javaBlock());
+            EqualsModProofIrrelevancyUtil.hashCodeIterable(term.boundVars()),
+            term.javaBlock().hashCodeModProofIrrelevancy());
 
         // part from LabeledTermImpl
         final ImmutableArray<TermLabel> labels = term.getLabels();
@@ -72,9 +72,9 @@ public final class LocationVariable extends ProgramVariable implements Updateabl
 
     @Override
     public int hashCodeModProofIrrelevancy() {
-        return Objects.hash(getKeYJavaType(), isStatic(), isModel(), isGhost(), isFinal(), sort(),
-            argSorts(), name().toString(), arity(),
-            whereToBind(), isRigid());
+        // sorts are hashed by name as their equality is name based while their hashcode is not
+        return Objects.hash(getKeYJavaType(), isStatic(), isModel(), isGhost(), isFinal(),
+            sort().name(), name().toString(), arity(), whereToBind(), isRigid());
     }
 
     /**
@@ -42,7 +42,8 @@ public final class LogicVariable extends AbstractSortedOperator
 
     @Override
     public int hashCodeModProofIrrelevancy() {
-        return Objects.hash(name(), sort());
+        // sorts are hashed by name as their equality is name based while their hashcode is not
+        return Objects.hash(name(), sort().name());
     }
 
     @Override
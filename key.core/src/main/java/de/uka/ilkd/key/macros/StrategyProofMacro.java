@@ -11,6 +11,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
 import de.uka.ilkd.key.prover.GoalChooser;
 import de.uka.ilkd.key.prover.ProverCore;
 import de.uka.ilkd.key.prover.ProverTaskListener;
@@ -76,6 +77,12 @@ public abstract class StrategyProofMacro extends AbstractProofMacro {
             // false
             return null;
         }
+        // branches of a lazily loaded proof are replayed before they are searched
+        goals = IntermediateProofReplayer.replayPendingGoals(proof, goals);
+        if (goals.isEmpty()) {
+            // the replayed branches are closed
+            return new ProofMacroFinishedInfo(this, proof);
+        }
         List<Node> nodes = goals.stream().map(Goal::node).collect(Collectors.toList());
 
         final GoalChooser goalChooser =
@@ -9,6 +9,7 @@ import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
 import de.uka.ilkd.key.prover.ProverCore;
 import de.uka.ilkd.key.prover.ProverTaskListener;
 import de.uka.ilkd.key.prover.impl.ApplyStrategy;
@@ -145,6 +146,12 @@ public class TryCloseMacro extends AbstractProofMacro {
             // false
             return null;
         }
+        // branches of a lazily loaded proof are replayed before they are searched
+        goals = IntermediateProofReplayer.replayPendingGoals(proof, goals);
+        if (goals.isEmpty()) {
+            // the replayed branches are closed
+            return new ProofMacroFinishedInfo(this, proof);
+        }
 
         //
         // create the rule application engine
@@ -18,6 +18,9 @@ import de.uka.ilkd.key.parser.Location;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
+
+import org.key_project.util.collection.ImmutableList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -84,10 +87,23 @@ public class ProofScriptEngine {
 
         ScriptLineParser mlp = new ScriptLineParser(new StringReader(script), initialLocation);
 
+        // the script addresses goals of the whole proof, so a lazily loaded proof is replayed
+        // completely first
+        IntermediateProofReplayer.replayAllPendingBranches(proof);
+
         stateMap = new EngineState(proof);
 
         if (initiallySelectedGoal != null) {
-            stateMap.setGoal(initiallySelectedGoal);
+            if (proof.getOpenGoal(initiallySelectedGoal.node()) != null) {
+                stateMap.setGoal(initiallySelectedGoal);
+            } else {
+                // the goal has been replaced by the replay of its branch
+                final ImmutableList<Goal> goals =
+                    proof.getSubtreeGoals(initiallySelectedGoal.node());
+                if (!goals.isEmpty()) {
+                    stateMap.setGoal(goals.head());
+                }
+            }
         }
 
         // add the filename (if available) to the statemap.
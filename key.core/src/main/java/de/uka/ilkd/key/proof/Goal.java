@@ -7,7 +7,6 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
@@ -16,6 +15,8 @@ import de.uka.ilkd.key.logic.op.JFunction;
 import de.uka.ilkd.key.logic.op.ProgramVariable;
 import de.uka.ilkd.key.pp.LogicPrinter;
 import de.uka.ilkd.key.pp.NotationInfo;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.proofevent.NodeChangeJournal;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.proof.rulefilter.TacletFilter;
@@ -48,12 +49,6 @@ import org.jspecify.annotations.NonNull;
  */
 public final class Goal {
 
-    public static final AtomicLong PERF_APP_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_TAG_MANAGER = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_RULE_APP_INDEX = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE_LISTENERS = new AtomicLong();
-
     /**
      * If an application of a rule added some information for the strategy, then this information is
      * stored in this map.
@@ -222,17 +217,18 @@ public final class Goal {
      * event object.
      */
     private void fireSequentChanged(SequentChangeInfo sci) {
+        final ProofMetrics metrics = proof().getMetrics();
         var time = System.nanoTime();
         getFormulaTagManager().sequentChanged(this, sci);
         var time1 = System.nanoTime();
-        PERF_UPDATE_TAG_MANAGER.getAndAdd(time1 - time);
+        metrics.record(CoreTimer.GOAL_UPDATE_TAG_MANAGER, time1 - time);
         ruleAppIndex.sequentChanged(sci);
         var time2 = System.nanoTime();
-        PERF_UPDATE_RULE_APP_INDEX.getAndAdd(time2 - time1);
+        metrics.record(CoreTimer.GOAL_UPDATE_RULE_APP_INDEX, time2 - time1);
         for (GoalListener listener : listeners) {
             listener.sequentChanged(this, sci);
         }
-        PERF_UPDATE_LISTENERS.getAndAdd(System.nanoTime() - time2);
+        metrics.record(CoreTimer.GOAL_UPDATE_LISTENERS, System.nanoTime() - time2);
     }
 
     private void fireGoalReplaced(Goal goal, Node parent, ImmutableList<Goal> newGoals) {
@@ -371,7 +367,7 @@ public final class Goal {
         var time = System.nanoTime();
         // updates the index
         fireSequentChanged(sci);
-        PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - time);
+        proof().getMetrics().record(CoreTimer.GOAL_SET_SEQUENT, System.nanoTime() - time);
     }
 
     /**
@@ -612,7 +608,9 @@ public final class Goal {
         try {
             goalList = ruleApp.execute(this, overlayServices);
         } finally {
-            PERF_APP_EXECUTE.getAndAdd(System.nanoTime() - time);
+            final long duration = System.nanoTime() - time;
+            proof.getMetrics().record(CoreTimer.APP_EXECUTE, duration);
+            proof.getMetrics().recordRuleApplication(ruleApp, duration);
         }
         // can be null when the taclet failed to apply (RuleAbortException)
         if (goalList == null) {
@@ -3,15 +3,18 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
 
 import de.uka.ilkd.key.logic.RenamingTable;
 import de.uka.ilkd.key.logic.Sequent;
@@ -22,6 +25,7 @@ import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.merge.MergeRule;
+import de.uka.ilkd.key.settings.GeneralSettings;
 
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
@@ -59,8 +63,18 @@ public class Node implements Iterable<Node> {
      */
     private BranchLocation branchLocation = null;
 
+    /**
+     * The sequent of this node, or null if it has been dropped in a compact proof tree. It is then
+     * restored from {@link #sequentDelta} and the sequent of the parent.
+     */
     private Sequent seq = Sequent.EMPTY_SEQUENT;
 
+    /**
+     * The difference of {@link #seq} to the sequent of the parent, only computed in compact proof
+     * trees (see {@link GeneralSettings#compactProofTree}) once the sequent is final.
+     */
+    private SequentDelta sequentDelta = null;
+
     private final ArrayList<Node> children = new ArrayList<>(1);
 
     private RuleApp appliedRuleApp;
@@ -159,11 +173,73 @@ public class Node implements Iterable<Node> {
      */
     public void setSequent(Sequent seq) {
         this.seq = seq;
+        this.sequentDelta = null;
     }
 
-    /** returns the sequent of this node */
+    /**
+     * returns the sequent of this node
+     * <p>
+     * In compact proof trees, the sequents of inner and closed nodes are not kept but restored on
+     * demand from the differences to their parents. Recently restored sequents are cached by the
+     * proof.
+     */
     public Sequent sequent() {
-        return seq;
+        final Sequent result = seq;
+        return result != null ? result : restoreSequent();
+    }
+
+    private Sequent restoreSequent() {
+        final Map<Node, Sequent> cache = proof.getRestoredSequents();
+        final Deque<Node> path = new ArrayDeque<>();
+        Node node = this;
+        Sequent result = node.seq;
+        while (result == null) {
+            result = cache.get(node);
+            if (result == null) {
+                path.push(node);
+                node = node.parent;
+                result = node.seq;
+            }
+        }
+        while (!path.isEmpty()) {
+            node = path.pop();
+            result = node.sequentDelta.apply(result);
+            cache.put(node, result);
+        }
+        if (leaf()) {
+            // goals rely on the identity of their sequent
+            seq = result;
+        }
+        return result;
+    }
+
+    /**
+     * Computes the difference of the sequent of this node to the sequent of its parent, which
+     * must not change anymore, and drops the sequents which are no longer needed. The sequent of a
+     * node is needed as long as it is an open leaf or the difference of one of its children has
+     * not been computed yet.
+     */
+    private void compact() {
+        if (parent == null || sequentDelta != null) {
+            return;
+        }
+        sequentDelta = SequentDelta.of(parent.sequent(), sequent());
+        // the change information refers to both sequents
+        nodeInfo.setSequentChangeInfo(null);
+        dropSequentIfUnneeded();
+        parent.dropSequentIfUnneeded();
+    }
+
+    private void dropSequentIfUnneeded() {
+        if (sequentDelta == null || (leaf() && !closed)) {
+            return;
+        }
+        for (Node child : children) {
+            if (child.sequentDelta == null) {
+                return;
+            }
+        }
+        seq = null;
     }
 
     /**
@@ -369,6 +445,9 @@ public class Node implements Iterable<Node> {
         newChild.siblingNr = children.size();
         children.add(newChild);
         newChild.parent = this;
+        if (GeneralSettings.compactProofTree) {
+            compact();
+        }
         proof().fireProofExpanded(this);
     }
 
@@ -386,6 +465,9 @@ public class Node implements Iterable<Node> {
 
         Collections.addAll(children, newChildren);
         children.trimToSize();
+        if (GeneralSettings.compactProofTree) {
+            compact();
+        }
 
         proof().fireProofExpanded(this);
     }
@@ -409,6 +491,8 @@ public class Node implements Iterable<Node> {
      */
     boolean remove(Node child) {
         if (children.remove(child)) {
+            // the detached subtree can not restore its sequents from this node
+            child.seq = child.sequent();
             child.parent = null;
             final ListIterator<Node> it = children.listIterator(child.siblingNr);
             while (it.hasNext()) {
@@ -669,6 +753,9 @@ public class Node implements Iterable<Node> {
     /** marks a node as closed */
     Node close() {
         closed = true;
+        if (GeneralSettings.compactProofTree) {
+            compact();
+        }
         Node tmp = parent;
         Node result = this;
         while (tmp != null && tmp.isCloseable()) {
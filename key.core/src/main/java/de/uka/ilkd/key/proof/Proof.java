@@ -18,6 +18,7 @@ import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.proof.init.InitConfig;
 import de.uka.ilkd.key.proof.init.Profile;
 import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
 import de.uka.ilkd.key.proof.mgt.ProofCorrectnessMgt;
 import de.uka.ilkd.key.proof.mgt.ProofEnvironment;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
@@ -32,6 +33,7 @@ import de.uka.ilkd.key.strategy.StrategyProperties;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.Named;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.lookup.Lookup;
@@ -52,6 +54,8 @@ import org.jspecify.annotations.Nullable;
  */
 @NullMarked
 public class Proof implements Named {
+    /** the number of restored sequents of a compact proof tree cached by a proof */
+    private static final int RESTORED_SEQUENTS_CACHE_SIZE = 256;
 
     /**
      * The time when the {@link Proof} instance was created.
@@ -129,6 +133,11 @@ public class Proof implements Named {
 
     private long autoModeTime = 0;
 
+    /**
+     * The performance metrics of this proof.
+     */
+    private final ProofMetrics metrics;
+
     private @Nullable Strategy activeStrategy;
 
     private PropertyChangeListener settingsListener;
@@ -162,11 +171,18 @@ public class Proof implements Named {
      */
     private boolean mutedProofCloseEvents = false;
 
+    /**
+     * The sequents of nodes of a compact proof tree restored recently (see {@link Node#sequent()}),
+     * created on demand.
+     */
+    private @Nullable ConcurrentLRUCache<Node, Sequent> restoredSequents;
+
     /**
      * constructs a new empty proof with name
      */
     private Proof(Name name, InitConfig initConfig) {
         this.name = name;
+        this.metrics = new ProofMetrics(name.toString());
         assert initConfig != null : "Tried to create proof without valid services.";
         this.initConfig = initConfig;
 
@@ -292,12 +308,23 @@ public class Proof implements Named {
         settingsListener = null;
         disposed = true;
         userData = null;
+        restoredSequents = null;
         fireProofDisposed(new ProofDisposedEvent(this));
         // may now clean up proof disposed listeners too
         proofDisposedListener.clear();
     }
 
 
+    /**
+     * @return the cache of restored sequents of a compact proof tree
+     */
+    synchronized Map<Node, Sequent> getRestoredSequents() {
+        if (restoredSequents == null) {
+            restoredSequents = new ConcurrentLRUCache<>(RESTORED_SEQUENTS_CACHE_SIZE);
+        }
+        return restoredSequents;
+    }
+
     /**
      * Returns true if the proof has been abandoned and the dispose method has been called on this
      * object. Should be asserted before proof object is accessed.
@@ -351,6 +378,13 @@ public class Proof implements Named {
         return autoModeTime;
     }
 
+    /**
+     * @return the performance metrics of this proof
+     */
+    public ProofMetrics getMetrics() {
+        return metrics;
+    }
+
     public void addAutoModeTime(long time) {
         autoModeTime += time;
     }
@@ -6,10 +6,11 @@ package de.uka.ilkd.key.proof;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
 import de.uka.ilkd.key.rule.NoPosTacletApp;
 import de.uka.ilkd.key.rule.TacletApp;
@@ -20,10 +21,6 @@ import org.key_project.util.collection.*;
  * This class holds <code>TermTacletAppIndex</code>s for all formulas of a semisequent.
  */
 public class SemisequentTacletAppIndex {
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-    public static final AtomicLong PERF_ADD = new AtomicLong();
-    public static final AtomicLong PERF_REMOVE = new AtomicLong();
-
     private ImmutableMap<SequentFormula, TermTacletAppIndex> termIndices =
         DefaultImmutableMap.nilMap();
 
@@ -207,23 +204,24 @@ public class SemisequentTacletAppIndex {
      * called if a formula has been replaced
      *
      * @param sci SequentChangeInfo describing the change of the sequent
+     * @param metrics the metrics of the proof the index belongs to
      */
     public SemisequentTacletAppIndex sequentChanged(SequentChangeInfo sci, Services services,
-            TacletIndex tacletIndex, NewRuleListener listener) {
+            TacletIndex tacletIndex, NewRuleListener listener, ProofMetrics metrics) {
         if (sci.hasChanged(antec)) {
             final SemisequentTacletAppIndex result = copy();
 
             var time = System.nanoTime();
             result.removeTermIndices(sci.removedFormulas(antec));
-            PERF_REMOVE.getAndAdd(System.nanoTime() - time);
+            metrics.record(CoreTimer.SEMI_INDEX_REMOVE, System.nanoTime() - time);
 
             time = System.nanoTime();
             result.updateTermIndices(sci.modifiedFormulas(antec), services, tacletIndex, listener);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            metrics.record(CoreTimer.SEMI_INDEX_UPDATE, System.nanoTime() - time);
 
             time = System.nanoTime();
             result.addTermIndices(sci.addedFormulas(antec), services, tacletIndex, listener);
-            PERF_ADD.getAndAdd(System.nanoTime() - time);
+            metrics.record(CoreTimer.SEMI_INDEX_ADD, System.nanoTime() - time);
             return result;
         }
 
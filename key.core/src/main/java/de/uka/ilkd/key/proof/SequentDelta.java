@@ -0,0 +1,124 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * The difference of the sequent of a node to the sequent of its parent, used to store the
+ * sequents of inner nodes in compact proof trees (see {@link Node#sequent()}).
+ * <p>
+ * Semisequents are persistent lists, the semisequent of a child usually consists of some new
+ * formulas followed by a tail which is physically shared with the semisequent of the parent.
+ * Hence, the difference of a semisequent is stored as the new formulas and the number of formulas
+ * of the parent which precede the shared tail. Applying the difference to the parent restores a
+ * semisequent with the same formulas (even sharing the tail with the parent again).
+ */
+final class SequentDelta {
+    private static final SequentFormula[] NO_FORMULAS = new SequentFormula[0];
+
+    /** the new formulas of the antecedent, null if the antecedent is unchanged */
+    private final SequentFormula[] antecedent;
+    /** the number of formulas of the parent antecedent not shared */
+    private final int antecedentDropped;
+    /** the new formulas of the succedent, null if the succedent is unchanged */
+    private final SequentFormula[] succedent;
+    /** the number of formulas of the parent succedent not shared */
+    private final int succedentDropped;
+
+    private SequentDelta(SequentFormula[] antecedent, int antecedentDropped,
+            SequentFormula[] succedent, int succedentDropped) {
+        this.antecedent = antecedent;
+        this.antecedentDropped = antecedentDropped;
+        this.succedent = succedent;
+        this.succedentDropped = succedentDropped;
+    }
+
+    /**
+     * Computes the difference of a sequent to the sequent of the parent.
+     *
+     * @param parent the sequent of the parent node
+     * @param child the sequent of the child node
+     * @return the difference such that {@code apply(parent)} equals {@code child}
+     */
+    static SequentDelta of(Sequent parent, Sequent child) {
+        final ImmutableList<SequentFormula> parentAnte = parent.antecedent().asList();
+        final ImmutableList<SequentFormula> childAnte = child.antecedent().asList();
+        final ImmutableList<SequentFormula> parentSucc = parent.succedent().asList();
+        final ImmutableList<SequentFormula> childSucc = child.succedent().asList();
+        final int anteShared = sharedTail(parentAnte, childAnte);
+        final int succShared = sharedTail(parentSucc, childSucc);
+        return new SequentDelta(prefix(parentAnte, childAnte, anteShared),
+            parentAnte.size() - anteShared, prefix(parentSucc, childSucc, succShared),
+            parentSucc.size() - succShared);
+    }
+
+    /**
+     * @return the length of the longest tail which both lists share physically
+     */
+    private static int sharedTail(ImmutableList<SequentFormula> parent,
+            ImmutableList<SequentFormula> child) {
+        int length = Math.min(parent.size(), child.size());
+        parent = parent.take(parent.size() - length);
+        child = child.take(child.size() - length);
+        while (parent != child && length > 0) {
+            parent = parent.tail();
+            child = child.tail();
+            length--;
+        }
+        return length;
+    }
+
+    /**
+     * @return the formulas of the child preceding the shared tail, or null if the child list is
+     *         the parent list
+     */
+    private static SequentFormula[] prefix(ImmutableList<SequentFormula> parent,
+            ImmutableList<SequentFormula> child, int shared) {
+        if (parent.size() == shared && child.size() == shared) {
+            return null;
+        }
+        final int length = child.size() - shared;
+        if (length == 0) {
+            return NO_FORMULAS;
+        }
+        final SequentFormula[] result = new SequentFormula[length];
+        for (int i = 0; i < length; i++) {
+            result[i] = child.head();
+            child = child.tail();
+        }
+        return result;
+    }
+
+    /**
+     * Restores the sequent of the child.
+     *
+     * @param parent the sequent of the parent node
+     * @return the sequent of the child node
+     */
+    Sequent apply(Sequent parent) {
+        final Semisequent ante = apply(parent.antecedent(), antecedent, antecedentDropped);
+        final Semisequent succ = apply(parent.succedent(), succedent, succedentDropped);
+        if (ante == parent.antecedent() && succ == parent.succedent()) {
+            return parent;
+        }
+        return Sequent.createSequent(ante, succ);
+    }
+
+    private static Semisequent apply(Semisequent parent, SequentFormula[] formulas,
+            int dropped) {
+        if (formulas == null) {
+            return parent;
+        }
+        ImmutableList<SequentFormula> list = parent.asList().take(dropped);
+        for (int i = formulas.length - 1; i >= 0; i--) {
+            list = list.prepend(formulas[i]);
+        }
+        return list.isEmpty() ? Semisequent.EMPTY_SEMISEQUENT : new Semisequent(list);
+    }
+}
@@ -3,22 +3,25 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.proof;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.List;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
 
 import de.uka.ilkd.key.informationflow.proof.InfFlowProof;
 import de.uka.ilkd.key.informationflow.proof.SideProofStatistics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.rule.*;
 import de.uka.ilkd.key.rule.OneStepSimplifier.Protocol;
 import de.uka.ilkd.key.rule.merge.MergeRuleBuiltInRuleApp;
+import de.uka.ilkd.key.settings.Configuration;
 import de.uka.ilkd.key.smt.SMTRuleApp;
 import de.uka.ilkd.key.util.EnhancedStringBuffer;
 
 import org.key_project.util.collection.Pair;
 
+import org.jspecify.annotations.Nullable;
+
 /**
  * Instances of this class encapsulate statistical information about proofs, such as the number of
  * nodes, or the number of interactions.
@@ -49,6 +52,11 @@ public class Statistics {
 
     private final HashMap<String, Integer> interactiveAppsDetails = new HashMap<>();
 
+    /**
+     * The performance metrics of the proof, if these statistics were computed for a proof.
+     */
+    private final @Nullable ProofMetrics metrics;
+
     protected Statistics(int nodes, int branches, int cachedBranches, int interactiveSteps,
             int symbExApps,
             int quantifierInstantiations, int ossApps, int mergeRuleApps, int totalRuleApps,
@@ -72,6 +80,7 @@ public class Statistics {
         this.autoModeTimeInMillis = autoModeTimeInMillis;
         this.timeInMillis = timeInMillis;
         this.timePerStepInMillis = timePerStepInMillis;
+        this.metrics = null;
     }
 
     public Statistics(List<Node> startNodes) {
@@ -142,6 +151,7 @@ public class Statistics {
         this.autoModeTimeInMillis = autoModeTimeInMillis;
         this.timeInMillis = timeInMillis;
         this.timePerStepInMillis = nodes <= 1 ? .0f : (autoModeTimeInMillis / (float) (nodes - 1));
+        this.metrics = startNodes.get(0).proof().getMetrics();
 
         generateSummary(startNodes.get(0).proof());
     }
@@ -174,6 +184,7 @@ public class Statistics {
         this.autoModeTimeInMillis = startNode.proof().getAutoModeTime();
         this.timeInMillis = (System.currentTimeMillis() - startNode.proof().creationTime);
         timePerStepInMillis = nodes <= 1 ? .0f : (autoModeTimeInMillis / (float) (nodes - 1));
+        this.metrics = startNode.proof().getMetrics();
 
         generateSummary(startNode.proof());
     }
@@ -263,6 +274,54 @@ public class Statistics {
         return interactiveAppsDetails;
     }
 
+    /**
+     * @return the performance metrics of the proof, null if these statistics are not computed for
+     *         a proof
+     */
+    public @Nullable ProofMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Write the statistics and the performance metrics of the proof as JSON object.
+     *
+     * @param writer the target
+     */
+    public void writeJson(Writer writer) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("nodes", nodes);
+        result.put("branches", branches);
+        result.put("cachedBranches", cachedBranches);
+        result.put("interactiveSteps", interactiveSteps);
+        result.put("symbExApps", symbExApps);
+        result.put("quantifierInstantiations", quantifierInstantiations);
+        result.put("ossApps", ossApps);
+        result.put("mergeRuleApps", mergeRuleApps);
+        result.put("totalRuleApps", totalRuleApps);
+        result.put("smtSolverApps", smtSolverApps);
+        result.put("dependencyContractApps", dependencyContractApps);
+        result.put("operationContractApps", operationContractApps);
+        result.put("blockLoopContractApps", blockLoopContractApps);
+        result.put("loopInvApps", loopInvApps);
+        result.put("autoModeTimeInMillis", autoModeTimeInMillis);
+        result.put("timeInMillis", timeInMillis);
+        result.put("timePerStepInMillis", timePerStepInMillis);
+        if (metrics != null) {
+            result.put("metrics", metrics.toMap());
+        }
+        new Configuration.ConfigurationWriter(writer).printValue(result);
+    }
+
+    /**
+     * @return the statistics and the performance metrics of the proof as JSON object
+     * @see #writeJson(Writer)
+     */
+    public String toJson() {
+        final StringWriter writer = new StringWriter();
+        writeJson(writer);
+        return writer.toString();
+    }
+
     @Override
     public String toString() {
         StringBuffer sb = new StringBuffer("Proof Statistics:\n");
@@ -5,13 +5,14 @@ package de.uka.ilkd.key.proof;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.logic.SequentChangeInfo;
 import de.uka.ilkd.key.proof.PrefixTermTacletAppIndexCacheImpl.CacheKey;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.rulefilter.AndRuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
@@ -34,9 +35,6 @@ import org.jspecify.annotations.NonNull;
  */
 
 public class TacletAppIndex {
-    public static final AtomicLong PERF_CREATE_ALL = new AtomicLong();
-    public static final AtomicLong PERF_UPDATE = new AtomicLong();
-
     private final TacletIndex tacletIndex;
 
     private SemisequentTacletAppIndex antecIndex;
@@ -151,7 +149,8 @@ public class TacletAppIndex {
                 new SemisequentTacletAppIndex(getSequent(), false, getServices(), tacletIndex(),
                     newRuleListener, ruleFilter, indexCaches);
         } finally {
-            PERF_CREATE_ALL.getAndAdd(System.nanoTime() - time);
+            getProof().getMetrics().record(CoreTimer.TACLET_APP_INDEX_CREATE_ALL,
+                System.nanoTime() - time);
         }
     }
 
@@ -305,18 +304,20 @@ public class TacletAppIndex {
         } else {
             var time = System.nanoTime();
             updateIndices(sci);
-            PERF_UPDATE.getAndAdd(System.nanoTime() - time);
+            getProof().getMetrics().record(CoreTimer.TACLET_APP_INDEX_UPDATE,
+                System.nanoTime() - time);
         }
     }
 
     private void updateIndices(SequentChangeInfo sci) {
         seq = sci.sequent();
 
-        antecIndex =
-            antecIndex.sequentChanged(sci, getServices(), tacletIndex, newRuleListener);
+        final ProofMetrics metrics = getProof().getMetrics();
+        antecIndex = antecIndex.sequentChanged(sci, getServices(), tacletIndex, newRuleListener,
+            metrics);
 
-        succIndex =
-            succIndex.sequentChanged(sci, getServices(), tacletIndex, newRuleListener);
+        succIndex = succIndex.sequentChanged(sci, getServices(), tacletIndex, newRuleListener,
+            metrics);
     }
 
     private void updateIndices(final SetRuleFilter newTaclets) {
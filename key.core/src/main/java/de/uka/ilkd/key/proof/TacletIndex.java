@@ -36,6 +36,14 @@ public abstract class TacletIndex {
     private static final Object DEFAULT_SV_KEY = new Object();
     private static final Object DEFAULT_PROGSV_KEY = new Object();
 
+    /**
+     * whether candidates are discarded by the skeleton of their find term ({@link FindSkeleton})
+     * before they are matched; can be disabled by the system property
+     * {@code tacletindex.skeleton.enabled}
+     */
+    private static final boolean FILTER_BY_SKELETON =
+        !"false".equals(System.getProperty("tacletindex.skeleton.enabled", "true"));
+
     /** contains rewrite Taclets */
     protected HashMap<Object, ImmutableList<NoPosTacletApp>> rwList = new LinkedHashMap<>();
 
@@ -280,13 +288,19 @@ public abstract class TacletIndex {
 
     /**
      * returns a list of Taclets and instantiations from the given list of taclets with respect to
-     * term and the filter object.
+     * term and the filter object. Taclets whose find skeleton ({@link FindSkeleton}) does not fit
+     * the term are discarded before the matcher is run.
      *
      * @param services the Services object encapsulating information about the java datastructures
      *        like (static)types etc.
      */
     private ImmutableList<NoPosTacletApp> getFindTaclet(ImmutableList<NoPosTacletApp> taclets,
             RuleFilter filter, PosInOccurrence pos, Services services) {
+        if (FILTER_BY_SKELETON && taclets != null) {
+            final Term term = pos.subTerm();
+            taclets = taclets.filter(
+                app -> ((FindTaclet) app.taclet()).getFindSkeleton().mayMatch(term));
+        }
         return matchTaclets(taclets, filter, pos, services);
     }
 
@@ -476,7 +490,7 @@ public abstract class TacletIndex {
     public ImmutableList<NoPosTacletApp> getRewriteTaclet(PosInOccurrence pos, RuleFilter filter,
             Services services) {
         ImmutableList<NoPosTacletApp> result =
-            matchTaclets(getList(rwList, pos.subTerm(), false), filter, pos, services);
+            getFindTaclet(getList(rwList, pos.subTerm(), false), filter, pos, services);
         return result;
     }
 
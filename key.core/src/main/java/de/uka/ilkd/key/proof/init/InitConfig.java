@@ -409,6 +409,17 @@ public class InitConfig {
         return copyWithServices(services.copyPreservesLDTInformation());
     }
 
+    /**
+     * returns a copy of this initial configuration which uses the given profile. The profile has
+     * to be of the same kind and use the same taclet base as the profile of this configuration.
+     *
+     * @param profile the profile of the copy
+     * @return the copy
+     */
+    public InitConfig copy(Profile profile) {
+        return copyWithServices(services.copyPreservesLDTInformation(profile));
+    }
+
     /**
      * returns a copy of this initial configuration copying the namespaces, the contained JavaInfo
      * while using the immutable set of taclets in the copy
@@ -15,6 +15,7 @@ import de.uka.ilkd.key.nparser.ProblemInformation;
 import de.uka.ilkd.key.nparser.ProofReplayer;
 import de.uka.ilkd.key.proof.Proof;
 import de.uka.ilkd.key.proof.ProofAggregate;
+import de.uka.ilkd.key.proof.io.BinaryFileRuleSource;
 import de.uka.ilkd.key.proof.io.IProofFileParser;
 import de.uka.ilkd.key.proof.io.KeYFile;
 import de.uka.ilkd.key.proof.io.consistency.FileRepo;
@@ -186,6 +187,10 @@ public final class KeYUserProblemFile extends KeYFile implements ProofOblInput {
      * Reads a saved proof of a .key file.
      */
     public void readProof(IProofFileParser prl) throws IOException {
+        if (file instanceof BinaryFileRuleSource binary) {
+            binary.readProof(prl);
+            return;
+        }
         KeyAst.File ctx = getParseContext();
         Token token = ctx.findProof();
         if (token != null) {
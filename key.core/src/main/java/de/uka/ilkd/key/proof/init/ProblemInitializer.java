@@ -6,6 +6,7 @@ package de.uka.ilkd.key.proof.init;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.Field;
@@ -55,7 +56,11 @@ import recoder.io.ProjectSettings;
 public final class ProblemInitializer {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProblemInitializer.class);
 
-    private static InitConfig baseConfig;
+    /**
+     * The parsed taclet bases together with the LDTs set up for them. Base configurations are
+     * only used via copies, which share the immutable taclets with the cached configuration.
+     */
+    private static final Map<BaseConfigKey, InitConfig> BASE_CONFIGS = new ConcurrentHashMap<>();
     private final Services services;
     private final ProgressMonitor progMon;
     private final Set<EnvInput> alreadyParsed = new LinkedHashSet<>();
@@ -436,26 +441,9 @@ public final class ProblemInitializer {
         // the synchronized statement can not be avoided for this reason.
 
         synchronized (SchemaJavaParser.class) {
-            // It is required to work with a copy to make this method thread save required by the
-            // Eclipse plug-ins.
-            InitConfig currentBaseConfig = baseConfig != null ? baseConfig.copy() : null;
             progressStarted(this);
             alreadyParsed.clear();
-
-            // the first time, read in standard rules
-            Profile profile = services.getProfile();
-            if (currentBaseConfig == null || profile != currentBaseConfig.getProfile()) {
-                currentBaseConfig = new InitConfig(services);
-                RuleSource tacletBase = profile.getStandardRules().getTacletBase();
-                if (tacletBase != null) {
-                    KeYFile tacletBaseFile = new KeYFile("taclet base",
-                        profile.getStandardRules().getTacletBase(), progMon, profile);
-                    readEnvInput(tacletBaseFile, currentBaseConfig);
-                }
-                // remove traces of the generic sorts within the base configuration
-                cleanupNamespaces(currentBaseConfig);
-                baseConfig = currentBaseConfig;
-            }
+            InitConfig currentBaseConfig = getBaseConfig(services.getProfile());
 
             InitConfig ic = prepare(envInput, currentBaseConfig);
             if (Debug.ENABLE_DEBUG) {
@@ -465,6 +453,71 @@ public final class ProblemInitializer {
         }
     }
 
+    /**
+     * Returns the base configuration (the taclet base and the LDTs) for the given profile. The
+     * taclet base is read only once for all profiles of the same kind with the same rules, which
+     * includes different instances of a profile (e.g., the ones used in different threads).
+     *
+     * @param profile the profile
+     * @return a base configuration for the profile which may be changed by the caller
+     * @throws ProofInputException if reading the taclet base fails
+     */
+    private InitConfig getBaseConfig(Profile profile) throws ProofInputException {
+        final BaseConfigKey key = BaseConfigKey.of(profile);
+        final InitConfig cached = BASE_CONFIGS.get(key);
+        if (cached != null) {
+            // It is required to work with a copy to make this method thread save required by the
+            // Eclipse plug-ins.
+            return cached.getProfile() == profile ? cached.copy() : cached.copy(profile);
+        }
+
+        final InitConfig result = new InitConfig(services);
+        RuleSource tacletBase = profile.getStandardRules().getTacletBase();
+        if (tacletBase != null) {
+            KeYFile tacletBaseFile = new KeYFile("taclet base", tacletBase, progMon, profile);
+            readEnvInput(tacletBaseFile, result);
+        }
+        // remove traces of the generic sorts within the base configuration
+        cleanupNamespaces(result);
+        BASE_CONFIGS.put(key, result);
+        return result;
+    }
+
+    /**
+     * Clears the cache of base configurations, such that the taclet base is read again on the
+     * next call of {@link #prepare(EnvInput)}.
+     */
+    public static void clearBaseConfigCache() {
+        BASE_CONFIGS.clear();
+    }
+
+    /**
+     * The key of a cached base configuration. The parsed taclet base does not depend on the
+     * chosen taclet options (they are applied when the taclets are activated for a proof), but
+     * the LDTs depend on the kind of profile (e.g., the permission heap of the
+     * {@link JavaProfile} with permissions).
+     *
+     * @param profileClass the class of the profile
+     * @param profileName the name of the profile
+     * @param tacletBase the location of the taclet base, or null if there is none
+     * @param tacletBaseHash the hash of the content of the taclet base
+     */
+    private record BaseConfigKey(Class<?> profileClass, String profileName, String tacletBase,
+            int tacletBaseHash) {
+        static BaseConfigKey of(Profile profile) throws ProofInputException {
+            final RuleSource tacletBase = profile.getStandardRules().getTacletBase();
+            if (tacletBase == null) {
+                return new BaseConfigKey(profile.getClass(), profile.name(), null, 0);
+            }
+            try (InputStream in = tacletBase.getNewStream()) {
+                return new BaseConfigKey(profile.getClass(), profile.name(),
+                    tacletBase.getExternalForm(), Arrays.hashCode(in.readAllBytes()));
+            } catch (IOException e) {
+                throw new ProofInputException(e);
+            }
+        }
+    }
+
     private void print(Proof firstProof) {
         File taclets1;
         try {
@@ -33,8 +33,6 @@ import de.uka.ilkd.key.settings.Configuration;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.speclang.Contract;
 import de.uka.ilkd.key.speclang.SLEnvInput;
-import de.uka.ilkd.key.strategy.Strategy;
-import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.util.ExceptionHandlerException;
 import de.uka.ilkd.key.util.Triple;
 
@@ -498,7 +496,8 @@ public abstract class AbstractProblemLoader {
             return new KeYUserProblemFile(unzippedProof.toString(), unzippedProof.toFile(),
                 fileRepo, control, profileOfNewProofs, false);
         } else if (filename.endsWith(".key") || filename.endsWith(".proof")
-                || filename.endsWith(".proof.gz")) {
+                || filename.endsWith(".proof.gz")
+                || filename.endsWith(BinaryProofSaver.EXTENSION)) {
             // KeY problem specification or saved proof
             return new KeYUserProblemFile(filename, file, fileRepo, control, profileOfNewProofs,
                 filename.endsWith(".proof.gz"));
@@ -694,8 +693,7 @@ public abstract class AbstractProblemLoader {
         IntermediatePresentationProofFileParser.Result parserResult = null;
         IntermediateProofReplayer.Result replayResult = null;
 
-        final String ossStatus = (String) proof.getSettings().getStrategySettings()
-                .getActiveStrategyProperties().get(StrategyProperties.OSS_OPTIONS_KEY);
+        String ossStatus = null;
         ReplayResult result;
         try {
             assert envInput instanceof KeYUserProblemFile;
@@ -711,13 +709,11 @@ public abstract class AbstractProblemLoader {
             // For loading, we generally turn on one step simplification to be
             // able to load proofs that used it even if the user has currently
             // turned OSS off.
-            StrategyProperties newProps =
-                proof.getSettings().getStrategySettings().getActiveStrategyProperties();
-            newProps.setProperty(StrategyProperties.OSS_OPTIONS_KEY, StrategyProperties.OSS_ON);
-            Strategy.updateStrategySettings(proof, newProps);
-            OneStepSimplifier.refreshOSS(proof);
+            ossStatus = IntermediateProofReplayer.enableOneStepSimplifier(proof);
 
             replayer = new IntermediateProofReplayer(this, proof, parserResult);
+            replayer.setLazy(
+                Boolean.getBoolean(IntermediateProofReplayer.LAZY_REPLAY_PROPERTY));
             replayResult =
                 replayer.replay(problemInitializer.getListener(), problemInitializer.getProgMon());
 
@@ -745,11 +741,9 @@ public abstract class AbstractProblemLoader {
                 errors.addAll(replayResult.getErrors());
             }
 
-            StrategyProperties newProps =
-                proof.getSettings().getStrategySettings().getActiveStrategyProperties();
-            newProps.setProperty(StrategyProperties.OSS_OPTIONS_KEY, ossStatus);
-            Strategy.updateStrategySettings(proof, newProps);
-            OneStepSimplifier.refreshOSS(proof);
+            if (ossStatus != null) {
+                IntermediateProofReplayer.restoreOneStepSimplifier(proof, ossStatus);
+            }
 
             result = new ReplayResult(status, errors, lastTouchedNode);
         }
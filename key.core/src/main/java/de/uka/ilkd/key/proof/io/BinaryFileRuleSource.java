@@ -0,0 +1,68 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CharStreams;
+
+/**
+ * This file rule source derivative reads binary proof files (see {@link BinaryProofSaver}). The
+ * textual problem header is provided as content of the rule source, the proof is read by
+ * {@link #readProof(IProofFileParser)}.
+ */
+public class BinaryFileRuleSource extends FileRuleSource {
+
+    /** the textual problem header (read lazily) */
+    private String header;
+
+    /**
+     * Instantiates a new binary file rule source.
+     *
+     * This is only instantiated from {@link RuleSourceFactory#initRuleFile(File, boolean)}.
+     *
+     * @param ruleFile the file to read from.
+     */
+    BinaryFileRuleSource(File ruleFile) {
+        super(ruleFile);
+    }
+
+    private synchronized String getHeader() throws IOException {
+        if (header == null) {
+            try (InputStream in = new BufferedInputStream(new FileInputStream(ruleFile))) {
+                header = BinaryProofFormat.readHeader(in);
+            }
+        }
+        return header;
+    }
+
+    @Override
+    public InputStream getNewStream() {
+        try {
+            return new ByteArrayInputStream(getHeader().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new RuntimeException("Error while reading rules.", e);
+        }
+    }
+
+    @Override
+    public CharStream getCharStream() throws IOException {
+        return CharStreams.fromString(getHeader(), file().toString());
+    }
+
+    /**
+     * Reads the proof of the binary proof file.
+     *
+     * @param prl the receiver of the proof elements
+     * @throws IOException if reading fails
+     */
+    public void readProof(IProofFileParser prl) throws IOException {
+        try (InputStream in = new BufferedInputStream(new FileInputStream(ruleFile), 1 << 16)) {
+            BinaryProofFormat.readHeader(in);
+            BinaryProofReader.read(in, prl);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+/**
+ * Constants and primitive encodings of the binary proof format written by
+ * {@link BinaryProofSaver}.
+ * <p>
+ * A binary proof file consists of
+ * <ol>
+ * <li>the magic bytes {@link #MAGIC} and the format {@link #VERSION} (varint),</li>
+ * <li>the textual problem header (settings, declarations and problem or proof obligation as
+ * written into a {@code .proof} file before the {@code \proof} section) as UTF-8 string,</li>
+ * <li>the proof tree as a stream of the elements of the {@code \proof} section (see
+ * {@link IProofFileParser}).</li>
+ * </ol>
+ * The beginning of an element is a byte with the {@link #elementCode(ProofElementID) code} of its
+ * {@link ProofElementID} in the upper bits and the kind of its argument
+ * ({@link #ARG_NONE}, {@link #ARG_STRING} or {@link #ARG_INTS}) in the lower two bits, followed by
+ * the argument. Strings (e.g., rule names and
+ * instantiations) are interned: they are written once and afterwards referenced by their index.
+ * Arguments consisting of comma separated numbers (e.g., formula numbers and term positions) are
+ * written as list of varints. The end of an element is marked by {@link #END}, the end of the proof
+ * by {@link #END_OF_PROOF}.
+ * </p>
+ */
+final class BinaryProofFormat {
+    /** magic bytes at the beginning of a binary proof file */
+    static final byte[] MAGIC = "KeYProof".getBytes(StandardCharsets.US_ASCII);
+
+    /** the version of the format */
+    static final int VERSION = 1;
+
+    /** the element has no argument */
+    static final int ARG_NONE = 0;
+
+    /** the argument is an interned string */
+    static final int ARG_STRING = 1;
+
+    /** the argument is a list of comma separated non-negative numbers */
+    static final int ARG_INTS = 2;
+
+    /** marks the end of an element */
+    static final int END = 0xFE;
+
+    /** marks the end of the proof */
+    static final int END_OF_PROOF = 0xFF;
+
+    /** the elements by their code */
+    private static final ProofElementID[] ELEMENTS_BY_CODE = new ProofElementID[63];
+
+    static {
+        for (ProofElementID id : ProofElementID.values()) {
+            final int code = elementCode(id);
+            if (ELEMENTS_BY_CODE[code] != null) {
+                throw new IllegalStateException("Duplicate binary proof element code " + code);
+            }
+            ELEMENTS_BY_CODE[code] = id;
+        }
+    }
+
+    private BinaryProofFormat() {
+    }
+
+    /**
+     * The code of a proof element in the binary format. Codes are part of the format: they must
+     * never be changed or reused, new elements get new codes (at most 62).
+     *
+     * @param id a proof element
+     * @return its code
+     */
+    static int elementCode(ProofElementID id) {
+        return switch (id) {
+        case BRANCH -> 0;
+        case RULE -> 1;
+        case TERM -> 2;
+        case FORMULA -> 3;
+        case INSTANTIATION -> 4;
+        case ASSUMES_FORMULA_IN_SEQUENT -> 5;
+        case ASSUMES_FORMULA_DIRECT -> 6;
+        case RULESET -> 7;
+        case BUILT_IN_RULE -> 8;
+        case CONTRACT -> 9;
+        case ASSUMES_INST_BUILT_IN -> 10;
+        case MERGE_ABSTRACTION_PREDICATES -> 11;
+        case MERGE_PREDICATE_ABSTRACTION_LATTICE_TYPE -> 12;
+        case MERGE_PROCEDURE -> 13;
+        case NUMBER_MERGE_PARTNERS -> 14;
+        case MERGE_NODE -> 15;
+        case MERGE_ID -> 16;
+        case MERGE_DIST_FORMULA -> 17;
+        case MERGE_USER_CHOICES -> 18;
+        case USER_INTERACTION -> 19;
+        case PROOF_SCRIPT -> 20;
+        case NEW_NAMES -> 21;
+        case AUTOMODE_TIME -> 22;
+        case KeY_LOG -> 23;
+        case KeY_USER -> 24;
+        case KeY_VERSION -> 25;
+        case KeY_SETTINGS -> 26;
+        case OPEN_GOAL -> 27;
+        case NOTES -> 28;
+        case SOLVERTYPE -> 29;
+        case MODALITY -> 30;
+        };
+    }
+
+    /**
+     * @param code a code read from a binary proof
+     * @return the proof element with the code (or null, if there is none)
+     */
+    static ProofElementID elementByCode(int code) {
+        return code < ELEMENTS_BY_CODE.length ? ELEMENTS_BY_CODE[code] : null;
+    }
+
+    /**
+     * @param file a file
+     * @return true if the file starts with the magic bytes of the binary proof format
+     */
+    static boolean isBinaryProofFile(File file) {
+        try (InputStream in = new FileInputStream(file)) {
+            return Arrays.equals(MAGIC, in.readNBytes(MAGIC.length));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static void writeVarInt(OutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    static int readVarInt(InputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = readByte(in);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in binary proof");
+    }
+
+    static int readByte(InputStream in) throws IOException {
+        final int b = in.read();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of binary proof");
+        }
+        return b;
+    }
+
+    static void writeString(OutputStream out, String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+    static String readString(InputStream in) throws IOException {
+        final int length = readVarInt(in);
+        final byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException("Unexpected end of binary proof");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the header of a binary proof file.
+     *
+     * @param in the input stream positioned at the beginning of the file
+     * @return the textual problem header
+     * @throws IOException if the stream is not a binary proof of a supported version
+     */
+    static String readHeader(InputStream in) throws IOException {
+        if (!Arrays.equals(MAGIC, in.readNBytes(MAGIC.length))) {
+            throw new IOException("Not a binary proof file");
+        }
+        final int version = readVarInt(in);
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary proof version " + version);
+        }
+        return readString(in);
+    }
+}
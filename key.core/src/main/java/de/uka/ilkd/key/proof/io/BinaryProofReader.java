@@ -0,0 +1,92 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+import static de.uka.ilkd.key.proof.io.BinaryProofFormat.*;
+
+/**
+ * Streaming reader of the binary proof format (see {@link BinaryProofFormat}). It signals the
+ * elements of the proof to an {@link IProofFileParser} in the same way as
+ * {@link de.uka.ilkd.key.nparser.ProofReplayer} does for textual proofs, but without lexing. As
+ * there are no lines in a binary proof, the number of the element is reported instead of the line
+ * number.
+ */
+final class BinaryProofReader {
+    private BinaryProofReader() {
+    }
+
+    /**
+     * Reads the proof behind the header of a binary proof.
+     *
+     * @param in the stream positioned behind the header (see
+     *        {@link BinaryProofFormat#readHeader(InputStream)})
+     * @param prl the receiver of the proof elements
+     * @throws IOException if reading fails or the proof is malformed
+     */
+    static void read(InputStream in, IProofFileParser prl) throws IOException {
+        final List<String> symbols = new ArrayList<>();
+        final Deque<ProofElementID> stack = new ArrayDeque<>();
+        final Deque<Integer> posStack = new ArrayDeque<>();
+        final StringBuilder ints = new StringBuilder();
+        int element = 0;
+        while (true) {
+            final int tag = readByte(in);
+            if (tag == END_OF_PROOF) {
+                if (!stack.isEmpty()) {
+                    throw new IOException("Unexpected end of binary proof");
+                }
+                return;
+            } else if (tag == END) {
+                if (stack.isEmpty()) {
+                    throw new IOException("Unbalanced element in binary proof");
+                }
+                prl.endExpr(stack.pop(), posStack.pop());
+                continue;
+            }
+
+            final ProofElementID id = elementByCode(tag >>> 2);
+            if (id == null) {
+                throw new IOException("Unknown proof element " + (tag >>> 2) + " in binary proof");
+            }
+            final String arg;
+            switch (tag & 3) {
+            case ARG_NONE -> arg = null;
+            case ARG_STRING -> {
+                final int index = readVarInt(in);
+                if (index == symbols.size()) {
+                    symbols.add(readString(in));
+                } else if (index > symbols.size()) {
+                    throw new IOException("Undefined symbol " + index + " in binary proof");
+                }
+                arg = symbols.get(index);
+            }
+            case ARG_INTS -> {
+                ints.setLength(0);
+                final int count = readVarInt(in);
+                for (int i = 0; i < count; i++) {
+                    if (i > 0) {
+                        ints.append(',');
+                    }
+                    ints.append(readVarInt(in));
+                }
+                arg = ints.toString();
+            }
+            default -> throw new IOException("Unknown argument kind in binary proof");
+            }
+            element++;
+            prl.beginExpr(id, arg);
+            stack.push(id);
+            posStack.push(element);
+        }
+    }
+}
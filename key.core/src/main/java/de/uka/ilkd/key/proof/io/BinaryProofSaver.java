@@ -0,0 +1,75 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.*;
+
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
+
+/**
+ * This proof saver derivative writes proofs in the binary proof format (see
+ * {@link BinaryProofFormat}). The problem header is kept textual, while the proof tree is written
+ * as a compact stream of proof elements with interned strings, which is read without lexing and
+ * parsing of the proof script.
+ * <p>
+ * Binary proof files are recognized by the extension {@link #EXTENSION}.
+ * </p>
+ */
+public class BinaryProofSaver extends ProofSaver {
+    /** the file extension of binary proof files */
+    public static final String EXTENSION = ".proof.bin";
+
+    /**
+     * Instantiates a new proof saver.
+     *
+     * @param proof the non-<code>null</code> proof to save
+     * @param fileName the name of the file to write to
+     * @param internalVersion the internal version
+     */
+    public BinaryProofSaver(Proof proof, String fileName, String internalVersion) {
+        super(proof, fileName, internalVersion);
+    }
+
+    /**
+     * Instantiates a new proof saver.
+     *
+     * @param proof the non-<code>null</code> proof to save
+     * @param file the file to write to
+     */
+    public BinaryProofSaver(Proof proof, File file) {
+        super(proof, file);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This subclass writes the textual problem header followed by the binary encoding of the proof.
+     */
+    @Override
+    public void save(OutputStream out) throws IOException {
+        // deferred branches of a lazily loaded proof would be written as open goals
+        IntermediateProofReplayer.replayAllPendingBranches(proof);
+        CopyReferenceResolver.copyCachedGoals(proof, null, null, null);
+        final StringWriter header = new StringWriter();
+        try (var ps = new PrintWriter(header)) {
+            writeProblem(ps);
+        }
+
+        final var writer =
+            new BinaryProofWriter(new BufferedOutputStream(out, 1 << 16), header.toString());
+        final var ps = new PrintWriter(writer);
+        try {
+            if (saveProofSteps) {
+                writeProofSteps(ps);
+            }
+        } finally {
+            ps.close();
+        }
+        // PrintWriter swallows the exceptions of the underlying writer
+        if (ps.checkError()) {
+            throw new IOException("Could not write binary proof", writer.getError());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.Map;
+
+import de.uka.ilkd.key.proof.io.IProofFileParser.ProofElementID;
+
+import static de.uka.ilkd.key.proof.io.BinaryProofFormat.*;
+
+/**
+ * Streaming writer of the binary proof format (see {@link BinaryProofFormat}). The writer accepts
+ * the text of a {@code \proof} section as written by {@link OutputStreamProofSaver} and encodes
+ * its elements on the fly, such that the textual and the binary format are produced by the same
+ * code and no textual representation of the whole proof is kept in memory.
+ */
+final class BinaryProofWriter extends Writer {
+    private enum State {
+        /** between elements */
+        OUTSIDE,
+        /** reading the identifier of an element */
+        ID,
+        /** after the identifier, waiting for an optional string argument */
+        AFTER_ID,
+        /** inside a string literal */
+        STRING,
+        /** after a backslash inside a string literal */
+        ESCAPE,
+        /** inside a string literal which is not an argument (ignored as when reading text) */
+        SKIPPED_STRING,
+        /** after a backslash inside an ignored string literal */
+        SKIPPED_ESCAPE
+    }
+
+    private static final Map<String, ProofElementID> ELEMENT_IDS = new HashMap<>();
+
+    static {
+        for (ProofElementID id : ProofElementID.values()) {
+            ELEMENT_IDS.put(id.getRawName(), id);
+        }
+    }
+
+    private final OutputStream out;
+
+    /** the interned strings and their indices */
+    private final Map<String, Integer> symbols = new HashMap<>();
+
+    private final StringBuilder buffer = new StringBuilder();
+
+    private State state = State.OUTSIDE;
+
+    private ProofElementID currentId;
+
+    /** the number of open elements */
+    private int depth;
+
+    private boolean closed;
+
+    /** the first exception thrown by this writer */
+    private IOException error;
+
+    /**
+     * Creates a new writer and writes the header of the binary proof.
+     *
+     * @param out the stream to write to
+     * @param header the textual problem header
+     * @throws IOException if writing fails
+     */
+    BinaryProofWriter(OutputStream out, String header) throws IOException {
+        this.out = out;
+        out.write(MAGIC);
+        writeVarInt(out, VERSION);
+        writeString(out, header);
+    }
+
+    /**
+     * @return the first exception thrown by this writer (or null), as a {@link java.io.PrintWriter}
+     *         around it only reports that an error occurred
+     */
+    IOException getError() {
+        return error;
+    }
+
+    private IOException recordError(IOException e) {
+        if (error == null) {
+            error = e;
+        }
+        return e;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        try {
+            for (int i = off; i < off + len; i++) {
+                accept(cbuf[i]);
+            }
+        } catch (IOException e) {
+            throw recordError(e);
+        }
+    }
+
+    private void accept(char c) throws IOException {
+        switch (state) {
+        case OUTSIDE -> {
+            if (c == '(') {
+                buffer.setLength(0);
+                state = State.ID;
+            } else if (c == ')') {
+                end();
+            } else if (c == '"') {
+                state = State.SKIPPED_STRING;
+            }
+        }
+        case ID -> {
+            if (c == '(' || c == ')' || c == '"' || Character.isWhitespace(c)) {
+                final String name = buffer.toString();
+                currentId = ELEMENT_IDS.get(name);
+                if (currentId == null) {
+                    throw new IOException("Unknown proof element: " + name);
+                }
+                state = State.AFTER_ID;
+                accept(c);
+            } else {
+                buffer.append(c);
+            }
+        }
+        case AFTER_ID -> {
+            if (c == '"') {
+                buffer.setLength(0);
+                state = State.STRING;
+            } else if (!Character.isWhitespace(c)) {
+                begin(null);
+                accept(c);
+            }
+        }
+        case STRING -> {
+            if (c == '"') {
+                begin(unescape(buffer.toString()));
+            } else {
+                if (c == '\\') {
+                    state = State.ESCAPE;
+                }
+                buffer.append(c);
+            }
+        }
+        case ESCAPE -> {
+            buffer.append(c);
+            state = State.STRING;
+        }
+        case SKIPPED_STRING -> {
+            if (c == '"') {
+                state = State.OUTSIDE;
+            } else if (c == '\\') {
+                state = State.SKIPPED_ESCAPE;
+            }
+        }
+        case SKIPPED_ESCAPE -> state = State.SKIPPED_STRING;
+        }
+    }
+
+    /**
+     * same as the unescaping of string literals when reading a textual proof
+     */
+    private static String unescape(String text) {
+        return text.replace("\\\\", "\\").replace("\\\"", "\"");
+    }
+
+    private void begin(String arg) throws IOException {
+        state = State.OUTSIDE;
+        depth++;
+        final int tag = elementCode(currentId) << 2;
+        if (arg == null) {
+            out.write(tag | ARG_NONE);
+        } else if (isIntList(arg)) {
+            out.write(tag | ARG_INTS);
+            final String[] ints = arg.split(",");
+            writeVarInt(out, ints.length);
+            for (String i : ints) {
+                writeVarInt(out, Integer.parseInt(i));
+            }
+        } else {
+            out.write(tag | ARG_STRING);
+            final Integer index = symbols.get(arg);
+            if (index == null) {
+                writeVarInt(out, symbols.size());
+                writeString(out, arg);
+                symbols.put(arg, symbols.size());
+            } else {
+                writeVarInt(out, index);
+            }
+        }
+    }
+
+    private void end() throws IOException {
+        if (depth == 0) {
+            throw new IOException("Unbalanced parentheses in proof");
+        }
+        depth--;
+        out.write(END);
+    }
+
+    /**
+     * @return true if the string is a non-empty list of comma separated numbers which is restored
+     *         exactly by printing the parsed numbers
+     */
+    private static boolean isIntList(String arg) {
+        boolean digitExpected = true;
+        boolean leadingZero = false;
+        int digits = 0;
+        for (int i = 0; i < arg.length(); i++) {
+            final char c = arg.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (leadingZero || digits == 9) {
+                    return false;
+                }
+                leadingZero = digits == 0 && c == '0';
+                digits++;
+                digitExpected = false;
+            } else if (c == ',' && !digitExpected) {
+                digitExpected = true;
+                leadingZero = false;
+                digits = 0;
+            } else {
+                return false;
+            }
+        }
+        return !digitExpected;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw recordError(e);
+        }
+    }
+
+    /**
+     * Writes the end of the proof and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            try {
+                if (depth != 0 || state != State.OUTSIDE) {
+                    throw new IOException("Incomplete proof element");
+                }
+                out.write(END_OF_PROOF);
+            } catch (IOException e) {
+                throw recordError(e);
+            } finally {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    throw recordError(e);
+                }
+            }
+        }
+    }
+}
@@ -47,6 +47,8 @@ import de.uka.ilkd.key.smt.*;
 import de.uka.ilkd.key.smt.SMTSolverResult.ThreeValuedTruth;
 import de.uka.ilkd.key.speclang.Contract;
 import de.uka.ilkd.key.speclang.OperationContract;
+import de.uka.ilkd.key.strategy.Strategy;
+import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.util.ProgressMonitor;
 import de.uka.ilkd.key.util.Triple;
 import de.uka.ilkd.key.util.mergerule.MergeRuleUtils;
@@ -92,6 +94,11 @@ public class IntermediateProofReplayer {
     public static final String SMT_NOT_RUN =
         "Your proof has been loaded, but SMT solvers have not been run";
 
+    /**
+     * System property enabling lazy replay of loaded proofs (see {@link #setLazy(boolean)}).
+     */
+    public static final String LAZY_REPLAY_PROPERTY = "key.proof.lazyReplay";
+
     private static final String ERROR_LOADING_PROOF_LINE = "Error loading proof.\n";
     private static final String NOT_APPLICABLE =
         " not available or not applicable in this context.";
@@ -119,6 +126,15 @@ public class IntermediateProofReplayer {
     /** The current open goal */
     private Goal currGoal = null;
 
+    /**
+     * Whether branches after a split (except the first one) are deferred until they are needed
+     * (see {@link #setLazy(boolean)})
+     */
+    private boolean lazy = false;
+
+    /** Deferred branches: the open goal node and the intermediate subtree to be replayed there */
+    private final Map<Node, NodeIntermediate> pendingBranches = new LinkedHashMap<>();
+
     /**
      * Constructs a new {@link IntermediateProofReplayer}.
      *
@@ -156,6 +172,181 @@ public class IntermediateProofReplayer {
         return currGoal;
     }
 
+    /**
+     * Enables or disables lazy replay. In lazy mode, only the first branch after each split is
+     * replayed; the other branches remain open goals whose intermediate subtrees are kept until
+     * they are replayed by {@link #replayBranch(Node)}, e.g., when the user selects them, when the
+     * auto mode, a macro or a proof script is started on them (see
+     * {@link #replayPendingGoals(Proof, ImmutableList)}) or when the proof is saved (see
+     * {@link #replayAllPendingBranches(Proof)}). As long as there are deferred branches, the
+     * replayer is registered in the user data of the proof ({@link Proof#lookup(Class)}).
+     * <p>
+     * Proofs containing merge rule applications are always replayed completely, as the merge
+     * partners may be located in different branches.
+     * </p>
+     *
+     * @param lazy true to defer branches
+     */
+    public void setLazy(boolean lazy) {
+        this.lazy = lazy;
+    }
+
+    /**
+     * @param node a node of the proof
+     * @return true if the given node is an open goal whose branch has not been replayed yet
+     */
+    public boolean isPending(Node node) {
+        return pendingBranches.containsKey(node);
+    }
+
+    /**
+     * @return the number of deferred branches
+     */
+    public int getPendingBranchCount() {
+        return pendingBranches.size();
+    }
+
+    /**
+     * Replays a deferred branch. In lazy mode, the branches after splits in this branch are
+     * deferred again.
+     *
+     * @param node the open goal node of the deferred branch
+     * @return result of the replay procedure (see {@link Result}); the errors contain only the
+     *         errors encountered while replaying this branch
+     */
+    public Result replayBranch(Node node) {
+        final NodeIntermediate interm = pendingBranches.remove(node);
+        if (interm != null && proof.getOpenGoal(node) != null) {
+            queue.add(new Pair<>(node, interm));
+        }
+        return replayWithOneStepSimplifier();
+    }
+
+    /**
+     * Replays all deferred branches and disables lazy replay.
+     *
+     * @return result of the replay procedure (see {@link Result}); the errors contain only the
+     *         errors encountered while replaying the deferred branches
+     */
+    public Result replayAllBranches() {
+        lazy = false;
+        for (Map.Entry<Node, NodeIntermediate> entry : pendingBranches.entrySet()) {
+            if (proof.getOpenGoal(entry.getKey()) != null) {
+                queue.add(new Pair<>(entry.getKey(), entry.getValue()));
+            }
+        }
+        pendingBranches.clear();
+        return replayWithOneStepSimplifier();
+    }
+
+    /**
+     * Replays the deferred branches of the given goals (see {@link #setLazy(boolean)})
+     * completely, e.g., before the automatic proof search is started on the goals.
+     *
+     * @param proof the proof the goals belong to
+     * @param goals the goals
+     * @return the given goals where each goal of a deferred branch is replaced by the open goals
+     *         remaining after replaying its branch
+     */
+    public static ImmutableList<Goal> replayPendingGoals(Proof proof, ImmutableList<Goal> goals) {
+        final IntermediateProofReplayer replayer = proof.lookup(IntermediateProofReplayer.class);
+        if (replayer == null) {
+            return goals;
+        }
+        ImmutableList<Goal> result = ImmutableSLList.nil();
+        for (Goal goal : goals) {
+            final Node node = goal.node();
+            if (replayer.isPending(node)) {
+                final boolean wasLazy = replayer.lazy;
+                replayer.lazy = false;
+                try {
+                    logErrors(replayer.replayBranch(node));
+                } finally {
+                    replayer.lazy = wasLazy;
+                }
+                result = result.prependReverse(proof.getSubtreeGoals(node));
+            } else {
+                result = result.prepend(goal);
+            }
+        }
+        return result.reverse();
+    }
+
+    /**
+     * Replays all deferred branches of the given proof (see {@link #setLazy(boolean)}), e.g.,
+     * before it is saved. Errors encountered during the replay are logged.
+     *
+     * @param proof a proof
+     * @return result of the replay procedure (see {@link Result}), or null if the proof has no
+     *         deferred branches
+     */
+    public static Result replayAllPendingBranches(Proof proof) {
+        final IntermediateProofReplayer replayer = proof.lookup(IntermediateProofReplayer.class);
+        if (replayer == null) {
+            return null;
+        }
+        final Result result = replayer.replayAllBranches();
+        logErrors(result);
+        return result;
+    }
+
+    private static void logErrors(Result result) {
+        for (Throwable error : result.getErrors()) {
+            LOGGER.warn("Error while replaying a deferred branch", error);
+        }
+    }
+
+    /**
+     * Replays the queue with the one step simplifier turned on (as when loading the proof).
+     *
+     * @return result of the replay procedure; the errors contain only the errors encountered
+     *         during this replay
+     */
+    private Result replayWithOneStepSimplifier() {
+        final int previousErrors = errors.size();
+        final String ossStatus = enableOneStepSimplifier(proof);
+        final Result result;
+        try {
+            result = replay(null, null);
+        } finally {
+            restoreOneStepSimplifier(proof, ossStatus);
+        }
+        return new Result(result.getStatus(),
+            new ArrayList<>(errors.subList(previousErrors, errors.size())),
+            result.getLastSelectedGoal());
+    }
+
+    /**
+     * Turns on the one step simplifier to be able to replay proofs that used it even if the user
+     * has currently turned it off.
+     *
+     * @param proof the proof to be replayed
+     * @return the previous setting to be passed to {@link #restoreOneStepSimplifier(Proof, String)}
+     */
+    static String enableOneStepSimplifier(Proof proof) {
+        final StrategyProperties props =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        final String ossStatus = (String) props.get(StrategyProperties.OSS_OPTIONS_KEY);
+        props.setProperty(StrategyProperties.OSS_OPTIONS_KEY, StrategyProperties.OSS_ON);
+        Strategy.updateStrategySettings(proof, props);
+        OneStepSimplifier.refreshOSS(proof);
+        return ossStatus;
+    }
+
+    /**
+     * Restores the setting of the one step simplifier after replay.
+     *
+     * @param proof the replayed proof
+     * @param ossStatus the setting returned by {@link #enableOneStepSimplifier(Proof)}
+     */
+    static void restoreOneStepSimplifier(Proof proof, String ossStatus) {
+        final StrategyProperties props =
+            proof.getSettings().getStrategySettings().getActiveStrategyProperties();
+        props.setProperty(StrategyProperties.OSS_OPTIONS_KEY, ossStatus);
+        Strategy.updateStrategySettings(proof, props);
+        OneStepSimplifier.refreshOSS(proof);
+    }
+
     /**
      * Starts the actual replay process. Results are stored in the supplied proof object; the last
      * selected goal may be obtained by {@link #getLastSelectedGoal()}.
@@ -195,6 +386,10 @@ public class IntermediateProofReplayer {
             listener.reportStatus(this, "Replaying proof", max);
             reportInterval = Math.max(1, Integer.highestOneBit(max / 256));
         }
+        if (lazy && containsMerge()) {
+            LOGGER.info("Proof contains merge rule applications, replaying it completely");
+            lazy = false;
+        }
 
         while (!queue.isEmpty()) {
             // periodically report replay progress
@@ -369,6 +564,11 @@ public class IntermediateProofReplayer {
                 reportError(ERROR_LOADING_PROOF_LINE, throwable);
             }
         }
+        if (pendingBranches.isEmpty()) {
+            proof.deregister(this, IntermediateProofReplayer.class);
+        } else if (proof.lookup(IntermediateProofReplayer.class) != this) {
+            proof.register(this, IntermediateProofReplayer.class);
+        }
         if (listener != null) {
             listener.reportStatus(this, "Proof loaded.");
         }
@@ -387,11 +587,14 @@ public class IntermediateProofReplayer {
      * interval to save memory. Note that in this case, some test cases might be adapted which
      * depend on fixed node serial numbers.
      *
+     * In lazy mode, all but the first child are deferred (see {@link #setLazy(boolean)}).
+     *
      * @param children Iterator of proof node children.
      * @param intermChildren List of corresponding intermediate children.
      */
     private void addChildren(Iterator<Node> children, LinkedList<NodeIntermediate> intermChildren) {
         int i = 0;
+        int queued = 0;
         while (!currGoal.node().isClosed() && children.hasNext() && intermChildren.size() > 0) {
 
             // NOTE: In the case of an unfinished proof, there
@@ -402,9 +605,40 @@ public class IntermediateProofReplayer {
 
             Node child = children.next();
             if (!proof.getOpenGoal(child).isLinked()) {
-                queue.add(i, new Pair<>(child, intermChildren.get(i++)));
+                final NodeIntermediate intermChild = intermChildren.get(i++);
+                if (lazy && i > 1) {
+                    pendingBranches.put(child, intermChild);
+                } else {
+                    queue.add(queued++, new Pair<>(child, intermChild));
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the queued intermediate subtrees contain merge rule applications
+     */
+    private boolean containsMerge() {
+        final Deque<NodeIntermediate> todo = new ArrayDeque<>();
+        for (Pair<Node, NodeIntermediate> p : queue) {
+            if (p.second != null) {
+                todo.push(p.second);
+            }
+        }
+        while (!todo.isEmpty()) {
+            final NodeIntermediate interm = todo.pop();
+            if (interm instanceof AppNodeIntermediate app) {
+                final var ruleApp = app.getIntermediateRuleApp();
+                if (ruleApp instanceof MergeAppIntermediate
+                        || ruleApp instanceof MergePartnerAppIntermediate) {
+                    return true;
+                }
+            }
+            if (interm.getChildren() != null) {
+                interm.getChildren().forEach(todo::push);
             }
         }
+        return false;
     }
 
     /**
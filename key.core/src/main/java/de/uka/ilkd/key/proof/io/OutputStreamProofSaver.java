@@ -154,83 +154,107 @@ public class OutputStreamProofSaver {
     }
 
     public void save(OutputStream out) throws IOException {
+        // deferred branches of a lazily loaded proof would be written as open goals
+        IntermediateProofReplayer.replayAllPendingBranches(proof);
         CopyReferenceResolver.copyCachedGoals(proof, null, null, null);
         try (var ps = new PrintWriter(out, true, StandardCharsets.UTF_8)) {
-            final ProofOblInput po =
-                proof.getServices().getSpecificationRepository().getProofOblInput(proof);
-            LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
+            writeProblem(ps);
 
-            // profile
-            ps.println(writeProfile(proof.getServices().getProfile()));
-
-            // settings
-            final StrategySettings strategySettings = proof.getSettings().getStrategySettings();
-            final StrategyProperties strategyProperties =
-                strategySettings.getActiveStrategyProperties();
-            if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
-                    || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_TRUE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
-                for (final SequentFormula s : proof.root().sequent().succedent().asList()) {
-                    ((InfFlowProof) proof).addLabeledTotalTerm(s.formula());
-                }
-            } else {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_FALSE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
+            if (saveProofSteps) {
+                // \proof
+                ps.println("\\proof {");
+                writeProofSteps(ps);
+                ps.println("}");
             }
-            ps.println(writeSettings(proof.getSettings()));
+        }
+    }
 
+    /**
+     * Writes everything in front of the {@code \proof} section: profile, settings, declarations
+     * and the problem or proof obligation.
+     *
+     * @param ps the writer to write to
+     * @throws IOException if I/O fails
+     */
+    protected void writeProblem(PrintWriter ps) throws IOException {
+        final ProofOblInput po =
+            proof.getServices().getSpecificationRepository().getProofOblInput(proof);
+        LogicPrinter printer = createLogicPrinter(proof.getServices(), false);
+
+        // profile
+        ps.println(writeProfile(proof.getServices().getProfile()));
+
+        // settings
+        final StrategySettings strategySettings = proof.getSettings().getStrategySettings();
+        final StrategyProperties strategyProperties =
+            strategySettings.getActiveStrategyProperties();
+        if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
+                || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_TRUE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+            for (final SequentFormula s : proof.root().sequent().succedent().asList()) {
+                ((InfFlowProof) proof).addLabeledTotalTerm(s.formula());
+            }
+        } else {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_FALSE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+        }
+        ps.println(writeSettings(proof.getSettings()));
+
+        if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
+                || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
+            strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
+                StrategyProperties.INF_FLOW_CHECK_FALSE);
+            strategySettings.setActiveStrategyProperties(strategyProperties);
+        }
+
+        // declarations of symbols, sorts
+        String header = proof.header();
+        header = makePathsRelative(header);
+        ps.print(header);
+
+        // \problem or \proofObligation
+        if (po instanceof IPersistablePO ppo
+                && (!(po instanceof AbstractInfFlowPO) || (!(po instanceof InfFlowCompositePO)
+                        && ((InfFlowProof) proof).getIFSymbols().isFreshContract()))) {
+            var loadingConfig = ppo.createLoaderConfig();
+            ps.println("\\proofObligation ");
+            loadingConfig.save(ps, "Proof-Obligation settings");
+            ps.println("\n");
+        } else {
             if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
                     || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                strategyProperties.put(StrategyProperties.INF_FLOW_CHECK_PROPERTY,
-                    StrategyProperties.INF_FLOW_CHECK_FALSE);
-                strategySettings.setActiveStrategyProperties(strategyProperties);
+                ps.print(((InfFlowProof) proof).printIFSymbols());
             }
-
-            // declarations of symbols, sorts
-            String header = proof.header();
-            header = makePathsRelative(header);
-            ps.print(header);
-
-            // \problem or \proofObligation
-            if (po instanceof IPersistablePO ppo
-                    && (!(po instanceof AbstractInfFlowPO) || (!(po instanceof InfFlowCompositePO)
-                            && ((InfFlowProof) proof).getIFSymbols().isFreshContract()))) {
-                var loadingConfig = ppo.createLoaderConfig();
-                ps.println("\\proofObligation ");
-                loadingConfig.save(ps, "Proof-Obligation settings");
-                ps.println("\n");
+            final Sequent problemSeq = proof.root().sequent();
+            ps.println("\\problem {");
+            if (problemSeq.antecedent().isEmpty() && problemSeq.succedent().size() == 1) {
+                // Problem statement is a single formula ...
+                printer.printSemisequent(problemSeq.succedent());
             } else {
-                if (po instanceof AbstractInfFlowPO && (po instanceof InfFlowCompositePO
-                        || !((InfFlowProof) proof).getIFSymbols().isFreshContract())) {
-                    ps.print(((InfFlowProof) proof).printIFSymbols());
-                }
-                final Sequent problemSeq = proof.root().sequent();
-                ps.println("\\problem {");
-                if (problemSeq.antecedent().isEmpty() && problemSeq.succedent().size() == 1) {
-                    // Problem statement is a single formula ...
-                    printer.printSemisequent(problemSeq.succedent());
-                } else {
-                    // Problem statement is a proper sequent ...
-                    printer.printSequent(problemSeq);
-                }
-                ps.println(printer.result());
-                ps.println("}\n");
-            }
-
-            if (saveProofSteps) {
-                // \proof
-                ps.println("\\proof {");
-                ps.println(writeLog());
-                ps.println("(autoModeTime \"" + proof.getAutoModeTime() + "\")\n");
-                node2Proof(proof.root(), ps);
-                ps.println("}");
+                // Problem statement is a proper sequent ...
+                printer.printSequent(problemSeq);
             }
+            ps.println(printer.result());
+            ps.println("}\n");
         }
     }
 
+    /**
+     * Writes the content of the {@code \proof} section: the log, the auto mode time and the proof
+     * tree.
+     *
+     * @param ps the writer to write to
+     * @throws IOException if I/O fails
+     */
+    protected void writeProofSteps(PrintWriter ps) throws IOException {
+        ps.println(writeLog());
+        ps.println("(autoModeTime \"" + proof.getAutoModeTime() + "\")\n");
+        node2Proof(proof.root(), ps);
+    }
+
     protected String getBasePath() throws IOException {
         File javaSourceLocation = getJavaSourceLocation(proof);
         if (javaSourceLocation != null) {
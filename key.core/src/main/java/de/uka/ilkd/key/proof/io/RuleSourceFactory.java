@@ -50,10 +50,13 @@ public class RuleSourceFactory {
      *
      * @param file the non-<code>null</code> file reference
      * @param compressed <code>true</code> iff the file is gzip-compressed
-     * @return the rule source read from the file.
+     * @return the rule source read from the file (a binary proof if the file has the extension
+     *         {@link BinaryProofSaver#EXTENSION})
      */
     public static RuleSource initRuleFile(final File file, boolean compressed) {
-        if (compressed) {
+        if (file.getName().endsWith(BinaryProofSaver.EXTENSION)) {
+            return new BinaryFileRuleSource(file);
+        } else if (compressed) {
             return new GZipFileRuleSource(file);
         } else {
             return new FileRuleSource(file);
@@ -0,0 +1,50 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Java Flight Recorder event for a duration recorded by a {@link Timer} of a
+ * {@link ProofMetrics} registry, e.g., the application of a rule. Only the timers of the
+ * categories that are cheap enough emit events, see {@link ProofMetrics.Category#emitsEvents()}.
+ * <p>
+ * The events can be recorded with {@code -XX:StartFlightRecording} or consumed by a
+ * {@link jdk.jfr.consumer.RecordingStream} for the event name {@value #NAME}.
+ * </p>
+ */
+@Name(ProofMetricEvent.NAME)
+@Label("Proof Metric")
+@Category({ "KeY", "Prover" })
+@Description("Duration of a prover operation attributed to a proof")
+@StackTrace(false)
+public class ProofMetricEvent extends Event {
+    /**
+     * The name of the event type.
+     */
+    public static final String NAME = "de.uka.ilkd.key.ProofMetric";
+
+    @Label("Proof")
+    String proof;
+
+    @Label("Category")
+    String category;
+
+    @Label("Name")
+    String name;
+
+    /**
+     * The recorded duration. The duration of the event itself is not used, as the event is
+     * created after the operation finished.
+     */
+    @Label("Elapsed Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long elapsed;
+}
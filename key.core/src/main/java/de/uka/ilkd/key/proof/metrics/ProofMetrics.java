@@ -0,0 +1,313 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.metrics;
+
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.settings.Configuration;
+
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * Registry of the performance metrics of a single proof: timers of the core operations of the
+ * prover ({@link CoreTimer}), timers per rule, per rule set and per strategy feature, and
+ * counters. Every {@link de.uka.ilkd.key.proof.Proof} owns one registry, so proofs running
+ * concurrently in the same JVM do not influence each other's numbers.
+ * <p>
+ * The metrics are accessible by this API, exported to JSON by {@link #writeJson(Writer)} (also
+ * available through {@link de.uka.ilkd.key.proof.Statistics}) and streamed as
+ * {@link ProofMetricEvent}s to the Java Flight Recorder.
+ * </p>
+ * <p>
+ * Timing the strategy features is comparably expensive and therefore disabled by default. It is
+ * enabled by {@link #setFeatureProfiling(boolean)} or for all proofs by the system property
+ * {@value #FEATURE_PROFILING_PROPERTY}.
+ * </p>
+ */
+public final class ProofMetrics {
+    /**
+     * System property enabling the timing of strategy features for all new proofs.
+     */
+    public static final String FEATURE_PROFILING_PROPERTY = "key.metrics.features";
+
+    /**
+     * The categories of timers.
+     */
+    public enum Category {
+        /** core operations of the prover, see {@link CoreTimer} */
+        CORE("core", false),
+        /** application of a rule, by rule name */
+        RULE("rules", true),
+        /** application of a taclet, by the rule sets of the taclet */
+        RULE_SET("ruleSets", false),
+        /** cost computation of the strategy, by the rule set the feature is bound to */
+        FEATURE("features", true);
+
+        private final String label;
+        private final boolean events;
+
+        Category(String label, boolean events) {
+            this.label = label;
+            this.events = events;
+        }
+
+        /**
+         * @return whether the timers of this category emit {@link ProofMetricEvent}s
+         */
+        public boolean emitsEvents() {
+            return events;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    /**
+     * The timers of the core operations of the prover.
+     */
+    public enum CoreTimer {
+        STRATEGY_APPROVE("JavaCardDLStrategy approve"),
+        STRATEGY_INSTANTIATE("JavaCardDLStrategy instantiate"),
+        STRATEGY_COMPUTE("JavaCardDLStrategy compute"),
+        QUEUE_PEEK("QueueRuleApplicationManager peek"),
+        QUEUE_OPS("QueueRuleApplicationManager queue ops"),
+        QUEUE_CREATE_CONTAINER("QueueRuleApplicationManager create container"),
+        GOAL_APPLY("Goal apply"),
+        PARALLEL_PREFETCH("ParallelApplyStrategy prefetch"),
+        APP_EXECUTE("RuleApp execute"),
+        GOAL_SET_SEQUENT("Goal setSequent"),
+        GOAL_UPDATE_TAG_MANAGER("Goal update tag manager"),
+        GOAL_UPDATE_RULE_APP_INDEX("Goal update rule app index"),
+        TACLET_APP_INDEX_UPDATE("Taclet app index update", true),
+        SEMI_INDEX_REMOVE("Semi Taclet app index update remove"),
+        SEMI_INDEX_ADD("Semi Taclet app index update add"),
+        SEMI_INDEX_UPDATE("Semi Taclet app index update update"),
+        TACLET_APP_INDEX_CREATE_ALL("Taclet app index create all", true),
+        GOAL_UPDATE_LISTENERS("Goal update listeners"),
+        TACLET_APP_EXECUTE("TacletApp execute"),
+        TACLET_APP_PRE("TacletApp pre"),
+        TACLET_APP_SET_SEQUENT("TacletApp Goal setSequent"),
+        NO_FIND_APPLY("NoFindTacletExecutor apply"),
+        NO_FIND_SET_SEQUENT("NoFindTacletExecutor setSequent"),
+        NO_FIND_TERM_LABELS("NoFindTacletExecutor term labels"),
+        FIND_APPLY("FindTacletExecutor apply"),
+        FIND_SET_SEQUENT("FindTacletExecutor setSequent"),
+        FIND_TERM_LABELS("FindTacletExecutor term labels"),
+        BUILT_IN_EXECUTE("AbstractBuiltInRuleApp execute"),
+        BUILT_IN_SET_SEQUENT("AbstractBuiltInRuleApp Goal setSequent");
+
+        private final String label;
+        private final boolean events;
+
+        CoreTimer(String label) {
+            this(label, false);
+        }
+
+        CoreTimer(String label, boolean events) {
+            this.label = label;
+            this.events = events;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    private final String proofName;
+    private final Timer[] coreTimers = new Timer[CoreTimer.values().length];
+    private final Map<Category, Map<String, Timer>> timers = new EnumMap<>(Category.class);
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private volatile boolean featureProfiling = Boolean.getBoolean(FEATURE_PROFILING_PROPERTY);
+
+    /**
+     * Create an empty registry.
+     *
+     * @param proofName the name of the proof (used to attribute the JFR events)
+     */
+    public ProofMetrics(String proofName) {
+        this.proofName = proofName;
+        for (CoreTimer t : CoreTimer.values()) {
+            coreTimers[t.ordinal()] = new Timer(this, Category.CORE, t.label, t.events);
+        }
+        for (Category c : Category.values()) {
+            if (c != Category.CORE) {
+                timers.put(c, new ConcurrentHashMap<>());
+            }
+        }
+    }
+
+    public String getProofName() {
+        return proofName;
+    }
+
+    /**
+     * @param timer a core timer
+     * @return the timer of this registry
+     */
+    public Timer timer(CoreTimer timer) {
+        return coreTimers[timer.ordinal()];
+    }
+
+    /**
+     * Get (or create) a timer of a category other than {@link Category#CORE}.
+     *
+     * @param category the category
+     * @param name name of the timer within the category
+     * @return the timer
+     */
+    public Timer timer(Category category, String name) {
+        if (category == Category.CORE) {
+            throw new IllegalArgumentException("Core timers are accessed by CoreTimer");
+        }
+        final Map<String, Timer> map = timers.get(category);
+        final Timer timer = map.get(name);
+        return timer != null ? timer
+                : map.computeIfAbsent(name, n -> new Timer(this, category, n, category.events));
+    }
+
+    /**
+     * Record a duration of a core operation.
+     *
+     * @param timer the core timer
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(CoreTimer timer, long nanos) {
+        coreTimers[timer.ordinal()].record(nanos);
+    }
+
+    /**
+     * Record the time the application of a rule took: for the rule and, if it is a taclet, for
+     * all of its rule sets.
+     *
+     * @param app the applied rule
+     * @param nanos the duration in nanoseconds
+     */
+    public void recordRuleApplication(RuleApp app, long nanos) {
+        timer(Category.RULE, app.rule().name().toString()).record(nanos);
+        if (app instanceof TacletApp tacletApp) {
+            ImmutableList<RuleSet> ruleSets = tacletApp.taclet().getRuleSets();
+            while (!ruleSets.isEmpty()) {
+                timer(Category.RULE_SET, ruleSets.head().name().toString()).record(nanos);
+                ruleSets = ruleSets.tail();
+            }
+        }
+    }
+
+    /**
+     * Get (or create) a counter.
+     *
+     * @param name name of the counter
+     * @return the counter
+     */
+    public Counter counter(String name) {
+        final Counter counter = counters.get(name);
+        return counter != null ? counter : counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * @return whether the strategy features are timed
+     */
+    public boolean isFeatureProfiling() {
+        return featureProfiling;
+    }
+
+    public void setFeatureProfiling(boolean featureProfiling) {
+        this.featureProfiling = featureProfiling;
+    }
+
+    /**
+     * @return the core timers of this registry (in the order of {@link CoreTimer})
+     */
+    public List<Timer> getCoreTimers() {
+        return List.of(coreTimers);
+    }
+
+    /**
+     * @param category a category
+     * @return the timers of the category, by decreasing total time
+     */
+    public List<Timer> getTimers(Category category) {
+        final List<Timer> result = new ArrayList<>(
+            category == Category.CORE ? List.of(coreTimers) : timers.get(category).values());
+        result.sort(Comparator.comparingLong(Timer::getTotalNanos).reversed());
+        return result;
+    }
+
+    /**
+     * @return the counters of this registry, by name
+     */
+    public SortedMap<String, Long> getCounters() {
+        final SortedMap<String, Long> result = new TreeMap<>();
+        counters.forEach((name, counter) -> result.put(name, counter.get()));
+        return result;
+    }
+
+    /**
+     * Reset all timers and counters.
+     */
+    public void reset() {
+        for (Timer t : coreTimers) {
+            t.reset();
+        }
+        for (Map<String, Timer> map : timers.values()) {
+            map.clear();
+        }
+        counters.clear();
+    }
+
+    /**
+     * @return the metrics as nested maps (the structure of the JSON export)
+     */
+    public Map<String, Object> toMap() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("proof", escape(proofName));
+        result.put("featureProfiling", featureProfiling);
+        for (Category c : Category.values()) {
+            final Map<String, Object> category = new LinkedHashMap<>();
+            for (Timer t : getTimers(c)) {
+                if (t.getCount() > 0) {
+                    category.put(escape(t.getName()), t.toMap());
+                }
+            }
+            result.put(c.toString(), category);
+        }
+        final Map<String, Object> counterValues = new LinkedHashMap<>();
+        getCounters().forEach((name, value) -> counterValues.put(escape(name), value));
+        result.put("counters", counterValues);
+        return result;
+    }
+
+    /**
+     * Write the metrics as JSON object.
+     *
+     * @param writer the target
+     */
+    public void writeJson(Writer writer) {
+        new Configuration.ConfigurationWriter(writer).printValue(toMap());
+    }
+
+    /**
+     * @return the metrics as JSON object
+     */
+    public String toJson() {
+        final StringWriter writer = new StringWriter();
+        writeJson(writer);
+        return writer.toString();
+    }
+
+    /**
+     * Escapes the characters the {@link Configuration.ConfigurationWriter} writes verbatim.
+     */
+    static String escape(String s) {
+        return s.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+}
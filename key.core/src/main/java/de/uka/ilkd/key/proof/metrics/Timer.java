@@ -0,0 +1,177 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Accumulates the durations of an operation: number of invocations, total and maximal time, and
+ * a histogram of the durations. The histogram has one bucket per power of two nanoseconds, bucket
+ * {@code i} counts the durations in {@code [2^i, 2^(i+1))}.
+ * <p>
+ * Timers may be updated concurrently.
+ * </p>
+ */
+public final class Timer {
+    /**
+     * Number of histogram buckets.
+     */
+    public static final int BUCKETS = 63;
+
+    /**
+     * The registry owning this timer.
+     */
+    private final ProofMetrics owner;
+    private final ProofMetrics.Category category;
+    private final String name;
+    /**
+     * Whether every recorded duration is emitted as {@link ProofMetricEvent}.
+     */
+    private final boolean events;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    Timer(ProofMetrics owner, ProofMetrics.Category category, String name, boolean events) {
+        this.owner = owner;
+        this.category = category;
+        this.name = name;
+        this.events = events;
+    }
+
+    /**
+     * Record a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        count.increment();
+        total.add(nanos);
+        max.accumulate(nanos);
+        histogram.incrementAndGet(bucket(nanos));
+        if (events) {
+            final ProofMetricEvent event = new ProofMetricEvent();
+            if (event.isEnabled()) {
+                event.proof = owner.getProofName();
+                event.category = category.toString();
+                event.name = name;
+                event.elapsed = nanos;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * @param nanos a duration in nanoseconds
+     * @return the histogram bucket of the duration
+     */
+    static int bucket(long nanos) {
+        return nanos <= 1 ? 0 : Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ProofMetrics.Category getCategory() {
+        return category;
+    }
+
+    /**
+     * @return the number of recorded durations
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return the sum of the recorded durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * @return the maximal recorded duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded durations in nanoseconds (0 if nothing was recorded)
+     */
+    public double getMeanNanos() {
+        final long n = getCount();
+        return n == 0 ? 0 : getTotalNanos() / (double) n;
+    }
+
+    /**
+     * @return a copy of the histogram of the recorded durations
+     */
+    public long[] getHistogram() {
+        final long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = histogram.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Estimate a percentile of the recorded durations from the histogram.
+     *
+     * @param p the percentile in {@code [0, 1]}
+     * @return an upper bound of the percentile in nanoseconds (exact up to a factor of 2)
+     */
+    public long getPercentileNanos(double p) {
+        final long[] buckets = getHistogram();
+        long n = 0;
+        for (long b : buckets) {
+            n += b;
+        }
+        final long rank = (long) Math.ceil(p * n);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return i == BUCKETS - 1 ? getMaxNanos() : Math.min(getMaxNanos(), 1L << (i + 1));
+            }
+        }
+        return 0;
+    }
+
+    void reset() {
+        count.reset();
+        total.reset();
+        max.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * @return the values of this timer as map (used for the JSON export)
+     */
+    Map<String, Object> toMap() {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", getCount());
+        result.put("totalNanos", getTotalNanos());
+        result.put("meanNanos", getMeanNanos());
+        result.put("maxNanos", getMaxNanos());
+        result.put("p50Nanos", getPercentileNanos(0.5));
+        result.put("p99Nanos", getPercentileNanos(0.99));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return category + "/" + name + ": " + getCount() + " x, " + getTotalNanos() + "ns";
+    }
+}
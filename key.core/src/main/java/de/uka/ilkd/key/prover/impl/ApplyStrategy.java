@@ -3,10 +3,8 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.prover.impl;
 
-
-import java.util.concurrent.atomic.AtomicLong;
-
 import de.uka.ilkd.key.proof.*;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.proofevent.RuleAppInfo;
 import de.uka.ilkd.key.prover.GoalChooser;
 import de.uka.ilkd.key.prover.StopCondition;
@@ -33,8 +31,6 @@ import org.slf4j.LoggerFactory;
 public class ApplyStrategy extends AbstractProverCore {
     public static final Logger LOGGER = LoggerFactory.getLogger(ApplyStrategy.class);
 
-    public static final AtomicLong PERF_GOAL_APPLY = new AtomicLong();
-
     /**
      * the proof that is worked with
      */
@@ -89,7 +85,7 @@ public class ApplyStrategy extends AbstractProverCore {
                 return new SingleRuleApplicationInfo(stopCondition.getGoalNotAllowedMessage(
                     maxApplications, timeout, proof, time, countApplied, g), g, null);
             }
-            app = g.getRuleAppManager().next();
+            app = nextRuleApp(g);
             // Hack: built in rules may become applicable without BuiltInRuleAppIndex noticing---->
             if (app == null) {
                 g.ruleAppIndex().scanBuiltInRules(g);
@@ -114,12 +110,23 @@ public class ApplyStrategy extends AbstractProverCore {
             try {
                 g.apply(app);
             } finally {
-                PERF_GOAL_APPLY.getAndAdd(System.nanoTime() - time);
+                proof.getMetrics().record(CoreTimer.GOAL_APPLY, System.nanoTime() - time);
             }
             return new SingleRuleApplicationInfo(g, app);
         }
     }
 
+    /**
+     * Determines the next rule application for the given goal, which has been selected by the
+     * {@link GoalChooser}.
+     *
+     * @param goal the goal a rule is applied to next
+     * @return the rule app selected by the strategy or {@code null} if there is none
+     */
+    protected RuleApp nextRuleApp(Goal goal) {
+        return goal.getRuleAppManager().next();
+    }
+
     /**
      * applies rules until this is no longer possible or the thread is interrupted.
      */
@@ -128,7 +135,7 @@ public class ApplyStrategy extends AbstractProverCore {
         time = System.currentTimeMillis();
         SingleRuleApplicationInfo srInfo = null;
 
-        var perfScope = new PerfScope();
+        var perfScope = new PerfScope(proof.getMetrics());
         long applyAutomatic = 0;
         try {
             LOGGER.trace("Strategy started.");
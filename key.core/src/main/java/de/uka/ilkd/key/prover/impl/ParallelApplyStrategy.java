@@ -0,0 +1,165 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
+import de.uka.ilkd.key.prover.GoalChooser;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.strategy.AutomatedRuleApplicationManager;
+
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * An {@link ApplyStrategy} which computes the applicable rules of independent goals in parallel.
+ * <p>
+ * Filling the rule app index of a goal and computing the costs of the found rule apps only depends
+ * on the goal itself. Whenever the goal chosen by the {@link GoalChooser} has not been prepared,
+ * this prover additionally prepares further open goals on a work-stealing {@link ForkJoinPool}
+ * (see {@link AutomatedRuleApplicationManager#prepare()}). The results are kept by the
+ * {@link Goal#getRuleAppManager() rule app managers} of the goals until the goal is chosen.
+ * </p>
+ * <p>
+ * Instantiating the cheapest rule app may create new names (using the counters of the
+ * {@link de.uka.ilkd.key.java.Services} and the namespaces of the goal), so it is left to the
+ * calling thread just like the rule applications, which are performed one at a time in the order
+ * given by the {@link GoalChooser}. Hence, names and the proof tree are only modified by a single
+ * thread and the resulting proof does not depend on thread scheduling.
+ * </p>
+ */
+public class ParallelApplyStrategy extends ApplyStrategy {
+    /** the number of goals prepared at the same time */
+    private final int parallelism;
+
+    /**
+     * the goals which have been prepared in advance, mapped to their {@link Goal#getTime() time} at
+     * that point. Only accessed by the thread running the strategy.
+     */
+    private final Map<Goal, Long> prefetched = new IdentityHashMap<>();
+
+    /** the pool used during a run of the strategy */
+    private ForkJoinPool pool;
+
+    /**
+     * creates a prover using as many worker threads as processors are available
+     *
+     * @param defaultGoalChooser the goal chooser used if the proof does not provide one
+     */
+    public ParallelApplyStrategy(GoalChooser defaultGoalChooser) {
+        this(defaultGoalChooser, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * creates a prover using the given number of worker threads
+     *
+     * @param defaultGoalChooser the goal chooser used if the proof does not provide one
+     * @param parallelism the number of goals prepared at the same time
+     */
+    public ParallelApplyStrategy(GoalChooser defaultGoalChooser, int parallelism) {
+        super(defaultGoalChooser);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * @return the number of goals prepared at the same time
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public synchronized ApplyStrategyInfo start(Proof proof, ImmutableList<Goal> goals,
+            int maxSteps, long timeout, boolean stopAtFirstNonCloseableGoal) {
+        pool = new ForkJoinPool(parallelism);
+        try {
+            return super.start(proof, goals, maxSteps, timeout, stopAtFirstNonCloseableGoal);
+        } finally {
+            pool.shutdownNow();
+            pool = null;
+            prefetched.clear();
+        }
+    }
+
+    @Override
+    protected RuleApp nextRuleApp(Goal goal) {
+        if (!isPrefetched(goal)) {
+            prefetch(goal);
+        }
+        prefetched.remove(goal);
+        return super.nextRuleApp(goal);
+    }
+
+    private boolean isPrefetched(Goal goal) {
+        final Long time = prefetched.get(goal);
+        return time != null && time == goal.getTime();
+    }
+
+    /**
+     * Prepares the given goal together with further open goals which have not been prepared since
+     * their last modification.
+     *
+     * @param chosen the goal selected by the goal chooser
+     */
+    private void prefetch(Goal chosen) {
+        final List<Goal> goals = new ArrayList<>(parallelism);
+        goals.add(chosen);
+        for (Goal goal : chosen.proof().openGoals()) {
+            if (goals.size() >= parallelism) {
+                break;
+            }
+            if (goal != chosen && goal.isAutomatic() && !isPrefetched(goal)) {
+                goals.add(goal);
+            }
+        }
+        if (goals.size() == 1 || pool == null) {
+            // nothing to do in parallel, the goal is prepared by the caller
+            return;
+        }
+
+        final long time = System.nanoTime();
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>(goals.size());
+            for (Goal goal : goals) {
+                tasks.add(() -> {
+                    goal.getRuleAppManager().prepare();
+                    return null;
+                });
+            }
+            for (Future<Void> future : pool.invokeAll(tasks)) {
+                future.get();
+            }
+            for (Goal goal : goals) {
+                prefetched.put(goal, goal.getTime());
+            }
+        } catch (InterruptedException e) {
+            // keep the flag such that the strategy stops after the current step
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            if (cause instanceof Error err) {
+                throw err;
+            }
+            throw new RuntimeException(cause);
+        } finally {
+            chosen.proof().getMetrics().record(CoreTimer.PARALLEL_PREFETCH,
+                System.nanoTime() - time);
+        }
+    }
+}
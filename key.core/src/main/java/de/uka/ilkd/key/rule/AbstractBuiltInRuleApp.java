@@ -5,12 +5,13 @@ package de.uka.ilkd.key.rule;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.logic.op.LocationVariable;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -18,9 +19,6 @@ import org.key_project.util.collection.ImmutableSLList;
 import org.jspecify.annotations.Nullable;
 
 public abstract class AbstractBuiltInRuleApp implements IBuiltInRuleApp {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-
     protected final BuiltInRule builtInRule;
 
     protected final PosInOccurrence pio;
@@ -73,8 +71,9 @@ public abstract class AbstractBuiltInRuleApp implements IBuiltInRuleApp {
      */
     @Override
     public @Nullable ImmutableList<Goal> execute(Goal goal, Services services) {
+        final ProofMetrics metrics = goal.proof().getMetrics();
         var time = System.nanoTime();
-        var timeSetSequent = Goal.PERF_SET_SEQUENT.get();
+        var timeSetSequent = metrics.timer(CoreTimer.GOAL_SET_SEQUENT).getTotalNanos();
         try {
             goal.addAppliedRuleApp(this);
             try {
@@ -85,8 +84,9 @@ public abstract class AbstractBuiltInRuleApp implements IBuiltInRuleApp {
                 return null;
             }
         } finally {
-            PERF_EXECUTE.getAndAdd(System.nanoTime() - time);
-            PERF_SET_SEQUENT.getAndAdd(Goal.PERF_SET_SEQUENT.get() - timeSetSequent);
+            metrics.record(CoreTimer.BUILT_IN_EXECUTE, System.nanoTime() - time);
+            metrics.record(CoreTimer.BUILT_IN_SET_SEQUENT,
+                metrics.timer(CoreTimer.GOAL_SET_SEQUENT).getTotalNanos() - timeSetSequent);
         }
     }
 
@@ -0,0 +1,132 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.util.ArrayList;
+
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.logic.op.*;
+
+/**
+ * The skeleton of the find pattern of a {@link FindTaclet}, i.e., the operators of the pattern in
+ * pre-order (the path of the pattern in a discrimination tree). Schema variables are wildcards
+ * matching arbitrary subterms, sort depending functions are represented by their kind, and
+ * elementary updates and modalities by their class, as they are matched modulo their sort, left
+ * hand side resp. kind and program.
+ * <p>
+ * The skeleton is a necessary condition for a successful match: if
+ * {@link #mayMatch(Term)} returns false, the matcher of the taclet fails for the term as well. It
+ * is used by the {@link de.uka.ilkd.key.proof.TacletIndex} to discard candidates cheaply before
+ * the (much more expensive) matching.
+ * </p>
+ */
+public final class FindSkeleton {
+
+    /** the wildcard key for schema variables */
+    private static final Object ANY = new Object();
+
+    /** the keys of the pattern in pre-order */
+    private final Object[] keys;
+
+    /** the arities of the pattern subterms in pre-order */
+    private final int[] arities;
+
+    /** whether updates on top level of the term are ignored (as by the matcher) */
+    private final boolean ignoreTopLevelUpdates;
+
+    private FindSkeleton(Object[] keys, int[] arities, boolean ignoreTopLevelUpdates) {
+        this.keys = keys;
+        this.arities = arities;
+        this.ignoreTopLevelUpdates = ignoreTopLevelUpdates;
+    }
+
+    /**
+     * creates the skeleton of the find pattern of the given taclet
+     *
+     * @param taclet the taclet
+     * @return the skeleton of the find pattern
+     */
+    static FindSkeleton create(FindTaclet taclet) {
+        final Term find = taclet.find();
+        final ArrayList<Object> keys = new ArrayList<>();
+        final ArrayList<Integer> arities = new ArrayList<>();
+        collect(find, keys, arities);
+        final int[] a = new int[arities.size()];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = arities.get(i);
+        }
+        return new FindSkeleton(keys.toArray(), a,
+            taclet.ignoreTopLevelUpdates() && !(find.op() instanceof UpdateApplication));
+    }
+
+    private static void collect(Term pattern, ArrayList<Object> keys, ArrayList<Integer> arities) {
+        if (pattern.op() instanceof SchemaVariable) {
+            keys.add(ANY);
+            arities.add(0);
+        } else {
+            keys.add(getKey(pattern.op()));
+            arities.add(pattern.arity());
+            for (int i = 0; i < pattern.arity(); i++) {
+                collect(pattern.sub(i), keys, arities);
+            }
+        }
+    }
+
+    /**
+     * returns the key of an operator, i.e., the part of the operator that has to be identical for a
+     * successful match
+     */
+    private static Object getKey(Operator op) {
+        if (op instanceof SortDependingFunction sdf) {
+            return sdf.getKind();
+        } else if (op instanceof ElementaryUpdate) {
+            return ElementaryUpdate.class;
+        } else if (op instanceof Modality) {
+            return Modality.class;
+        }
+        return op;
+    }
+
+    /**
+     * checks whether the find pattern may match the given term
+     *
+     * @param term the term to be matched
+     * @return false if the find pattern cannot match the term
+     */
+    public boolean mayMatch(Term term) {
+        if (ignoreTopLevelUpdates) {
+            while (term.op() instanceof UpdateApplication) {
+                term = UpdateApplication.getTarget(term);
+            }
+        }
+        return match(term, 0) >= 0;
+    }
+
+    /**
+     * matches the term against the skeleton starting at the given index
+     *
+     * @return the index behind the matched part of the skeleton or -1 if the match failed
+     */
+    private int match(Term term, int index) {
+        final Object key = keys[index];
+        if (key == ANY) {
+            return index + 1;
+        }
+        if (arities[index] != term.arity() || !key.equals(getKey(term.op()))) {
+            return -1;
+        }
+        int next = index + 1;
+        for (int i = 0; i < term.arity() && next >= 0; i++) {
+            next = match(term.sub(i), next);
+        }
+        return next;
+    }
+
+    /**
+     * @return the number of operators and wildcards of the skeleton
+     */
+    public int size() {
+        return keys.length;
+    }
+}
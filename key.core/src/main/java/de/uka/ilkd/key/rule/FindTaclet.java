@@ -29,6 +29,9 @@ public abstract class FindTaclet extends Taclet {
     /** Set of schemavariables of the if and the (optional) find part */
     private ImmutableSet<SchemaVariable> ifFindVariables = null;
 
+    /** the skeleton of the find term (computed lazily) */
+    private FindSkeleton findSkeleton = null;
+
     /**
      * this method is used to determine if top level updates are allowed to be ignored. This is the
      * case if we have an Antec or SuccTaclet but not for a RewriteTaclet
@@ -94,6 +97,20 @@ public abstract class FindTaclet extends Taclet {
     }
 
 
+    /**
+     * returns the skeleton of the find term, which allows to discard terms the find term cannot
+     * match without running the matcher
+     *
+     * @return the skeleton of the find term
+     */
+    public FindSkeleton getFindSkeleton() {
+        if (findSkeleton == null) {
+            findSkeleton = FindSkeleton.create(this);
+        }
+        return findSkeleton;
+    }
+
+
     protected StringBuffer toStringFind(StringBuffer sb) {
         return sb.append("\\find(").append(find().toString()).append(")\n");
     }
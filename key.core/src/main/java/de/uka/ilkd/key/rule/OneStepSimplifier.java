@@ -4,6 +4,7 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -38,7 +39,7 @@ import de.uka.ilkd.key.strategy.StrategyProperties;
 import de.uka.ilkd.key.util.MiscTools;
 
 import org.key_project.logic.Name;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableArray;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableSLList;
@@ -83,14 +84,93 @@ public final class OneStepSimplifier implements BuiltInRule {
             .append("update_apply").append("update_join").append("elimQuantifier");
 
     private static final boolean[] bottomUp = { false, false, true, true, true, false };
-    private final Map<SequentFormula, Boolean> applicabilityCache =
-        new LRUCache<>(APPLICABILITY_CACHE_SIZE);
+
+    /**
+     * The taclet indices of the captured taclets together with the caches of the simplification
+     * results computed with them. The caches only depend on the set of captured taclets, hence
+     * they are taken over by the next generation as long as the same taclets are captured, even
+     * for a different proof. The caches are concurrent such that formulas of different goals can
+     * be simplified in parallel. A single rule application only simplifies one formula, so it is
+     * not parallelized itself.
+     */
+    private static final class Generation {
+        /** the captured taclets of each rule set */
+        private final List<Set<Taclet>> taclets;
+        private final TacletIndex[] indices;
+        private final ConcurrentLRUCache<Term, Boolean>[] notSimplifiableCaches;
+        private final ConcurrentLRUCache<SequentFormula, Boolean> applicabilityCache;
+
+        /**
+         * @param taclets the captured taclets of each rule set
+         * @param previous the previous generation whose caches are taken over if it captures the
+         *        same taclets, may be null
+         */
+        @SuppressWarnings("unchecked")
+        Generation(List<ImmutableList<Taclet>> taclets, Generation previous) {
+            // the order of the taclets determines which one is applied, so the indices are
+            // always created anew
+            indices = new TacletIndex[taclets.size()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = TacletIndexKit.getKit().createTacletIndex(taclets.get(i));
+            }
+            if (previous != null && previous.captures(taclets)) {
+                this.taclets = previous.taclets;
+                notSimplifiableCaches = previous.notSimplifiableCaches;
+                applicabilityCache = previous.applicabilityCache;
+            } else {
+                this.taclets = new ArrayList<>(taclets.size());
+                notSimplifiableCaches =
+                    (ConcurrentLRUCache<Term, Boolean>[]) new ConcurrentLRUCache[indices.length];
+                for (int i = 0; i < indices.length; i++) {
+                    this.taclets.add(new HashSet<>(taclets.get(i).toList()));
+                    notSimplifiableCaches[i] = new ConcurrentLRUCache<>(DEFAULT_CACHE_SIZE);
+                }
+                applicabilityCache = new ConcurrentLRUCache<>(APPLICABILITY_CACHE_SIZE);
+            }
+        }
+
+        /**
+         * @return true iff this generation captures exactly the given taclets
+         */
+        boolean captures(List<ImmutableList<Taclet>> taclets) {
+            if (taclets.size() != this.taclets.size()) {
+                return false;
+            }
+            for (int i = 0; i < taclets.size(); i++) {
+                final Set<Taclet> captured = this.taclets.get(i);
+                if (captured.size() != taclets.get(i).size()
+                        || !captured.containsAll(taclets.get(i).toList())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return the statistics of all caches of this generation added up
+         */
+        ConcurrentLRUCache.Statistics getCacheStatistics() {
+            ConcurrentLRUCache.Statistics stats = applicabilityCache.getStatistics();
+            long hits = stats.hits();
+            long misses = stats.misses();
+            long evictions = stats.evictions();
+            for (ConcurrentLRUCache<Term, Boolean> cache : notSimplifiableCaches) {
+                stats = cache.getStatistics();
+                hits += stats.hits();
+                misses += stats.misses();
+                evictions += stats.evictions();
+            }
+            return new ConcurrentLRUCache.Statistics(hits, misses, evictions);
+        }
+    }
 
     private Proof lastProof;
     private ImmutableList<NoPosTacletApp> appsTakenOver;
-    private TacletIndex[] indices;
-    private Map<Term, Term>[] notSimplifiableCaches;
-    private boolean active;
+    /** the generation in use, null if the indices are shut down */
+    private volatile Generation generation;
+    /** the last generation in use, kept to take over its caches after a shutdown */
+    private Generation lastGeneration;
+    private volatile boolean active;
 
     // -------------------------------------------------------------------------
     // constructors
@@ -179,26 +259,23 @@ public final class OneStepSimplifier implements BuiltInRule {
 
 
     /**
-     * If the rule is applied to a different proof than last time, then clear all caches and
-     * initialise the taclet indices.
+     * If the rule is applied to a different proof than last time, then capture the taclets of the
+     * proof and initialise the taclet indices. The caches of the last proof are kept if the same
+     * taclets are captured.
      */
-    @SuppressWarnings("unchecked")
     private void initIndices(Proof proof) {
         if (proof != lastProof) {
             shutdownIndices();
             lastProof = proof;
             appsTakenOver = ImmutableSLList.nil();
-            indices = new TacletIndex[ruleSets.size()];
-            notSimplifiableCaches = (Map<Term, Term>[]) new LRUCache[indices.length];
-            int i = 0;
+            final List<ImmutableList<Taclet>> taclets = new ArrayList<>(ruleSets.size());
             ImmutableList<String> done = ImmutableSLList.nil();
             for (String ruleSet : ruleSets) {
-                ImmutableList<Taclet> taclets = tacletsForRuleSet(proof, ruleSet, done);
-                indices[i] = TacletIndexKit.getKit().createTacletIndex(taclets);
-                notSimplifiableCaches[i] = new LRUCache<>(DEFAULT_CACHE_SIZE);
-                i++;
+                taclets.add(tacletsForRuleSet(proof, ruleSet, done));
                 done = done.prepend(ruleSet);
             }
+            lastGeneration = new Generation(taclets, lastGeneration);
+            generation = lastGeneration;
         }
     }
 
@@ -219,11 +296,9 @@ public final class OneStepSimplifier implements BuiltInRule {
                     g.ruleAppIndex().clearIndexes();
                 }
             }
-            applicabilityCache.clear();
             lastProof = null;
             appsTakenOver = null;
-            indices = null;
-            notSimplifiableCaches = null;
+            generation = null;
         }
     }
 
@@ -232,7 +307,7 @@ public final class OneStepSimplifier implements BuiltInRule {
      * returns true if the indices are shutdown
      */
     public boolean isShutdown() {
-        return indices == null;
+        return generation == null;
     }
 
     /**
@@ -241,10 +316,10 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPos(Goal goal, Services services, PosInOccurrence pos,
-            int indexNr, Protocol protocol) {
+    private SequentFormula simplifyPos(Generation gen, Goal goal, Services services,
+            PosInOccurrence pos, int indexNr, Protocol protocol) {
         final ImmutableList<NoPosTacletApp> apps =
-            indices[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
+            gen.indices[indexNr].getRewriteTaclet(pos, TacletFilter.TRUE, services);
         for (TacletApp app : apps) {
             app = app.setPosInOccurrence(pos, services);
             if (app == null) {
@@ -275,11 +350,11 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifySub(Goal goal, Services services, PosInOccurrence pos,
-            int indexNr, Protocol protocol) {
+    private SequentFormula simplifySub(Generation gen, Goal goal, Services services,
+            PosInOccurrence pos, int indexNr, Protocol protocol) {
         for (int i = 0, n = pos.subTerm().arity(); i < n; i++) {
             SequentFormula result =
-                simplifyPosOrSub(goal, services, pos.down(i), indexNr, protocol);
+                simplifyPosOrSub(gen, goal, services, pos.down(i), indexNr, protocol);
             if (result != null) {
                 return result;
             }
@@ -294,28 +369,28 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyPosOrSub(Goal goal, Services services, PosInOccurrence pos,
-            int indexNr, Protocol protocol) {
+    private SequentFormula simplifyPosOrSub(Generation gen, Goal goal, Services services,
+            PosInOccurrence pos, int indexNr, Protocol protocol) {
         final Term term = pos.subTerm();
-        if (notSimplifiableCaches[indexNr].get(term) != null) {
+        if (gen.notSimplifiableCaches[indexNr].get(term) != null) {
             return null;
         }
 
         SequentFormula result;
         if (bottomUp[indexNr]) {
-            result = simplifySub(goal, services, pos, indexNr, protocol);
+            result = simplifySub(gen, goal, services, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifyPos(goal, services, pos, indexNr, protocol);
+                result = simplifyPos(gen, goal, services, pos, indexNr, protocol);
             }
         } else {
-            result = simplifyPos(goal, services, pos, indexNr, protocol);
+            result = simplifyPos(gen, goal, services, pos, indexNr, protocol);
             if (result == null) {
-                result = simplifySub(goal, services, pos, indexNr, protocol);
+                result = simplifySub(gen, goal, services, pos, indexNr, protocol);
             }
         }
 
         if (result == null) {
-            notSimplifiableCaches[indexNr].put(term, term);
+            gen.notSimplifiableCaches[indexNr].put(term, Boolean.TRUE);
         }
 
         return result;
@@ -335,7 +410,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         if (pos != null) {
             ifInsts.add(pos);
             if (protocol != null) {
-                protocol.add(makeReplaceKnownTacletApp(in, inAntecedent, pos));
+                protocol.add(makeReplaceKnownTacletApp(goal.proof(), in, inAntecedent, pos));
             }
             Term result =
                 pos.isInAntec() ? services.getTermBuilder().tt() : services.getTermBuilder().ff();
@@ -393,20 +468,20 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
     }
 
-    private RuleApp makeReplaceKnownTacletApp(Term formula, boolean inAntecedent,
+    private RuleApp makeReplaceKnownTacletApp(Proof proof, Term formula, boolean inAntecedent,
             PosInOccurrence pio) {
         FindTaclet taclet;
         if (pio.isInAntec()) {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_left"));
         } else {
-            taclet = (FindTaclet) lastProof.getInitConfig()
+            taclet = (FindTaclet) proof.getInitConfig()
                     .lookupActiveTaclet(new Name("replace_known_right"));
         }
 
         SVInstantiations svi = SVInstantiations.EMPTY_SVINSTANTIATIONS;
         FormulaSV sv = SchemaVariableFactory.createFormulaSV(new Name("b"));
-        svi.add(sv, pio.sequentFormula().formula(), lastProof.getServices());
+        svi.add(sv, pio.sequentFormula().formula(), proof.getServices());
 
         PosInOccurrence applicatinPIO =
             new PosInOccurrence(new SequentFormula(formula), PosInTerm.getTopLevel(), // TODO: This
@@ -419,7 +494,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<IfFormulaInstantiation> ifInst = ImmutableSLList.nil();
         ifInst = ifInst.append(new IfFormulaInstDirect(pio.sequentFormula()));
         TacletApp ta = PosTacletApp.createPosTacletApp(taclet, svi, ifInst, applicatinPIO,
-            lastProof.getServices());
+            proof.getServices());
         return ta;
     }
 
@@ -429,8 +504,9 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private SequentFormula simplifyConstrainedFormula(Services services, SequentFormula cf,
-            boolean inAntecedent, Map<TermReplacementKey, PosInOccurrence> context,
+    private SequentFormula simplifyConstrainedFormula(Generation gen, Services services,
+            SequentFormula cf, boolean inAntecedent,
+            Map<TermReplacementKey, PosInOccurrence> context,
             /* out */ List<PosInOccurrence> ifInsts, Protocol protocol, Goal goal,
             RuleApp ruleApp) {
         SequentFormula result =
@@ -439,9 +515,9 @@ public final class OneStepSimplifier implements BuiltInRule {
             return result;
         }
 
-        for (int i = 0; i < indices.length; i++) {
+        for (int i = 0; i < gen.indices.length; i++) {
             PosInOccurrence pos = new PosInOccurrence(cf, PosInTerm.getTopLevel(), inAntecedent);
-            result = simplifyPosOrSub(goal, services, pos, i, protocol);
+            result = simplifyPosOrSub(gen, goal, services, pos, i, protocol);
             if (result != null) {
                 return result;
             }
@@ -456,8 +532,8 @@ public final class OneStepSimplifier implements BuiltInRule {
      *
      * @param protocol
      */
-    private Instantiation computeInstantiation(Services services, PosInOccurrence ossPIO,
-            Sequent seq, Protocol protocol, Goal goal, RuleApp ruleApp) {
+    private Instantiation computeInstantiation(Generation gen, Services services,
+            PosInOccurrence ossPIO, Sequent seq, Protocol protocol, Goal goal, RuleApp ruleApp) {
         // collect context formulas (potential if-insts for replace-known)
         final Map<TermReplacementKey, PosInOccurrence> context =
             new LinkedHashMap<>();
@@ -480,8 +556,8 @@ public final class OneStepSimplifier implements BuiltInRule {
         ImmutableList<SequentFormula> list = ImmutableSLList.nil();
         SequentFormula simplifiedCf = cf;
         while (true) {
-            simplifiedCf = simplifyConstrainedFormula(services, simplifiedCf, ossPIO.isInAntec(),
-                context, ifInsts, protocol, goal, ruleApp);
+            simplifiedCf = simplifyConstrainedFormula(gen, services, simplifiedCf,
+                ossPIO.isInAntec(), context, ifInsts, protocol, goal, ruleApp);
             if (simplifiedCf != null && !list.contains(simplifiedCf)) {
                 list = list.prepend(simplifiedCf);
             } else {
@@ -500,17 +576,21 @@ public final class OneStepSimplifier implements BuiltInRule {
     /**
      * Tells whether the passed formula can be simplified
      */
-    private synchronized boolean applicableTo(Services services, SequentFormula cf,
-            boolean inAntecedent, Goal goal, RuleApp ruleApp) {
-        final Boolean b = applicabilityCache.get(cf);
+    private boolean applicableTo(Services services, SequentFormula cf, boolean inAntecedent,
+            Goal goal, RuleApp ruleApp) {
+        final Generation gen = generation;
+        if (gen == null) {
+            return false;
+        }
+        final Boolean b = gen.applicabilityCache.get(cf);
         if (b != null) {
             return b;
         } else {
             // try one simplification step without replace-known
-            final SequentFormula simplifiedCf = simplifyConstrainedFormula(services, cf,
+            final SequentFormula simplifiedCf = simplifyConstrainedFormula(gen, services, cf,
                 inAntecedent, null, null, null, goal, ruleApp);
             final boolean result = simplifiedCf != null && !simplifiedCf.equals(cf);
-            applicabilityCache.put(cf, result);
+            gen.applicabilityCache.put(cf, result);
             return result;
         }
     }
@@ -577,8 +657,11 @@ public final class OneStepSimplifier implements BuiltInRule {
     }
 
     @Override
-    public synchronized @NonNull ImmutableList<Goal> apply(Goal goal, Services services,
-            RuleApp ruleApp) {
+    public @NonNull ImmutableList<Goal> apply(Goal goal, Services services, RuleApp ruleApp) {
+        final Generation gen = generation;
+        if (gen == null) {
+            throw new IllegalStateException("One step simplification is not initialized");
+        }
 
         assert ruleApp instanceof OneStepSimplifierRuleApp
                 : "The rule app must be suitable for OSS";
@@ -618,7 +701,7 @@ public final class OneStepSimplifier implements BuiltInRule {
         }
         // get instantiation
         final Instantiation inst =
-            computeInstantiation(services, pos, seq, protocol, goal, ruleApp);
+            computeInstantiation(gen, services, pos, seq, protocol, goal, ruleApp);
 
         ((OneStepSimplifierRuleApp) ruleApp).setProtocol(protocol);
 
@@ -652,6 +735,18 @@ public final class OneStepSimplifier implements BuiltInRule {
         return displayName();
     }
 
+    /**
+     * Returns the statistics of the caches of the simplification results. Since the caches are
+     * kept for further proofs capturing the same taclets, the statistics cover all of these
+     * proofs.
+     *
+     * @return the statistics of all caches added up, null if the simplifier has never been
+     *         initialized
+     */
+    public synchronized ConcurrentLRUCache.Statistics getCacheStatistics() {
+        return lastGeneration == null ? null : lastGeneration.getCacheStatistics();
+    }
+
     /**
      * Gets an immutable set containing all the taclets captured by the OSS.
      *
@@ -659,8 +754,9 @@ public final class OneStepSimplifier implements BuiltInRule {
      */
     public Set<NoPosTacletApp> getCapturedTaclets() {
         Set<NoPosTacletApp> result = new LinkedHashSet<>();
-        synchronized (this) {
-            for (TacletIndex index : indices) {
+        final Generation gen = generation;
+        if (gen != null) {
+            for (TacletIndex index : gen.indices) {
                 result.addAll(index.allNoPosTacletApps());
             }
         }
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule;
 
 import java.util.*;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.*;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
@@ -14,6 +13,8 @@ import de.uka.ilkd.key.logic.ClashFreeSubst.VariableCollectVisitor;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.sort.ProgramSVSort;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.VariableNameProposer;
 import de.uka.ilkd.key.rule.inst.*;
 import de.uka.ilkd.key.rule.inst.SVInstantiations.UpdateLabelPair;
@@ -41,10 +42,6 @@ import org.jspecify.annotations.Nullable;
  * complete, so that is can be applied.
  */
 public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
-    public static final AtomicLong PERF_EXECUTE = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_PRE = new AtomicLong();
-
     /** the taclet for which the application information is collected */
     private final @NonNull Taclet taclet;
 
@@ -325,8 +322,9 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
      */
     @Override
     public @Nullable ImmutableList<Goal> execute(Goal goal, Services services) {
+        final ProofMetrics metrics = goal.proof().getMetrics();
         var time = System.nanoTime();
-        var timeSetSequent = Goal.PERF_SET_SEQUENT.get();
+        var timeSetSequent = metrics.timer(CoreTimer.GOAL_SET_SEQUENT).getTotalNanos();
         try {
             var timePre = System.nanoTime();
             try {
@@ -342,13 +340,14 @@ public abstract class TacletApp implements RuleApp, EqualsModProofIrrelevancy {
                 registerSkolemConstants(goal.getLocalNamespaces());
                 goal.addAppliedRuleApp(this);
             } finally {
-                PERF_PRE.getAndAdd(System.nanoTime() - timePre);
+                metrics.record(CoreTimer.TACLET_APP_PRE, System.nanoTime() - timePre);
             }
 
             return taclet().apply(goal, services, this);
         } finally {
-            PERF_EXECUTE.getAndAdd(System.nanoTime() - time);
-            PERF_SET_SEQUENT.getAndAdd(Goal.PERF_SET_SEQUENT.get() - timeSetSequent);
+            metrics.record(CoreTimer.TACLET_APP_EXECUTE, System.nanoTime() - time);
+            metrics.record(CoreTimer.TACLET_APP_SET_SEQUENT,
+                metrics.timer(CoreTimer.GOAL_SET_SEQUENT).getTotalNanos() - timeSetSequent);
         }
     }
 
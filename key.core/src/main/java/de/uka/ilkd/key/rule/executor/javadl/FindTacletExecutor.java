@@ -4,13 +4,14 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.rule.FindTaclet;
 import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.RuleApp;
@@ -21,10 +22,6 @@ import org.key_project.util.collection.ImmutableList;
 
 public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
         extends TacletExecutor<TacletKind> {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
-
     public FindTacletExecutor(TacletKind taclet) {
         super(taclet);
     }
@@ -83,6 +80,7 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
     @Override
     public final ImmutableList<Goal> apply(Goal goal, Services services, RuleApp ruleApp) {
         final TermLabelState termLabelState = new TermLabelState();
+        final ProofMetrics metrics = goal.proof().getMetrics();
         // Number without the if-goal eventually needed
         final int numberOfNewGoals = taclet.goalTemplates().size();
 
@@ -124,7 +122,7 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
             // in the new sequent
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            metrics.record(CoreTimer.FIND_APPLY, System.nanoTime() - timeApply);
 
             var timeTermLabels = System.nanoTime();
             TermLabelManager.mergeLabels(currentSequent, services);
@@ -132,14 +130,14 @@ public abstract class FindTacletExecutor<TacletKind extends FindTaclet>
 
             var timeSetSequent = System.nanoTime();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            metrics.record(CoreTimer.FIND_SET_SEQUENT, System.nanoTime() - timeSetSequent);
 
             currentGoal.setBranchLabel(gt.name());
 
-            timeTermLabels = System.nanoTime() + timeTermLabels;
+            timeTermLabels = System.nanoTime() - timeTermLabels;
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            metrics.record(CoreTimer.FIND_TERM_LABELS, System.nanoTime() - timeTermLabels);
         }
 
         // in case the assumes sequent of the taclet did not
@@ -4,7 +4,6 @@
 package de.uka.ilkd.key.rule.executor.javadl;
 
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Sequent;
@@ -12,6 +11,8 @@ import de.uka.ilkd.key.logic.SequentChangeInfo;
 import de.uka.ilkd.key.logic.label.TermLabelManager;
 import de.uka.ilkd.key.logic.label.TermLabelState;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.rule.MatchConditions;
 import de.uka.ilkd.key.rule.NoFindTaclet;
 import de.uka.ilkd.key.rule.RuleApp;
@@ -23,10 +24,6 @@ import de.uka.ilkd.key.rule.tacletbuilder.TacletGoalTemplate;
 import org.key_project.util.collection.ImmutableList;
 
 public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
-    public static final AtomicLong PERF_APPLY = new AtomicLong();
-    public static final AtomicLong PERF_SET_SEQUENT = new AtomicLong();
-    public static final AtomicLong PERF_TERM_LABELS = new AtomicLong();
-
     public NoFindTacletExecutor(NoFindTaclet taclet) {
         super(taclet);
     }
@@ -61,6 +58,7 @@ public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
      */
     public ImmutableList<Goal> apply(Goal goal, Services services, RuleApp ruleApp) {
         final TermLabelState termLabelState = new TermLabelState();
+        final ProofMetrics metrics = goal.proof().getMetrics();
 
         // Number without the if-goal eventually needed
         int numberOfNewGoals = taclet.goalTemplates().size();
@@ -92,7 +90,7 @@ public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
 
             applyAddProgVars(gt.addedProgVars(), currentSequent, currentGoal,
                 tacletApp.posInOccurrence(), services, mc);
-            PERF_APPLY.getAndAdd(System.nanoTime() - timeApply);
+            metrics.record(CoreTimer.NO_FIND_APPLY, System.nanoTime() - timeApply);
 
             var timeTermLabels = System.nanoTime();
             TermLabelManager.mergeLabels(currentSequent, services);
@@ -100,13 +98,13 @@ public class NoFindTacletExecutor extends TacletExecutor<NoFindTaclet> {
 
             var timeSetSequent = System.nanoTime();
             currentGoal.setSequent(currentSequent);
-            PERF_SET_SEQUENT.getAndAdd(System.nanoTime() - timeSetSequent);
+            metrics.record(CoreTimer.NO_FIND_SET_SEQUENT, System.nanoTime() - timeSetSequent);
 
             currentGoal.setBranchLabel(gt.name());
-            timeTermLabels = System.nanoTime() + timeTermLabels;
+            timeTermLabels = System.nanoTime() - timeTermLabels;
             TermLabelManager.refactorSequent(termLabelState, services, ruleApp.posInOccurrence(),
                 ruleApp.rule(), currentGoal, null, null);
-            PERF_TERM_LABELS.getAndAdd(System.nanoTime() - timeTermLabels);
+            metrics.record(CoreTimer.NO_FIND_TERM_LABELS, System.nanoTime() - timeTermLabels);
         }
 
         return newGoals;
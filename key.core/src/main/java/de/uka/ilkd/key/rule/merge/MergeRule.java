@@ -305,8 +305,6 @@ public class MergeRule implements BuiltInRule {
      * @param services The services object.
      * @return A new merged SE state (U*,C*) which is a weakening of the original states.
      */
-    @SuppressWarnings("unused")
-    /* For deactivated equiv check */
     protected Triple<SymbolicExecutionState, LinkedHashSet<Name>, LinkedHashSet<Term>> mergeStates(
             MergeProcedure mergeRule, SymbolicExecutionState state1, SymbolicExecutionState state2,
             Term programCounter, Term distinguishingFormula, Services services) {
@@ -193,6 +193,11 @@ public class DefaultSMTSettings implements SMTSettings {
         return piSettings.isCheckForSupport();
     }
 
+    @Override
+    public boolean reuseSolverProcesses() {
+        return piSettings.isReuseSolverProcesses();
+    }
+
     @Override
     public long getIntBound() {
         return piSettings.getIntBound();
@@ -26,6 +26,14 @@ public class GeneralSettings extends AbstractSettings {
      */
     public static boolean keepFileRepos = false;
 
+    /**
+     * If this option is set, inner and closed nodes of proof trees store their sequents only as
+     * difference to the sequent of their parent, and the sequents are restored on demand. This
+     * saves memory for large proofs at the expense of slower access to the sequents of such
+     * nodes.
+     */
+    public static boolean compactProofTree = false;
+
     /**
      * if true then JML specifications are globally disabled in this run of KeY, regardless of the
      * regular settings
@@ -23,6 +23,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
     public static final String SHOW_SMT_RES_DIA = "showSMTResDialog";
     public static final String PROGRESS_DIALOG_MODE = "modeOfProgressDialog";
     public static final String MAX_CONCURRENT_PROCESSES = "maxConcurrentProcesses";
+    public static final String REUSE_SOLVER_PROCESSES = "reuseSolverProcesses";
 
     /*
      * The following properties are used to set the bit sizes for bounded counter example
@@ -61,6 +62,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     private long timeout = 2000;
     private int maxConcurrentProcesses = 2;
+    private boolean reuseSolverProcesses = false;
 
     private ProgressMode modeOfProgressDialog = ProgressMode.USER;
 
@@ -279,6 +281,20 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
 
     }
 
+    /**
+     * @return whether solver processes are kept alive and reused for further problems (see
+     *         {@link de.uka.ilkd.key.smt.communication.SolverProcessPool})
+     */
+    public boolean isReuseSolverProcesses() {
+        return reuseSolverProcesses;
+    }
+
+    public void setReuseSolverProcesses(boolean reuseSolverProcesses) {
+        var old = this.reuseSolverProcesses;
+        this.reuseSolverProcesses = reuseSolverProcesses;
+        firePropertyChange(REUSE_SOLVER_PROCESSES, old, this.reuseSolverProcesses);
+    }
+
     public boolean isEnableOnLoad() {
         return enableOnLoad;
     }
@@ -293,6 +309,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         setStoreTacletTranslationToFile(data.storeTacletTranslationToFile);
         setTimeout(data.timeout);
         setMaxConcurrentProcesses(data.maxConcurrentProcesses);
+        setReuseSolverProcesses(data.reuseSolverProcesses);
         setPathForSMTTranslation(data.pathForSMTTranslation);
         setPathForTacletTranslation(data.pathForTacletTranslation);
         setModeOfProgressDialog(data.modeOfProgressDialog);
@@ -362,6 +379,8 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         maxConcurrentProcesses =
             SettingsConverter.read(props, prefix + MAX_CONCURRENT_PROCESSES,
                 maxConcurrentProcesses);
+        reuseSolverProcesses =
+            SettingsConverter.read(props, prefix + REUSE_SOLVER_PROCESSES, reuseSolverProcesses);
         checkForSupport =
             SettingsConverter.read(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         intBound = SettingsConverter.read(props, prefix + INT_BOUND, intBound);
@@ -394,6 +413,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             pathForTacletTranslation);
         SettingsConverter.store(props, prefix + ACTIVE_SOLVER, activeSolver);
         SettingsConverter.store(props, prefix + MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        SettingsConverter.store(props, prefix + REUSE_SOLVER_PROCESSES, reuseSolverProcesses);
         SettingsConverter.store(props, prefix + SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         SettingsConverter.store(props, prefix + INT_BOUND, intBound);
         SettingsConverter.store(props, prefix + HEAP_BOUND, heapBound);
@@ -425,6 +445,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
             cat.getString(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation));
         setModeOfProgressDialog(cat.getEnum(PROGRESS_DIALOG_MODE, modeOfProgressDialog));
         setMaxConcurrentProcesses(cat.getInt(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses));
+        setReuseSolverProcesses(cat.getBool(REUSE_SOLVER_PROCESSES, reuseSolverProcesses));
         setCheckForSupport(cat.getBool(SOLVER_CHECK_FOR_SUPPORT, checkForSupport));
         setIntBound(cat.getLong(INT_BOUND, intBound));
         setHeapBound(cat.getLong(HEAP_BOUND, heapBound));
@@ -455,6 +476,7 @@ public final class ProofIndependentSMTSettings extends AbstractSettings {
         cat.set(PATH_FOR_TACLET_TRANSLATION, pathForTacletTranslation);
         cat.set(ACTIVE_SOLVER, activeSolver);
         cat.set(MAX_CONCURRENT_PROCESSES, maxConcurrentProcesses);
+        cat.set(REUSE_SOLVER_PROCESSES, reuseSolverProcesses);
         cat.set(SOLVER_CHECK_FOR_SUPPORT, checkForSupport);
         cat.set(INT_BOUND, intBound);
         cat.set(HEAP_BOUND, heapBound);
@@ -642,7 +642,7 @@ public class ModelExtractor {
     public static final int FINISHED = 3;
     public static final int SEQ = 5;
 
-    private final Model model;
+    private Model model;
 
 
     private int state;
@@ -664,6 +664,9 @@ public class ModelExtractor {
     private int currentQuery;
     private int intBound;
 
+    /** the values of the integer constants of the current model, as sent by the solver */
+    private final Map<String, String> intValues = new LinkedHashMap<>();
+
 
     public void addFunction(SMTFunction f) {
         if (f.getDomainSorts().isEmpty()) {
@@ -976,6 +979,9 @@ public class ModelExtractor {
 
             if (q instanceof ConstantQuery cq) {
                 model.addConstant(cq.getConstantID(), cq.getResult());
+                if (ints.stream().anyMatch(f -> f.getId().equals(cq.getConstantID()))) {
+                    intValues.put(cq.getConstantID(), cq.getResult());
+                }
             } else if (q instanceof FieldQuery fq) {
 
                 String heapID = fq.getHeapID();
@@ -1317,4 +1323,27 @@ public class ModelExtractor {
         return state == WORKING || state == ARRAYFIELDS;
     }
 
+    /**
+     * Returns the values of the integer constants of the extracted model in SMT-LIB syntax, which
+     * can be used to exclude the model from further checks of the same problem.
+     *
+     * @return the values by the ids of the constants
+     */
+    public Map<String, String> getIntConstantValues() {
+        return Collections.unmodifiableMap(intValues);
+    }
+
+    /**
+     * Prepares the extraction of a further model of the same problem, e.g., after additional
+     * assertions have been sent to the solver. Previously extracted models are not changed.
+     */
+    public void reset() {
+        state = DEFAULT;
+        currentQuery = -1;
+        queries = null;
+        objectSorts.clear();
+        intValues.clear();
+        model = new Model();
+    }
+
 }
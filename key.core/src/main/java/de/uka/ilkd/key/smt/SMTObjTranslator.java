@@ -15,6 +15,9 @@ import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.init.ProofOblInput;
+import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
 import de.uka.ilkd.key.smt.hierarchy.SortNode;
 import de.uka.ilkd.key.smt.hierarchy.TypeHierarchy;
 import de.uka.ilkd.key.smt.lang.*;
@@ -438,6 +441,25 @@ public class SMTObjTranslator implements SMTTranslator {
         return new StringBuffer(s);
     }
 
+    /**
+     * Determines the type containing the method under test for a proof created for test
+     * generation. The name of such a proof ends with the name of the original proof.
+     *
+     * @param proof the proof to translate
+     * @return the container type of the proof obligation of the original proof, null if there is
+     *         no original proof
+     */
+    public static KeYJavaType getTypeOfClassUnderTest(Proof proof) {
+        final SpecificationRepository specrep = proof.getServices().getSpecificationRepository();
+        for (Proof pr : specrep.getAllProofs()) {
+            if (proof.name().toString().endsWith(pr.name().toString())) {
+                final ProofOblInput po = specrep.getProofOblInput(pr);
+                return po == null ? null : po.getContainerType();
+            }
+        }
+        return null;
+    }
+
     public ModelExtractor getQuery() {
         for (var f : functions.values()) {
             query.addFunction(f);
@@ -127,6 +127,14 @@ public interface SMTSettings {
      */
     boolean checkForSupport();
 
+    /**
+     * Returns true if solver processes should be kept alive after a problem and reused for further
+     * problems (see {@link de.uka.ilkd.key.smt.communication.SolverProcessPool}).
+     */
+    default boolean reuseSolverProcesses() {
+        return false;
+    }
+
     boolean invarianForall();
 
     NewSMTTranslationSettings getNewSettings();
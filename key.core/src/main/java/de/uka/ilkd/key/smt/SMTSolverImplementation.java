@@ -11,12 +11,11 @@ import java.util.concurrent.atomic.AtomicInteger;
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.java.abstraction.KeYJavaType;
 import de.uka.ilkd.key.logic.Sequent;
-import de.uka.ilkd.key.proof.Proof;
-import de.uka.ilkd.key.proof.mgt.SpecificationRepository;
 import de.uka.ilkd.key.smt.communication.AbstractSolverSocket;
 import de.uka.ilkd.key.smt.communication.ExternalProcessLauncher;
 import de.uka.ilkd.key.smt.communication.SolverCommunication;
 import de.uka.ilkd.key.smt.communication.SolverCommunication.Message;
+import de.uka.ilkd.key.smt.communication.SolverProcessPool;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 import de.uka.ilkd.key.smt.solvertypes.SolverTypes;
 import de.uka.ilkd.key.taclettranslation.assumptions.TacletSetTranslation;
@@ -263,9 +262,12 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             return;
         }
 
-        // Thirdly: start the external process.
+        // Thirdly: start the external process (or take a running one from the pool).
+        final SolverProcessPool pool =
+            smtSettings.reuseSolverProcesses() ? SolverProcessPool.getInstance() : null;
+        final long startTime = System.nanoTime();
         try {
-            processLauncher.launch(commands);
+            processLauncher.launch(commands, pool);
             processLauncher.getPipe().sendMessage(type.modifyProblem(problemString));
             // processLauncher.getPipe().sendEOF();
 
@@ -283,6 +285,9 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
             setSolverState(SolverState.Stopped);
             listener.processStopped(this, problem);
             processLauncher.stop();
+            if (pool != null && !wasInterrupted()) {
+                pool.recordRuntime(type.getName(), System.nanoTime() - startTime);
+            }
         }
     }
 
@@ -316,19 +321,8 @@ public final class SMTSolverImplementation implements SMTSolver, Runnable {
 
     private String[] translateToCommand(Sequent sequent) throws IllegalFormulaException {
         if (getType() == SolverTypes.Z3_CE_SOLVER) {
-            Proof proof = problem.getGoal().proof();
-            SpecificationRepository specrep = proof.getServices().getSpecificationRepository();
-
-            Proof originalProof = null;
-            for (Proof pr : specrep.getAllProofs()) {
-                if (proof.name().toString().endsWith(pr.name().toString())) {
-                    originalProof = pr;
-                    break;
-                }
-            }
-
             KeYJavaType typeOfClassUnderTest =
-                specrep.getProofOblInput(originalProof).getContainerType();
+                SMTObjTranslator.getTypeOfClassUnderTest(problem.getGoal().proof());
 
             SMTObjTranslator objTrans =
                 new SMTObjTranslator(smtSettings, services, typeOfClassUnderTest);
@@ -10,6 +10,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.smt.SMTSolver.ReasonOfInterruption;
+import de.uka.ilkd.key.smt.communication.SolverProcessPool;
 import de.uka.ilkd.key.smt.solvertypes.SolverType;
 
 /**
@@ -241,6 +242,13 @@ public class SolverLauncher implements SolverListener {
         for (SMTProblem problem : problems) {
             solvers.addAll(problem.getSolvers());
         }
+        if (settings.reuseSolverProcesses()) {
+            // start the solvers that are expected to finish first, so that their processes can be
+            // reused early (stable, i.e., the order of the problems is kept for each solver type)
+            final SolverProcessPool pool = SolverProcessPool.getInstance();
+            solvers.sort(Comparator
+                    .comparingLong(solver -> pool.getExpectedRuntime(solver.getType().getName())));
+        }
         launchSolvers(solvers, problems, factories);
     }
 
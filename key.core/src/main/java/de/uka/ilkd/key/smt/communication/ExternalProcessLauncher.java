@@ -6,6 +6,7 @@ package de.uka.ilkd.key.smt.communication;
 import java.io.*;
 
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 /**
  * This class is responsible for starting external processes:
@@ -15,6 +16,10 @@ import org.jspecify.annotations.NonNull;
  * <li>Starts the process and returns.</li>
  * </ol>
  * Remark: Does not block the invoking thread.
+ * <p>
+ * If a {@link SolverProcessPool} is given, the process is taken from the pool and returned to it
+ * when the launcher is stopped after the problem has been finished.
+ * </p>
  *
  * @author Wolfram Pfeifer (overhaul)
  */
@@ -37,7 +42,17 @@ public class ExternalProcessLauncher {
     /**
      * the pipe for sending and receiving to/from the process
      */
-    private SimplePipe pipe;
+    private Pipe pipe;
+
+    /**
+     * the pool the process belongs to (null if the process is not pooled)
+     */
+    private @Nullable SolverProcessPool pool;
+
+    /**
+     * whether the launcher has already been stopped
+     */
+    private boolean stopped;
 
     /**
      * Creates the external process launcher.
@@ -59,6 +74,26 @@ public class ExternalProcessLauncher {
      * @throws IOException if an I/O error occurs
      */
     public void launch(final String[] command) throws IOException {
+        launch(command, null);
+    }
+
+    /**
+     * Starts the external process or takes it from the given pool, and connects the pipe to it.
+     * stderr and stdout of the process are merged.
+     *
+     * @param command command (program and arguments) which is used to start the external process
+     * @param pool the pool of reusable processes, or null to start a new process that is
+     *        terminated when the launcher is stopped
+     * @throws IOException if an I/O error occurs
+     */
+    public synchronized void launch(final String[] command, @Nullable SolverProcessPool pool)
+            throws IOException {
+        stopped = false;
+        if (pool != null) {
+            pipe = pool.acquire(command, session, messageDelimiters);
+            this.pool = pool;
+            return;
+        }
         try {
             ProcessBuilder builder = new ProcessBuilder(command);
             builder.redirectErrorStream(true);
@@ -73,9 +108,18 @@ public class ExternalProcessLauncher {
     }
 
     /**
-     * Stops the external process: In particular the pipe is closed and the process is destroyed.
+     * Stops the external process: In particular the pipe is closed and the process is destroyed
+     * (or returned to its pool).
      */
-    public void stop() {
+    public synchronized void stop() {
+        if (stopped) {
+            return;
+        }
+        stopped = true;
+        if (pool != null) {
+            // returns the process to the pool if it finished its problem, otherwise kills it
+            pool.release((PooledPipe) pipe);
+        }
         if (process != null) {
             // make sure the solver process is properly killed,
             // otherwise it may consume excessive CPU and RAM
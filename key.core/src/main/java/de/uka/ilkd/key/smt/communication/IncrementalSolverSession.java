@@ -0,0 +1,238 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import de.uka.ilkd.key.smt.ModelExtractor;
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A session with a single solver process, to which further assertions can be sent after the
+ * solver answered. This allows to check several variants of a problem (e.g., to enumerate models
+ * of it, see {@link ModelExtractor#getIntConstantValues()}) without translating the problem and
+ * starting a solver process again for every check.
+ * <p>
+ * The solver sockets finish a problem by sending "(exit)". Similar to {@link PooledPipe}, the
+ * pipe of the session does not forward this message, but ends the answer instead. The solver
+ * process is terminated (or returned to its {@link SolverProcessPool}) when the session is
+ * closed, or if a check times out.
+ * </p>
+ */
+public final class IncrementalSolverSession implements Closeable {
+    /** the timer for the timeouts of the checks of all sessions */
+    private static final Timer TIMER = new Timer("IncrementalSolverSession", true);
+
+    /** the time in ms the solver is given to terminate when the session is closed */
+    private static final long CLOSE_TIMEOUT = 1000;
+
+    private final @NonNull SolverType type;
+
+    /** the store of all messages send to and received from the solver */
+    private final SolverCommunication communication = new SolverCommunication();
+
+    private final ExternalProcessLauncher launcher;
+
+    private final AbstractSolverSocket socket;
+
+    /** the pipe to the solver, null if the session has not been started */
+    private @Nullable SessionPipe pipe;
+
+    /** whether the solver process has been stopped (closed, timed out or terminated) */
+    private volatile boolean stopped;
+
+    /**
+     * Creates a new session.
+     *
+     * @param type the type of the solver
+     * @param query the ModelExtractor that is to be used to extract a model from the solver
+     *        (only used for the counterexample solver type)
+     */
+    public IncrementalSolverSession(@NonNull SolverType type, @Nullable ModelExtractor query) {
+        this.type = type;
+        this.socket = AbstractSolverSocket.createSocket(type, query);
+        this.launcher = new ExternalProcessLauncher(communication, type.getDelimiters());
+    }
+
+    /**
+     * Starts the solver process and checks the given problem.
+     *
+     * @param problem the translated problem, ending with "(check-sat)"
+     * @param pool the pool to take the process from, or null to start a new process
+     * @param timeout the timeout of the check in ms, or a non-positive value for no timeout
+     * @return the result of the check, unknown if it timed out
+     * @throws IOException if the communication with the solver fails
+     * @throws InterruptedException if interrupted while waiting for the solver
+     */
+    public SMTSolverResult start(@NonNull String problem, @Nullable SolverProcessPool pool,
+            long timeout) throws IOException, InterruptedException {
+        if (pipe != null) {
+            throw new IllegalStateException("The session has already been started!");
+        }
+        String[] parameters = type.getSolverParameters().split(" ");
+        String[] command = new String[parameters.length + 1];
+        command[0] = type.getSolverCommand();
+        System.arraycopy(parameters, 0, command, 1, parameters.length);
+
+        launcher.launch(command, pool);
+        pipe = new SessionPipe(launcher.getPipe());
+        return check(type.modifyProblem(problem), timeout);
+    }
+
+    /**
+     * Adds the given assertion to the assertions of the problem and checks it again. The
+     * assertion is kept for all further checks of the session.
+     *
+     * @param assertion the formula to assert in SMT-LIB syntax
+     * @param timeout the timeout of the check in ms, or a non-positive value for no timeout
+     * @return the result of the check, unknown if it timed out
+     * @throws IOException if the communication with the solver fails
+     * @throws InterruptedException if interrupted while waiting for the solver
+     */
+    public SMTSolverResult checkSat(@NonNull String assertion, long timeout)
+            throws IOException, InterruptedException {
+        if (pipe == null || stopped) {
+            throw new IllegalStateException("The session is not running!");
+        }
+        if (socket.getQuery() != null) {
+            socket.getQuery().reset();
+        }
+        communication.setState(AbstractSolverSocket.WAIT_FOR_RESULT);
+        communication.setFinalResult(SMTSolverResult.NO_IDEA);
+        return check("(assert " + assertion + ")\n(check-sat)", timeout);
+    }
+
+    private SMTSolverResult check(String input, long timeout)
+            throws IOException, InterruptedException {
+        final SessionPipe pipe = this.pipe;
+        TimerTask timeoutTask = null;
+        if (timeout > 0) {
+            timeoutTask = new TimerTask() {
+                @Override
+                public void run() {
+                    stop();
+                }
+            };
+            TIMER.schedule(timeoutTask, timeout);
+        }
+        try {
+            pipe.answered = false;
+            pipe.sendMessage(input);
+            String msg = pipe.readMessage();
+            while (msg != null) {
+                socket.messageIncoming(pipe, msg);
+                msg = pipe.answered ? null : pipe.readMessage();
+            }
+        } catch (IOException e) {
+            if (!stopped) {
+                stop();
+                throw e;
+            }
+        } finally {
+            if (timeoutTask != null) {
+                timeoutTask.cancel();
+            }
+        }
+        if (!pipe.answered) {
+            if (stopped) {
+                return SMTSolverResult.createUnknownResult(type.getName());
+            }
+            stop();
+            throw new IOException("The solver " + type.getName() + " terminated unexpectedly.");
+        }
+        return communication.getFinalResult();
+    }
+
+    /**
+     * @return the messages sent to and received from the solver
+     */
+    public SolverCommunication getSolverCommunication() {
+        return communication;
+    }
+
+    private synchronized void stop() {
+        stopped = true;
+        launcher.stop();
+    }
+
+    /**
+     * Ends the session. The solver is asked to exit, which allows to reuse a pooled process.
+     */
+    @Override
+    public void close() {
+        if (pipe == null || stopped) {
+            return;
+        }
+        TimerTask timeoutTask = new TimerTask() {
+            @Override
+            public void run() {
+                stop();
+            }
+        };
+        TIMER.schedule(timeoutTask, CLOSE_TIMEOUT);
+        try {
+            pipe.pipe.sendMessage("(exit)");
+            while (pipe.pipe.readMessage() != null) {
+                // discard the remaining output
+            }
+        } catch (IOException e) {
+            // the process is terminated anyway
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            timeoutTask.cancel();
+            stop();
+        }
+    }
+
+    /**
+     * The pipe of the session, which turns the "(exit)" of the socket into the end of the answer.
+     */
+    private static final class SessionPipe implements Pipe {
+        private final @NonNull Pipe pipe;
+
+        /** whether the socket finished the answer of the current check */
+        private boolean answered;
+
+        private SessionPipe(@NonNull Pipe pipe) {
+            this.pipe = pipe;
+        }
+
+        @Override
+        public void sendMessage(@NonNull String message) throws IOException {
+            if (message.trim().equals("(exit)")) {
+                answered = true;
+            } else {
+                pipe.sendMessage(message);
+            }
+        }
+
+        @Override
+        public @Nullable String readMessage() throws IOException, InterruptedException {
+            return pipe.readMessage();
+        }
+
+        @Override
+        public @NonNull SolverCommunication getSolverCommunication() {
+            return pipe.getSolverCommunication();
+        }
+
+        @Override
+        public void close() {
+            pipe.close();
+        }
+
+        @Override
+        public void sendEOF() {
+            pipe.sendEOF();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A pipe to a solver process of a {@link SolverProcessPool}. The solver sockets finish a problem
+ * by sending "(exit)" and reading the remaining output until the stream is closed. Instead of
+ * terminating the process, this pipe replaces "(exit)" by "(reset)" and an echo of a marker, and
+ * reports the end of the stream as soon as the marker has been read. Afterwards, the process can
+ * be used for the next problem.
+ */
+final class PooledPipe implements Pipe {
+    /**
+     * the key of the process in the pool (command and delimiters)
+     */
+    private final @NonNull String key;
+
+    /**
+     * the pipe connected to the process
+     */
+    private final @NonNull SimplePipe pipe;
+
+    /**
+     * the marker echoed by the solver at the end of the current problem
+     */
+    private @Nullable String marker;
+
+    /**
+     * whether the marker of the current problem has been read
+     */
+    private boolean finished;
+
+    /**
+     * whether the process must not be reused (closed, killed or terminated)
+     */
+    private boolean broken;
+
+    /**
+     * the number of problems sent to the process
+     */
+    private int uses;
+
+    PooledPipe(@NonNull String key, @NonNull SimplePipe pipe) {
+        this.key = key;
+        this.pipe = pipe;
+    }
+
+    /**
+     * Prepares the pipe for the next problem.
+     *
+     * @param session the message list of the problem
+     */
+    void start(@NonNull SolverCommunication session) {
+        pipe.reuse(session);
+        uses++;
+        marker = null;
+        finished = false;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    /**
+     * @return whether the process finished its last problem and can be used for the next one
+     */
+    boolean isReusable() {
+        return finished && !broken && pipe.getProcess().isAlive();
+    }
+
+    /**
+     * Terminates the process.
+     */
+    void destroy() {
+        broken = true;
+        pipe.getProcess().destroyForcibly();
+    }
+
+    @Override
+    public void sendMessage(@NonNull String message) throws IOException {
+        if (message.trim().equals("(exit)")) {
+            if (marker == null) {
+                marker = SolverProcessPool.DONE_MARKER + "-" + uses;
+                pipe.sendMessage("(reset)");
+                pipe.sendMessage("(echo \"" + marker + "\")");
+            }
+        } else {
+            pipe.sendMessage(message);
+        }
+    }
+
+    @Override
+    public @Nullable String readMessage() throws IOException, InterruptedException {
+        if (finished) {
+            return null;
+        }
+        final String msg = pipe.readMessage();
+        if (msg == null) {
+            // the process terminated
+            broken = true;
+        } else if (marker != null && msg.contains(marker)) {
+            finished = true;
+            return null;
+        }
+        return msg;
+    }
+
+    @Override
+    public @NonNull SolverCommunication getSolverCommunication() {
+        return pipe.getSolverCommunication();
+    }
+
+    @Override
+    public void close() {
+        broken = true;
+        pipe.close();
+    }
+
+    @Override
+    public void sendEOF() {
+        broken = true;
+        pipe.sendEOF();
+    }
+}
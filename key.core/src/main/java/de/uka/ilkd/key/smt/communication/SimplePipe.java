@@ -26,9 +26,10 @@ public class SimplePipe implements Pipe {
     private final @NonNull BufferedMessageReader reader;
 
     /**
-     *
+     * The store of the messages of the current problem (replaced if the process is reused, see
+     * {@link SolverProcessPool}).
      */
-    private final @NonNull SolverCommunication session;
+    private @NonNull SolverCommunication session;
 
     /**
      * The process this pipe is attached to.
@@ -85,6 +86,26 @@ public class SimplePipe implements Pipe {
         smtIn = processWriter;
     }
 
+    /**
+     * Attaches the pipe to the communication of the next problem sent to the process. The captured
+     * input and output of the previous problem are discarded.
+     *
+     * @param session the message list where to log the messages to
+     */
+    void reuse(@NonNull SolverCommunication session) {
+        this.session = session;
+        stdin.getBuffer().setLength(0);
+        stdout.getBuffer().setLength(0);
+    }
+
+    /**
+     * @return the process this pipe is attached to
+     */
+    @NonNull
+    Process getProcess() {
+        return process;
+    }
+
     public String getSentMessages() {
         return stdin.toString();
     }
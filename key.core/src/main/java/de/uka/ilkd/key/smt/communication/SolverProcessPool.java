@@ -0,0 +1,210 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.jspecify.annotations.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of long-lived external solver processes. Instead of starting a new process for every SMT
+ * problem, a process that finished its problem is reset by the SMT-LIB command "(reset)" and kept
+ * idle for the next problem with the same command line (see {@link PooledPipe}). Processes that
+ * are interrupted (e.g., by a timeout), report an error or terminate are not reused.
+ * <p>
+ * Additionally, the pool records the time the solvers needed for their problems, which allows to
+ * schedule the problems by expected cost (see {@link #getExpectedRuntime(String)}).
+ * </p>
+ * <p>
+ * The pool is used if it is enabled in the SMT settings
+ * ({@link de.uka.ilkd.key.smt.SMTSettings#reuseSolverProcesses()}). Idle processes are terminated
+ * by {@link #shutdown()} and when the JVM exits.
+ * </p>
+ */
+public final class SolverProcessPool {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolverProcessPool.class);
+
+    /**
+     * Prefix of the marker the solver is asked to echo after a problem.
+     */
+    static final String DONE_MARKER = "key-solver-done";
+
+    /**
+     * Default number of idle processes kept per command line.
+     */
+    public static final int DEFAULT_MAX_IDLE = 4;
+
+    private static final SolverProcessPool INSTANCE = new SolverProcessPool(DEFAULT_MAX_IDLE);
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(INSTANCE::shutdown, "SolverProcessPool"));
+    }
+
+    /**
+     * idle processes by command line (and message delimiters)
+     */
+    private final Map<String, Deque<PooledPipe>> idle = new HashMap<>();
+
+    /**
+     * the accumulated runtimes and number of runs by solver name
+     */
+    private final Map<String, long[]> runtimes = new ConcurrentHashMap<>();
+
+    private final int maxIdle;
+
+    private final AtomicLong startedProcesses = new AtomicLong();
+
+    private final LongAdder reusedProcesses = new LongAdder();
+
+    /**
+     * Creates a new pool. Usually, the shared pool {@link #getInstance()} should be used.
+     *
+     * @param maxIdle the maximal number of idle processes kept per command line
+     */
+    public SolverProcessPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @return the pool shared by all solver launchers
+     */
+    public static SolverProcessPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Takes an idle process for the given command line or starts a new one.
+     *
+     * @param command command (program and arguments) which is used to start the external process
+     * @param session the message list of the problem
+     * @param messageDelimiters delimiters which separate the messages
+     * @return the pipe connected to the process
+     * @throws IOException if starting the process fails
+     */
+    PooledPipe acquire(@NonNull String[] command, @NonNull SolverCommunication session,
+            @NonNull String[] messageDelimiters) throws IOException {
+        final String key =
+            String.join("\u0000", command) + "\u0001" + String.join("\u0000", messageDelimiters);
+        PooledPipe pipe = null;
+        synchronized (idle) {
+            final Deque<PooledPipe> processes = idle.get(key);
+            while (processes != null && !processes.isEmpty() && pipe == null) {
+                final PooledPipe candidate = processes.pop();
+                if (candidate.isReusable()) {
+                    pipe = candidate;
+                }
+            }
+        }
+
+        if (pipe == null) {
+            ProcessBuilder builder = new ProcessBuilder(command);
+            builder.redirectErrorStream(true);
+            Process process = builder.start();
+            startedProcesses.incrementAndGet();
+            pipe = new PooledPipe(key, new SimplePipe(process.getInputStream(),
+                messageDelimiters, process.getOutputStream(), session, process));
+        } else {
+            reusedProcesses.increment();
+        }
+        pipe.start(session);
+        return pipe;
+    }
+
+    /**
+     * Returns a process to the pool if it finished its problem, otherwise terminates it.
+     *
+     * @param pipe the pipe connected to the process
+     */
+    void release(@NonNull PooledPipe pipe) {
+        if (pipe.isReusable()) {
+            synchronized (idle) {
+                final Deque<PooledPipe> processes =
+                    idle.computeIfAbsent(pipe.getKey(), k -> new ArrayDeque<>());
+                if (processes.size() < maxIdle) {
+                    processes.push(pipe);
+                    return;
+                }
+            }
+        }
+        pipe.destroy();
+    }
+
+    /**
+     * Records the time a solver needed for a problem.
+     *
+     * @param solverName the name of the solver type
+     * @param nanos the runtime in nanoseconds
+     */
+    public void recordRuntime(@NonNull String solverName, long nanos) {
+        final long[] stat = runtimes.computeIfAbsent(solverName, n -> new long[2]);
+        synchronized (stat) {
+            stat[0] += nanos;
+            stat[1]++;
+        }
+    }
+
+    /**
+     * @param solverName the name of the solver type
+     * @return the mean runtime of the solver in nanoseconds, or 0 if it has not been run yet
+     */
+    public long getExpectedRuntime(@NonNull String solverName) {
+        final long[] stat = runtimes.get(solverName);
+        if (stat == null) {
+            return 0;
+        }
+        synchronized (stat) {
+            return stat[1] == 0 ? 0 : stat[0] / stat[1];
+        }
+    }
+
+    /**
+     * @return the number of processes started by this pool
+     */
+    public long getStartedProcesses() {
+        return startedProcesses.get();
+    }
+
+    /**
+     * @return the number of problems that were sent to an already running process
+     */
+    public long getReusedProcesses() {
+        return reusedProcesses.sum();
+    }
+
+    /**
+     * @return the number of idle processes
+     */
+    public int getIdleCount() {
+        synchronized (idle) {
+            int count = 0;
+            for (Deque<PooledPipe> processes : idle.values()) {
+                count += processes.size();
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Terminates all idle processes.
+     */
+    public void shutdown() {
+        final List<PooledPipe> processes = new ArrayList<>();
+        synchronized (idle) {
+            idle.values().forEach(processes::addAll);
+            idle.clear();
+        }
+        for (PooledPipe pipe : processes) {
+            pipe.destroy();
+        }
+        if (!processes.isEmpty()) {
+            LOGGER.debug("Terminated {} idle solver processes", processes.size());
+        }
+    }
+}
@@ -26,6 +26,14 @@ public interface AutomatedRuleApplicationManager extends NewRuleListener {
      */
     RuleApp peekNext();
 
+    /**
+     * Computes the applicable rules and their costs in advance, such that a later call of
+     * {@link #peekNext()} only has to complete the cheapest rule app. Unlike {@link #peekNext()},
+     * this does not instantiate rule apps and hence creates no new names or symbols, so it may be
+     * called for different goals concurrently.
+     */
+    default void prepare() {}
+
     /**
      * @return the next rule that is supposed to be applied
      */
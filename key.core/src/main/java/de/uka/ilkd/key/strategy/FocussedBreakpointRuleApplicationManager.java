@@ -63,6 +63,11 @@ public class FocussedBreakpointRuleApplicationManager
         return delegate.peekNext();
     }
 
+    @Override
+    public void prepare() {
+        delegate.prepare();
+    }
+
     @Override
     public RuleApp next() {
         final RuleApp app = delegate.next();
@@ -3,8 +3,6 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy;
 
-import java.util.concurrent.atomic.AtomicLong;
-
 import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.BooleanLDT;
 import de.uka.ilkd.key.ldt.CharListLDT;
@@ -21,6 +19,7 @@ import de.uka.ilkd.key.logic.op.Quantifier;
 import de.uka.ilkd.key.logic.op.SortDependingFunction;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.proof.rulefilter.SetRuleFilter;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.UseDependencyContractRule;
@@ -66,10 +65,6 @@ import org.key_project.logic.Name;
  * Strategy tailored to be used as long as a java program can be found in the sequent.
  */
 public class JavaCardDLStrategy extends AbstractFeatureStrategy {
-    public static final AtomicLong PERF_COMPUTE = new AtomicLong();
-    public static final AtomicLong PERF_APPROVE = new AtomicLong();
-    public static final AtomicLong PERF_INSTANTIATE = new AtomicLong();
-
     public static final String JAVA_CARD_DL_STRATEGY = "JavaCardDLStrategy";
 
     private static final int IN_EQ_SIMP_NON_LIN_COST = 1000;
@@ -78,7 +73,18 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     protected final StrategyProperties strategyProperties;
 
     private final RuleSetDispatchFeature costComputationDispatcher;
+    /**
+     * The cost computation without {@link #goalDependentF}, which is added by
+     * {@link #computeCost(RuleApp, PosInOccurrence, Goal, MutableState)}. This allows to reuse the
+     * costs of goal independent computations, see {@link #costCache}.
+     */
     private final Feature costComputationF;
+    /**
+     * The part of the global features that depends on the goal for every rule app: the check for
+     * duplicate rule apps on the branch and the age of the goal.
+     */
+    private final Feature goalDependentF;
+    private final RuleAppCostCache costCache = new RuleAppCostCache();
     private final RuleSetDispatchFeature approvalDispatcher;
     private final Feature approvalF;
     private final RuleSetDispatchFeature instantiationDispatcher;
@@ -106,9 +112,12 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         approvalDispatcher = setupApprovalDispatcher();
         instantiationDispatcher = setupInstantiationF();
 
-        costComputationF = setupGlobalF(costComputationDispatcher);
-        instantiationF = setupGlobalF(instantiationDispatcher);
-        approvalF = add(setupApprovalF(), approvalDispatcher);
+        goalDependentF = add(NonDuplicateAppFeature.INSTANCE, AgeFeature.INSTANCE);
+        // the features are specialized per rule on their first evaluation, see CompiledFeature
+        costComputationF = CompiledFeature.compile(setupGlobalF(costComputationDispatcher));
+        instantiationF =
+            CompiledFeature.compile(add(goalDependentF, setupGlobalF(instantiationDispatcher)));
+        approvalF = CompiledFeature.compile(add(setupApprovalF(), approvalDispatcher));
 
     }
 
@@ -214,10 +223,11 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
 
         // final Feature smtF = smtFeature(inftyConst());
 
-        return SumFeature.createSum(AutomatedRuleFeature.INSTANCE, NonDuplicateAppFeature.INSTANCE,
+        // NonDuplicateAppFeature and AgeFeature are part of goalDependentF
+        return SumFeature.createSum(AutomatedRuleFeature.INSTANCE,
             // splitF,
             // strengthenConstraints,
-            AgeFeature.INSTANCE, oneStepSimplificationF, mergeRuleF,
+            oneStepSimplificationF, mergeRuleF,
             // smtF,
             methodSpecF, queryF, depSpecF, loopInvF, blockFeature, loopBlockFeature,
             loopBlockApplyHeadFeature, ifMatchedF, dispatcher);
@@ -2056,9 +2066,15 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
             MutableState mState) {
         var time = System.nanoTime();
         try {
-            return costComputationF.computeCost(app, pio, goal, mState);
+            final RuleAppCost cost =
+                costCache.computeCost(costComputationF, app, pio, goal, mState);
+            if (cost instanceof TopRuleAppCost) {
+                return cost;
+            }
+            return cost.add(goalDependentF.computeCost(app, pio, goal, mState));
         } finally {
-            PERF_COMPUTE.addAndGet(System.nanoTime() - time);
+            goal.proof().getMetrics().record(CoreTimer.STRATEGY_COMPUTE,
+                System.nanoTime() - time);
         }
     }
 
@@ -2075,10 +2091,15 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
     public final boolean isApprovedApp(RuleApp app, PosInOccurrence pio, Goal goal) {
         var time = System.nanoTime();
         try {
-            return !(approvalF.computeCost(app, pio, goal,
+            final boolean approved = !(approvalF.computeCost(app, pio, goal,
                 new MutableState()) == TopRuleAppCost.INSTANCE);
+            if (!approved) {
+                goal.proof().getMetrics().counter("Rule apps rejected by approval").increment();
+            }
+            return approved;
         } finally {
-            PERF_APPROVE.addAndGet(System.nanoTime() - time);
+            goal.proof().getMetrics().record(CoreTimer.STRATEGY_APPROVE,
+                System.nanoTime() - time);
         }
     }
 
@@ -2089,7 +2110,8 @@ public class JavaCardDLStrategy extends AbstractFeatureStrategy {
         try {
             return instantiationF.computeCost(app, pio, goal, mState);
         } finally {
-            PERF_INSTANTIATE.addAndGet(System.nanoTime() - time);
+            goal.proof().getMetrics().record(CoreTimer.STRATEGY_INSTANTIATE,
+                System.nanoTime() - time);
         }
     }
 
@@ -5,7 +5,7 @@ package de.uka.ilkd.key.strategy;
 
 import de.uka.ilkd.key.util.Debug;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 
 import org.jspecify.annotations.NonNull;
 
@@ -13,10 +13,10 @@ public abstract class NumberRuleAppCost implements RuleAppCost {
 
     private static final NumberRuleAppCost ZERO_COST = new IntRuleAppCost(0);
     /**
-     * Requires thread save access as multiple proofs may be performed in parallel (Eclipse).
+     * Requires thread save access as multiple proofs may be performed in parallel.
      */
-    private static final LRUCache<Integer, NumberRuleAppCost> cache =
-        new LRUCache<>(255);
+    private static final ConcurrentLRUCache<Integer, NumberRuleAppCost> cache =
+        new ConcurrentLRUCache<>(255);
 
     public static RuleAppCost getZeroCost() {
         return ZERO_COST;
@@ -27,19 +27,7 @@ public abstract class NumberRuleAppCost implements RuleAppCost {
             return NumberRuleAppCost.getZeroCost();
         }
 
-        NumberRuleAppCost ac;
-        synchronized (cache) { // Ensure thread save access which is required for parallel proofs
-                               // (e.g. in Eclipse)
-            ac = cache.get(p_cost);
-            if (ac != null) {
-                return ac;
-            }
-
-            ac = new IntRuleAppCost(p_cost);
-            cache.put(p_cost, ac);
-        }
-
-        return ac;
+        return cache.computeIfAbsent(p_cost, IntRuleAppCost::new);
     }
 
     public static RuleAppCost create(long p_cost) {
@@ -5,10 +5,10 @@ package de.uka.ilkd.key.strategy;
 
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.concurrent.atomic.AtomicLong;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.feature.Feature;
 
@@ -29,10 +29,6 @@ import org.jspecify.annotations.Nullable;
  * {@link Feature#computeCost(RuleApp, PosInOccurrence, Goal, de.uka.ilkd.key.strategy.feature.MutableState)}).
  */
 public class QueueRuleApplicationManager implements AutomatedRuleApplicationManager {
-    public static final AtomicLong PERF_QUEUE_OPS = new AtomicLong();
-    public static final AtomicLong PERF_PEEK = new AtomicLong();
-    public static final AtomicLong PERF_CREATE_CONTAINER = new AtomicLong();
-
     /**
      * The goal this manager belongs to.
      */
@@ -119,7 +115,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
 
         var time = System.nanoTime();
         RuleAppContainer c = RuleAppContainer.createAppContainer(rule, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        record(goal, CoreTimer.QUEUE_CREATE_CONTAINER, time);
 
         ensureQueueExists();
         addRuleApp(c);
@@ -140,19 +136,28 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
         var time = System.nanoTime();
         final ImmutableList<RuleAppContainer> containers =
             RuleAppContainer.createAppContainers(rules, pos, goal);
-        PERF_CREATE_CONTAINER.addAndGet(System.nanoTime() - time);
+        record(goal, CoreTimer.QUEUE_CREATE_CONTAINER, time);
         ensureQueueExists();
         for (RuleAppContainer rac : containers) {
             addRuleApp(rac);
         }
     }
 
+    /**
+     * Record the time since {@code start} in the metrics of the proof of the goal.
+     */
+    private static void record(@Nullable Goal goal, CoreTimer timer, long start) {
+        if (goal != null) {
+            goal.proof().getMetrics().record(timer, System.nanoTime() - start);
+        }
+    }
+
     private void addRuleApp(RuleAppContainer rac) {
         var time = System.nanoTime();
         try {
             queue = push(rac, queue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            record(goal, CoreTimer.QUEUE_OPS, time);
         }
     }
 
@@ -200,7 +205,15 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
         try {
             return ImmutableLeftistHeap.<RuleAppContainer>nilHeap().insert(actualApps.iterator());
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            record(goal, CoreTimer.QUEUE_OPS, time);
+        }
+    }
+
+    @Override
+    public void prepare() {
+        ensureQueueExists();
+        if (goal != null) {
+            goal.ruleAppIndex().fillCache();
         }
     }
 
@@ -239,7 +252,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             computeNextRuleApp(furtherAppsQueue);
             return nextRuleApp;
         } finally {
-            PERF_PEEK.addAndGet(System.nanoTime() - otime);
+            record(goal, CoreTimer.QUEUE_PEEK, otime);
         }
     }
 
@@ -290,7 +303,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                     minRuleAppContainer = furtherAppsQueue.findMin();
                     furtherAppsQueue = furtherAppsQueue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    record(goal, CoreTimer.QUEUE_OPS, time);
                 }
             } else if (furtherAppsQueue.isEmpty()) {
                 // Use queue in case furtherAppsQueueUsed is empty.
@@ -300,7 +313,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                     minRuleAppContainer = queue.findMin();
                     queue = queue.deleteMin();
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    record(goal, CoreTimer.QUEUE_OPS, time);
                 }
             } else {
                 // Neither queue is empty. Find a minimum that ranges over both
@@ -319,7 +332,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                         minRuleAppContainer = queueMin;
                     }
                 } finally {
-                    PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                    record(goal, CoreTimer.QUEUE_OPS, time);
                 }
             }
 
@@ -350,7 +363,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
                             push(minRuleAppContainer.createFurtherApps(goal).iterator(),
                                 furtherAppsQueue);
                     } finally {
-                        PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+                        record(goal, CoreTimer.QUEUE_OPS, time);
                     }
                 }
             } else {
@@ -369,7 +382,7 @@ public class QueueRuleApplicationManager implements AutomatedRuleApplicationMana
             queue = queue.insert(workingList.iterator());
             queue = queue.insert(furtherAppsQueue);
         } finally {
-            PERF_QUEUE_OPS.addAndGet(System.nanoTime() - time);
+            record(goal, CoreTimer.QUEUE_OPS, time);
         }
     }
 
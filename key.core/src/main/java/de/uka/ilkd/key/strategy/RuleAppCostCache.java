@@ -0,0 +1,116 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
+import de.uka.ilkd.key.strategy.feature.MutableState;
+
+import org.key_project.util.ConcurrentLRUCache;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cache of the costs of taclet applications that only depend on the taclet application and the
+ * formula it is applied to, but not on the goal (see {@link MutableState#markGoalDependent()}).
+ * <p>
+ * The cost of a taclet application is usually computed several times: when the rule app container
+ * is created, whenever further apps are created from the container by the
+ * {@link QueueRuleApplicationManager}, after a split for every new goal, and when the queue of a
+ * goal is rebuilt. As long as the formula the taclet application refers to is not modified, i.e.,
+ * as long as the {@link de.uka.ilkd.key.logic.SequentFormula} is the same object, the cost of a
+ * goal independent computation does not change and is taken from this cache. Modifications of the
+ * sequent create new formula objects, so the costs of all taclet apps that are affected by a
+ * {@link de.uka.ilkd.key.logic.SequentChangeInfo} are recomputed.
+ * </p>
+ * <p>
+ * The cache belongs to a single strategy instance, as the costs depend on the features and the
+ * strategy properties.
+ * </p>
+ */
+public final class RuleAppCostCache {
+    /**
+     * Default number of cached costs.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+    /**
+     * Key of the cache: the rule app (compared by identity, the rule app indices and the rule app
+     * containers of different goals share the app objects) and its position (which compares the
+     * sequent formula by identity).
+     */
+    private record Key(RuleApp app, @Nullable PosInOccurrence pos) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && app == other.app
+                    && (pos == null ? other.pos == null : pos.equals(other.pos));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(app) + (pos == null ? 0 : pos.hashCode());
+        }
+    }
+
+    private final ConcurrentLRUCache<Key, RuleAppCost> cache;
+
+    public RuleAppCostCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public RuleAppCostCache(int maxEntries) {
+        cache = new ConcurrentLRUCache<>(maxEntries);
+    }
+
+    /**
+     * Evaluate the given feature, or take the cost from the cache if the feature has been
+     * evaluated for the same rule app at the same position before and the evaluation did not
+     * depend on the goal.
+     *
+     * @param feature the feature to evaluate (always the same for one cache)
+     * @param app the rule app
+     * @param pos the position of the rule app
+     * @param goal the goal
+     * @param mState the state of the computation
+     * @return the cost of the rule app
+     */
+    public RuleAppCost computeCost(Feature feature, RuleApp app, @Nullable PosInOccurrence pos,
+            Goal goal, MutableState mState) {
+        if (!(app instanceof TacletApp)) {
+            // built-in rule apps are created anew for every request
+            return feature.computeCost(app, pos, goal, mState);
+        }
+
+        final Key key = new Key(app, pos);
+        final RuleAppCost cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // if the state is already marked, we cannot tell whether the feature is goal dependent
+        final boolean dependentBefore = mState.isGoalDependent();
+        final RuleAppCost cost = feature.computeCost(app, pos, goal, mState);
+        if (!dependentBefore && !mState.isGoalDependent()) {
+            cache.put(key, cost);
+        }
+        return cost;
+    }
+
+    /**
+     * @return the hit and miss statistics of the cache
+     */
+    public ConcurrentLRUCache.Statistics getStatistics() {
+        return cache.getStatistics();
+    }
+
+    /**
+     * Remove all cached costs.
+     */
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -18,7 +18,7 @@ import de.uka.ilkd.key.rule.inst.InstantiationEntry;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.op.Function;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMapEntry;
 
@@ -34,24 +34,23 @@ public abstract class AbstractMonomialSmallerThanFeature extends SmallerThanFeat
         this.Z = numbers.getNumberSymbol();
     }
 
+    /**
+     * The introduction time of a symbol is cached for the whole proof, i.e., it is determined by
+     * the first goal asking for it. Hence, it does not make the feature goal dependent (see
+     * {@link MutableState#markGoalDependent()}).
+     */
     protected int introductionTime(Operator op, Goal goal) {
         if (op == add || op == mul || op == Z) {
             return -1;
         }
 
-        final LRUCache<Operator, Integer> introductionTimeCache =
+        final ConcurrentLRUCache<Operator, Integer> introductionTimeCache =
             goal.proof().getServices().getCaches().getIntroductionTimeCache();
-        Integer res;
-
-        synchronized (introductionTimeCache) {
-            res = introductionTimeCache.get(op);
-        }
+        Integer res = introductionTimeCache.get(op);
 
         if (res == null) {
             res = introductionTimeHelp(op, goal);
-            synchronized (introductionTimeCache) {
-                introductionTimeCache.put(op, res);
-            }
+            introductionTimeCache.put(op, res);
         }
 
         return res;
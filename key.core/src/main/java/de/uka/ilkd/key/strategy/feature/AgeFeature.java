@@ -21,6 +21,7 @@ public class AgeFeature implements Feature {
 
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
+        mState.markGoalDependent();
         return NumberRuleAppCost.create(goal.getTime());
         // return LongRuleAppCost.create ( goal.getTime() / goal.sequent ().size () );
         // return LongRuleAppCost.create ( (long)Math.sqrt ( goal.getTime () ) );
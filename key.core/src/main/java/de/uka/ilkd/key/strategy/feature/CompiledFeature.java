@@ -0,0 +1,214 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.rule.Rule;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+import de.uka.ilkd.key.strategy.TopRuleAppCost;
+
+import org.key_project.util.collection.ImmutableList;
+
+/**
+ * A feature that evaluates a feature term specialized to the rule of the given rule app.
+ * <p>
+ * For every rule, the feature term is compiled once into a linear program: sums are flattened,
+ * {@link ConditionalFeature}s are resolved (their condition only depends on the rule),
+ * {@link RuleSetDispatchFeature}s are replaced by the features bound to the rule sets of the
+ * taclet, and all {@link ConstFeature}s are folded into a single constant. The program is the sum
+ * of the constant and of the remaining features, which are evaluated in their original order. If
+ * the constant is {@link TopRuleAppCost}, the rule app is rejected without evaluating any feature.
+ * </p>
+ * <p>
+ * The programs are recompiled if one of the inlined dispatchers is modified. If feature profiling
+ * is enabled for the proof, the interpreted feature term is evaluated, so that the features of the
+ * rule sets are timed. The evaluation mode can be chosen by the system property
+ * {@value #MODE_PROPERTY}, see {@link Mode}.
+ * </p>
+ */
+public final class CompiledFeature implements Feature {
+    /**
+     * System property choosing the {@link Mode} of all compiled features.
+     */
+    public static final String MODE_PROPERTY = "key.strategy.featureEvaluation";
+
+    /**
+     * The modes of evaluation.
+     */
+    public enum Mode {
+        /** evaluate the original feature term */
+        INTERPRETED,
+        /** evaluate the compiled programs */
+        COMPILED,
+        /**
+         * evaluate both and throw an {@link IllegalStateException} if the results differ (for
+         * testing)
+         */
+        CHECKED
+    }
+
+    /**
+     * A compiled feature term.
+     *
+     * @param constant the sum of the constant features
+     * @param features the features that have to be evaluated
+     * @param dispatchers the inlined dispatchers
+     * @param modCounts the modification counts of the dispatchers at compile time
+     */
+    private record Program(RuleAppCost constant, Feature[] features,
+            RuleSetDispatchFeature[] dispatchers, int[] modCounts) {
+        boolean isValid() {
+            for (int i = 0; i < dispatchers.length; i++) {
+                if (dispatchers[i].getModCount() != modCounts[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private final Feature root;
+    private final Mode mode;
+    private final Map<Rule, Program> programs = new ConcurrentHashMap<>();
+
+    private CompiledFeature(Feature root, Mode mode) {
+        this.root = root;
+        this.mode = mode;
+    }
+
+    /**
+     * Compile a feature term in the mode given by the system property {@value #MODE_PROPERTY}
+     * (default: {@link Mode#COMPILED}).
+     *
+     * @param root the feature term
+     * @return the compiled feature
+     */
+    public static Feature compile(Feature root) {
+        final String mode = System.getProperty(MODE_PROPERTY);
+        return compile(root, mode == null ? Mode.COMPILED : Mode.valueOf(mode.toUpperCase()));
+    }
+
+    /**
+     * Compile a feature term.
+     *
+     * @param root the feature term
+     * @param mode the mode of evaluation
+     * @return the compiled feature
+     */
+    public static Feature compile(Feature root, Mode mode) {
+        return mode == Mode.INTERPRETED ? root : new CompiledFeature(root, mode);
+    }
+
+    @Override
+    public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        if (goal != null && goal.proof().getMetrics().isFeatureProfiling()) {
+            return root.computeCost(app, pos, goal, mState);
+        }
+        if (mode == Mode.CHECKED) {
+            final RuleAppCost expected = root.computeCost(app, pos, goal, mState);
+            final RuleAppCost actual = evaluate(app, pos, goal, mState);
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Compiled feature of " + app.rule().name()
+                    + " computed " + actual + " instead of " + expected);
+            }
+            return actual;
+        }
+        return evaluate(app, pos, goal, mState);
+    }
+
+    private RuleAppCost evaluate(RuleApp app, PosInOccurrence pos, Goal goal,
+            MutableState mState) {
+        final Program program = getProgram(app.rule());
+        RuleAppCost res = program.constant;
+        final Feature[] features = program.features;
+        for (int i = 0; i < features.length && !(res instanceof TopRuleAppCost); i++) {
+            res = res.add(features[i].computeCost(app, pos, goal, mState));
+        }
+        return res;
+    }
+
+    private Program getProgram(Rule rule) {
+        Program program = programs.get(rule);
+        if (program == null || !program.isValid()) {
+            program = new Compiler(rule).compile(root);
+            programs.put(rule, program);
+        }
+        return program;
+    }
+
+    /**
+     * Remove all compiled programs.
+     */
+    public void clear() {
+        programs.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledFeature: " + root;
+    }
+
+    /**
+     * Compilation of the feature term for a single rule.
+     */
+    private static final class Compiler {
+        private final Rule rule;
+        private RuleAppCost constant = NumberRuleAppCost.getZeroCost();
+        private final List<Feature> features = new ArrayList<>();
+        private final List<RuleSetDispatchFeature> dispatchers = new ArrayList<>();
+
+        Compiler(Rule rule) {
+            this.rule = rule;
+        }
+
+        Program compile(Feature root) {
+            add(root);
+            final int[] modCounts = new int[dispatchers.size()];
+            for (int i = 0; i < modCounts.length; i++) {
+                modCounts[i] = dispatchers.get(i).getModCount();
+            }
+            final Feature[] fs = constant instanceof TopRuleAppCost ? new Feature[0]
+                    : features.toArray(new Feature[0]);
+            return new Program(constant, fs,
+                dispatchers.toArray(new RuleSetDispatchFeature[0]), modCounts);
+        }
+
+        private void add(Feature f) {
+            if (f instanceof SumFeature sum) {
+                for (Feature summand : sum.getFeatures()) {
+                    add(summand);
+                }
+            } else if (f instanceof ConditionalFeature conditional) {
+                add(conditional.select(rule));
+            } else if (f instanceof ConstFeature c) {
+                constant = constant.add(c.getValue());
+            } else if (f instanceof RuleSetDispatchFeature dispatcher) {
+                dispatchers.add(dispatcher);
+                if (rule instanceof Taclet taclet) {
+                    ImmutableList<RuleSet> ruleSets = taclet.getRuleSets();
+                    while (!ruleSets.isEmpty()) {
+                        final Feature partialF = dispatcher.get(ruleSets.head());
+                        if (partialF != null) {
+                            add(partialF);
+                        }
+                        ruleSets = ruleSets.tail();
+                    }
+                }
+            } else {
+                features.add(f);
+            }
+        }
+    }
+}
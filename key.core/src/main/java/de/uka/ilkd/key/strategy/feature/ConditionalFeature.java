@@ -6,6 +6,7 @@ package de.uka.ilkd.key.strategy.feature;
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.rulefilter.RuleFilter;
+import de.uka.ilkd.key.rule.Rule;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
@@ -24,11 +25,15 @@ public class ConditionalFeature implements Feature {
 
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
-        if (cond.filter(app.rule())) {
-            return thenFeature.computeCost(app, pos, goal, mState);
-        } else {
-            return elseFeature.computeCost(app, pos, goal, mState);
-        }
+        return select(app.rule()).computeCost(app, pos, goal, mState);
+    }
+
+    /**
+     * @param rule a rule
+     * @return the feature that is evaluated for applications of <code>rule</code>
+     */
+    Feature select(Rule rule) {
+        return cond.filter(rule) ? thenFeature : elseFeature;
     }
 
     /**
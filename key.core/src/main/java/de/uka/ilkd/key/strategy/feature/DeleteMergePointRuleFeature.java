@@ -32,6 +32,7 @@ public class DeleteMergePointRuleFeature implements Feature {
     @Override
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
+        mState.markGoalDependent();
         return goal.node().parent().getAppliedRuleApp() instanceof MergeRuleBuiltInRuleApp
                 ? NumberRuleAppCost.create(-50000)
                 : TopRuleAppCost.INSTANCE;
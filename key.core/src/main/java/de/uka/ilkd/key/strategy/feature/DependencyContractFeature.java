@@ -38,6 +38,7 @@ public final class DependencyContractFeature extends BinaryFeature {
     protected boolean filter(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState) {
         IBuiltInRuleApp bapp = (IBuiltInRuleApp) app;
         final Term focus = pos.subTerm();
+        mState.markGoalDependent();
 
         // determine possible steps
 
@@ -27,6 +27,7 @@ public class EqNonDuplicateAppFeature extends AbstractNonDuplicateAppFeature {
             return true;
         }
 
+        mState.markGoalDependent();
         return noDuplicateFindTaclet(app, pos, goal);
     }
 
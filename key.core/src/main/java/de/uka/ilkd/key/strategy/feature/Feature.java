@@ -10,6 +10,12 @@ import de.uka.ilkd.key.strategy.RuleAppCost;
 
 /**
  * A {@link Feature} is a class that is able to compute the cost of a {@link RuleApp}.
+ * <p>
+ * Features whose result depends on more than the rule app and the formula it is applied to (e.g.,
+ * on other formulas of the sequent or on the rule apps of the branch) have to call
+ * {@link MutableState#markGoalDependent()}, otherwise the strategy may reuse their cost for other
+ * goals.
+ * </p>
  */
 public interface Feature {
 
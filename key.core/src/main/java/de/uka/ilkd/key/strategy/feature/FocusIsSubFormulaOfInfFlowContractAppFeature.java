@@ -47,6 +47,7 @@ public class FocusIsSubFormulaOfInfFlowContractAppFeature implements Feature {
         }
 
         final Term focusFor = pos.sequentFormula().formula();
+        mState.markGoalDependent();
         ImmutableList<Term> contractAppls =
             goal.getStrategyInfo(InfFlowContractAppTacletExecutor.INF_FLOW_CONTRACT_APPL_PROPERTY);
         if (contractAppls == null) {
@@ -34,6 +34,7 @@ public class FormulaAddedByRuleFeature extends BinaryFeature {
         final SequentFormula cfma = pos.sequentFormula();
         final boolean antec = pos.isInAntec();
 
+        mState.markGoalDependent();
         Node node = goal.node();
 
         while (!node.root()) {
@@ -13,7 +13,7 @@ import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 
 
 /**
@@ -35,11 +35,9 @@ public class IfThenElseMalusFeature implements Feature {
         final ServiceCaches caches = goal.proof().getServices().getCaches();
 
         RuleAppCost resInt;
-        final LRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
+        final ConcurrentLRUCache<PosInOccurrence, RuleAppCost> ifThenElseMalusCache =
             caches.getIfThenElseMalusCache();
-        synchronized (ifThenElseMalusCache) {
-            resInt = ifThenElseMalusCache.get(pos);
-        }
+        resInt = ifThenElseMalusCache.get(pos);
 
         if (resInt != null) {
             return resInt;
@@ -62,9 +60,7 @@ public class IfThenElseMalusFeature implements Feature {
 
         resInt = NumberRuleAppCost.create(res);
 
-        synchronized (ifThenElseMalusCache) {
-            ifThenElseMalusCache.put(pos, resInt);
-        }
+        ifThenElseMalusCache.put(pos, resInt);
 
         return resInt;
     }
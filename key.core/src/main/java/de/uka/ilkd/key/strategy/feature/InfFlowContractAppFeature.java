@@ -212,6 +212,7 @@ public class InfFlowContractAppFeature implements Feature {
             return NumberRuleAppCost.getZeroCost();
         }
 
+        mState.markGoalDependent();
         if (!isInfFlowProof(goal.proof()) || app.ifFormulaInstantiations() == null
                 || app.ifFormulaInstantiations().size() < 1
                 || duplicateFindTaclet(app, pos, goal)) {
@@ -24,6 +24,12 @@ import de.uka.ilkd.key.strategy.termProjection.TermBuffer;
  * <p>
  * This mutable state should not be abused and strategy features should be stateless.
  * </p>
+ * <p>
+ * The state also records whether the computation depended on the goal beyond the rule application
+ * and its position, e.g., on other formulas of the sequent, on the rule applications performed on
+ * the branch or on the age of the goal (see {@link #markGoalDependent()}). Costs of computations
+ * that did not depend on the goal may be reused for the same rule application on other goals.
+ * </p>
  *
  * @author Richard Bubel
  */
@@ -35,6 +41,9 @@ public class MutableState {
     /** manages backtracking for features that create {@link ChoicePoint}s */
     private BackTrackingManager btManager;
 
+    /** whether the computation depended on the goal beyond the rule app and its position */
+    private boolean goalDependent;
+
     /**
      * assign the given {@link TermBuffer} the provided value
      *
@@ -72,4 +81,23 @@ public class MutableState {
         }
         return btManager;
     }
+
+    /**
+     * Records that the result of the current computation depends on the goal beyond the rule
+     * application and its position. Features (and term generators or projections) have to call
+     * this method whenever they access the sequent of the goal, its node or its rule applications.
+     */
+    public void markGoalDependent() {
+        goalDependent = true;
+    }
+
+    /**
+     * returns whether the computation depended on the goal beyond the rule application and its
+     * position
+     *
+     * @return true iff {@link #markGoalDependent()} has been called
+     */
+    public boolean isGoalDependent() {
+        return goalDependent;
+    }
 }
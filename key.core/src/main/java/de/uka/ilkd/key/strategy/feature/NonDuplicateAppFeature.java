@@ -21,6 +21,7 @@ public class NonDuplicateAppFeature extends AbstractNonDuplicateAppFeature {
             return true;
         }
 
+        mState.markGoalDependent();
         return noDuplicateFindTaclet(app, pos, goal);
     }
 
@@ -77,6 +77,8 @@ public class QueryExpandCost implements Feature {
     @Override
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
+        // depends on the rule apps of the branch and the time the query was introduced
+        mState.markGoalDependent();
         final Services services = goal.proof().getServices();
         final IntegerLDT integerLDT = services.getTypeConverter().getIntegerLDT();
         final Term t = pos.subTerm();
@@ -8,6 +8,7 @@ import java.util.Map;
 
 import de.uka.ilkd.key.logic.PosInOccurrence;
 import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics;
 import de.uka.ilkd.key.rule.RuleApp;
 import de.uka.ilkd.key.rule.RuleSet;
 import de.uka.ilkd.key.rule.TacletApp;
@@ -23,10 +24,18 @@ import org.key_project.util.collection.ImmutableList;
  * iterate over the rule sets that the taclet belongs to, and for each rule set the corresponding
  * feature term (if existing) is evaluated. The result of the feature is the sum of the results of
  * the different rule set features.
+ * <p>
+ * If feature profiling is enabled for the proof (see {@link ProofMetrics#isFeatureProfiling()}),
+ * the evaluation of the feature term of every rule set is timed.
+ * </p>
  */
 public class RuleSetDispatchFeature implements Feature {
 
     private final Map<RuleSet, Feature> rulesetToFeature = new LinkedHashMap<>();
+    /**
+     * Number of modifications of the bindings, used to invalidate {@link CompiledFeature}s
+     */
+    private volatile int modCount;
 
     public RuleAppCost computeCost(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
@@ -34,6 +43,8 @@ public class RuleSetDispatchFeature implements Feature {
             return NumberRuleAppCost.getZeroCost();
         }
 
+        final ProofMetrics metrics = goal.proof().getMetrics();
+        final boolean profiling = metrics.isFeatureProfiling();
         RuleAppCost res = NumberRuleAppCost.getZeroCost();
         ImmutableList<RuleSet> ruleSetsOfAppliedTaclet = ((TacletApp) app).taclet().getRuleSets();
         /*
@@ -46,7 +57,14 @@ public class RuleSetDispatchFeature implements Feature {
 
             final Feature partialF = rulesetToFeature.get(rs);
             if (partialF != null) {
-                res = res.add(partialF.computeCost(app, pos, goal, mState));
+                if (profiling) {
+                    final long time = System.nanoTime();
+                    res = res.add(partialF.computeCost(app, pos, goal, mState));
+                    metrics.timer(ProofMetrics.Category.FEATURE, rs.name().toString())
+                            .record(System.nanoTime() - time);
+                } else {
+                    res = res.add(partialF.computeCost(app, pos, goal, mState));
+                }
                 if (res instanceof TopRuleAppCost) {
                     break;
                 }
@@ -69,6 +87,7 @@ public class RuleSetDispatchFeature implements Feature {
         }
 
         rulesetToFeature.put(ruleSet, combinedF);
+        modCount++;
     }
 
     /**
@@ -76,6 +95,7 @@ public class RuleSetDispatchFeature implements Feature {
      */
     public void clear(RuleSet ruleSet) {
         rulesetToFeature.remove(ruleSet);
+        modCount++;
     }
 
     /**
@@ -88,4 +108,8 @@ public class RuleSetDispatchFeature implements Feature {
     public Feature get(RuleSet ruleSet) {
         return rulesetToFeature.get(ruleSet);
     }
+
+    int getModCount() {
+        return modCount;
+    }
 }
@@ -30,6 +30,7 @@ public class SeqContainsExecutableCodeFeature extends BinaryFeature {
     public final static Feature PROGRAMS_OR_QUERIES = new SeqContainsExecutableCodeFeature(true);
 
     protected boolean filter(RuleApp app, PosInOccurrence pos, Goal goal, MutableState mState) {
+        mState.markGoalDependent();
         return containsExec(goal.sequent().succedent().iterator(), mState,
             goal.proof().getServices())
                 || containsExec(goal.sequent().antecedent().iterator(), mState,
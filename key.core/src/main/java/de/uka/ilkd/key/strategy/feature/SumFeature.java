@@ -60,6 +60,13 @@ public class SumFeature implements Feature {
 
     private final Feature[] features;
 
+    /**
+     * @return the summands of this feature
+     */
+    Feature[] getFeatures() {
+        return features;
+    }
+
     @Override
     public String toString() {
         return "SumFeature: " + Arrays.toString(features);
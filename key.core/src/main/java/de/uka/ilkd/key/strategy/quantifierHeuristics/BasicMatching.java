@@ -3,6 +3,12 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.quantifierHeuristics;
 
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.Modality;
 import de.uka.ilkd.key.logic.op.Operator;
@@ -44,6 +50,42 @@ class BasicMatching {
         return allsubs;
     }
 
+    /**
+     * Returns the operators of all subterms of <code>targetTerm</code> which
+     * {@link #getSubstitutions(Term, Term)} tries to match, i.e., an index of the ground subterms
+     * by their head symbol. A trigger can only match the target term if its operator is contained.
+     * The index is cached per term, hence it is computed only once for every formula, no matter
+     * how many goals and triggers it is matched against.
+     *
+     * @param targetTerm a formula of the sequent
+     * @param services the services containing the cache
+     * @return the head symbols of the ground subterms of <code>targetTerm</code>
+     */
+    static Set<Operator> getHeadSymbols(Term targetTerm, Services services) {
+        final Map<Term, Set<Operator>> cache = services.getCaches().getHeadSymbolCache();
+        Set<Operator> result = cache.get(targetTerm);
+        if (result == null) {
+            final Set<Operator> headSymbols = new HashSet<>();
+            collectHeadSymbols(targetTerm, headSymbols);
+            result = Collections.unmodifiableSet(headSymbols);
+            cache.put(targetTerm, result);
+        }
+        return result;
+    }
+
+    private static void collectHeadSymbols(Term targetTerm, Set<Operator> result) {
+        if (targetTerm.freeVars().size() > 0 || targetTerm.op() instanceof Quantifier) {
+            return;
+        }
+        final Operator op = targetTerm.op();
+        result.add(op);
+        if (!(op instanceof Modality || op instanceof UpdateApplication)) {
+            for (int i = 0; i < targetTerm.arity(); i++) {
+                collectHeadSymbols(targetTerm.sub(i), result);
+            }
+        }
+    }
+
     /**
      * @param pattern
      * @param instance
@@ -12,7 +12,7 @@ import de.uka.ilkd.key.logic.op.*;
 import de.uka.ilkd.key.rule.metaconstruct.arith.Polynomial;
 
 import org.key_project.logic.op.Function;
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.Pair;
 
 import static de.uka.ilkd.key.logic.equality.IrrelevantTermLabelsProperty.IRRELEVANT_TERM_LABELS_PROPERTY;
@@ -35,12 +35,9 @@ public class HandleArith {
      *         <code>problem</code> if it cann't be proved.
      */
     public static Term provedByArith(Term problem, Services services) {
-        final LRUCache<Term, Term> provedByArithCache =
+        final ConcurrentLRUCache<Term, Term> provedByArithCache =
             services.getCaches().getProvedByArithFstCache();
-        Term result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(problem);
-        }
+        Term result = provedByArithCache.get(problem);
         if (result != null) {
             return result;
         }
@@ -74,11 +71,9 @@ public class HandleArith {
 
 
 
-    private static void putInTermCache(final LRUCache<Term, Term> provedByArithCache,
+    private static void putInTermCache(final ConcurrentLRUCache<Term, Term> provedByArithCache,
             final Term key, final Term value) {
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, value);
-        }
+        provedByArithCache.put(key, value);
     }
 
     /**
@@ -127,12 +122,9 @@ public class HandleArith {
      */
     public static Term provedByArith(Term problem, Term axiom, Services services) {
         final Pair<Term, Term> key = new Pair<>(problem, axiom);
-        final LRUCache<Pair<Term, Term>, Term> provedByArithCache =
+        final ConcurrentLRUCache<Pair<Term, Term>, Term> provedByArithCache =
             services.getCaches().getProvedByArithSndCache();
-        Term result;
-        synchronized (provedByArithCache) {
-            result = provedByArithCache.get(key);
-        }
+        Term result = provedByArithCache.get(key);
         if (result != null) {
             return result;
         }
@@ -147,9 +139,7 @@ public class HandleArith {
         final Term falseT = tb.ff();
 
         if (cd.op() == Junctor.FALSE || ab.op() == Junctor.FALSE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, problem);
-            }
+            provedByArithCache.put(key, problem);
             return problem;
         }
         JFunction addfun = integerLDT.getAdd();
@@ -157,9 +147,7 @@ public class HandleArith {
             tb.geq(tb.func(addfun, cd.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), cd.sub(1)));
         Term res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, trueT);
-            }
+            provedByArithCache.put(key, trueT);
             return trueT;
         }
         Term t0 = formatArithTerm(tb.not(problem), tb, integerLDT, caches);
@@ -167,14 +155,10 @@ public class HandleArith {
             tb.geq(tb.func(addfun, t0.sub(0), ab.sub(1)), tb.func(addfun, ab.sub(0), t0.sub(1)));
         res = provedByArith(arithTerm, services);
         if (res.op() == Junctor.TRUE) {
-            synchronized (provedByArithCache) {
-                provedByArithCache.put(key, falseT);
-            }
+            provedByArithCache.put(key, falseT);
             return falseT;
         }
-        synchronized (provedByArithCache) {
-            provedByArithCache.put(key, problem);
-        }
+        provedByArithCache.put(key, problem);
         return problem;
     }
 
@@ -188,11 +172,8 @@ public class HandleArith {
      */
     private static Term formatArithTerm(final Term problem, TermBuilder tb, IntegerLDT ig,
             ServiceCaches caches) {
-        final LRUCache<Term, Term> formattedTermCache = caches.getFormattedTermCache();
-        Term pro;
-        synchronized (formattedTermCache) {
-            pro = formattedTermCache.get(problem);
-        }
+        final ConcurrentLRUCache<Term, Term> formattedTermCache = caches.getFormattedTermCache();
+        Term pro = formattedTermCache.get(problem);
         if (pro != null) {
             return pro;
         }
@@ -31,6 +31,7 @@ public class HeuristicInstantiation implements TermGenerator {
         assert pos != null : "Feature is only applicable to rules with find";
 
         final Term qf = pos.sequentFormula().formula();
+        mState.markGoalDependent();
         final Instantiation ia =
             Instantiation.create(qf, goal.sequent(), goal.proof().getServices());
         final QuantifiableVariable var = qf.varsBoundHere(0).last();
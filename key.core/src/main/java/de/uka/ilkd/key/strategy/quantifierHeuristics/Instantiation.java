@@ -20,14 +20,21 @@ import de.uka.ilkd.key.strategy.NumberRuleAppCost;
 import de.uka.ilkd.key.strategy.RuleAppCost;
 import de.uka.ilkd.key.strategy.TopRuleAppCost;
 
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.DefaultImmutableMap;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMap;
 import org.key_project.util.collection.ImmutableSLList;
 import org.key_project.util.collection.ImmutableSet;
+import org.key_project.util.collection.Pair;
 
-class Instantiation {
+/**
+ * The instances of a quantified formula suggested by its triggers for a sequent, together with
+ * their costs. Instantiations are cached per proof (see
+ * {@link de.uka.ilkd.key.java.ServiceCaches#getInstantiationCache()}).
+ */
+public final class Instantiation {
 
 
     /** universally quantifiable variable bound in<code>allTerm</code> */
@@ -55,21 +62,14 @@ class Instantiation {
         addInstances(sequentToTerms(seq), services);
     }
 
-    private static Term lastQuantifiedFormula = null;
-    private static Sequent lastSequent = null;
-    private static Instantiation lastResult = null;
-
     static Instantiation create(Term qf, Sequent seq, Services services) {
-        synchronized (Instantiation.class) {
-            if (qf == lastQuantifiedFormula && seq == lastSequent) {
-                return lastResult;
-            }
-        }
-        final Instantiation result = new Instantiation(qf, seq, services);
-        synchronized (Instantiation.class) {
-            lastQuantifiedFormula = qf;
-            lastSequent = seq;
-            lastResult = result;
+        final ConcurrentLRUCache<Pair<Term, Sequent>, Instantiation> cache =
+            services.getCaches().getInstantiationCache();
+        final Pair<Term, Sequent> key = new Pair<>(qf, seq);
+        Instantiation result = cache.get(key);
+        if (result == null) {
+            result = new Instantiation(qf, seq, services);
+            cache.put(key, result);
         }
         return result;
     }
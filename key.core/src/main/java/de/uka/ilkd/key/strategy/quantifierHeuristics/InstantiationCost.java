@@ -36,6 +36,7 @@ public class InstantiationCost implements Feature {
 
         final Term formula = pos.sequentFormula().formula();
         final Term instance = varInst.toTerm(app, pos, goal, mState);
+        mState.markGoalDependent();
 
         return Instantiation.computeCost(instance, formula, goal.sequent(),
             goal.proof().getServices());
@@ -10,7 +10,7 @@ import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.logic.op.QuantifiableVariable;
 import de.uka.ilkd.key.logic.op.Quantifier;
 
-import org.key_project.util.LRUCache;
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.collection.DefaultImmutableSet;
 import org.key_project.util.collection.ImmutableList;
 import org.key_project.util.collection.ImmutableMap;
@@ -28,8 +28,9 @@ class UniTrigger implements Trigger {
     private final boolean onlyUnify;
     private final boolean isElementOfMultitrigger;
 
-    private final LRUCache<Term, ImmutableSet<Substitution>> matchResults =
-        new LRUCache<>(1000);
+    /** the substitutions found in formulas, shared by all goals of a proof */
+    private final ConcurrentLRUCache<Term, ImmutableSet<Substitution>> matchResults =
+        new ConcurrentLRUCache<>(1000);
 
     UniTrigger(Term trigger, ImmutableSet<QuantifiableVariable> uqvs, boolean isUnify,
             boolean isElementOfMultitrigger, TriggersSet triggerSetThisBelongsTo) {
@@ -62,7 +63,8 @@ class UniTrigger implements Trigger {
         ImmutableSet<Substitution> newSubs = DefaultImmutableSet.nil();
         if (t.freeVars().size() > 0 || t.op() instanceof Quantifier) {
             newSubs = Matching.twoSidedMatching(this, t, services);
-        } else if (!onlyUnify) {
+        } else if (!onlyUnify && (trigger.op() instanceof QuantifiableVariable
+                || BasicMatching.getHeadSymbols(t, services).contains(trigger.op()))) {
             newSubs = Matching.basicMatching(this, t);
         }
         return newSubs;
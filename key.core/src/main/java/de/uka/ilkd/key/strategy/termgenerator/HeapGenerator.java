@@ -38,6 +38,7 @@ public class HeapGenerator implements TermGenerator {
     @Override
     public Iterator<Term> generate(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
+        mState.markGoalDependent();
         LinkedHashSet<Term> heaps = new LinkedHashSet<>();
         Sequent seq = goal.sequent();
         for (SequentFormula sf : seq) {
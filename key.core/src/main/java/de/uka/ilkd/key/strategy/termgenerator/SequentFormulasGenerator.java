@@ -47,6 +47,7 @@ public abstract class SequentFormulasGenerator implements TermGenerator {
 
     public Iterator<Term> generate(RuleApp app, PosInOccurrence pos, Goal goal,
             MutableState mState) {
+        mState.markGoalDependent();
         return new SFIterator(generateForIt(goal));
     }
 
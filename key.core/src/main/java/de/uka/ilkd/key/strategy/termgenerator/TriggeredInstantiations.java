@@ -77,6 +77,7 @@ public class TriggeredInstantiations implements TermGenerator {
             ImmutableSet<Term> axioms = DefaultImmutableSet.nil();
 
 
+            mState.markGoalDependent();
             final Sequent seq = goal.sequent();
             if (seq != last) {
                 terms = new HashSet<>();
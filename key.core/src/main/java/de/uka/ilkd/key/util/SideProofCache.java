@@ -0,0 +1,193 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.uka.ilkd.key.java.ServiceCaches;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.init.ProofInputException;
+import de.uka.ilkd.key.prover.impl.ApplyStrategyInfo;
+import de.uka.ilkd.key.strategy.StrategyProperties;
+
+import org.key_project.util.ConcurrentLRUCache;
+
+import static de.uka.ilkd.key.logic.equality.RenamingTermProperty.RENAMING_TERM_PROPERTY;
+
+/**
+ * Caches the results of provability checks in side proofs of a proof (see
+ * {@link ServiceCaches#getSideProofCache()} and {@link SideProofUtil#isProvable}).
+ * <p>
+ * A check is identified by its sequent modulo renaming of bound variables, the strategy
+ * properties and the timeout of the side proof. Identical checks requested concurrently are
+ * performed only once. Proven results are always
+ * cached, unproven ones only if the side proof neither timed out nor was interrupted, since
+ * another attempt might succeed.
+ * </p>
+ */
+public final class SideProofCache {
+    /** the maximal number of cached results */
+    public static final int MAX_ENTRIES = 1000;
+
+    /**
+     * Performs a side proof.
+     */
+    @FunctionalInterface
+    public interface SideProof {
+        /**
+         * @return the result of the side proof
+         * @throws ProofInputException if the side proof can not be created
+         */
+        ApplyStrategyInfo start() throws ProofInputException;
+    }
+
+    private final ConcurrentLRUCache<Query, Boolean> results =
+        new ConcurrentLRUCache<>(MAX_ENTRIES);
+
+    /** the checks currently performed by some thread */
+    private final ConcurrentHashMap<Query, CompletableFuture<Boolean>> running =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Returns whether the given sequent is provable, performing the given side proof only if the
+     * result is neither cached nor computed by another thread.
+     *
+     * @param toProve the sequent to prove
+     * @param properties the strategy properties of the side proof
+     * @param timeout the timeout of the side proof in ms, -1 for no timeout
+     * @param sideProof performs the side proof
+     * @return true iff the side proof could be closed
+     * @throws ProofInputException if the side proof can not be created
+     */
+    public boolean isProvable(Sequent toProve, StrategyProperties properties, int timeout,
+            SideProof sideProof) throws ProofInputException {
+        final Query query = new Query(toProve, properties, timeout);
+        final Boolean cached = results.get(query);
+        if (cached != null) {
+            return cached;
+        }
+        final CompletableFuture<Boolean> own = new CompletableFuture<>();
+        final CompletableFuture<Boolean> other = running.putIfAbsent(query, own);
+        if (other != null) {
+            return await(other);
+        }
+        try {
+            Boolean result = results.get(query);
+            if (result == null) {
+                final ApplyStrategyInfo info = sideProof.start();
+                result = info.getProof().closed();
+                if (result || isComplete(info, timeout)) {
+                    results.put(query, result);
+                }
+                info.getProof().dispose();
+            }
+            own.complete(result);
+            return result;
+        } catch (ProofInputException | RuntimeException e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            running.remove(query, own);
+        }
+    }
+
+    private static boolean await(CompletableFuture<Boolean> future) throws ProofInputException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ProofInputException pie) {
+                throw pie;
+            }
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return true iff the side proof stopped on its own, i.e., its result does not depend on
+     *         timing
+     */
+    private static boolean isComplete(ApplyStrategyInfo info, int timeout) {
+        return !info.isError() && (timeout < 0 || info.getTime() < timeout)
+                && !"Interrupted.".equals(info.reason());
+    }
+
+    /**
+     * @return the number of cached results
+     */
+    public int size() {
+        return results.size();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of the cached results
+     */
+    public ConcurrentLRUCache.Statistics getStatistics() {
+        return results.getStatistics();
+    }
+
+    /**
+     * A provability check, compared modulo renaming of bound variables.
+     */
+    private static final class Query {
+        private final SequentFormula[] antecedent;
+        private final SequentFormula[] succedent;
+        private final StrategyProperties properties;
+        private final int timeout;
+        private final int hashCode;
+
+        Query(Sequent sequent, StrategyProperties properties, int timeout) {
+            this.antecedent = sequent.antecedent().asList().toArray(SequentFormula.class);
+            this.succedent = sequent.succedent().asList().toArray(SequentFormula.class);
+            this.properties = properties;
+            this.timeout = timeout;
+            this.hashCode = Objects.hash(hash(antecedent), hash(succedent), properties, timeout);
+        }
+
+        private static int hash(SequentFormula[] formulas) {
+            int result = 1;
+            for (SequentFormula sf : formulas) {
+                result = 31 * result + RENAMING_TERM_PROPERTY.hashCodeModThisProperty(sf.formula());
+            }
+            return result;
+        }
+
+        private static boolean equals(SequentFormula[] formulas1, SequentFormula[] formulas2) {
+            if (formulas1.length != formulas2.length) {
+                return false;
+            }
+            for (int i = 0; i < formulas1.length; i++) {
+                if (!formulas1[i].formula().equalsModProperty(formulas2[i].formula(),
+                    RENAMING_TERM_PROPERTY)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Query other)) {
+                return false;
+            }
+            return hashCode == other.hashCode && timeout == other.timeout
+                    && Objects.equals(properties, other.properties)
+                    && equals(antecedent, other.antecedent) && equals(succedent, other.succedent);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -20,6 +20,7 @@ import de.uka.ilkd.key.rule.OneStepSimplifier;
 import de.uka.ilkd.key.rule.Taclet;
 import de.uka.ilkd.key.rule.tacletbuilder.TacletBuilder;
 import de.uka.ilkd.key.settings.ProofSettings;
+import de.uka.ilkd.key.strategy.StrategyProperties;
 
 import org.key_project.util.collection.ImmutableSet;
 
@@ -130,4 +131,34 @@ public final class SideProofUtil {
         starter.init(sequentToProve, sideProofEnvironment, proofName);
         return starter;
     }
+
+    /**
+     * Tries to prove the given sequent in a side proof of the given {@link Proof} and returns
+     * whether the side proof could be closed. Results are cached per proof (see
+     * {@link SideProofCache}), so repeated checks of the same sequent are answered without a new
+     * side proof.
+     *
+     * @param parentProof The {@link Proof} for which the side proof is performed.
+     * @param sequentToProve The {@link Sequent} to prove.
+     * @param properties The {@link StrategyProperties} of the side proof.
+     * @param timeout Time in milliseconds after which the side proof is aborted, -1 for no
+     *        timeout.
+     * @param proofName The name of the side proof.
+     * @return True iff the side proof could be closed.
+     * @throws ProofInputException Occurred Exception.
+     */
+    public static boolean isProvable(Proof parentProof, Sequent sequentToProve,
+            StrategyProperties properties, int timeout, String proofName)
+            throws ProofInputException {
+        return parentProof.getServices().getCaches().getSideProofCache().isProvable(
+            sequentToProve, properties, timeout, () -> {
+                final ProofEnvironment sideProofEnv =
+                    cloneProofEnvironmentWithOwnOneStepSimplifier(parentProof);
+                final ProofStarter starter =
+                    createSideProof(sideProofEnv, sequentToProve, proofName);
+                starter.setTimeout(timeout);
+                starter.setStrategyProperties(properties);
+                return starter.start();
+            });
+    }
 }
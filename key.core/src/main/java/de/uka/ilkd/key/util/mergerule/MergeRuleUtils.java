@@ -1538,15 +1538,18 @@ public class MergeRuleUtils {
      */
     private static boolean isProvable(Term toProve, Services services, boolean doSplit,
             int timeout) {
-        try {
-            final ApplyStrategyInfo proofResult =
-                tryToProve(toProve, services, doSplit, "Provability check", timeout);
-            return proofResult.getProof().closed();
-        } catch (ProofInputException pie) {
-            // internal error
-            LOGGER.warn("Internal error", pie);
-        }
-        return false;
+        return isProvable(toSequent(toProve), services, doSplit, timeout);
+    }
+
+    /**
+     * Creates the sequent proving the given formula.
+     *
+     * @param toProve Formula to prove.
+     * @return The sequent with the formula as only succedent formula.
+     */
+    private static Sequent toSequent(Term toProve) {
+        return Sequent.createSequent(Semisequent.EMPTY_SEMISEQUENT,
+            new Semisequent(new SequentFormula(toProve)));
     }
 
     /**
@@ -1561,9 +1564,8 @@ public class MergeRuleUtils {
     private static boolean isProvable(Sequent toProve, Services services, boolean doSplit,
             int timeout) {
         try {
-            final ApplyStrategyInfo proofResult =
-                tryToProve(toProve, services, doSplit, "Provability check", timeout);
-            return proofResult.getProof().closed();
+            return SideProofUtil.isProvable(services.getProof(), toProve, setupStrategy(),
+                timeout, "Provability check");
         } catch (ProofInputException pie) {
             // internal error
             LOGGER.warn("Internal error", pie);
@@ -0,0 +1,85 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.java;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import de.uka.ilkd.key.java.recoderext.ProofJavaProgramFactory;
+
+import org.junit.jupiter.api.Test;
+import recoder.ProgramFactory;
+import recoder.java.Comment;
+import recoder.java.CompilationUnit;
+import recoder.java.ProgramElement;
+import recoder.java.declaration.TypeDeclaration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link CompilationUnitCache}.
+ */
+public class TestCompilationUnitCache {
+    private static final String SOURCE = """
+            public class A {
+                //@ public invariant x >= 0;
+                int x;
+
+                /*@ normal_behavior
+                  @ ensures \\result == x;
+                  @*/
+                int get() { return x; }
+            }
+            """;
+
+    private static CompilationUnit parse(CompilationUnitCache cache, String source)
+            throws Exception {
+        final ProgramFactory factory = ProofJavaProgramFactory.getInstance();
+        return cache.parse(factory,
+            new ByteArrayInputStream(source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<String> comments(ProgramElement element) {
+        return element.getComments() == null ? List.of()
+                : element.getComments().stream().map(Comment::getText).toList();
+    }
+
+    @Test
+    public void testUnitsAreParsedOnce() throws Exception {
+        CompilationUnitCache cache = new CompilationUnitCache(10);
+        CompilationUnit first = parse(cache, SOURCE);
+        CompilationUnit second = parse(cache, SOURCE);
+
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getStatistics().hits());
+        assertNotSame(first, second);
+        TypeDeclaration expected = first.getTypeDeclarationAt(0);
+        TypeDeclaration type = second.getTypeDeclarationAt(0);
+        assertEquals(expected.getName(), type.getName());
+        assertEquals(expected.getMembers().size(), type.getMembers().size());
+        // comments carry the specifications and positions are used to report errors in them
+        for (int i = 0; i < expected.getMembers().size(); i++) {
+            assertEquals(comments(expected.getMembers().get(i)),
+                comments(type.getMembers().get(i)));
+            assertEquals(expected.getMembers().get(i).getStartPosition(),
+                type.getMembers().get(i).getStartPosition());
+        }
+        assertEquals(expected.getIdentifier().getStartPosition(),
+            type.getIdentifier().getStartPosition());
+
+        parse(cache, SOURCE.replace("x >= 0", "x > 0"));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testChangesDoNotAffectCachedUnits() throws Exception {
+        CompilationUnitCache cache = new CompilationUnitCache(10);
+        CompilationUnit first = parse(cache, SOURCE);
+        first.getTypeDeclarationAt(0).getMembers().remove(0);
+
+        CompilationUnit second = parse(cache, SOURCE);
+        assertEquals(2, second.getTypeDeclarationAt(0).getMembers().size());
+    }
+}
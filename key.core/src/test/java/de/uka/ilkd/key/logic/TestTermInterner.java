@@ -0,0 +1,118 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.logic;
+
+import java.util.HashMap;
+import java.util.List;
+
+import de.uka.ilkd.key.java.StatementBlock;
+import de.uka.ilkd.key.java.declaration.LocalVariableDeclaration;
+import de.uka.ilkd.key.ldt.JavaDLTheory;
+import de.uka.ilkd.key.logic.op.JFunction;
+import de.uka.ilkd.key.logic.op.Junctor;
+import de.uka.ilkd.key.logic.op.Modality;
+import de.uka.ilkd.key.logic.sort.SortImpl;
+
+import org.key_project.logic.Name;
+import org.key_project.logic.sort.Sort;
+import org.key_project.util.collection.ImmutableArray;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link TermInterner}.
+ */
+public class TestTermInterner {
+    private final Sort sort = new SortImpl(new Name("S"));
+    private final JFunction c = new JFunction(new Name("c"), sort);
+    private final JFunction p = new JFunction(new Name("p"), JavaDLTheory.FORMULA, sort);
+
+    private TermFactory tf;
+
+    @BeforeEach
+    public void setUp() {
+        TermInterner.setEnabled(true);
+        tf = new TermFactory(new HashMap<>());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        TermInterner.setEnabled(false);
+    }
+
+    @Test
+    public void testStructurallyEqualTermsAreIdentical() {
+        final Term first = tf.createTerm(Junctor.NOT, tf.createTerm(p, tf.createTerm(c)));
+        final Term second = tf.createTerm(Junctor.NOT, tf.createTerm(p, tf.createTerm(c)));
+        assertSame(first, second);
+        // a factory created independently shares the same representatives
+        assertSame(first, new TermFactory(new HashMap<>()).createTerm(Junctor.NOT, first.sub(0)));
+    }
+
+    @Test
+    public void testInternedTermsAreEqualIffIdentical() {
+        final Term interned = tf.createTerm(p, tf.createTerm(c));
+        final Term other = tf.createTerm(Junctor.NOT, interned);
+        assertNotEquals(interned, other);
+        // a term which is not interned is still compared structurally
+        final Term copy = new TermImpl(p, new ImmutableArray<>(tf.createTerm(c)), null, "");
+        assertEquals(copy, interned);
+        assertEquals(interned, copy);
+    }
+
+    @Test
+    public void testTermsWithJavaBlocksAreInterned() {
+        final Modality mod = Modality.getModality(Modality.JavaModalityKind.DIA,
+            JavaBlock.createJavaBlock(new StatementBlock(new LocalVariableDeclaration())));
+        final Term first = tf.createTerm(mod, new ImmutableArray<>(tf.createTerm(Junctor.TRUE)),
+            null);
+        final Term second = tf.createTerm(mod, new ImmutableArray<>(tf.createTerm(Junctor.TRUE)),
+            null);
+        assertSame(first, second);
+        assertSame(mod.program(), second.javaBlock());
+    }
+
+    @Test
+    public void testDisabled() {
+        TermInterner.setEnabled(false);
+        final TermFactory factory = new TermFactory();
+        assertNotSame(factory.createTerm(c), factory.createTerm(c));
+    }
+
+    @Test
+    public void testStatistics() {
+        final TermInterner interner = TermInterner.getInstance();
+        interner.resetStatistics();
+        final Term first = tf.createTerm(p, tf.createTerm(c));
+        tf.createTerm(p, tf.createTerm(c));
+        final TermInterner.Statistics statistics = interner.getStatistics();
+        assertEquals(4, statistics.requests());
+        assertEquals(2, statistics.hits());
+        assertTrue(statistics.liveTerms() >= 2);
+        assertTrue(statistics.savedBytes() > 0);
+        assertEquals(0.5, statistics.sharingRatio(), 1e-9);
+        assertNotNull(first);
+    }
+
+    @Test
+    public void testMeasure() {
+        final TermFactory unshared = new TermFactory();
+        final Term shared = tf.createTerm(p, tf.createTerm(c));
+        final Term copy = unshared.createTerm(p, unshared.createTerm(c));
+        final TermInterner.SharingReport report = TermInterner.measure(
+            List.of(tf.createTerm(Junctor.AND, shared, shared), copy));
+        // and refers twice to the shared p(c), which refers to c; the copy p(c) refers to c
+        assertEquals(6, report.occurrences());
+        // and, p(c), c and the unshared copy p(c), c
+        assertEquals(5, report.objects());
+        assertEquals(3, report.distinctTerms());
+        assertTrue(report.duplicateBytes() > 0);
+        assertTrue(report.duplicateBytes() < report.retainedBytes());
+        assertEquals(1 - 5.0 / 6, report.sharingRatio(), 1e-9);
+    }
+}
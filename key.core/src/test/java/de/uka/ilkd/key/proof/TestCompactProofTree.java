@@ -0,0 +1,99 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that compact proof trees (see {@link GeneralSettings#compactProofTree}) restore the same
+ * sequents as ordinary proof trees.
+ */
+public class TestCompactProofTree {
+    @TempDir
+    Path tempDir;
+
+    private Path problem;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\programVariables { int x; boolean b, c; }\n"
+            + "\\problem { \\<{ if (b) { x = 1; } else { x = 2; } if (c) { x++; } }\\> x > 1 }\n");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GeneralSettings.compactProofTree = false;
+    }
+
+    private List<String> proveAndCollectSequents() throws ProblemLoaderException {
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertFalse(proof.openGoals().isEmpty());
+            // environments do not share symbols, hence sequents are compared by their text
+            List<String> sequents = new ArrayList<>();
+            proof.root().subtreeIterator()
+                    .forEachRemaining(n -> sequents.add(n.sequent().toString()));
+            return sequents;
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    void compactTreeRestoresSequents() throws ProblemLoaderException {
+        List<String> expected = proveAndCollectSequents();
+        GeneralSettings.compactProofTree = true;
+        List<String> actual = proveAndCollectSequents();
+        assertTrue(expected.size() > 10);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void prunedCompactTreeContinues() throws ProblemLoaderException {
+        GeneralSettings.compactProofTree = true;
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            Node goalNode = proof.openGoals().head().node();
+            Node cut = goalNode;
+            for (int i = 0; i < 5; i++) {
+                cut = cut.parent();
+            }
+            Sequent cutSequent = cut.sequent();
+            proof.pruneProof(cut);
+
+            Goal goal = proof.getOpenGoal(cut);
+            assertNotNull(goal);
+            assertEquals(cutSequent, goal.sequent());
+            assertSame(goal.sequent(), cut.sequent());
+
+            int open = proof.openGoals().size();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertEquals(open, proof.openGoals().size());
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -4,15 +4,21 @@
 package de.uka.ilkd.key.proof;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
 import de.uka.ilkd.key.control.KeYEnvironment;
 import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.util.MiscTools;
 
+import org.key_project.util.ConcurrentLRUCache;
 import org.key_project.util.helper.FindResources;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class TestOneStepSimplifier {
     public static final File testCaseDirectory = FindResources.getTestCasesDirectory();
@@ -29,4 +35,43 @@ public class TestOneStepSimplifier {
         Assertions.assertTrue(env.getLoadedProof().closed());
         env.dispose();
     }
+
+    @Test
+    void simplificationIsIndependentOfPreviousProofs(@TempDir Path tempDir)
+            throws ProblemLoaderException, IOException {
+        // the caches of the simplifier are kept for further proofs capturing the same taclets,
+        // this must not change the proofs
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\programVariables { int x; int y; }\n"
+            + "\\problem { \\<{ x = 1; y = x + 1; if (y > x) { x = y; } }\\> x = 2 }\n");
+        int nodes = -1;
+        ConcurrentLRUCache.Statistics previous = null;
+        for (int i = 0; i < 3; i++) {
+            KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+            try {
+                Proof proof = env.getLoadedProof();
+                env.getProofControl().startAndWaitForAutoMode(proof);
+                Assertions.assertTrue(proof.closed());
+                ConcurrentLRUCache.Statistics stats =
+                    MiscTools.findOneStepSimplifier(proof).getCacheStatistics();
+                Assertions.assertNotNull(stats);
+                if (nodes >= 0) {
+                    Assertions.assertEquals(nodes, proof.countNodes());
+                    // the statistics of the same caches are continued: fresh caches would count
+                    // at most the lookups of this proof, which are no more than those of the
+                    // previous one
+                    Assertions.assertTrue(stats.hits() + stats.misses() > previous.hits()
+                            + previous.misses(), stats + " after " + previous);
+                    // the simplification results computed for the literals of the previous
+                    // proof are found again
+                    Assertions.assertTrue(stats.hits() > previous.hits());
+                    Assertions.assertTrue(stats.misses() - previous.misses() <= previous.misses());
+                }
+                nodes = proof.countNodes();
+                previous = stats;
+            } finally {
+                env.dispose();
+            }
+        }
+    }
 }
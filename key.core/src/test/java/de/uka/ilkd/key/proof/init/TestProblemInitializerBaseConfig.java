@@ -0,0 +1,83 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.init;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.proof.io.KeYFile;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.util.ProgressMonitor;
+
+import org.key_project.logic.Name;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the cache of base configurations (taclet base and LDTs) in {@link ProblemInitializer}.
+ */
+public class TestProblemInitializerBaseConfig {
+    @TempDir
+    Path tempDir;
+
+    private File problem;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        problem = tempDir.resolve("problem.key").toFile();
+        Files.writeString(problem.toPath(), "\\predicates { p; }\n\\problem { p -> p }\n");
+    }
+
+    private InitConfig prepare(Profile profile) throws ProofInputException {
+        ProblemInitializer pi = new ProblemInitializer(ProgressMonitor.Empty.getInstance(),
+            new Services(profile), null);
+        return pi.prepare(new KeYFile("problem", problem, null, profile));
+    }
+
+    /**
+     * @return the parsed taclet andLeft (not its activated version, which is specific to the
+     *         configuration)
+     */
+    private static Taclet andLeft(InitConfig initConfig) {
+        for (Taclet taclet : initConfig.getTaclets()) {
+            if (taclet.name().equals(new Name("andLeft"))) {
+                return taclet;
+            }
+        }
+        return fail("andLeft not found");
+    }
+
+    @Test
+    void tacletBaseIsSharedBetweenProfileInstances() throws Exception {
+        Profile first = new JavaProfile();
+        Profile second = new JavaProfile();
+        InitConfig firstConfig = prepare(first);
+        InitConfig secondConfig = prepare(second);
+
+        assertSame(first, firstConfig.getProfile());
+        assertSame(second, secondConfig.getProfile());
+        // the taclet base has not been parsed again
+        assertSame(andLeft(firstConfig), andLeft(secondConfig));
+        // but the namespaces are not shared
+        assertNotSame(firstConfig.namespaces().functions(),
+            secondConfig.namespaces().functions());
+        assertNotNull(secondConfig.namespaces().functions().lookup(new Name("p")));
+    }
+
+    @Test
+    void clearingTheCacheRereadsTacletBase() throws Exception {
+        Profile profile = new JavaProfile();
+        InitConfig before = prepare(profile);
+        ProblemInitializer.clearBaseConfigCache();
+        InitConfig after = prepare(profile);
+        assertNotSame(andLeft(before), andLeft(after));
+        assertEquals(andLeft(before).name(), andLeft(after).name());
+    }
+}
@@ -0,0 +1,151 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the binary proof format written by {@link BinaryProofSaver}.
+ */
+public class BinaryProofSaverTest {
+    @TempDir
+    Path tempDir;
+
+    /**
+     * records the events signaled to a proof file parser
+     */
+    private static class RecordingParser implements IProofFileParser {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void beginExpr(ProofElementID eid, String str) {
+            events.add("begin " + eid + " " + str);
+        }
+
+        @Override
+        public void endExpr(ProofElementID eid, int lineNr) {
+            events.add("end " + eid);
+        }
+
+        @Override
+        public String getStatus() {
+            return "";
+        }
+
+        @Override
+        public List<Throwable> getErrors() {
+            return List.of();
+        }
+    }
+
+    @Test
+    void writerAndReaderPreserveElements() throws IOException {
+        String proof = "(keyLog \"0\" (keyUser \"a \\\"b\\\"\" ) (keyVersion \"1.0\"))\n"
+            + "(autoModeTime \"12\")\n"
+            + "(branch \"dummy ID\"\n"
+            + "(rule \"andRight\" (formula \"1\") (term \"0,1,00\") (newnames \"x\")"
+            + " (inst \"t=f(x)\") (inst \"t=f(x)\"))\n"
+            + "(opengoal \" ==> x\")\n)\n";
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (Writer writer = new BinaryProofWriter(out, "header")) {
+            writer.write(proof);
+        }
+        ByteArrayInputStream in = new ByteArrayInputStream(out.toByteArray());
+        assertEquals("header", BinaryProofFormat.readHeader(in));
+        RecordingParser parser = new RecordingParser();
+        BinaryProofReader.read(in, parser);
+        assertEquals(-1, in.read());
+
+        assertEquals(List.of("begin KeY_LOG 0", "begin KeY_USER a \"b\"", "end KeY_USER",
+            "begin KeY_VERSION 1.0", "end KeY_VERSION", "end KeY_LOG",
+            "begin AUTOMODE_TIME 12", "end AUTOMODE_TIME", "begin BRANCH dummy ID",
+            "begin RULE andRight", "begin FORMULA 1", "end FORMULA", "begin TERM 0,1,00",
+            "end TERM", "begin NEW_NAMES x", "end NEW_NAMES", "begin INSTANTIATION t=f(x)",
+            "end INSTANTIATION", "begin INSTANTIATION t=f(x)", "end INSTANTIATION", "end RULE",
+            "begin OPEN_GOAL  ==> x", "end OPEN_GOAL", "end BRANCH"), parser.events);
+    }
+
+    @Test
+    void unbalancedProofIsRejected() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IOException.class, () -> {
+            try (Writer writer = new BinaryProofWriter(out, "")) {
+                writer.write("(branch \"x\" (rule \"r\")");
+            }
+        });
+    }
+
+    @Test
+    void elementCodesAreStable() throws IOException {
+        for (IProofFileParser.ProofElementID id : IProofFileParser.ProofElementID.values()) {
+            assertSame(id, BinaryProofFormat.elementByCode(BinaryProofFormat.elementCode(id)));
+        }
+        // the codes are part of the format, written files must stay readable
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0 << 2 | BinaryProofFormat.ARG_NONE);
+        out.write(30 << 2 | BinaryProofFormat.ARG_NONE);
+        out.write(BinaryProofFormat.END);
+        out.write(BinaryProofFormat.END);
+        out.write(BinaryProofFormat.END_OF_PROOF);
+        RecordingParser parser = new RecordingParser();
+        BinaryProofReader.read(new ByteArrayInputStream(out.toByteArray()), parser);
+        assertEquals(List.of("begin BRANCH null", "begin MODALITY null", "end MODALITY",
+            "end BRANCH"), parser.events);
+
+        ByteArrayInputStream unknown = new ByteArrayInputStream(new byte[] { (byte) (62 << 2) });
+        assertThrows(IOException.class, () -> BinaryProofReader.read(unknown, parser));
+    }
+
+    @Test
+    void saveAndLoad() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\programVariables { int x; boolean b, c; }\n"
+            + "\\problem { \\<{ if (b) { x = 1; } else { x = 2; } if (c) { x++; } }\\> x > 0 }\n");
+        File textFile = tempDir.resolve("problem.proof").toFile();
+        File binaryFile = tempDir.resolve("problem" + BinaryProofSaver.EXTENSION).toFile();
+        int nodes;
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+            nodes = proof.countNodes();
+            assertNull(new ProofSaver(proof, textFile).save());
+            assertNull(new BinaryProofSaver(proof, binaryFile).save());
+        } finally {
+            env.dispose();
+        }
+
+        assertTrue(BinaryProofFormat.isBinaryProofFile(binaryFile));
+        assertFalse(BinaryProofFormat.isBinaryProofFile(textFile));
+        assertTrue(binaryFile.length() < textFile.length());
+
+        env = KeYEnvironment.load(binaryFile);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.io;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.macros.TryCloseMacro;
+import de.uka.ilkd.key.proof.Proof;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the lazy replay of {@link IntermediateProofReplayer}.
+ */
+public class LazyProofReplayTest {
+    @TempDir
+    Path tempDir;
+
+    private File proofFile;
+    private int nodes;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\programVariables { int x; boolean b, c; }\n"
+            + "\\problem { \\<{ if (b) { x = 1; } else { x = 2; } if (c) { x++; } }\\> x > 0 }\n");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        try {
+            Proof proof = env.getLoadedProof();
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+            nodes = proof.countNodes();
+            proofFile = tempDir.resolve("problem.proof").toFile();
+            assertNull(new ProofSaver(proof, proofFile).save());
+        } finally {
+            env.dispose();
+        }
+    }
+
+    private KeYEnvironment<DefaultUserInterfaceControl> load(boolean lazy) throws Exception {
+        System.setProperty(IntermediateProofReplayer.LAZY_REPLAY_PROPERTY, String.valueOf(lazy));
+        try {
+            return KeYEnvironment.load(proofFile);
+        } finally {
+            System.clearProperty(IntermediateProofReplayer.LAZY_REPLAY_PROPERTY);
+        }
+    }
+
+    @Test
+    void eagerReplay() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = load(false);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+            assertNull(proof.lookup(IntermediateProofReplayer.class));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    void branchesAreReplayedOnDemand() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = load(true);
+        try {
+            Proof proof = env.getLoadedProof();
+            IntermediateProofReplayer replayer = proof.lookup(IntermediateProofReplayer.class);
+            assertNotNull(replayer);
+            assertFalse(proof.closed());
+            assertTrue(proof.countNodes() < nodes);
+            assertEquals(replayer.getPendingBranchCount(), proof.openGoals().size());
+            assertTrue(replayer.isPending(proof.openGoals().head().node()));
+
+            // replaying a single branch may defer further branches
+            int pending = replayer.getPendingBranchCount();
+            IntermediateProofReplayer.Result result =
+                replayer.replayBranch(proof.openGoals().head().node());
+            assertTrue(result.getErrors().isEmpty());
+            assertTrue(proof.countNodes() < nodes || pending == 1);
+
+            replayer.replayAllBranches();
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+            assertNull(proof.lookup(IntermediateProofReplayer.class));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    void autoModeReplaysPendingBranches() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = load(true);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertFalse(proof.closed());
+            env.getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+            // the branches have been replayed instead of being proven again
+            assertEquals(nodes, proof.countNodes());
+            assertNull(proof.lookup(IntermediateProofReplayer.class));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    void macroReplaysPendingBranches() throws Exception {
+        KeYEnvironment<DefaultUserInterfaceControl> env = load(true);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertFalse(proof.closed());
+            new TryCloseMacro().applyTo(env.getUi(), proof, proof.openGoals(), null, null);
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+            assertNull(proof.lookup(IntermediateProofReplayer.class));
+        } finally {
+            env.dispose();
+        }
+    }
+
+    @Test
+    void savingReplaysPendingBranches() throws Exception {
+        File savedFile = tempDir.resolve("saved.proof").toFile();
+        KeYEnvironment<DefaultUserInterfaceControl> env = load(true);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertFalse(proof.closed());
+            assertNull(new ProofSaver(proof, savedFile).save());
+            assertTrue(proof.closed());
+            assertNull(proof.lookup(IntermediateProofReplayer.class));
+        } finally {
+            env.dispose();
+        }
+
+        // the saved proof contains the deferred branches as well
+        env = KeYEnvironment.load(savedFile);
+        try {
+            Proof proof = env.getLoadedProof();
+            assertTrue(proof.closed());
+            assertEquals(nodes, proof.countNodes());
+        } finally {
+            env.dispose();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.Category;
+import de.uka.ilkd.key.proof.metrics.ProofMetrics.CoreTimer;
+import de.uka.ilkd.key.settings.Configuration;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestProofMetrics {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void timerStatistics() {
+        ProofMetrics metrics = new ProofMetrics("test");
+        Timer timer = metrics.timer(CoreTimer.GOAL_APPLY);
+        for (int i = 1; i <= 100; i++) {
+            timer.record(i * 10L);
+        }
+        assertEquals(100, timer.getCount());
+        assertEquals(50500, timer.getTotalNanos());
+        assertEquals(1000, timer.getMaxNanos());
+        assertEquals(505.0, timer.getMeanNanos());
+        // the median 500 is in the bucket [256, 512)
+        assertEquals(512, timer.getPercentileNanos(0.5));
+        assertEquals(1000, timer.getPercentileNanos(0.99));
+        assertEquals(0, Timer.bucket(0));
+        assertEquals(3, Timer.bucket(10));
+        assertEquals(Timer.BUCKETS - 1, Timer.bucket(Long.MAX_VALUE));
+
+        metrics.reset();
+        assertEquals(0, timer.getCount());
+        assertEquals(0, timer.getPercentileNanos(0.5));
+    }
+
+    @Test
+    void timersAndCounters() {
+        ProofMetrics metrics = new ProofMetrics("test");
+        assertThrows(IllegalArgumentException.class, () -> metrics.timer(Category.CORE, "x"));
+        assertSame(metrics.timer(Category.RULE, "andLeft"),
+            metrics.timer(Category.RULE, "andLeft"));
+        metrics.timer(Category.RULE, "andLeft").record(10);
+        metrics.timer(Category.RULE, "andRight").record(20);
+        assertEquals("andRight", metrics.getTimers(Category.RULE).get(0).getName());
+
+        metrics.counter("c").increment();
+        metrics.counter("c").add(2);
+        assertEquals(3, metrics.getCounters().get("c"));
+        assertEquals(CoreTimer.values().length, metrics.getCoreTimers().size());
+    }
+
+    @Test
+    void jsonExport() throws Exception {
+        ProofMetrics metrics = new ProofMetrics("a \"quoted\" proof");
+        metrics.record(CoreTimer.GOAL_SET_SEQUENT, 42);
+        metrics.timer(Category.RULE_SET, "simplify").record(7);
+        metrics.counter("rejected").increment();
+
+        Configuration json = Configuration.load(CharStreams.fromString(metrics.toJson()));
+        assertEquals("a \"quoted\" proof", json.getString("proof"));
+        assertEquals(42,
+            json.getSection("core").getSection("Goal setSequent").getLong("totalNanos"));
+        assertEquals(1, json.getSection("ruleSets").getSection("simplify").getLong("count"));
+        assertEquals(1, json.getSection("counters").getLong("rejected"));
+    }
+
+    @Test
+    void flightRecorderEvents() throws Exception {
+        ProofMetrics metrics = new ProofMetrics("test");
+        Path dump = tempDir.resolve("metrics.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ProofMetricEvent.NAME);
+            recording.start();
+            metrics.timer(Category.RULE, "andLeft").record(1234);
+            // rule set timers do not emit events
+            metrics.timer(Category.RULE_SET, "alpha").record(1234);
+            recording.stop();
+            recording.dump(dump);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("test", event.getString("proof"));
+        assertEquals("rules", event.getString("category"));
+        assertEquals("andLeft", event.getString("name"));
+        assertEquals(1234, event.getDuration("elapsed").toNanos());
+    }
+
+    @Test
+    void recordedDuringAutoMode() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\predicates { p; q; }\n\\problem { p & q -> q & p }\n");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        try {
+            env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+
+            ProofMetrics metrics = proof.getMetrics();
+            assertTrue(metrics.timer(CoreTimer.GOAL_APPLY).getCount() > 0);
+            assertTrue(metrics.timer(CoreTimer.APP_EXECUTE).getCount() > 0);
+            assertFalse(metrics.getTimers(Category.RULE).isEmpty());
+            assertFalse(metrics.getTimers(Category.RULE_SET).isEmpty());
+            // feature profiling is disabled by default
+            assertTrue(metrics.getTimers(Category.FEATURE).isEmpty());
+
+            String json = proof.getStatistics().toJson();
+            assertTrue(json.contains("\"metrics\""), json);
+        } finally {
+            env.dispose();
+        }
+    }
+}
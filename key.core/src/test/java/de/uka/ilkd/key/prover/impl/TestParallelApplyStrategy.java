@@ -0,0 +1,91 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.prover.impl;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.prover.ProverCore;
+import de.uka.ilkd.key.rule.RuleApp;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.util.HelperClassForTests;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link ParallelApplyStrategy}.
+ */
+public class TestParallelApplyStrategy {
+    private static final File PROBLEM =
+        new File(HelperClassForTests.TESTCASE_DIRECTORY, "proofStarter/CC/project.key");
+
+    /**
+     * Closes the same problem with {@link ApplyStrategy} and {@link ParallelApplyStrategy} and
+     * checks that both provers apply the same rules at the same positions with the same
+     * instantiations, including the names of new symbols.
+     */
+    @Test
+    @Timeout(240)
+    public void testSameProofAsSequential() throws ProblemLoaderException {
+        final List<String> sequential = runProver(false);
+        final List<String> parallel = runProver(true);
+        assertEquals(sequential.size(), parallel.size());
+        for (int i = 0; i < sequential.size(); i++) {
+            assertEquals(sequential.get(i), parallel.get(i), "rule application " + i);
+        }
+    }
+
+    @Test
+    public void testInvalidParallelism() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new ParallelApplyStrategy(new DefaultGoalChooser(), 0));
+    }
+
+    /**
+     * @return the rule applications of the closed proof in depth-first order
+     */
+    private static List<String> runProver(boolean parallel) throws ProblemLoaderException {
+        KeYEnvironment<DefaultUserInterfaceControl> env = null;
+        try {
+            env = KeYEnvironment.load(PROBLEM, null, null, null);
+            final Proof proof = env.getLoadedProof();
+            assertNotNull(proof);
+            final var goalChooser =
+                proof.getInitConfig().getProfile().getSelectedGoalChooserBuilder().create();
+            final ProverCore prover = parallel ? new ParallelApplyStrategy(goalChooser, 4)
+                    : new ApplyStrategy(goalChooser);
+            final ApplyStrategyInfo info = prover.start(proof, proof.openGoals());
+            assertFalse(info.isError(), () -> String.valueOf(info.getException()));
+            assertTrue(proof.closed());
+            final List<String> result = new ArrayList<>();
+            collectRuleApps(proof.root(), result);
+            return result;
+        } finally {
+            if (env != null) {
+                env.dispose();
+            }
+        }
+    }
+
+    private static void collectRuleApps(Node node, List<String> result) {
+        final RuleApp app = node.getAppliedRuleApp();
+        if (app != null) {
+            result.add(node.serialNr() + ": " + app.rule().name() + " at " + app.posInOccurrence()
+                + (app instanceof TacletApp tacletApp ? " with " + tacletApp.instantiations()
+                        : ""));
+        }
+        for (Node child : node.children()) {
+            collectRuleApps(child, result);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.rule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.Term;
+import de.uka.ilkd.key.proof.Proof;
+
+import org.key_project.logic.Name;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FindSkeleton}.
+ */
+public class TestFindSkeleton {
+    private static final String CREATED = "java.lang.Object::<created>";
+
+    @TempDir
+    Path tempDir;
+
+    private KeYEnvironment<DefaultUserInterfaceControl> env;
+    private Proof proof;
+    private Services services;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\predicates { p; q; }\n\\functions { java.lang.Object o; }\n"
+            + "\\programVariables { int x; }\n\\problem { p & q -> q & p }\n");
+        env = KeYEnvironment.load(problem.toFile());
+        proof = env.getLoadedProof();
+        services = proof.getServices();
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    private FindSkeleton skeleton(String taclet) {
+        return ((FindTaclet) proof.getInitConfig().lookupActiveTaclet(new Name(taclet)))
+                .getFindSkeleton();
+    }
+
+    private Term parse(String term) throws Exception {
+        return services.getTermBuilder().parseTerm(term);
+    }
+
+    @Test
+    void operatorsAndWildcards() throws Exception {
+        assertEquals(3, skeleton("andLeft").size());
+        assertTrue(skeleton("andLeft").mayMatch(parse("p & q")));
+        assertTrue(skeleton("andLeft").mayMatch(parse("(p | q) & q")));
+        assertFalse(skeleton("andLeft").mayMatch(parse("p | q")));
+
+        assertTrue(skeleton("concrete_and_1").mayMatch(parse("true & (p | q)")));
+        assertFalse(skeleton("concrete_and_1").mayMatch(parse("p & q")));
+    }
+
+    @Test
+    void topLevelUpdates() throws Exception {
+        assertTrue(skeleton("andLeft").mayMatch(parse("{x:=1}{x:=2}(p & q)")));
+        // rewrite taclets do not ignore updates
+        assertFalse(skeleton("concrete_and_1").mayMatch(parse("{x:=1}(true & p)")));
+    }
+
+    @Test
+    void sortDependingFunctions() throws Exception {
+        FindSkeleton selectOfStore = skeleton("selectOfStore");
+        assertTrue(selectOfStore.mayMatch(parse(
+            "boolean::select(store(heap, o, " + CREATED + ", TRUE), o, " + CREATED + ")")));
+        assertTrue(selectOfStore.mayMatch(parse(
+            "int::select(store(heap, o, " + CREATED + ", TRUE), o, " + CREATED + ")")));
+        assertFalse(selectOfStore.mayMatch(parse("boolean::select(heap, o, " + CREATED + ")")));
+    }
+
+    /**
+     * The skeleton must never discard a term the matcher accepts.
+     */
+    @Test
+    void consistentWithMatcher() throws Exception {
+        List<Term> terms = List.of(parse("p & q"), parse("true & p"), parse("{x:=1}(p -> q)"),
+            parse("!(p | q)"), parse("x + 0"), parse("x = x"), parse("\\forall int y; y >= x"),
+            parse("boolean::select(store(heap, o, " + CREATED + ", TRUE), o, " + CREATED + ")"),
+            parse("\\<{ x = x + 1; }\\>(x > 0)"), parse("\\if (p) \\then (x) \\else (0)"));
+        int discarded = 0;
+        for (Taclet taclet : proof.getInitConfig().activatedTaclets()) {
+            if (!(taclet instanceof FindTaclet findTaclet)) {
+                continue;
+            }
+            for (Term term : terms) {
+                if (!findTaclet.getFindSkeleton().mayMatch(term)) {
+                    discarded++;
+                    assertNull(taclet.getMatcher().matchFind(term,
+                        MatchConditions.EMPTY_MATCHCONDITIONS, services),
+                        taclet.name() + " matches " + term);
+                }
+            }
+        }
+        assertTrue(discarded > 0);
+    }
+}
@@ -0,0 +1,115 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+import de.uka.ilkd.key.smt.newsmt2.ModularSMTLib2Translator;
+import de.uka.ilkd.key.smt.solvertypes.SolverType;
+import de.uka.ilkd.key.smt.solvertypes.SolverTypeImplementation;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link IncrementalSolverSession} using a fake solver script which answers "sat" until
+ * two models have been excluded and counts how often it has been started.
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class IncrementalSolverSessionTest {
+    private static final String[] DELIMITERS = { "\n", "\r" };
+
+    private static final String FAKE_SOLVER = """
+            #!/bin/sh
+            echo started >> "$1"
+            excluded=0
+            while read -r line; do
+              case "$line" in
+                "(assert (not"*) excluded=$((excluded + 1)) ;;
+                "(check-sat)") if [ $excluded -lt 2 ]; then echo sat; else echo unsat; fi ;;
+                "(get-model)") echo "(model)" ;;
+                "(echo "*) echo "$line" | sed 's/^(echo "\\(.*\\)")$/\\1/' ;;
+                "(exit)") exit 0 ;;
+              esac
+            done
+            """;
+
+    private static final String PROBLEM = "(declare-const x Int)\n(assert (> x 0))\n(check-sat)";
+
+    @TempDir
+    Path tempDir;
+
+    private SolverType type;
+    private Path startLog;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path script = tempDir.resolve("fake-solver.sh");
+        Files.writeString(script, FAKE_SOLVER);
+        assertTrue(script.toFile().setExecutable(true));
+        startLog = tempDir.resolve("starts.log");
+        type = new SolverTypeImplementation("fake", "", startLog.toString(), script.toString(),
+            "", "", 0, DELIMITERS, ModularSMTLib2Translator.class, new String[0], new String[0],
+            Z3CESocket.class, "");
+    }
+
+    private long starts() throws IOException {
+        return Files.readAllLines(startLog).size();
+    }
+
+    @Test
+    public void testAssertionsAreSentToTheSameProcess() throws Exception {
+        try (IncrementalSolverSession session = new IncrementalSolverSession(type, null)) {
+            assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+                session.start(PROBLEM, null, 0).isValid());
+            assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+                session.checkSat("(not (= x 1))", 0).isValid());
+            assertEquals(SMTSolverResult.ThreeValuedTruth.VALID,
+                session.checkSat("(not (= x 2))", 0).isValid());
+
+            boolean sent = false;
+            for (SolverCommunication.Message m : session.getSolverCommunication()
+                    .getMessages(SolverCommunication.MessageType.INPUT)) {
+                sent |= m.content().contains("(assert (not (= x 2)))");
+            }
+            assertTrue(sent);
+        }
+        assertEquals(1, starts());
+    }
+
+    @Test
+    public void testPooledProcessIsReused() throws Exception {
+        SolverProcessPool pool = new SolverProcessPool(1);
+        try {
+            for (int i = 0; i < 2; i++) {
+                try (IncrementalSolverSession session = new IncrementalSolverSession(type, null)) {
+                    assertEquals(SMTSolverResult.ThreeValuedTruth.FALSIFIABLE,
+                        session.start(PROBLEM, pool, 0).isValid());
+                }
+            }
+            assertEquals(1, starts());
+            assertEquals(1, pool.getReusedProcesses());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws Exception {
+        try (IncrementalSolverSession session = new IncrementalSolverSession(type, null)) {
+            // the fake solver never answers a problem without "(check-sat)"
+            assertEquals(SMTSolverResult.ThreeValuedTruth.UNKNOWN,
+                session.start("(declare-const x Int)", null, 200).isValid());
+            assertThrows(IllegalStateException.class, () -> session.checkSat("true", 0));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.smt.communication;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.smt.SMTSolverResult;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SolverProcessPool} using a fake solver script which answers "unsat" to every
+ * "(check-sat)" and counts how often it has been started.
+ */
+@DisabledOnOs(OS.WINDOWS)
+public class SolverProcessPoolTest {
+    private static final String[] DELIMITERS = { "\n", "\r" };
+
+    private static final String FAKE_SOLVER = """
+            #!/bin/sh
+            echo started >> "$1"
+            while read -r line; do
+              case "$line" in
+                "(check-sat)") echo unsat ;;
+                "(get-unsat-core)") echo "()" ;;
+                "(echo "*) echo "$line" | sed 's/^(echo "\\(.*\\)")$/\\1/' ;;
+                "(exit)") exit 0 ;;
+              esac
+            done
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private String[] command;
+    private Path startLog;
+    private SolverProcessPool pool;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path script = tempDir.resolve("fake-solver.sh");
+        Files.writeString(script, FAKE_SOLVER);
+        assertTrue(script.toFile().setExecutable(true));
+        startLog = tempDir.resolve("starts.log");
+        command = new String[] { script.toString(), startLog.toString() };
+        pool = new SolverProcessPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    /**
+     * Solves a problem in the same way as {@link de.uka.ilkd.key.smt.SMTSolverImplementation}.
+     */
+    private SMTSolverResult solve(SolverProcessPool pool) throws Exception {
+        SolverCommunication session = new SolverCommunication();
+        ExternalProcessLauncher launcher = new ExternalProcessLauncher(session, DELIMITERS);
+        AbstractSolverSocket socket = new Z3Socket("fake", null);
+        try {
+            launcher.launch(command, pool);
+            launcher.getPipe().sendMessage("(declare-const p Bool)\n(assert p)\n(check-sat)");
+            String msg = launcher.getPipe().readMessage();
+            while (msg != null) {
+                socket.messageIncoming(launcher.getPipe(), msg);
+                msg = launcher.getPipe().readMessage();
+            }
+        } finally {
+            launcher.stop();
+        }
+        return session.getFinalResult();
+    }
+
+    private long starts() throws IOException {
+        return Files.readAllLines(startLog).size();
+    }
+
+    @Test
+    public void testProcessIsReused() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(SMTSolverResult.ThreeValuedTruth.VALID, solve(pool).isValid());
+        }
+        assertEquals(1, pool.getStartedProcesses());
+        assertEquals(2, pool.getReusedProcesses());
+        assertEquals(1, starts());
+        assertEquals(1, pool.getIdleCount());
+
+        pool.shutdown();
+        assertEquals(0, pool.getIdleCount());
+        solve(pool);
+        assertEquals(2, starts());
+    }
+
+    @Test
+    public void testWithoutPool() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            assertEquals(SMTSolverResult.ThreeValuedTruth.VALID, solve(null).isValid());
+        }
+        assertEquals(2, starts());
+    }
+
+    @Test
+    public void testInterruptedProcessIsNotReused() throws Exception {
+        SolverCommunication session = new SolverCommunication();
+        ExternalProcessLauncher launcher = new ExternalProcessLauncher(session, DELIMITERS);
+        launcher.launch(command, pool);
+        launcher.getPipe().sendMessage("(check-sat)");
+        // stopped before the problem has been finished, e.g., by a timeout
+        launcher.stop();
+        assertEquals(0, pool.getIdleCount());
+
+        solve(pool);
+        assertEquals(2, pool.getStartedProcesses());
+    }
+
+    @Test
+    public void testExpectedRuntime() {
+        assertEquals(0, pool.getExpectedRuntime("fake"));
+        pool.recordRuntime("fake", 100);
+        pool.recordRuntime("fake", 300);
+        assertEquals(200, pool.getExpectedRuntime("fake"));
+    }
+
+    @Test
+    public void testDelimitersArePartOfTheKey() throws Exception {
+        solve(pool);
+        SolverCommunication session = new SolverCommunication();
+        ExternalProcessLauncher launcher =
+            new ExternalProcessLauncher(session, new String[] { "\n" });
+        launcher.launch(command, pool);
+        launcher.stop();
+        assertEquals(2, pool.getStartedProcesses());
+    }
+}
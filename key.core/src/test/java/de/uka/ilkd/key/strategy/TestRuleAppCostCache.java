@@ -0,0 +1,105 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.PosInOccurrence;
+import de.uka.ilkd.key.logic.PosInTerm;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.feature.Feature;
+import de.uka.ilkd.key.strategy.feature.MutableState;
+
+import org.key_project.logic.Name;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestRuleAppCostCache {
+    @TempDir
+    Path tempDir;
+
+    private KeYEnvironment<DefaultUserInterfaceControl> env;
+    private Proof proof;
+    private Goal goal;
+    private TacletApp app;
+    private PosInOccurrence pos;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\predicates { p; q; }\n\\problem { p & q -> q & p }\n");
+        env = KeYEnvironment.load(problem.toFile());
+        proof = env.getLoadedProof();
+        goal = proof.openGoals().head();
+        app = NoPosTacletApp.createNoPosTacletApp(
+            proof.getInitConfig().lookupActiveTaclet(new Name("impRight")));
+        pos = new PosInOccurrence(goal.sequent().succedent().getFirst(), PosInTerm.getTopLevel(),
+            false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    @Test
+    void localCostIsReused() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Feature feature = (app, pos, goal, mState) -> {
+            evaluations.incrementAndGet();
+            return NumberRuleAppCost.create(7);
+        };
+        RuleAppCostCache cache = new RuleAppCostCache();
+        assertEquals(NumberRuleAppCost.create(7),
+            cache.computeCost(feature, app, pos, goal, new MutableState()));
+        assertEquals(NumberRuleAppCost.create(7),
+            cache.computeCost(feature, app, pos, goal, new MutableState()));
+        assertEquals(1, evaluations.get());
+        assertEquals(1, cache.getStatistics().hits());
+
+        // an equal position in another formula object is a different key
+        PosInOccurrence otherPos = new PosInOccurrence(
+            new SequentFormula(pos.sequentFormula().formula()), PosInTerm.getTopLevel(), false);
+        cache.computeCost(feature, app, otherPos, goal, new MutableState());
+        assertEquals(2, evaluations.get());
+
+        cache.clear();
+        cache.computeCost(feature, app, pos, goal, new MutableState());
+        assertEquals(3, evaluations.get());
+    }
+
+    @Test
+    void goalDependentCostIsNotCached() {
+        AtomicInteger evaluations = new AtomicInteger();
+        Feature feature = (app, pos, goal, mState) -> {
+            mState.markGoalDependent();
+            return NumberRuleAppCost.create(evaluations.incrementAndGet());
+        };
+        RuleAppCostCache cache = new RuleAppCostCache();
+        assertEquals(NumberRuleAppCost.create(1),
+            cache.computeCost(feature, app, pos, goal, new MutableState()));
+        assertEquals(NumberRuleAppCost.create(2),
+            cache.computeCost(feature, app, pos, goal, new MutableState()));
+        assertEquals(0, cache.getStatistics().hits());
+    }
+
+    @Test
+    void autoModeWithCache() {
+        env.getUi().getProofControl().startAndWaitForAutoMode(proof);
+        assertTrue(proof.closed());
+    }
+}
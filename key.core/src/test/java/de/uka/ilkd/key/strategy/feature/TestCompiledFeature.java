@@ -0,0 +1,133 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.strategy.feature;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.RuleSet;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.TacletApp;
+import de.uka.ilkd.key.strategy.NumberRuleAppCost;
+import de.uka.ilkd.key.strategy.RuleAppCost;
+import de.uka.ilkd.key.strategy.TopRuleAppCost;
+import de.uka.ilkd.key.strategy.feature.CompiledFeature.Mode;
+
+import org.key_project.logic.Name;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestCompiledFeature {
+    @TempDir
+    Path tempDir;
+
+    private KeYEnvironment<DefaultUserInterfaceControl> env;
+    private Goal goal;
+    private TacletApp app;
+    private RuleSet ruleSet;
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private final Feature counting = (app, pos, goal, mState) -> {
+        evaluations.incrementAndGet();
+        return NumberRuleAppCost.create(10);
+    };
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\predicates { p; q; }\n\\problem { p & q -> q & p }\n");
+        env = KeYEnvironment.load(problem.toFile());
+        Proof proof = env.getLoadedProof();
+        goal = proof.openGoals().head();
+        Taclet taclet = proof.getInitConfig().lookupActiveTaclet(new Name("andLeft"));
+        app = NoPosTacletApp.createNoPosTacletApp(taclet);
+        ruleSet = taclet.getRuleSets().head();
+    }
+
+    @AfterEach
+    void tearDown() {
+        env.dispose();
+    }
+
+    private RuleAppCost eval(Feature f) {
+        return f.computeCost(app, null, goal, new MutableState());
+    }
+
+    @Test
+    void constantsAndConditionals() {
+        RuleSetDispatchFeature dispatcher = new RuleSetDispatchFeature();
+        dispatcher.add(ruleSet, ConstFeature.createConst(NumberRuleAppCost.create(100)));
+        dispatcher.add(ruleSet, counting);
+        dispatcher.add(new RuleSet(new Name("otherRuleSet")),
+            ConstFeature.createConst(TopRuleAppCost.INSTANCE));
+        Feature root = SumFeature.createSum(ConstFeature.createConst(NumberRuleAppCost.create(1)),
+            ConditionalFeature.createConditional(rule -> true, counting),
+            ConditionalFeature.createConditional(rule -> false, TopRuleAppCost.INSTANCE),
+            dispatcher);
+
+        Feature compiled = CompiledFeature.compile(root, Mode.CHECKED);
+        assertEquals(NumberRuleAppCost.create(121), eval(compiled));
+        // interpreted and compiled evaluation
+        assertEquals(4, evaluations.get());
+        assertEquals(NumberRuleAppCost.create(121),
+            eval(CompiledFeature.compile(root, Mode.COMPILED)));
+        assertEquals(6, evaluations.get());
+        assertSame(root, CompiledFeature.compile(root, Mode.INTERPRETED));
+    }
+
+    @Test
+    void rejectionWithoutEvaluation() {
+        RuleSetDispatchFeature dispatcher = new RuleSetDispatchFeature();
+        dispatcher.add(ruleSet, counting);
+        Feature root = SumFeature.createSum(counting, dispatcher,
+            ConstFeature.createConst(TopRuleAppCost.INSTANCE));
+
+        assertEquals(TopRuleAppCost.INSTANCE, eval(CompiledFeature.compile(root, Mode.COMPILED)));
+        assertEquals(0, evaluations.get());
+    }
+
+    @Test
+    void recompiledAfterModification() {
+        RuleSetDispatchFeature dispatcher = new RuleSetDispatchFeature();
+        dispatcher.add(ruleSet, ConstFeature.createConst(NumberRuleAppCost.create(5)));
+        Feature compiled = CompiledFeature.compile(dispatcher, Mode.COMPILED);
+        assertEquals(NumberRuleAppCost.create(5), eval(compiled));
+
+        dispatcher.clear(ruleSet);
+        dispatcher.add(ruleSet, ConstFeature.createConst(TopRuleAppCost.INSTANCE));
+        assertEquals(TopRuleAppCost.INSTANCE, eval(compiled));
+    }
+
+    @Test
+    void autoModeInCheckedMode() throws Exception {
+        Path problem = tempDir.resolve("arith.key");
+        Files.writeString(problem,
+            "\\programVariables { int x; int y; }\n"
+                + "\\problem { x > 0 & y >= x -> \\forall int z; (z = x + y -> z > 0) }\n");
+        System.setProperty(CompiledFeature.MODE_PROPERTY, Mode.CHECKED.name());
+        KeYEnvironment<DefaultUserInterfaceControl> arithEnv;
+        try {
+            arithEnv = KeYEnvironment.load(problem.toFile());
+        } finally {
+            System.clearProperty(CompiledFeature.MODE_PROPERTY);
+        }
+        try {
+            Proof proof = arithEnv.getLoadedProof();
+            arithEnv.getUi().getProofControl().startAndWaitForAutoMode(proof);
+            assertTrue(proof.closed());
+        } finally {
+            arithEnv.dispose();
+        }
+    }
+}
@@ -3,6 +3,7 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.strategy.quantifierHeuristics;
 
+import de.uka.ilkd.key.java.Services;
 import de.uka.ilkd.key.ldt.JavaDLTheory;
 import de.uka.ilkd.key.logic.*;
 import de.uka.ilkd.key.logic.op.JFunction;
@@ -13,12 +14,14 @@ import de.uka.ilkd.key.rule.TacletForTests;
 
 import org.key_project.logic.Name;
 import org.key_project.logic.sort.Sort;
+import org.key_project.util.collection.DefaultImmutableSet;
+import org.key_project.util.collection.ImmutableSet;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 
 // most Code are copyed from Logic.TestUpdateFactory
@@ -225,4 +228,40 @@ public class TestTriggersSet {
         Term trigger2 = ts.getAllTriggers().iterator().next().getTriggerTerm();
         assertEquals(trigger1, trigger2);
     }
+
+    @Test
+    public void testMatchingSkipsFormulasWithoutHeadSymbol() {
+        Term allterm = parseTerm("\\forall s x;(ps(x))");
+        Term withInstance = parseTerm("pr(r_a) & ps(gss(s_a))");
+        Term withoutInstance = parseTerm("pr(frr(r_b))");
+        Services services = proof.getServices();
+        Trigger trigger = TriggersSet.create(allterm, services).getAllTriggers().iterator().next();
+
+        assertTrue(BasicMatching.getHeadSymbols(withInstance, services).contains(ps));
+        assertFalse(BasicMatching.getHeadSymbols(withoutInstance, services).contains(ps));
+        ImmutableSet<Substitution> subs = trigger.getSubstitutionsFromTerms(
+            DefaultImmutableSet.<Term>nil().add(withInstance).add(withoutInstance), services);
+        assertEquals(1, subs.size());
+        assertEquals(parseTerm("gss(s_a)"),
+            subs.iterator().next().getSubstitutedTerm(allterm.varsBoundHere(0).get(0)));
+    }
+
+    @Test
+    public void testInstantiationsAreCachedPerSequent() {
+        Term allterm = parseTerm("\\forall s x;(ps(x))");
+        Services services = proof.getServices();
+        Semisequent succ = Semisequent.EMPTY_SEMISEQUENT
+                .insertFirst(new SequentFormula(parseTerm("ps(s_a)"))).semisequent();
+        Sequent seq1 = Sequent.createSuccSequent(succ);
+        Sequent seq2 = Sequent.createSuccSequent(
+            succ.insertLast(new SequentFormula(parseTerm("ps(s_b)"))).semisequent());
+
+        Instantiation inst1 = Instantiation.create(allterm, seq1, services);
+        Instantiation inst2 = Instantiation.create(allterm, seq2, services);
+        // alternating between sequents does not evict the instantiations
+        assertSame(inst1, Instantiation.create(allterm, seq1, services));
+        assertSame(inst2, Instantiation.create(allterm, seq2, services));
+        assertEquals(1, inst1.getSubstitution().size());
+        assertEquals(2, inst2.getSubstitution().size());
+    }
 }
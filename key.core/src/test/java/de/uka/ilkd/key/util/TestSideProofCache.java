@@ -0,0 +1,65 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.java.Services;
+import de.uka.ilkd.key.logic.TermBuilder;
+import de.uka.ilkd.key.util.mergerule.MergeRuleUtils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link SideProofCache}.
+ */
+public class TestSideProofCache {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testProvabilityChecksAreCached() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem,
+            "\\functions { int f; }\n\\predicates { p; }\n\\problem { true }\n");
+        KeYEnvironment<DefaultUserInterfaceControl> env = KeYEnvironment.load(problem.toFile());
+        try {
+            Services services = env.getLoadedProof().getServices();
+            SideProofCache cache = services.getCaches().getSideProofCache();
+            TermBuilder tb = services.getTermBuilder();
+
+            assertTrue(MergeRuleUtils.isProvable(
+                tb.parseTerm("\\forall int x; (x > f -> x + 1 > f)"), services, -1));
+            assertEquals(1, cache.size());
+            // equal modulo renaming of bound variables
+            assertTrue(MergeRuleUtils.isProvable(
+                tb.parseTerm("\\forall int y; (y > f -> y + 1 > f)"), services, -1));
+            assertEquals(1, cache.size());
+            assertEquals(1, cache.getStatistics().hits());
+
+            // unproven results are cached as well if the side proof did not time out
+            assertFalse(MergeRuleUtils.isProvable(tb.parseTerm("p"), services, -1));
+            assertEquals(2, cache.size());
+
+            // the strategy of the side proofs does not depend on splitting
+            assertTrue(MergeRuleUtils.isProvableWithSplitting(
+                tb.parseTerm("\\forall int z; (z > f -> z + 1 > f)"), services, -1));
+            assertFalse(MergeRuleUtils.isProvableWithSplitting(tb.parseTerm("p"), services, -1));
+            assertEquals(2, cache.size());
+            assertEquals(3, cache.getStatistics().hits());
+
+            // proven results are cached even if the side proof had a timeout
+            assertTrue(MergeRuleUtils.isProvable(tb.parseTerm("f + 1 > f"), services, 60000));
+            assertEquals(3, cache.size());
+        } finally {
+            env.dispose();
+        }
+    }
+}
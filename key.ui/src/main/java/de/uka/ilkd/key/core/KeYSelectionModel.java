@@ -5,12 +5,17 @@ package de.uka.ilkd.key.core;
 
 import java.util.*;
 
+import de.uka.ilkd.key.gui.notification.events.ExceptionFailureEvent;
 import de.uka.ilkd.key.logic.Sequent;
 import de.uka.ilkd.key.proof.Goal;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.IntermediateProofReplayer;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
 import de.uka.ilkd.key.rule.RuleApp;
 
+import org.key_project.util.collection.ImmutableList;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -138,6 +143,19 @@ public class KeYSelectionModel {
      * @param g the Goal that contains the selected node
      */
     public synchronized void setSelectedGoal(Goal g) {
+        final IntermediateProofReplayer replayer =
+            g.proof().lookup(IntermediateProofReplayer.class);
+        if (replayer != null && replayer.isPending(g.node())) {
+            // the branch of a lazily loaded proof is replayed as soon as it is opened
+            final Node branch = g.node();
+            reportReplayResult(replayer.replayBranch(branch));
+            final ImmutableList<Goal> goals = g.proof().getSubtreeGoals(branch);
+            if (goals.isEmpty()) {
+                setSelectedNode(branch);
+                return;
+            }
+            g = goals.head();
+        }
         final Node previousNode = selectedNode;
         goalIsValid = true;
         selectedGoal = g;
@@ -147,6 +165,28 @@ public class KeYSelectionModel {
         fireSelectedNodeChanged(previousNode);
     }
 
+    /**
+     * Reports the result of replaying a deferred branch like the result of loading the proof is
+     * reported.
+     *
+     * @param result the result of the replay
+     */
+    private void reportReplayResult(IntermediateProofReplayer.Result result) {
+        if (!"".equals(result.getStatus())) {
+            primary.getUI().reportStatus(this, result.getStatus());
+        }
+        final List<Throwable> errors = result.getErrors();
+        if (!errors.isEmpty()) {
+            final ProblemLoaderException e = new ProblemLoaderException(null,
+                "Branch could only be loaded partially.\n" + "In summary " + errors.size()
+                    + " not loadable rule application(s) have been detected.\n"
+                    + "The first one:\n" + errors.get(0).getMessage(),
+                errors.get(0));
+            LOGGER.warn("Failed to replay branch", e);
+            primary.notify(new ExceptionFailureEvent("Failed to replay branch", e));
+        }
+    }
+
     /**
      * returns the node that is selected by the user
      *
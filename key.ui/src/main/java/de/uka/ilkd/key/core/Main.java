@@ -3,11 +3,10 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.core;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.PrintStream;
+import java.io.*;
 import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
@@ -29,8 +28,10 @@ import de.uka.ilkd.key.settings.PathConfig;
 import de.uka.ilkd.key.settings.ProofIndependentSettings;
 import de.uka.ilkd.key.settings.ProofSettings;
 import de.uka.ilkd.key.ui.AbstractMediatorUserInterfaceControl;
+import de.uka.ilkd.key.ui.BatchProver;
 import de.uka.ilkd.key.ui.ConsoleUserInterfaceControl;
 import de.uka.ilkd.key.ui.Verbosity;
+import de.uka.ilkd.key.ui.VerificationServer;
 import de.uka.ilkd.key.util.CommandLine;
 import de.uka.ilkd.key.util.CommandLineException;
 import de.uka.ilkd.key.util.Debug;
@@ -71,6 +72,11 @@ public final class Main {
      * used for debugging).
      */
     private static final String KEEP_FILEREPOS = "--keep-fileRepos";
+    /**
+     * If this option is set, the sequents of inner and closed proof nodes are stored as
+     * differences to their parents (saves memory).
+     */
+    private static final String COMPACT_PROOF_TREE = "--compact-proof-tree";
     private static final String DEBUG = "--debug";
     private static final String MACRO = "--macro";
     private static final String NO_JMLSPECS = "--no-jmlspecs";
@@ -78,6 +84,10 @@ public final class Main {
     public static final String JUSTIFY_RULES = "--justify-rules";
     private static final String SAVE_ALL_CONTRACTS = "--save-all";
     private static final String TIMEOUT = "--timeout";
+    private static final String BATCH = "--batch";
+    private static final String BATCH_RESULTS = "--batch-results";
+    private static final String WORKERS = "--workers";
+    private static final String SERVER = "--server";
     private static final String EXAMPLES = "--examples";
     private static final String RIFL = "--rifl";
     public static final String JKEY_PREFIX = "--jr-";
@@ -158,6 +168,27 @@ public final class Main {
 
     private static ProofMacro autoMacro = new SkipMacro();
 
+    /**
+     * The manifest of problems and contracts to prove in batch mode, or null if not in batch mode
+     */
+    private static File batchManifest = null;
+
+    /**
+     * The file to write the results of batch mode to
+     */
+    private static File batchResults = null;
+
+    /**
+     * The number of proofs searched in parallel in batch and server mode
+     */
+    private static int workers = 1;
+
+    /**
+     * The local port of the verification server, "-" for stdin/stdout, or null if not in server
+     * mode
+     */
+    private static String serverPort = null;
+
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
     /**
@@ -188,6 +219,12 @@ public final class Main {
             cl = createCommandLine();
             cl.parse(args);
             evaluateOptions(cl);
+            if (batchManifest != null) {
+                runBatch();
+            }
+            if (serverPort != null) {
+                runServer();
+            }
             fileArguments = cl.getFileArguments();
             fileArguments = preProcessInput(fileArguments);
             AbstractMediatorUserInterfaceControl userInterface = createUserInterface(fileArguments);
@@ -236,6 +273,57 @@ public final class Main {
     }
 
 
+    /**
+     * Proves the problems and contracts of {@link #batchManifest} and exits. The exit value is 0
+     * if all proofs could be closed.
+     */
+    private static void runBatch() {
+        final File results =
+            batchResults != null ? batchResults : new File(batchManifest.getPath() + ".csv");
+        try {
+            List<BatchProver.Entry> entries = BatchProver.readManifest(batchManifest);
+            LOGGER.info("Proving {} with {} workers", batchManifest, workers);
+            List<BatchProver.Result> proved = new BatchProver(workers,
+                ProofSettings.DEFAULT_SETTINGS.getStrategySettings().getTimeout()).prove(entries);
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(
+                new FileOutputStream(results), StandardCharsets.UTF_8))) {
+                BatchProver.writeResults(proved, writer);
+            }
+            LOGGER.info("Results written to {}", results);
+            System.exit(proved.stream()
+                    .allMatch(r -> r.status() == BatchProver.Status.CLOSED) ? 0 : 1);
+        } catch (IOException e) {
+            LOGGER.error("Batch mode failed", e);
+            System.exit(-1);
+        }
+    }
+
+    /**
+     * Runs the verification server on {@link #serverPort} until it is shut down and exits.
+     */
+    private static void runServer() {
+        final VerificationServer server = new VerificationServer(workers,
+            ProofSettings.DEFAULT_SETTINGS.getStrategySettings().getTimeout());
+        try {
+            if ("-".equals(serverPort)) {
+                server.serve(System.in, System.out);
+                server.awaitRequests();
+            } else {
+                server.listen(Integer.parseInt(serverPort));
+            }
+        } catch (NumberFormatException e) {
+            printUsageAndExit(false, "Illegal server port: " + serverPort, -5);
+        } catch (IOException e) {
+            LOGGER.error("Verification server failed", e);
+            System.exit(-1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            server.close();
+        }
+        System.exit(0);
+    }
+
     /**
      * Register commandline options with command line object
      *
@@ -258,6 +346,8 @@ public final class Main {
             "disables pruning and goal back in closed branches (saves memory)");
         cl.addOption(KEEP_FILEREPOS, null, "disables the automatic deletion of temporary"
             + "directories of file repos (for debugging)");
+        cl.addOption(COMPACT_PROOF_TREE, null,
+            "stores sequents of inner and closed proof nodes as differences (saves memory)");
         cl.addSection("Batchmode options:");
         cl.addOption(TACLET_DIR, "<dir>",
             "load base taclets from a directory, not from internal structures");
@@ -277,6 +367,17 @@ public final class Main {
         cl.addOption(TIMEOUT, "<timeout>",
             "timeout for each automatic proof of a problem in ms (default: "
                 + LemmataAutoModeOptions.DEFAULT_TIMEOUT + ", i.e., no timeout)");
+        cl.addOption(BATCH, "<manifest>",
+            "prove the problems and contracts listed in the manifest without GUI; each line is a"
+                + " location optionally followed by a contract name");
+        cl.addOption(BATCH_RESULTS, "<filename>",
+            "write the results of " + BATCH + " as CSV to this file (default: <manifest>.csv)");
+        cl.addOption(WORKERS, "<number>",
+            "number of proofs searched in parallel by " + BATCH + " or " + SERVER
+                + " (default: 1)");
+        cl.addOption(SERVER, "<port>",
+            "run as verification server accepting requests on the given local port, or on"
+                + " stdin/stdout for '-' (use with " + VERBOSITY + " 0)");
         cl.addSection("Options for justify rules:");
         cl.addOption(JUSTIFY_RULES, "<filename>",
             "autoprove taclets (options always with prefix --jr) needs the path to the rule file as argument");
@@ -389,6 +490,29 @@ public final class Main {
             ProofSettings.DEFAULT_SETTINGS.getStrategySettings().setTimeout(timeout);
         }
 
+        if (cl.isSet(BATCH)) {
+            batchManifest = new File(cl.getString(BATCH, null));
+        }
+
+        if (cl.isSet(BATCH_RESULTS)) {
+            batchResults = new File(cl.getString(BATCH_RESULTS, null));
+        }
+
+        if (cl.isSet(SERVER)) {
+            serverPort = cl.getString(SERVER, null);
+        }
+
+        if (cl.isSet(WORKERS)) {
+            try {
+                workers = cl.getInteger(WORKERS, 1);
+            } catch (CommandLineException e) {
+                LOGGER.error("Failed to read integer", e);
+            }
+            if (workers < 1) {
+                printUsageAndExit(false, "Illegal number of workers (must be a number >= 1)", -5);
+            }
+        }
+
         if (cl.isSet(EXAMPLES)) {
             examplesDir = cl.getString(EXAMPLES, null);
         }
@@ -467,6 +591,10 @@ public final class Main {
         if (cl.isSet(KEEP_FILEREPOS)) {
             GeneralSettings.keepFileRepos = true;
         }
+
+        if (cl.isSet(COMPACT_PROOF_TREE)) {
+            GeneralSettings.compactProofTree = true;
+        }
     }
 
     /**
@@ -12,6 +12,7 @@ import javax.swing.filechooser.FileFilter;
 import javax.swing.filechooser.FileNameExtensionFilter;
 
 import de.uka.ilkd.key.core.Main;
+import de.uka.ilkd.key.proof.io.BinaryProofSaver;
 
 import org.key_project.util.java.IOUtil;
 
@@ -36,7 +37,8 @@ public final class KeYFileChooser extends JFileChooser {
         public boolean accept(File f) {
             String s = f.toString().toLowerCase(Locale.ROOT);
             return f.isDirectory() || s.endsWith(".java") || s.endsWith(".key")
-                    || s.endsWith(".proof") || s.endsWith(".proof.gz") || s.endsWith(".zproof");
+                    || s.endsWith(".proof") || s.endsWith(".proof.gz") || s.endsWith(".zproof")
+                    || s.endsWith(BinaryProofSaver.EXTENSION);
         }
 
         @Override
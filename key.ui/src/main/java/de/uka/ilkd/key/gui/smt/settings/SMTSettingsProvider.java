@@ -69,6 +69,11 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
                 presented in the progress dialog.""";
     public static final String INFO_MAX_PROCESSES =
         "Maximal number or processes that are allowed to run concurrently";
+    public static final String INFO_REUSE_PROCESSES =
+        """
+                If this option is activated, solver processes are not terminated after a problem, \
+                but reset and reused for the next problems. This avoids the startup time of the \
+                solvers when many goals are sent to them.""";
     public static final String INFO_TIMEOUT_FIELD =
         """
                 Timeout for the external solvers in seconds. Fractions of a second are allowed. Example: 6.5
@@ -114,6 +119,7 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
     private final JSpinner locsetBoundField;
     private final JCheckBox solverSupportCheck;
     private final JCheckBox enableOnLoad;
+    private final JCheckBox reuseProcesses;
 
     private transient ProofIndependentSMTSettings settings;
     private final transient List<SettingsProvider> children = new ArrayList<>();
@@ -130,6 +136,7 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         seqBoundField = createSeqBoundField();
         solverSupportCheck = createSolverSupportCheck();
         enableOnLoad = createEnableOnLoad();
+        reuseProcesses = createReuseProcesses();
 
         // Load all available solver types in the system according to SolverTypes.
         // Note that this should happen before creating the NewTranslationOptions, otherwise
@@ -240,6 +247,11 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
             e -> settings.setEnableOnLoad(enableOnLoad.isSelected()));
     }
 
+    private JCheckBox createReuseProcesses() {
+        return addCheckBox("Reuse solver processes", INFO_REUSE_PROCESSES, false,
+            e -> settings.setReuseSolverProcesses(reuseProcesses.isSelected()));
+    }
+
     private JTextField getSaveToFilePanel() {
         return addFileChooserPanel("Store translation to file:", "",
             INFO_SAVE_TO_FILE_PANEL, true,
@@ -267,5 +279,6 @@ public class SMTSettingsProvider extends SettingsPanel implements SettingsProvid
         timeoutField.setValue(((double) this.settings.getTimeout()) / 1000);
         maxProcesses.setValue(this.settings.getMaxConcurrentProcesses());
         enableOnLoad.setSelected(this.settings.isEnableOnLoad());
+        reuseProcesses.setSelected(this.settings.isReuseSolverProcesses());
     }
 }
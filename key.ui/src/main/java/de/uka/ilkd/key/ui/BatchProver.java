@@ -0,0 +1,471 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.ui;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.Statistics;
+import de.uka.ilkd.key.proof.init.JavaProfile;
+import de.uka.ilkd.key.proof.io.AbstractProblemLoader.ReplayResult;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.prover.impl.ApplyStrategyInfo;
+import de.uka.ilkd.key.speclang.Contract;
+import de.uka.ilkd.key.util.KeYTypeUtil;
+import de.uka.ilkd.key.util.ProofStarter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Proves a batch of problems and contracts on a pool of workers without GUI.
+ * <p>
+ * The batch is described by a manifest file (see {@link #readManifest(File)}). Every line names a
+ * location to load, i.e., a KeY problem or proof file or a Java source directory, optionally
+ * followed by the name of a contract to prove. A location without contract stands for the proof
+ * loaded from it or, if there is none, for all contracts of the location.
+ * </p>
+ * <p>
+ * Loaded environments are kept warm: after a proof attempt, the environment is returned to a pool
+ * and reused for the next contract of the same location, such that a location is loaded at most
+ * once per worker. Environments are loaded with an own {@link JavaProfile} instance, as the
+ * profile holds state used during proof search. Proofs of environments which share a profile
+ * nevertheless (e.g. because the profile is specified by the loaded file) are searched one after
+ * the other.
+ * </p>
+ * <p>
+ * The outcome of every proof attempt is reported as {@link Result} and can be written as CSV (see
+ * {@link #writeResults(List, Writer)}).
+ * </p>
+ * <p>
+ * Besides whole batches, single contracts can be proven on the warm environments (see
+ * {@link #prove(Entry)}), which is used by {@link VerificationServer}.
+ * </p>
+ */
+public class BatchProver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchProver.class);
+
+    /** loading is not thread safe, environments are loaded one after the other */
+    private static final Object LOAD_LOCK = new Object();
+
+    /**
+     * The outcome of a proof attempt.
+     */
+    public enum Status {
+        /** the proof was closed */
+        CLOSED,
+        /** the strategy stopped before the proof was closed */
+        OPEN,
+        /** the timeout was reached before the proof was closed */
+        TIMEOUT,
+        /** the problem could not be loaded or proof search failed */
+        ERROR
+    }
+
+    /**
+     * An entry of the manifest.
+     *
+     * @param name the location as given in the manifest
+     * @param location the file to load
+     * @param contract the name of the contract to prove, or {@code null} for the proof loaded from
+     *        the location or all contracts of the location
+     */
+    public record Entry(String name, File location, String contract) {
+    }
+
+    /**
+     * The result of a proof attempt.
+     *
+     * @param name the location as given in the manifest
+     * @param contract the name of the proven contract, or {@code null} for a loaded proof
+     * @param status the outcome
+     * @param time the duration of the proof attempt in ms (excluding loading of the location)
+     * @param nodes the number of nodes of the proof
+     * @param branches the number of branches of the proof
+     * @param openGoals the number of open goals
+     * @param message the reason of an error or the stop message of the strategy
+     */
+    public record Result(String name, String contract, Status status, long time, int nodes,
+            int branches, int openGoals, String message) {
+    }
+
+    /**
+     * A proof attempt to be run by a worker.
+     *
+     * @param entry the manifest entry
+     * @param contract the contract to prove, or {@code null} for the proof of {@code loaded}
+     * @param loaded the environment providing the loaded proof, or {@code null}
+     * @param failure the result if the location could not be loaded, or {@code null}
+     */
+    private record Job(Entry entry, String contract, KeYEnvironment<?> loaded, Result failure) {
+    }
+
+    private final int workers;
+
+    private final long timeout;
+
+    /** the idle environments of the locations */
+    private final Map<File, Queue<KeYEnvironment<?>>> idle = new ConcurrentHashMap<>();
+
+    /** all environments loaded by this prover, disposed at the end of the batch */
+    private final List<KeYEnvironment<?>> environments =
+        Collections.synchronizedList(new ArrayList<>());
+
+    /**
+     * Creates a new batch prover.
+     *
+     * @param workers the number of proofs to search in parallel
+     * @param timeout the timeout of every proof attempt in ms, -1 for no timeout
+     */
+    public BatchProver(int workers, long timeout) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("At least one worker is required");
+        }
+        this.workers = workers;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Reads a manifest.
+     * <p>
+     * Every non-empty line not starting with {@code #} consists of a location and an optional
+     * contract name, separated by whitespace. The location must not contain whitespace, the
+     * contract name is the remainder of the line. Relative locations are resolved against the
+     * directory of the manifest.
+     * </p>
+     *
+     * @param manifest the manifest file
+     * @return the entries of the manifest in order
+     * @throws IOException if the manifest can not be read or a location does not exist
+     */
+    public static List<Entry> readManifest(File manifest) throws IOException {
+        final File dir = manifest.getAbsoluteFile().getParentFile();
+        final List<Entry> entries = new ArrayList<>();
+        int lineNr = 0;
+        for (String line : Files.readAllLines(manifest.toPath(), StandardCharsets.UTF_8)) {
+            lineNr++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] parts = line.split("\\s+", 2);
+            File location = new File(parts[0]);
+            if (!location.isAbsolute()) {
+                location = new File(dir, parts[0]);
+            }
+            if (!location.exists()) {
+                throw new IOException(
+                    manifest + ":" + lineNr + ": location does not exist: " + parts[0]);
+            }
+            entries.add(new Entry(parts[0], location, parts.length > 1 ? parts[1] : null));
+        }
+        return entries;
+    }
+
+    /**
+     * Proves the given entries.
+     *
+     * @param entries the entries of the manifest
+     * @return the results of all proof attempts, in the order of the entries
+     */
+    public List<Result> prove(List<Entry> entries) {
+        final List<Job> jobs = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.contract() != null) {
+                jobs.add(new Job(entry, entry.contract(), null, null));
+                continue;
+            }
+            final KeYEnvironment<?> env;
+            try {
+                env = load(entry.location());
+            } catch (ProblemLoaderException e) {
+                LOGGER.error("Loading {} failed", entry.name(), e);
+                jobs.add(new Job(entry, null, null, error(entry, null, 0, e)));
+                continue;
+            }
+            if (env.getLoadedProof() != null) {
+                jobs.add(new Job(entry, null, env, null));
+            } else {
+                contractNames(env).forEach(c -> jobs.add(new Job(entry, c, null, null)));
+                release(entry.location(), env);
+            }
+        }
+
+        final List<Future<Result>> futures = new ArrayList<>();
+        final long count = jobs.stream().filter(j -> j.failure() == null).count();
+        final AtomicInteger done = new AtomicInteger();
+        final ExecutorService pool = Executors.newFixedThreadPool(workers);
+        try {
+            for (Job job : jobs) {
+                if (job.failure() != null) {
+                    futures.add(CompletableFuture.completedFuture(job.failure()));
+                    continue;
+                }
+                futures.add(pool.submit(() -> {
+                    final Result result = run(job);
+                    LOGGER.info("[{}/{}] {}{}: {} in {} ms", done.incrementAndGet(), count,
+                        job.entry().name(), job.contract() == null ? "" : " " + job.contract(),
+                        result.status(), result.time());
+                    return result;
+                }));
+            }
+            final List<Result> results = new ArrayList<>(futures.size());
+            for (Future<Result> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Batch was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error in batchmode.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+            dispose();
+        }
+    }
+
+    /**
+     * Proves a single contract of a location, or the proof loaded from the location if the entry
+     * has no contract. In contrast to {@link #prove(List)}, environments stay loaded for further
+     * calls until {@link #unload(File)} or {@link #dispose()}. This method may be called
+     * concurrently.
+     *
+     * @param entry the location and contract to prove
+     * @return the result of the proof attempt
+     */
+    public Result prove(Entry entry) {
+        if (entry.contract() != null) {
+            return run(new Job(entry, entry.contract(), null, null));
+        }
+        final KeYEnvironment<?> env;
+        try {
+            env = load(entry.location());
+        } catch (ProblemLoaderException e) {
+            return error(entry, null, 0, e);
+        }
+        if (env.getLoadedProof() == null) {
+            discard(env);
+            return new Result(entry.name(), null, Status.ERROR, 0, 0, 0, 0,
+                "No contract given and no proof loaded");
+        }
+        return run(new Job(entry, null, env, null));
+    }
+
+    /**
+     * Loads and replays the proof of a location without further proof search.
+     *
+     * @param entry the location of the proof (the contract is ignored)
+     * @return the state of the replayed proof; the time includes loading of the location
+     */
+    public Result replay(Entry entry) {
+        final long start = System.currentTimeMillis();
+        KeYEnvironment<?> env = null;
+        try {
+            env = load(entry.location());
+            final Proof proof = env.getLoadedProof();
+            if (proof == null) {
+                return new Result(entry.name(), null, Status.ERROR,
+                    System.currentTimeMillis() - start, 0, 0, 0, "No proof loaded");
+            }
+            final ReplayResult replay = env.getReplayResult();
+            final Status status;
+            if (replay != null && replay.hasErrors()) {
+                status = Status.ERROR;
+            } else {
+                status = proof.closed() ? Status.CLOSED : Status.OPEN;
+            }
+            final Statistics statistics = proof.getStatistics();
+            return new Result(entry.name(), null, status, System.currentTimeMillis() - start,
+                statistics.nodes, statistics.branches, proof.openGoals().size(),
+                replay == null ? null : replay.getStatus());
+        } catch (ProblemLoaderException e) {
+            return error(entry, null, System.currentTimeMillis() - start, e);
+        } finally {
+            if (env != null) {
+                discard(env);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of all non-library contracts of a location. The environment loaded for
+     * this stays warm for proving the contracts.
+     *
+     * @param location the location
+     * @return the sorted contract names
+     * @throws ProblemLoaderException if the location can not be loaded
+     */
+    public List<String> contracts(File location) throws ProblemLoaderException {
+        final KeYEnvironment<?> env = acquire(location);
+        try {
+            return contractNames(env);
+        } finally {
+            release(location, env);
+        }
+    }
+
+    /**
+     * Disposes the idle environments of a location, e.g., after its sources have changed.
+     * Environments in use are not affected.
+     *
+     * @param location the location
+     */
+    public void unload(File location) {
+        final Queue<KeYEnvironment<?>> envs = idle.remove(location);
+        if (envs != null) {
+            envs.forEach(this::discard);
+        }
+    }
+
+    /**
+     * Disposes all environments loaded by this prover.
+     */
+    public void dispose() {
+        synchronized (environments) {
+            environments.forEach(KeYEnvironment::dispose);
+            environments.clear();
+        }
+        idle.clear();
+    }
+
+    /**
+     * Runs a proof attempt on the calling worker.
+     */
+    private Result run(Job job) {
+        final long start = System.currentTimeMillis();
+        KeYEnvironment<?> env = job.loaded();
+        Proof proof = null;
+        try {
+            if (env == null) {
+                env = acquire(job.entry().location());
+                final Contract contract =
+                    env.getSpecificationRepository().getContractByName(job.contract());
+                if (contract == null) {
+                    return new Result(job.entry().name(), job.contract(), Status.ERROR, 0, 0, 0, 0,
+                        "Unknown contract");
+                }
+                proof = env.createProof(contract.createProofObl(env.getInitConfig(), contract));
+            } else {
+                proof = env.getLoadedProof();
+            }
+
+            final ProofStarter starter = new ProofStarter(false);
+            starter.init(proof);
+            starter.setTimeout(timeout);
+            final ApplyStrategyInfo info;
+            // the profile holds state of proof search (e.g. the one step simplifier)
+            synchronized (env.getProfile()) {
+                info = starter.start();
+            }
+
+            final Status status;
+            if (proof.closed()) {
+                status = Status.CLOSED;
+            } else if (timeout >= 0 && info.getTime() >= timeout) {
+                status = Status.TIMEOUT;
+            } else {
+                status = Status.OPEN;
+            }
+            final Statistics statistics = proof.getStatistics();
+            return new Result(job.entry().name(), job.contract(), status,
+                System.currentTimeMillis() - start, statistics.nodes, statistics.branches,
+                proof.openGoals().size(), info.reason());
+        } catch (Exception e) {
+            LOGGER.error("Proof attempt for {} failed", job.entry().name(), e);
+            return error(job.entry(), job.contract(), System.currentTimeMillis() - start, e);
+        } finally {
+            if (job.loaded() != null) {
+                discard(env);
+            } else {
+                if (proof != null) {
+                    proof.dispose();
+                }
+                if (env != null) {
+                    release(job.entry().location(), env);
+                }
+            }
+        }
+    }
+
+    private static Result error(Entry entry, String contract, long time, Exception e) {
+        return new Result(entry.name(), contract, Status.ERROR, time, 0, 0, 0,
+            e.getMessage() == null ? e.getClass().getName() : e.getMessage());
+    }
+
+    /**
+     * @return the names of all contracts of the environment which do not belong to library classes
+     */
+    private static List<String> contractNames(KeYEnvironment<?> env) {
+        final List<String> names = new ArrayList<>();
+        for (Contract contract : env.getSpecificationRepository().getAllContracts()) {
+            if (!KeYTypeUtil.isLibraryClass(contract.getKJT())) {
+                names.add(contract.getName());
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    private KeYEnvironment<?> load(File location) throws ProblemLoaderException {
+        final KeYEnvironment<?> env;
+        synchronized (LOAD_LOCK) {
+            env = KeYEnvironment.load(new JavaProfile(), location, null, null, null, false);
+        }
+        environments.add(env);
+        return env;
+    }
+
+    private void discard(KeYEnvironment<?> env) {
+        environments.remove(env);
+        env.dispose();
+    }
+
+    /**
+     * Takes an idle environment of the location or loads a new one.
+     */
+    private KeYEnvironment<?> acquire(File location) throws ProblemLoaderException {
+        final KeYEnvironment<?> env = idle.computeIfAbsent(location,
+            l -> new ConcurrentLinkedQueue<>()).poll();
+        return env != null ? env : load(location);
+    }
+
+    private void release(File location, KeYEnvironment<?> env) {
+        idle.computeIfAbsent(location, l -> new ConcurrentLinkedQueue<>()).add(env);
+    }
+
+    /**
+     * Writes results as CSV with a header line.
+     *
+     * @param results the results to write
+     * @param out the writer to write to
+     * @throws IOException if writing fails
+     */
+    public static void writeResults(List<Result> results, Writer out) throws IOException {
+        out.write("location,contract,status,time,nodes,branches,openGoals,message\n");
+        for (Result result : results) {
+            out.write(csv(result.name()) + "," + csv(result.contract()) + ","
+                + result.status().name().toLowerCase(Locale.ROOT) + "," + result.time() + ","
+                + result.nodes() + "," + result.branches() + "," + result.openGoals() + ","
+                + csv(result.message()) + "\n");
+        }
+        out.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,332 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.ui;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A long-running verification server which keeps loaded projects warm between requests.
+ * <p>
+ * Requests are read line by line, either from a local TCP port (see {@link #listen(int)}) or from
+ * an arbitrary stream such as stdin (see {@link #serve(InputStream, OutputStream)}). A request has
+ * the form {@code <id> <command> [<arguments>]}, where the id is chosen by the client. Every
+ * request is answered by exactly one line of tab separated fields starting with the id of the
+ * request and a status. The following commands are supported:
+ * </p>
+ * <dl>
+ * <dt>{@code load <location>}</dt>
+ * <dd>loads the location and keeps it warm, answers {@code ok} and the number of contracts</dd>
+ * <dt>{@code contracts <location>}</dt>
+ * <dd>answers {@code ok} and the names of the contracts of the location</dd>
+ * <dt>{@code prove <location> [<contract>]}</dt>
+ * <dd>proves the contract, or the proof loaded from the location if no contract is given</dd>
+ * <dt>{@code replay <location>}</dt>
+ * <dd>loads and replays the proof of the location without further proof search</dd>
+ * <dt>{@code unload <location>}</dt>
+ * <dd>disposes the warm environments of the location, e.g. after its sources have changed</dd>
+ * <dt>{@code status}</dt>
+ * <dd>answers {@code ok} and the ids of the requests currently running</dd>
+ * <dt>{@code cancel <id>}</dt>
+ * <dd>cancels a running request, which is then answered by {@code cancelled}</dd>
+ * <dt>{@code shutdown}</dt>
+ * <dd>stops the server</dd>
+ * </dl>
+ * <p>
+ * The answer to {@code prove} and {@code replay} consists of the status of the proof
+ * ({@code closed}, {@code open}, {@code timeout} or {@code error}), the time in ms, the number of
+ * nodes, branches and open goals and a message. {@code load}, {@code contracts}, {@code prove} and
+ * {@code replay} are run concurrently by a pool of workers, the other commands are answered
+ * immediately. Answers of concurrent requests may arrive in any order.
+ * </p>
+ */
+public class VerificationServer {
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerificationServer.class);
+
+    /**
+     * A request run by a worker.
+     */
+    private static final class Request {
+        /** the worker running the request, null if not yet started */
+        private volatile Thread thread;
+
+        private volatile boolean cancelled;
+    }
+
+    private final BatchProver prover;
+
+    private final ExecutorService workers;
+
+    /** the running requests by their ids */
+    private final Map<String, Request> running = new ConcurrentHashMap<>();
+
+    private volatile boolean shutdown;
+
+    private volatile ServerSocket serverSocket;
+
+    /**
+     * Creates a new verification server.
+     *
+     * @param workers the number of requests run in parallel
+     * @param timeout the timeout of every proof attempt in ms, -1 for no timeout
+     */
+    public VerificationServer(int workers, long timeout) {
+        this.prover = new BatchProver(workers, timeout);
+        this.workers = Executors.newFixedThreadPool(workers);
+    }
+
+    /**
+     * Accepts clients on the given port of the loopback interface until the server is shut down.
+     * Every client is served by its own thread, all clients share the warm environments.
+     *
+     * @param port the port to listen on, 0 for an arbitrary free port (see {@link #getPort()})
+     * @throws IOException if the socket can not be opened
+     */
+    public void listen(int port) throws IOException {
+        try (ServerSocket socket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            serverSocket = socket;
+            LOGGER.info("Verification server listening on port {}", socket.getLocalPort());
+            while (!shutdown) {
+                final Socket client;
+                try {
+                    client = socket.accept();
+                } catch (IOException e) {
+                    if (shutdown) {
+                        break;
+                    }
+                    throw e;
+                }
+                final Thread thread = new Thread(() -> {
+                    try (client) {
+                        serve(client.getInputStream(), client.getOutputStream());
+                    } catch (IOException e) {
+                        LOGGER.warn("Connection to client failed", e);
+                    }
+                }, "VerificationServer client " + client.getPort());
+                thread.setDaemon(true);
+                thread.start();
+            }
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * @return the port the server listens on, or -1 if it does not (yet) listen
+     */
+    public int getPort() {
+        final ServerSocket socket = serverSocket;
+        return socket == null ? -1 : socket.getLocalPort();
+    }
+
+    /**
+     * Serves the requests read from the given stream until its end or until the server is shut
+     * down. Requests still running at the end of the stream are answered nevertheless (see
+     * {@link #awaitRequests()}).
+     *
+     * @param in the stream of requests
+     * @param out the stream of answers
+     * @throws IOException if reading fails
+     */
+    public void serve(InputStream in, OutputStream out) throws IOException {
+        final BufferedReader reader =
+            new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        final PrintWriter writer =
+            new PrintWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        String line;
+        while (!shutdown && (line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            final String[] parts = line.split("\\s+", 3);
+            if (parts.length < 2) {
+                answer(writer, parts[0], "error", "Malformed request");
+                continue;
+            }
+            handle(writer, parts[0], parts[1], parts.length > 2 ? parts[2] : null);
+        }
+    }
+
+    private void handle(PrintWriter writer, String id, String command, String argument) {
+        switch (command) {
+        case "status" -> answer(writer, id, "ok",
+            String.join(",", new TreeSet<>(running.keySet())));
+        case "cancel" -> {
+            final Request request = argument == null ? null : running.get(argument);
+            if (request == null) {
+                answer(writer, id, "error", "Unknown request");
+                return;
+            }
+            synchronized (request) {
+                request.cancelled = true;
+                if (request.thread != null) {
+                    request.thread.interrupt();
+                }
+            }
+            answer(writer, id, "ok");
+        }
+        case "unload" -> {
+            if (argument == null) {
+                answer(writer, id, "error", "Missing location");
+                return;
+            }
+            prover.unload(new File(argument).getAbsoluteFile());
+            answer(writer, id, "ok");
+        }
+        case "shutdown" -> {
+            answer(writer, id, "ok");
+            close();
+        }
+        case "load", "contracts", "prove", "replay" -> submit(writer, id, command, argument);
+        default -> answer(writer, id, "error", "Unknown command " + command);
+        }
+    }
+
+    private void submit(PrintWriter writer, String id, String command, String argument) {
+        final Request request = new Request();
+        if (running.putIfAbsent(id, request) != null) {
+            answer(writer, id, "error", "Request " + id + " is already running");
+            return;
+        }
+        try {
+            workers.execute(() -> runRequest(writer, id, command, argument, request));
+        } catch (RejectedExecutionException e) {
+            running.remove(id);
+            answer(writer, id, "error", "Server is shut down");
+        }
+    }
+
+    private void runRequest(PrintWriter writer, String id, String command, String argument,
+            Request request) {
+        request.thread = Thread.currentThread();
+        String[] answer;
+        try {
+            answer = request.cancelled ? null : run(command, argument);
+        } catch (Exception e) {
+            if (!request.cancelled) {
+                LOGGER.warn("Request {} failed", id, e);
+            }
+            answer = new String[] { "error", String.valueOf(e.getMessage()) };
+        } finally {
+            running.remove(id);
+            synchronized (request) {
+                request.thread = null;
+            }
+            // do not leak a pending cancellation to the next request of this worker
+            Thread.interrupted();
+        }
+        answer(writer, id, request.cancelled ? new String[] { "cancelled" } : answer);
+    }
+
+    /**
+     * Runs a request on the calling worker.
+     *
+     * @return the fields of the answer
+     */
+    private String[] run(String command, String argument) throws Exception {
+        if (argument == null) {
+            return new String[] { "error", "Missing location" };
+        }
+        final String[] parts = argument.split("\\s+", 2);
+        final File location = new File(parts[0]).getAbsoluteFile();
+        if (!location.exists()) {
+            return new String[] { "error", "Location does not exist: " + parts[0] };
+        }
+        final BatchProver.Entry entry =
+            new BatchProver.Entry(parts[0], location, parts.length > 1 ? parts[1] : null);
+        return switch (command) {
+        case "load" -> new String[] { "ok",
+            String.valueOf(prover.contracts(location).size()) };
+        case "contracts" -> {
+            final List<String> contracts = prover.contracts(location);
+            final String[] answer = new String[contracts.size() + 1];
+            answer[0] = "ok";
+            for (int i = 0; i < contracts.size(); i++) {
+                answer[i + 1] = contracts.get(i);
+            }
+            yield answer;
+        }
+        case "prove" -> answer(prover.prove(entry));
+        case "replay" -> answer(prover.replay(entry));
+        default -> throw new IllegalArgumentException(command);
+        };
+    }
+
+    private static String[] answer(BatchProver.Result result) {
+        return new String[] { result.status().name().toLowerCase(Locale.ROOT),
+            String.valueOf(result.time()), String.valueOf(result.nodes()),
+            String.valueOf(result.branches()), String.valueOf(result.openGoals()),
+            result.message() == null ? "" : result.message() };
+    }
+
+    private static void answer(PrintWriter writer, String id, String... fields) {
+        final StringBuilder line = new StringBuilder(id);
+        for (String field : fields) {
+            line.append('\t').append(field.replaceAll("[\t\r\n]", " "));
+        }
+        synchronized (writer) {
+            writer.println(line);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Waits until all submitted requests are answered. Afterwards, no further requests are
+     * accepted.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitRequests() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the server: cancels running requests and disposes all warm environments.
+     */
+    public synchronized void close() {
+        if (shutdown) {
+            return;
+        }
+        shutdown = true;
+        final ServerSocket socket = serverSocket;
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close server socket", e);
+            }
+        }
+        for (Request request : running.values()) {
+            synchronized (request) {
+                request.cancelled = true;
+            }
+        }
+        workers.shutdownNow();
+        try {
+            if (!workers.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOGGER.warn("Requests did not stop after cancellation");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        prover.dispose();
+    }
+}
@@ -0,0 +1,62 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.ui;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the batch mode of the command line prover.
+ */
+class BatchProverTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void manifestIsResolvedAgainstItsDirectory() throws IOException {
+        Files.writeString(tempDir.resolve("a.key"), "\\problem { true }\n");
+        Path manifest = tempDir.resolve("batch.txt");
+        Files.writeString(manifest, "# comment\n\n  a.key\na.key  C[C::m()].JML contract.0 \n");
+
+        List<BatchProver.Entry> entries = BatchProver.readManifest(manifest.toFile());
+        assertEquals(2, entries.size());
+        assertEquals(tempDir.resolve("a.key").toFile(), entries.get(0).location());
+        assertNull(entries.get(0).contract());
+        assertEquals("C[C::m()].JML contract.0", entries.get(1).contract());
+
+        Files.writeString(manifest, "missing.key\n");
+        assertThrows(IOException.class, () -> BatchProver.readManifest(manifest.toFile()));
+    }
+
+    @Test
+    void problemsAreProvedInParallel() throws IOException {
+        Files.writeString(tempDir.resolve("closed.key"), "\\programVariables { int x; }\n"
+            + "\\problem { \\<{ x = 1; if (x > 0) { x++; } }\\> x = 2 }\n");
+        Files.writeString(tempDir.resolve("open.key"),
+            "\\predicates { p; }\n\\problem { p }\n");
+        Path manifest = tempDir.resolve("batch.txt");
+        Files.writeString(manifest, "closed.key\nopen.key\nclosed.key\n");
+
+        List<BatchProver.Result> results =
+            new BatchProver(2, -1).prove(BatchProver.readManifest(manifest.toFile()));
+        assertEquals(List.of(BatchProver.Status.CLOSED, BatchProver.Status.OPEN,
+            BatchProver.Status.CLOSED), results.stream().map(BatchProver.Result::status).toList());
+        assertTrue(results.get(0).nodes() > 1);
+        assertEquals(1, results.get(1).openGoals());
+
+        StringWriter csv = new StringWriter();
+        BatchProver.writeResults(results, csv);
+        String[] lines = csv.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertTrue(lines[2].startsWith("open.key,,open,"));
+    }
+}
@@ -0,0 +1,80 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.ui;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the verification server on localhost.
+ */
+class VerificationServerTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @Timeout(300)
+    void requestsAreAnsweredOverSocket() throws Exception {
+        Path problem = tempDir.resolve("problem.key");
+        Files.writeString(problem, "\\programVariables { int x; }\n"
+            + "\\problem { \\<{ x = 1; if (x > 0) { x++; } }\\> x = 2 }\n");
+
+        VerificationServer server = new VerificationServer(2, -1);
+        Thread thread = new Thread(() -> {
+            try {
+                server.listen(0);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        thread.start();
+        while (server.getPort() < 0) {
+            Thread.sleep(10);
+        }
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getPort());
+                PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                    socket.getOutputStream(), StandardCharsets.UTF_8), true);
+                BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            out.println("1 prove " + problem);
+            out.println("2 prove " + problem);
+            out.println("3 frobnicate");
+            out.println("4 cancel 42");
+            out.println("5 contracts " + tempDir.resolve("missing.key"));
+
+            Map<String, String[]> answers = new HashMap<>();
+            for (int i = 0; i < 5; i++) {
+                String[] answer = in.readLine().split("\t");
+                answers.put(answer[0], answer);
+            }
+            assertEquals("closed", answers.get("1")[1]);
+            assertTrue(Integer.parseInt(answers.get("1")[3]) > 1);
+            assertEquals("0", answers.get("1")[5]);
+            assertEquals("closed", answers.get("2")[1]);
+            assertEquals("error", answers.get("3")[1]);
+            assertEquals("error", answers.get("4")[1]);
+            assertEquals("error", answers.get("5")[1]);
+
+            out.println("6 status");
+            assertEquals("6\tok\t", in.readLine());
+            out.println("7 shutdown");
+            assertEquals("7\tok", in.readLine());
+        }
+        thread.join();
+        assertFalse(thread.isAlive());
+    }
+}
@@ -0,0 +1,273 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe cache with approximate LRU eviction.
+ * <p>
+ * In contrast to {@link LRUCache}, which has to be guarded by a single monitor when shared between
+ * threads, the entries are distributed over several independently locked segments by the hash code
+ * of their keys. Each segment evicts its least recently used entry once it exceeds its share of the
+ * maximal size. Hence, the eviction order is only approximately LRU w.r.t. the whole cache.
+ * </p>
+ * <p>
+ * The cache counts hits, misses and evictions, see {@link #getStatistics()}. Callers do not need
+ * to (and should not) synchronize on the cache. The views returned by {@link #entrySet()},
+ * {@link #keySet()} and {@link #values()} are unmodifiable snapshots.
+ * </p>
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of cached values
+ */
+public class ConcurrentLRUCache<K, V> extends AbstractMap<K, V> {
+    /** the maximal number of segments used by default */
+    private static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    /** the minimal number of entries per segment when choosing the number of segments */
+    private static final int MIN_SEGMENT_SIZE = 16;
+
+    /** maximal cache size */
+    private final int maxEntries;
+
+    /** the segments, its length is a power of two */
+    private final Segment<K, V>[] segments;
+
+    /** number of successful lookups */
+    private final LongAdder hits = new LongAdder();
+    /** number of failed lookups */
+    private final LongAdder misses = new LongAdder();
+    /** number of entries removed to respect the size bound */
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * creates a new cache with maxEntries slots
+     *
+     * @param maxEntries the maximal number of entries
+     */
+    public ConcurrentLRUCache(int maxEntries) {
+        this(maxEntries, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * creates a new cache with maxEntries slots distributed over at most concurrencyLevel segments
+     *
+     * @param maxEntries the maximal number of entries
+     * @param concurrencyLevel the maximal number of segments, i.e., the number of threads that can
+     *        access the cache without contention
+     */
+    // generic arrays can not be created, the segments all have the type Segment<K, V>
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public ConcurrentLRUCache(int maxEntries, int concurrencyLevel) {
+        if (maxEntries < 0) {
+            throw new IllegalArgumentException("Negative cache size: " + maxEntries);
+        }
+        if (concurrencyLevel < 1) {
+            throw new IllegalArgumentException("Concurrency level must be positive.");
+        }
+        this.maxEntries = maxEntries;
+        final int bound = Math.max(1, Math.min(concurrencyLevel, maxEntries / MIN_SEGMENT_SIZE));
+        final int segmentCount = Integer.highestOneBit(bound);
+        final int segmentSize = (maxEntries + segmentCount - 1) / segmentCount;
+        segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(segmentSize, evictions);
+        }
+    }
+
+    /**
+     * @return the maximal number of entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        final int h = key == null ? 0 : key.hashCode();
+        // spread higher bits downwards as the segment count is a power of two
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    @Override
+    public V get(Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final V result;
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+        (result == null ? misses : hits).increment();
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.put(key, value);
+        }
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.putIfAbsent(key, value);
+        }
+    }
+
+    /**
+     * Returns the cached value for the given key or computes and caches it. The mapping function
+     * is evaluated without holding a lock, hence it may be evaluated more than once for the same
+     * key if several threads miss at the same time. In this case, the first cached value wins.
+     *
+     * @param key the key
+     * @param mappingFunction the function computing the value to be cached
+     * @return the cached value
+     */
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        final V cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        final V value = mappingFunction.apply(key);
+        if (value == null) {
+            return null;
+        }
+        final V previous = putIfAbsent(key, value);
+        return previous == null ? value : previous;
+    }
+
+    @Override
+    public V remove(Object key) {
+        final Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.remove(key);
+        }
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                if (!segment.isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final Map<K, V> snapshot = new LinkedHashMap<>();
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                snapshot.putAll(segment);
+            }
+        }
+        return Collections.unmodifiableMap(snapshot).entrySet();
+    }
+
+    /**
+     * @return the hit, miss and eviction counts of this cache
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * resets the hit, miss and eviction counts of this cache
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Counters of a {@link ConcurrentLRUCache}.
+     *
+     * @param hits number of lookups which found a cached value
+     * @param misses number of lookups which did not find a cached value
+     * @param evictions number of entries removed to respect the size bound
+     */
+    public record Statistics(long hits, long misses, long evictions) {
+        /**
+         * @return the ratio of successful lookups, {@code 0} if there was no lookup yet
+         */
+        public double hitRate() {
+            final long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("hits: %d, misses: %d, evictions: %d, hit rate: %.2f", hits,
+                misses, evictions, hitRate());
+        }
+    }
+
+    /**
+     * An access ordered segment of the cache. All accesses are guarded by the segment's monitor.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = -2380414396218917443L;
+
+        /** maximal segment size */
+        private final int maxEntries;
+        /** the eviction counter of the cache */
+        private final transient LongAdder evictions;
+
+        Segment(int maxEntries, LongAdder evictions) {
+            super(Math.min(maxEntries, 1024) + 1, 0.75F, true);
+            this.maxEntries = maxEntries;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > maxEntries) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
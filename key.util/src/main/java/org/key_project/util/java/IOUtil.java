@@ -10,6 +10,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.function.Predicate;
 import java.util.zip.ZipEntry;
@@ -817,4 +819,18 @@ public final class IOUtil {
             return new FileInputStream(resourceLocation);
         }
     }
+
+    /**
+     * Computes the SHA-256 hash of the given content.
+     *
+     * @param content the content to hash
+     * @return the hash as lower case hexadecimal string
+     */
+    public static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
 }
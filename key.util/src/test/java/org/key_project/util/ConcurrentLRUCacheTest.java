@@ -0,0 +1,135 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentLRUCacheTest {
+
+    @Test
+    void getAndPut() {
+        var cache = new ConcurrentLRUCache<String, Integer>(100);
+        assertNull(cache.get("a"));
+        assertNull(cache.put("a", 1));
+        assertEquals(1, cache.get("a"));
+        assertEquals(1, cache.put("a", 2));
+        assertEquals(2, cache.get("a"));
+        assertTrue(cache.containsKey("a"));
+        assertEquals(1, cache.size());
+        assertEquals(2, cache.remove("a"));
+        assertTrue(cache.isEmpty());
+    }
+
+    @Test
+    void boundedSize() {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(64);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i);
+        }
+        assertTrue(cache.size() <= 64, "cache exceeds its bound: " + cache.size());
+        assertEquals(1000 - cache.size(), cache.getStatistics().evictions());
+    }
+
+    @Test
+    void leastRecentlyUsedIsEvicted() {
+        // a single segment behaves exactly like LRUCache
+        var cache = new ConcurrentLRUCache<Integer, Integer>(3, 1);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+        assertTrue(cache.containsKey(1));
+        assertFalse(cache.containsKey(2));
+        assertTrue(cache.containsKey(3));
+        assertTrue(cache.containsKey(4));
+    }
+
+    @Test
+    void statistics() {
+        var cache = new ConcurrentLRUCache<String, String>(10);
+        cache.put("a", "a");
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+        var stats = cache.getStatistics();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(0, stats.evictions());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+        cache.resetStatistics();
+        assertEquals(0, cache.getStatistics().hits());
+    }
+
+    @Test
+    void computeIfAbsent() {
+        var cache = new ConcurrentLRUCache<Integer, String>(10);
+        var calls = new AtomicInteger();
+        assertEquals("1", cache.computeIfAbsent(1, k -> {
+            calls.incrementAndGet();
+            return k.toString();
+        }));
+        assertEquals("1", cache.computeIfAbsent(1, k -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void entrySetIsSnapshot() {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put(i, i);
+        }
+        var entries = cache.entrySet();
+        cache.clear();
+        assertEquals(50, entries.size());
+        assertThrows(UnsupportedOperationException.class, entries::clear);
+    }
+
+    @Test
+    void concurrentAccess() throws InterruptedException {
+        var cache = new ConcurrentLRUCache<Integer, Integer>(256);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    int key = (i * 31 + offset) % 1024;
+                    Integer value = cache.get(key);
+                    if (value != null && value != key) {
+                        throw new AssertionError("wrong value for " + key);
+                    }
+                    cache.put(key, key);
+                }
+            });
+            thread.setUncaughtExceptionHandler((th, e) -> {
+                synchronized (failures) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures::toString);
+        assertTrue(cache.size() <= 256);
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLRUCache<>(-1));
+        assertThrows(IllegalArgumentException.class, () -> new ConcurrentLRUCache<>(10, 0));
+    }
+}
@@ -3,10 +3,14 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.gui.plugins.caching;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.*;
 
 import de.uka.ilkd.key.core.KeYMediator;
@@ -36,6 +40,7 @@ import de.uka.ilkd.key.proof.event.ProofDisposedEvent;
 import de.uka.ilkd.key.proof.event.ProofDisposedListener;
 import de.uka.ilkd.key.proof.reference.ClosedBy;
 import de.uka.ilkd.key.proof.reference.CopyReferenceResolver;
+import de.uka.ilkd.key.proof.reference.PersistentProofCache;
 import de.uka.ilkd.key.proof.reference.ReferenceSearcher;
 import de.uka.ilkd.key.proof.replay.CopyingProofReplayer;
 import de.uka.ilkd.key.prover.ProverTaskListener;
@@ -82,6 +87,19 @@ public class CachingExtension
     private ReferenceSearchButton referenceSearchButton;
     private CachingToggleAction toggleAction = null;
     private CachingPruneHandler cachingPruneHandler = null;
+    /**
+     * The persistent proof cache (opened on first use).
+     */
+    private PersistentProofCache persistentCache = null;
+    /**
+     * Thread storing proofs into and loading proofs from the persistent cache, such that neither
+     * the UI nor the automode wait for the disk.
+     */
+    private final ExecutorService persistentCacheWorker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Persistent proof cache");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private void initActions(MainWindow mainWindow) {
         if (toggleAction == null) {
@@ -118,6 +136,37 @@ public class CachingExtension
         return toggleAction.isSelected();
     }
 
+    /**
+     * Get the persistent proof cache configured in the settings.
+     *
+     * @return the cache or null, if it is disabled or cannot be opened
+     */
+    private synchronized PersistentProofCache getPersistentCache() {
+        ProofCachingSettings settings = CachingSettingsProvider.getCachingSettings();
+        if (!settings.getPersistent()) {
+            return null;
+        }
+        Path directory = Path.of(settings.getPersistentDirectory());
+        if (persistentCache != null && (!persistentCache.getDirectory().equals(directory)
+                || persistentCache.getCapacity() != settings.getPersistentSize())) {
+            try {
+                persistentCache.close();
+            } catch (IOException e) {
+                LOGGER.warn("failed to close persistent proof cache", e);
+            }
+            persistentCache = null;
+        }
+        if (persistentCache == null) {
+            try {
+                persistentCache =
+                    new PersistentProofCache(directory, settings.getPersistentSize());
+            } catch (IOException e) {
+                LOGGER.warn("failed to open persistent proof cache", e);
+            }
+        }
+        return persistentCache;
+    }
+
     @Override
     public void selectedProofChanged(KeYSelectionEvent e) {
         Proof p = e.getSource().getSelectedProof();
@@ -166,6 +215,15 @@ public class CachingExtension
             } catch (Exception exception) {
                 LOGGER.warn("error during reference search ", exception);
             }
+            PersistentProofCache cache = c == null ? getPersistentCache() : null;
+            if (cache != null) {
+                try {
+                    // a stored proof that is not loaded yet only helps in later searches
+                    c = cache.findCachedProof(goal.node(), persistentCacheWorker);
+                } catch (Exception exception) {
+                    LOGGER.warn("error during persistent reference search ", exception);
+                }
+            }
             if (c != null) {
                 // stop automode from working on this goal
                 goal.setEnabled(false);
@@ -246,6 +304,9 @@ public class CachingExtension
             return; // try close macro was running, no need to do anything here
         }
         Proof p = info.getProof();
+        if (p != null && !p.isDisposed() && p.closed()) {
+            persistentCacheWorker.execute(() -> storeInPersistentCache(p));
+        }
         if (p == null || p.isDisposed() || p.closed() || !(info.getSource() instanceof ApplyStrategy
                 || info.getSource() instanceof ProofMacro)) {
             return;
@@ -263,6 +324,23 @@ public class CachingExtension
         }
     }
 
+    /**
+     * Store a closed proof in the persistent cache (if enabled). Runs on the cache worker.
+     *
+     * @param p the proof
+     */
+    private void storeInPersistentCache(Proof p) {
+        PersistentProofCache cache = getPersistentCache();
+        if (cache == null || p.isDisposed()) {
+            return;
+        }
+        try {
+            cache.store(p);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("failed to store proof in persistent proof cache", e);
+        }
+    }
+
     /**
      * Listener that ensures steps are copied before the referenced proof is disposed.
      *
@@ -48,6 +48,12 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
     private static final String PRUNE_TITLE =
         "Behaviour when pruning into referenced proof";
 
+    /**
+     * Label for fourth option.
+     */
+    private static final String PERSISTENT =
+        "Store closed branches in the persistent proof cache";
+
     /**
      * Checkbox for first option.
      */
@@ -60,6 +66,10 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
      * Combobox for third option (prune behaviour).
      */
     private final JComboBox<String> pruneOption;
+    /**
+     * Checkbox for fourth option.
+     */
+    private final JCheckBox persistent;
 
     /**
      * Construct a new settings provider.
@@ -81,6 +91,10 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
                  all cached branches that reference it.""",
             0, x -> {
             }, PRUNE_REOPEN, PRUNE_COPY);
+        persistent = addCheckBox(PERSISTENT, """
+                Closed proofs are saved into the cache directory, so that
+                 their branches can be referenced in later KeY sessions.""",
+            false, emptyValidator());
     }
 
     @Override
@@ -102,6 +116,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         strategySearch.setSelected(ss.getEnabled());
         disposeOption.setSelectedItem(ss.getDispose());
         pruneOption.setSelectedItem(ss.getPrune());
+        persistent.setSelected(ss.getPersistent());
         return this;
     }
 
@@ -111,6 +126,7 @@ public class CachingSettingsProvider extends SettingsPanel implements SettingsPr
         ss.setEnabled(strategySearch.isEnabled());
         ss.setDispose(disposeOption.getSelectedItem().toString());
         ss.setPrune(pruneOption.getSelectedItem().toString());
+        ss.setPersistent(persistent.isSelected());
     }
 
 
@@ -3,7 +3,10 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package de.uka.ilkd.key.gui.plugins.caching.settings;
 
+import java.io.File;
+
 import de.uka.ilkd.key.settings.AbstractPropertiesSettings;
+import de.uka.ilkd.key.settings.PathConfig;
 
 /**
  * Settings for the proof caching functionality.
@@ -28,6 +31,18 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      * Key ID for {@link #prune}.
      */
     private static final String PRUNE_KEY = "Prune";
+    /**
+     * Key ID for {@link #persistent}.
+     */
+    private static final String PERSISTENT_KEY = "Persistent";
+    /**
+     * Key ID for {@link #persistentDirectory}.
+     */
+    private static final String PERSISTENT_DIRECTORY_KEY = "PersistentDirectory";
+    /**
+     * Key ID for {@link #persistentSize}.
+     */
+    private static final String PERSISTENT_SIZE_KEY = "PersistentSize";
 
 
     /**
@@ -45,6 +60,22 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
      */
     private final AbstractPropertiesSettings.PropertyEntry<String> prune =
         createStringProperty(PRUNE_KEY, "");
+    /**
+     * Whether closed branches are stored in (and searched in) the persistent proof cache.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Boolean> persistent =
+        createBooleanProperty(PERSISTENT_KEY, false);
+    /**
+     * Directory of the persistent proof cache.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<String> persistentDirectory =
+        createStringProperty(PERSISTENT_DIRECTORY_KEY,
+            PathConfig.getKeyConfigDir() + File.separator + "proofCache");
+    /**
+     * Maximal number of branches in the persistent proof cache.
+     */
+    private final AbstractPropertiesSettings.PropertyEntry<Integer> persistentSize =
+        createIntegerProperty(PERSISTENT_SIZE_KEY, 10000);
 
     public ProofCachingSettings() {
         super("ProofCaching");
@@ -95,4 +126,43 @@ public class ProofCachingSettings extends AbstractPropertiesSettings {
     public void setPrune(String operation) {
         prune.set(operation);
     }
+
+    public boolean getPersistent() {
+        return persistent.get();
+    }
+
+    /**
+     * Set whether the persistent proof cache is used.
+     *
+     * @param persistent value
+     */
+    public void setPersistent(boolean persistent) {
+        this.persistent.set(persistent);
+    }
+
+    public String getPersistentDirectory() {
+        return persistentDirectory.get();
+    }
+
+    /**
+     * Set the directory of the persistent proof cache.
+     *
+     * @param directory the directory
+     */
+    public void setPersistentDirectory(String directory) {
+        persistentDirectory.set(directory);
+    }
+
+    public int getPersistentSize() {
+        return persistentSize.get();
+    }
+
+    /**
+     * Set the maximal number of branches in the persistent proof cache.
+     *
+     * @param size the number of branches
+     */
+    public void setPersistentSize(int size) {
+        persistentSize.set(size);
+    }
 }
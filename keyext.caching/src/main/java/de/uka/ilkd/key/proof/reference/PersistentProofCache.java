@@ -0,0 +1,660 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.Executor;
+
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.io.ProblemLoaderException;
+import de.uka.ilkd.key.proof.io.ProofSaver;
+import de.uka.ilkd.key.rule.Taclet;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Disk-backed cache of closed proof branches that survives the current KeY session.
+ * <p>
+ * When a closed proof is {@link #store(Proof) stored}, it is saved as a <code>.proof</code> file
+ * into the cache directory and the first node of each of its referenceable closed branches is
+ * recorded in a memory-mapped index file. A record is keyed by a fingerprint of the node's sequent
+ * (the sorted {@link SequentFormula#hashCodeModProofIrrelevancy() hash codes} of its formulas),
+ * the {@link de.uka.ilkd.key.settings.ChoiceSettings} and the taclet base of the proof.
+ * </p>
+ * <p>
+ * {@link #findCachedProof(Node)} looks up the fingerprint of a new goal. Only on a hit, the stored
+ * proof is loaded (once per cache instance), the referenced node is compared formula by formula
+ * with the goal and a {@link ClosedBy} reference is returned. The proof steps are then copied
+ * on demand by {@link CopyReferenceResolver}, like for references into proofs of the current
+ * session. A caller that must not block on loading a proof (e.g. during rule application) passes
+ * an {@link Executor} that loads it in the background; the lookup then only succeeds once the
+ * proof is loaded.
+ * </p>
+ * <p>
+ * The index holds at most a fixed number of records. If it is full, the least recently used
+ * record is replaced and proof files no longer referenced by any record are deleted. Concurrent
+ * modifications by several KeY processes are serialized by a file lock on the index. Every
+ * modification advances a clock in the index header, so the in-memory lookup tables of a process
+ * are only rebuilt after another process has changed the index. Proofs are saved to a temporary
+ * file first and only moved into place while holding the lock.
+ * </p>
+ */
+public final class PersistentProofCache implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PersistentProofCache.class);
+
+    /**
+     * Name of the index file in the cache directory.
+     */
+    public static final String INDEX_FILE = "index.bin";
+
+    /**
+     * Magic number at the start of the index file ("KeYC").
+     */
+    private static final int MAGIC = 0x4B655943;
+    /**
+     * Version of the index file format.
+     */
+    private static final int VERSION = 1;
+    /**
+     * Size of the header: magic, version, capacity, padding and the access clock.
+     */
+    private static final int HEADER_SIZE = 24;
+    /**
+     * Size of a record: fingerprint, proof key, last access and node index and a used flag.
+     */
+    private static final int RECORD_SIZE = 32;
+
+    private static final int OFFSET_CAPACITY = 8;
+    private static final int OFFSET_CLOCK = 16;
+
+    private static final int RECORD_FINGERPRINT = 0;
+    private static final int RECORD_PROOF = 8;
+    private static final int RECORD_ACCESS = 16;
+    private static final int RECORD_NODE = 24;
+    private static final int RECORD_USED = 28;
+
+    /**
+     * The cache directory.
+     */
+    private final Path directory;
+    /**
+     * Maximal number of records.
+     */
+    private final int capacity;
+    /**
+     * Channel of the index file.
+     */
+    private final FileChannel channel;
+    /**
+     * The mapped index file.
+     */
+    private final MappedByteBuffer index;
+    /**
+     * Stored proofs loaded by {@link #findCachedProof(Node)}, by proof key.
+     */
+    private final Map<Long, KeYEnvironment<?>> loadedProofs = new HashMap<>();
+    /**
+     * Keys of the proofs currently loaded in the background.
+     */
+    private final Set<Long> loadingProofs = new HashSet<>();
+    /**
+     * Slot of the record of each fingerprint.
+     */
+    private final Map<Long, Integer> slotsByFingerprint = new HashMap<>();
+    /**
+     * Slots of the used records by their last access (unique, as it is taken from the clock).
+     */
+    private final TreeMap<Long, Integer> slotsByAccess = new TreeMap<>();
+    /**
+     * Number of records referring to each stored proof.
+     */
+    private final Map<Long, Integer> recordsByProof = new HashMap<>();
+    /**
+     * Unused slots.
+     */
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    /**
+     * Clock of the index state reflected by the lookup tables above (-1 if not built yet).
+     */
+    private long indexedClock = -1;
+    /**
+     * Whether the cache has been closed.
+     */
+    private boolean closed = false;
+    /**
+     * Taclet base hashes of the proofs seen so far.
+     */
+    private final Map<Proof, Long> tacletBaseHashes = new WeakHashMap<>();
+
+    /**
+     * Open (or create) the cache in the given directory.
+     *
+     * @param directory the cache directory
+     * @param capacity the maximal number of cached branches
+     * @throws IOException if the index file cannot be opened
+     */
+    public PersistentProofCache(Path directory, int capacity) throws IOException {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.directory = directory;
+        this.capacity = capacity;
+        Files.createDirectories(directory);
+        channel = FileChannel.open(directory.resolve(INDEX_FILE), StandardOpenOption.CREATE,
+            StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try (FileLock ignored = channel.lock()) {
+            List<long[]> previous = readRecords();
+            index = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                HEADER_SIZE + (long) capacity * RECORD_SIZE);
+            if (index.getInt(0) != MAGIC || index.getInt(4) != VERSION
+                    || index.getInt(OFFSET_CAPACITY) != capacity) {
+                initialize(previous);
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return the cache directory
+     */
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return the maximal number of cached branches
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Read the records of an existing index file with a valid header.
+     *
+     * @return the records (fingerprint, proof key, last access, node index)
+     * @throws IOException on I/O errors
+     */
+    private List<long[]> readRecords() throws IOException {
+        List<long[]> result = new ArrayList<>();
+        if (channel.size() < HEADER_SIZE) {
+            return result;
+        }
+        MappedByteBuffer old = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        if (old.getInt(0) != MAGIC || old.getInt(4) != VERSION) {
+            return result;
+        }
+        int oldCapacity = old.getInt(OFFSET_CAPACITY);
+        for (int i = 0; i < oldCapacity
+                && HEADER_SIZE + (long) (i + 1) * RECORD_SIZE <= channel.size(); i++) {
+            int pos = HEADER_SIZE + i * RECORD_SIZE;
+            if (old.getInt(pos + RECORD_USED) != 0) {
+                result.add(new long[] { old.getLong(pos + RECORD_FINGERPRINT),
+                    old.getLong(pos + RECORD_PROOF), old.getLong(pos + RECORD_ACCESS),
+                    old.getInt(pos + RECORD_NODE) });
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Write a new header and keep the most recently used of the given records.
+     *
+     * @param previous records of the previous index file
+     * @throws IOException on I/O errors
+     */
+    private void initialize(List<long[]> previous) throws IOException {
+        for (int i = 0; i < HEADER_SIZE + capacity * RECORD_SIZE; i += 4) {
+            index.putInt(i, 0);
+        }
+        index.putInt(0, MAGIC);
+        index.putInt(4, VERSION);
+        index.putInt(OFFSET_CAPACITY, capacity);
+        previous.sort(Comparator.comparingLong((long[] r) -> r[2]).reversed());
+        // renumber the accesses (keeping their order) to make them unique
+        int kept = Math.min(previous.size(), capacity);
+        long clock = previous.stream().mapToLong(r -> r[2]).max().orElse(0);
+        for (int i = 0; i < kept; i++) {
+            long[] r = previous.get(i);
+            writeRecord(i, r[0], r[1], clock + kept - i, (int) r[3]);
+        }
+        index.putLong(OFFSET_CLOCK, clock + kept);
+        index.force();
+        if (previous.size() > capacity) {
+            deleteUnreferencedProofs();
+        }
+    }
+
+    private void writeRecord(int slot, long fingerprint, long proofKey, long access, int node) {
+        int pos = HEADER_SIZE + slot * RECORD_SIZE;
+        index.putLong(pos + RECORD_FINGERPRINT, fingerprint);
+        index.putLong(pos + RECORD_PROOF, proofKey);
+        index.putLong(pos + RECORD_ACCESS, access);
+        index.putInt(pos + RECORD_NODE, node);
+        index.putInt(pos + RECORD_USED, 1);
+    }
+
+    private long tick() {
+        long clock = index.getLong(OFFSET_CLOCK) + 1;
+        index.putLong(OFFSET_CLOCK, clock);
+        return clock;
+    }
+
+    /**
+     * Store the closed branches of the given proof in the cache.
+     *
+     * @param proof a proof
+     * @return the number of recorded branches
+     * @throws IOException if the proof or the index cannot be written
+     */
+    public int store(Proof proof) throws IOException {
+        List<Node> nodes = referenceableNodes(proof);
+        if (nodes.isEmpty()) {
+            return 0;
+        }
+        long proofKey = fingerprint(proof.root().sequent(), proof);
+        long[] fingerprints = new long[nodes.size()];
+        for (int i = 0; i < fingerprints.length; i++) {
+            fingerprints[i] = fingerprint(nodes.get(i).sequent(), proof);
+        }
+        Map<Node, Integer> positions = nodePositions(proof);
+
+        // saved next to the target, such that relative paths in the proof file stay the same
+        Path saved = Files.createTempFile(directory, "store", ".tmp");
+        try {
+            ProofSaver.saveToFile(saved.toFile(), proof);
+            synchronized (this) {
+                try (FileLock ignored = channel.lock()) {
+                    Files.move(saved, proofFile(proofKey), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+                    syncLookup();
+                    Set<Long> replacedProofs = new HashSet<>();
+                    for (int i = 0; i < fingerprints.length; i++) {
+                        Integer slot = slotsByFingerprint.get(fingerprints[i]);
+                        if (slot == null) {
+                            slot = freeSlots.isEmpty() ? slotsByAccess.firstEntry().getValue()
+                                    : freeSlots.poll();
+                        }
+                        Long replaced = putRecord(slot, fingerprints[i], proofKey,
+                            positions.get(nodes.get(i)));
+                        if (replaced != null) {
+                            replacedProofs.add(replaced);
+                        }
+                    }
+                    for (long key : replacedProofs) {
+                        if (!recordsByProof.containsKey(key)) {
+                            Files.deleteIfExists(proofFile(key));
+                        }
+                    }
+                    index.force();
+                    indexedClock = index.getLong(OFFSET_CLOCK);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(saved);
+        }
+        return nodes.size();
+    }
+
+    /**
+     * Try to find a cached branch equivalent to the given goal. The referenced proof is loaded
+     * on the calling thread, if necessary.
+     *
+     * @param newNode new node (must be an open goal)
+     * @return a reference into a stored proof (or null, if none found)
+     */
+    public ClosedBy findCachedProof(Node newNode) {
+        return findCachedProof(newNode, null);
+    }
+
+    /**
+     * Try to find a cached branch equivalent to the given goal. If the referenced proof is not
+     * loaded yet and a loader is given, the proof is loaded by it and null is returned.
+     *
+     * @param newNode new node (must be an open goal)
+     * @param loader executor to load stored proofs with (or null to load them directly)
+     * @return a reference into a stored proof (or null, if none found)
+     */
+    public ClosedBy findCachedProof(Node newNode, Executor loader) {
+        if (!ReferenceSearcher.suitableForCloseByReference(newNode)) {
+            return null;
+        }
+        long fingerprint = fingerprint(newNode.sequent(), newNode.proof());
+        long proofKey;
+        int position;
+        synchronized (this) {
+            try (FileLock ignored = channel.lock()) {
+                syncLookup();
+                Integer slot = slotsByFingerprint.get(fingerprint);
+                if (slot == null) {
+                    return null;
+                }
+                int pos = HEADER_SIZE + slot * RECORD_SIZE;
+                proofKey = index.getLong(pos + RECORD_PROOF);
+                position = index.getInt(pos + RECORD_NODE);
+                slotsByAccess.remove(index.getLong(pos + RECORD_ACCESS));
+                long access = tick();
+                index.putLong(pos + RECORD_ACCESS, access);
+                slotsByAccess.put(access, slot);
+                indexedClock = access;
+            } catch (IOException e) {
+                LOGGER.warn("Failed to read proof cache index", e);
+                return null;
+            }
+        }
+
+        Proof proof;
+        if (loader == null) {
+            proof = loadProof(proofKey);
+        } else {
+            proof = loadedProof(proofKey);
+            if (proof == null) {
+                loadInBackground(proofKey, loader);
+            }
+        }
+        if (proof == null) {
+            return null;
+        }
+        Node node = nodeAt(proof, position);
+        Sequent seq = newNode.sequent();
+        if (node == null || !node.isClosed()
+                || !ReferenceIndex.containedIn(seq.antecedent(), node.sequent().antecedent())
+                || !ReferenceIndex.containedIn(seq.succedent(), node.sequent().succedent())) {
+            // fingerprint collision or changed proof file
+            return null;
+        }
+        return new ClosedBy(proof, node, new HashSet<>());
+    }
+
+    /**
+     * @param proofKey the key of a proof
+     * @return the stored proof, if it is loaded already (else null)
+     */
+    private synchronized Proof loadedProof(long proofKey) {
+        KeYEnvironment<?> env = loadedProofs.get(proofKey);
+        if (env == null || env.getLoadedProof() == null || env.getLoadedProof().isDisposed()) {
+            return null;
+        }
+        return env.getLoadedProof();
+    }
+
+    /**
+     * Load the stored proof with the given key (if it is not loaded yet).
+     *
+     * @param proofKey the key of the proof
+     * @return the loaded proof or null, if it cannot be loaded
+     */
+    private Proof loadProof(long proofKey) {
+        Proof proof = loadedProof(proofKey);
+        if (proof != null) {
+            return proof;
+        }
+        KeYEnvironment<?> env;
+        try {
+            env = KeYEnvironment.load(proofFile(proofKey).toFile());
+        } catch (ProblemLoaderException e) {
+            LOGGER.warn("Failed to load cached proof", e);
+            return null;
+        }
+        synchronized (this) {
+            if (!closed && loadedProof(proofKey) == null) {
+                loadedProofs.put(proofKey, env);
+                return env.getLoadedProof();
+            }
+        }
+        // loaded concurrently or closed in the meantime
+        env.dispose();
+        return loadedProof(proofKey);
+    }
+
+    /**
+     * Load the stored proof with the given key using the executor, unless it is loaded already.
+     *
+     * @param proofKey the key of the proof
+     * @param loader the executor
+     */
+    private synchronized void loadInBackground(long proofKey, Executor loader) {
+        if (closed || !loadingProofs.add(proofKey)) {
+            return;
+        }
+        loader.execute(() -> {
+            try {
+                loadProof(proofKey);
+            } finally {
+                synchronized (this) {
+                    loadingProofs.remove(proofKey);
+                }
+            }
+        });
+    }
+
+    /**
+     * Rebuild the lookup tables if the index has been modified by another process.
+     * Must be called while holding the file lock.
+     */
+    private void syncLookup() {
+        long clock = index.getLong(OFFSET_CLOCK);
+        if (clock == indexedClock) {
+            return;
+        }
+        slotsByFingerprint.clear();
+        slotsByAccess.clear();
+        recordsByProof.clear();
+        freeSlots.clear();
+        for (int i = 0; i < capacity; i++) {
+            int pos = HEADER_SIZE + i * RECORD_SIZE;
+            if (index.getInt(pos + RECORD_USED) == 0) {
+                freeSlots.add(i);
+                continue;
+            }
+            slotsByFingerprint.put(index.getLong(pos + RECORD_FINGERPRINT), i);
+            slotsByAccess.put(index.getLong(pos + RECORD_ACCESS), i);
+            recordsByProof.merge(index.getLong(pos + RECORD_PROOF), 1, Integer::sum);
+        }
+        indexedClock = clock;
+    }
+
+    /**
+     * Write a record into a slot (with a new access) and update the lookup tables.
+     * Must be called while holding the file lock.
+     *
+     * @param slot the slot (either used or just taken from {@link #freeSlots})
+     * @param fingerprint fingerprint of the node
+     * @param proofKey key of the stored proof
+     * @param node position of the node in the proof
+     * @return the proof key of the replaced record (or null, if the slot was free)
+     */
+    private Long putRecord(int slot, long fingerprint, long proofKey, int node) {
+        int pos = HEADER_SIZE + slot * RECORD_SIZE;
+        Long replaced = null;
+        if (index.getInt(pos + RECORD_USED) != 0) {
+            replaced = index.getLong(pos + RECORD_PROOF);
+            slotsByFingerprint.remove(index.getLong(pos + RECORD_FINGERPRINT));
+            slotsByAccess.remove(index.getLong(pos + RECORD_ACCESS));
+            recordsByProof.computeIfPresent(replaced, (k, n) -> n > 1 ? n - 1 : null);
+        }
+        long access = tick();
+        writeRecord(slot, fingerprint, proofKey, access, node);
+        slotsByFingerprint.put(fingerprint, slot);
+        slotsByAccess.put(access, slot);
+        recordsByProof.merge(proofKey, 1, Integer::sum);
+        return replaced;
+    }
+
+    /**
+     * Delete proof files of the cache directory that are not referenced by any record.
+     *
+     * @throws IOException on I/O errors
+     */
+    private void deleteUnreferencedProofs() throws IOException {
+        Set<Path> referenced = new HashSet<>();
+        for (int i = 0; i < capacity; i++) {
+            int pos = HEADER_SIZE + i * RECORD_SIZE;
+            if (index.getInt(pos + RECORD_USED) != 0) {
+                referenced.add(proofFile(index.getLong(pos + RECORD_PROOF)));
+            }
+        }
+        try (var files = Files.list(directory)) {
+            for (Path file : files.filter(x -> x.toString().endsWith(".proof")).toList()) {
+                if (!referenced.contains(file)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private Path proofFile(long proofKey) {
+        return directory.resolve(Long.toHexString(proofKey) + ".proof");
+    }
+
+    /**
+     * Collect the first nodes of the closed branches of a proof that may be referenced.
+     *
+     * @param proof a proof
+     * @return the nodes
+     */
+    private static List<Node> referenceableNodes(Proof proof) {
+        List<Node> result = new ArrayList<>();
+        Set<Node> checkedNodes = new HashSet<>();
+        Queue<Node> nodesToCheck = new ArrayDeque<>();
+        for (Goal goal : proof.closedGoals()) {
+            Node n = goal.node();
+            if (n.lookup(ClosedBy.class) != null || (n.parent() != null
+                    && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE)) {
+                // the steps of the branch are not part of the saved proof
+                continue;
+            }
+            nodesToCheck.add(n);
+        }
+        while (!nodesToCheck.isEmpty()) {
+            Node n = nodesToCheck.remove();
+            if (checkedNodes.contains(n) || !n.isClosed()) {
+                continue;
+            }
+            checkedNodes.add(n);
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.parent() != null) {
+                nodesToCheck.add(n.parent());
+            }
+            if (ReferenceSearcher.suitableForCloseByReference(n)) {
+                result.add(n);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Number the nodes of a proof in the order of {@link Node#subtreeIterator()}, which is
+     * preserved when saving and loading the proof.
+     *
+     * @param proof a proof
+     * @return position of each node
+     */
+    private static Map<Node, Integer> nodePositions(Proof proof) {
+        Map<Node, Integer> result = new IdentityHashMap<>();
+        Iterator<Node> it = proof.root().subtreeIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            result.put(it.next(), i);
+        }
+        return result;
+    }
+
+    private static Node nodeAt(Proof proof, int position) {
+        Iterator<Node> it = proof.root().subtreeIterator();
+        for (int i = 0; it.hasNext(); i++) {
+            Node n = it.next();
+            if (i == position) {
+                return n;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Compute the fingerprint of a sequent in the context of a proof. The fingerprint does not
+     * depend on the order of the formulas.
+     *
+     * @param sequent a sequent
+     * @param proof the proof containing the sequent
+     * @return the fingerprint
+     */
+    long fingerprint(Sequent sequent, Proof proof) {
+        long h = 1125899906842597L;
+        h = mix(h, hashCodes(sequent.antecedent()));
+        h = mix(h, hashCodes(sequent.succedent()));
+        h = 31 * h + new TreeMap<>(proof.getSettings().getChoiceSettings().getDefaultChoices())
+                .toString().hashCode();
+        return 31 * h + tacletBaseHash(proof);
+    }
+
+    private static int[] hashCodes(Semisequent semisequent) {
+        int[] result = new int[semisequent.size()];
+        int i = 0;
+        for (SequentFormula sf : semisequent) {
+            result[i++] = sf.hashCodeModProofIrrelevancy();
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static long mix(long h, int[] values) {
+        h = 31 * h + values.length;
+        for (int v : values) {
+            h = 31 * h + v;
+        }
+        return h;
+    }
+
+    /**
+     * Hash of the names and definitions of the taclets available in the proof.
+     *
+     * @param proof a proof
+     * @return the hash
+     */
+    private synchronized long tacletBaseHash(Proof proof) {
+        return tacletBaseHashes.computeIfAbsent(proof, p -> {
+            List<String> taclets = new ArrayList<>();
+            for (Taclet taclet : p.getInitConfig().activatedTaclets()) {
+                taclets.add(taclet.name() + ":" + taclet.toString().hashCode());
+            }
+            Collections.sort(taclets);
+            long h = 1;
+            for (String taclet : taclets) {
+                h = 31 * h + taclet.hashCode();
+            }
+            return h;
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        for (KeYEnvironment<?> env : loadedProofs.values()) {
+            env.dispose();
+        }
+        loadedProofs.clear();
+        index.force();
+        channel.close();
+    }
+}
@@ -0,0 +1,335 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.util.*;
+
+import de.uka.ilkd.key.logic.Semisequent;
+import de.uka.ilkd.key.logic.Sequent;
+import de.uka.ilkd.key.logic.SequentFormula;
+import de.uka.ilkd.key.proof.Goal;
+import de.uka.ilkd.key.proof.Node;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.proof.ProofTreeEvent;
+import de.uka.ilkd.key.proof.ProofTreeListener;
+import de.uka.ilkd.key.rule.NoPosTacletApp;
+import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
+
+import org.key_project.slicing.DependencyTracker;
+import org.key_project.slicing.analysis.AnalysisResults;
+
+/**
+ * Index of the closed branches of a proof that may be referenced by other proofs.
+ * <p>
+ * For each referenceable node (the first node of a closed branch), the index maps the
+ * {@link SequentFormula#hashCodeModProofIrrelevancy() hash codes} of the formulas of its sequent
+ * to the node. A node can only be referenced by a new goal if the new sequent contains all of the
+ * node's formulas, hence the candidates are found by counting the hash hits of the new sequent's
+ * formulas instead of comparing with every closed branch.
+ * </p>
+ * <p>
+ * The index is built once per proof and registered in it. It is extended by the closed goals that
+ * are added to the proof afterwards and rebuilt after pruning.
+ * </p>
+ */
+final class ReferenceIndex {
+    /**
+     * The indexed proof.
+     */
+    private final Proof proof;
+    /**
+     * The user-defined taclets of the proof (by their string representation).
+     */
+    private final List<String> userTaclets;
+    /**
+     * Referenceable nodes in the order they were found.
+     */
+    private final List<Entry> entries = new ArrayList<>();
+    /**
+     * Hash codes of antecedent formulas mapped to the entries containing them.
+     */
+    private final Map<Integer, List<Entry>> antecedentIndex = new HashMap<>();
+    /**
+     * Hash codes of succedent formulas mapped to the entries containing them.
+     */
+    private final Map<Integer, List<Entry>> succedentIndex = new HashMap<>();
+    /**
+     * Entries with an empty (reduced) sequent, they match every goal.
+     */
+    private final List<Entry> emptyEntries = new ArrayList<>();
+    /**
+     * Closed goals whose branches have been indexed.
+     */
+    private final Set<Node> indexedGoals = new HashSet<>();
+    /**
+     * Closed nodes already visited when walking up from the closed goals.
+     */
+    private final Set<Node> checkedNodes = new HashSet<>();
+    /**
+     * The dependency tracker whose analysis was used to reduce the indexed sequents (if any).
+     */
+    private DependencyTracker analysisTracker;
+    /**
+     * The analysis used to reduce the indexed sequents (if any).
+     */
+    private AnalysisResults results;
+    /**
+     * Whether the proof was pruned since the index has been built.
+     */
+    private boolean pruned;
+
+    private ReferenceIndex(Proof proof) {
+        this.proof = proof;
+        var proofFile = proof.getProofFile() != null ? proof.getProofFile().toString() : "////";
+        this.userTaclets = proof.allGoals().head().ruleAppIndex().tacletIndex()
+                .allNoPosTacletApps().stream()
+                .filter(x -> x.taclet().getOrigin() != null
+                        && x.taclet().getOrigin().contains(proofFile))
+                .map(x -> x.taclet().toString()).toList();
+        proof.addProofTreeListener(new ProofTreeListener() {
+            @Override
+            public void proofPruned(ProofTreeEvent e) {
+                synchronized (ReferenceIndex.this) {
+                    pruned = true;
+                }
+            }
+        });
+    }
+
+    /**
+     * Get the index of the given proof, creating it if necessary.
+     *
+     * @param proof a proof
+     * @return the index registered in the proof
+     */
+    static synchronized ReferenceIndex of(Proof proof) {
+        ReferenceIndex index = proof.lookup(ReferenceIndex.class);
+        if (index == null) {
+            index = new ReferenceIndex(proof);
+            proof.register(index, ReferenceIndex.class);
+        }
+        return index;
+    }
+
+    /**
+     * @return the user-defined taclets of the indexed proof (by their string representation)
+     */
+    List<String> getUserTaclets() {
+        return userTaclets;
+    }
+
+    /**
+     * Find the first indexed closed branch whose sequent is contained in the given sequent.
+     *
+     * @param sequent sequent of the new goal
+     * @return the first node of the branch and the analysis results used to reduce its sequent
+     *         (or null, if none is found)
+     */
+    synchronized Match find(Sequent sequent) {
+        update();
+        final Map<Entry, Integer> hits = new IdentityHashMap<>();
+        countHits(sequent.antecedent(), antecedentIndex, hits);
+        countHits(sequent.succedent(), succedentIndex, hits);
+
+        final List<Entry> candidates = new ArrayList<>(emptyEntries);
+        for (var hit : hits.entrySet()) {
+            if (hit.getValue() == hit.getKey().keys) {
+                candidates.add(hit.getKey());
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Entry::ordinal));
+        for (Entry e : candidates) {
+            // the hash codes match, check the formulas
+            if (e.node.isClosed()
+                    && containedIn(sequent.antecedent(), e.sequent.antecedent())
+                    && containedIn(sequent.succedent(), e.sequent.succedent())) {
+                return new Match(e.node, results);
+            }
+        }
+        return null;
+    }
+
+    private static void countHits(Semisequent semisequent, Map<Integer, List<Entry>> index,
+            Map<Entry, Integer> hits) {
+        for (int hash : hashCodes(semisequent)) {
+            for (Entry e : index.getOrDefault(hash, List.of())) {
+                hits.merge(e, 1, Integer::sum);
+            }
+        }
+    }
+
+    private static Set<Integer> hashCodes(Semisequent semisequent) {
+        final Set<Integer> result = new HashSet<>();
+        for (SequentFormula sf : semisequent) {
+            result.add(sf.hashCodeModProofIrrelevancy());
+        }
+        return result;
+    }
+
+    /**
+     * Add the branches closed since the last update to the index. The index is rebuilt if the
+     * proof has been pruned or the dependency analysis used to reduce the sequents has changed.
+     * Since the tracker keeps its analysis until the proof is pruned, usually only the new
+     * branches are indexed.
+     */
+    private void update() {
+        final List<Node> newGoals = new ArrayList<>();
+        for (Goal goal : proof.closedGoals()) {
+            if (!indexedGoals.contains(goal.node())) {
+                newGoals.add(goal.node());
+            }
+        }
+        // only try to get analysis results if it is a pure proof
+        var depTracker = proof.lookup(DependencyTracker.class);
+        if (depTracker != null && proof.closedGoals().stream()
+                .anyMatch(x -> x.node().lookup(ClosedBy.class) != null)) {
+            depTracker = null;
+        }
+        AnalysisResults newResults = results;
+        if (depTracker != null && (pruned || depTracker != analysisTracker
+                || !newGoals.isEmpty())) {
+            try {
+                newResults = depTracker.analyze(true, false);
+            } catch (Exception ignored) {
+                // if the analysis for some reason fails, we simply proceed as usual
+                newResults = null;
+            }
+        } else if (depTracker == null) {
+            newResults = null;
+        }
+        if (pruned || depTracker != analysisTracker || newResults != results) {
+            clear();
+            newGoals.clear();
+            for (Goal goal : proof.closedGoals()) {
+                newGoals.add(goal.node());
+            }
+            analysisTracker = depTracker;
+            results = newResults;
+        }
+        indexedGoals.addAll(newGoals);
+
+        Queue<Node> nodesToCheck = new ArrayDeque<>();
+        for (Node n : newGoals) {
+            // first, find the initial node in this branch
+            if (n.parent() != null
+                    && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
+                // cannot reference this kind of branch
+                continue;
+            }
+            nodesToCheck.add(n);
+        }
+        while (!nodesToCheck.isEmpty()) {
+            Node n = nodesToCheck.remove();
+            if (checkedNodes.contains(n) || !n.isClosed()) {
+                continue;
+            }
+            checkedNodes.add(n);
+
+            // find the first node in the branch
+            while (n.parent() != null && n.parent().childrenCount() == 1) {
+                n = n.parent();
+            }
+            if (n.parent() != null) {
+                nodesToCheck.add(n.parent());
+            }
+            add(n, results != null ? results.reduceSequent(n) : n.sequent());
+        }
+    }
+
+    private void add(Node node, Sequent sequent) {
+        final Set<Integer> ante = hashCodes(sequent.antecedent());
+        final Set<Integer> succ = hashCodes(sequent.succedent());
+        final Entry entry = new Entry(entries.size(), node, sequent, ante.size() + succ.size());
+        entries.add(entry);
+        if (entry.keys == 0) {
+            emptyEntries.add(entry);
+        }
+        for (int hash : ante) {
+            antecedentIndex.computeIfAbsent(hash, x -> new ArrayList<>()).add(entry);
+        }
+        for (int hash : succ) {
+            succedentIndex.computeIfAbsent(hash, x -> new ArrayList<>()).add(entry);
+        }
+    }
+
+    private void clear() {
+        entries.clear();
+        antecedentIndex.clear();
+        succedentIndex.clear();
+        emptyEntries.clear();
+        indexedGoals.clear();
+        checkedNodes.clear();
+        analysisTracker = null;
+        results = null;
+        pruned = false;
+    }
+
+    /**
+     * Check whether all formulas in {@code subset} are contained in {@code superset}.
+     *
+     * @param superset Semisequent supposed to contain {@code subset}
+     * @param subset Semisequent supposed to be in {@code superset}
+     * @return whether all formulas are present
+     */
+    static boolean containedIn(Semisequent superset, Semisequent subset) {
+        for (SequentFormula sf : subset) {
+            boolean found = false;
+            for (SequentFormula sf2 : superset) {
+                if (sf2.equalsModProofIrrelevancy(sf)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check whether the user-defined taclets of this proof are available in the given proof.
+     *
+     * @param newTaclets string representations of the taclets of the new proof
+     * @return whether all user-defined taclets are present
+     */
+    boolean userTacletsAvailableIn(Set<String> newTaclets) {
+        return newTaclets.containsAll(userTaclets);
+    }
+
+    /**
+     * Collect the string representations of all taclets of a proof.
+     *
+     * @param proof a proof
+     * @return the taclets of the proof
+     */
+    static Set<String> taclets(Proof proof) {
+        final Set<String> result = new HashSet<>();
+        for (NoPosTacletApp app : proof.allGoals().head().ruleAppIndex().tacletIndex()
+                .allNoPosTacletApps()) {
+            result.add(app.taclet().toString());
+        }
+        return result;
+    }
+
+    /**
+     * An indexed node.
+     *
+     * @param ordinal position of the node in the order of discovery
+     * @param node the first node of a closed branch
+     * @param sequent the (possibly reduced) sequent of the node
+     * @param keys number of distinct hash codes of the formulas of the sequent
+     */
+    private record Entry(int ordinal, Node node, Sequent sequent, int keys) {
+    }
+
+    /**
+     * Result of {@link #find(Sequent)}.
+     *
+     * @param node the first node of the referenced branch
+     * @param results the analysis used to reduce the sequent of the node (or null)
+     */
+    record Match(Node node, AnalysisResults results) {
+    }
+}
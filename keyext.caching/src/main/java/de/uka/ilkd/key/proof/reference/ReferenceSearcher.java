@@ -4,19 +4,12 @@
 package de.uka.ilkd.key.proof.reference;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import javax.swing.*;
 
-import de.uka.ilkd.key.logic.Semisequent;
 import de.uka.ilkd.key.logic.Sequent;
-import de.uka.ilkd.key.logic.SequentFormula;
 import de.uka.ilkd.key.logic.Term;
 import de.uka.ilkd.key.proof.Node;
 import de.uka.ilkd.key.proof.Proof;
-import de.uka.ilkd.key.rule.NoPosTacletApp;
-import de.uka.ilkd.key.rule.merge.CloseAfterMerge;
 
-import org.key_project.slicing.DependencyTracker;
 import org.key_project.slicing.analysis.AnalysisResults;
 
 /**
@@ -42,30 +35,22 @@ public final class ReferenceSearcher {
         if (!suitableForCloseByReference(newNode)) {
             return null;
         }
+        Set<String> newTaclets = null;
         for (int i = 0; i < previousProofs.size(); i++) {
             Proof p = previousProofs.get(i);
             if (p == newNode.proof()) {
                 continue; // doesn't make sense to cache in the same proof
             }
+            ReferenceIndex index = ReferenceIndex.of(p);
             // conservative check: all user-defined rules in a previous proof
             // have to also be available in the new proof
-            var proofFile = p.getProofFile() != null ? p.getProofFile().toString() : "////";
-            var tacletIndex = p.allGoals().head().ruleAppIndex().tacletIndex();
-            var newTacletIndex = newNode.proof().allGoals().head().ruleAppIndex().tacletIndex();
-            Set<NoPosTacletApp> newTaclets = newTacletIndex.allNoPosTacletApps();
-            var tacletsOk = true;
-            for (var taclet : tacletIndex.allNoPosTacletApps().stream()
-                    .filter(x -> x.taclet().getOrigin() != null
-                            && x.taclet().getOrigin().contains(proofFile))
-                    .toList()) {
-                if (newTaclets.stream().noneMatch(newTaclet -> Objects
-                        .equals(taclet.taclet().toString(), newTaclet.taclet().toString()))) {
-                    tacletsOk = false;
-                    break;
+            if (!index.getUserTaclets().isEmpty()) {
+                if (newTaclets == null) {
+                    newTaclets = ReferenceIndex.taclets(newNode.proof());
+                }
+                if (!index.userTacletsAvailableIn(newTaclets)) {
+                    continue;
                 }
-            }
-            if (!tacletsOk) {
-                continue;
             }
 
             // only search in compatible proofs
@@ -73,94 +58,27 @@ public final class ReferenceSearcher {
                     .equals(newNode.proof().getSettings().getChoiceSettings())) {
                 continue;
             }
-            Set<Node> checkedNodes = new HashSet<>();
-            Queue<Node> nodesToCheck = p.closedGoals().stream().map(goal -> {
-                // first, find the initial node in this branch
-                Node n = goal.node();
-                if (n.parent() != null
-                        && n.parent().getAppliedRuleApp().rule() == CloseAfterMerge.INSTANCE) {
-                    // cannot reference this kind of branch
-                    return null;
-                }
-                return n;
-            }).filter(Objects::nonNull).collect(Collectors.toCollection(ArrayDeque::new));
-            var depTracker = p.lookup(DependencyTracker.class);
-            AnalysisResults results = null;
-            // only try to get analysis results if it is a pure proof
-            if (depTracker != null && p.closedGoals().stream()
-                    .noneMatch(x -> x.node().lookup(ClosedBy.class) != null)) {
-                try {
-                    results = depTracker.analyze(true, false);
-                } catch (Exception ignored) {
-                    // if the analysis for some reason fails, we simply proceed as usual
-                }
+            // find a branch whose sequent is a subset of the new sequent
+            ReferenceIndex.Match match = index.find(newNode.sequent());
+            if (match == null) {
+                continue;
             }
-            while (!nodesToCheck.isEmpty()) {
-                // for each node, check that the sequent in the reference is
-                // a subset of the new sequent
-                Node n = nodesToCheck.remove();
-                if (checkedNodes.contains(n) || !n.isClosed()) {
-                    continue;
-                }
-                checkedNodes.add(n);
-
-                // find the first node in the branch
-                while (n.parent() != null && n.parent().childrenCount() == 1) {
-                    n = n.parent();
-                }
-                if (n.parent() != null) {
-                    nodesToCheck.add(n.parent());
-                }
-                Sequent seq = n.sequent();
-                if (results != null) {
-                    seq = results.reduceSequent(n);
-                }
-                Semisequent ante = seq.antecedent();
-                Semisequent succ = seq.succedent();
-                Semisequent anteNew = newNode.sequent().antecedent();
-                Semisequent succNew = newNode.sequent().succedent();
-                if (!containedIn(anteNew, ante) || !containedIn(succNew, succ)) {
-                    continue;
-                }
-                Set<Node> toSkip = new HashSet<>();
-                if (results != null) {
-                    // computed skipped nodes by iterating through all nodes
-                    AnalysisResults finalResults = results;
-                    n.subtreeIterator().forEachRemaining(x -> {
-                        if (!finalResults.usefulSteps.contains(x)) {
-                            toSkip.add(x);
-                        }
-                    });
-                }
-                return new ClosedBy(p, n, toSkip);
+            Node n = match.node();
+            Set<Node> toSkip = new HashSet<>();
+            if (match.results() != null) {
+                // computed skipped nodes by iterating through all nodes
+                AnalysisResults finalResults = match.results();
+                n.subtreeIterator().forEachRemaining(x -> {
+                    if (!finalResults.usefulSteps.contains(x)) {
+                        toSkip.add(x);
+                    }
+                });
             }
+            return new ClosedBy(p, n, toSkip);
         }
         return null;
     }
 
-    /**
-     * Check whether all formulas in {@code subset} are conatined in {@code superset}.
-     *
-     * @param superset Semisequent supposed to contain {@code subset}
-     * @param subset Semisequent supposed to be in {@code superset}
-     * @return whether all formulas are present
-     */
-    private static boolean containedIn(Semisequent superset, Semisequent subset) {
-        for (SequentFormula sf : subset) {
-            boolean found = false;
-            for (SequentFormula sf2 : superset) {
-                if (sf2.equalsModProofIrrelevancy(sf)) {
-                    found = true;
-                    break;
-                }
-            }
-            if (!found) {
-                return false;
-            }
-        }
-        return true;
-    }
-
     /**
      * Check whether a node is suitable for closing by reference.
      * This is not the case if it contains any terms influenced by external factors:
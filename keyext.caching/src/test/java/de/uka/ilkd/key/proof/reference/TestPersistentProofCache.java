@@ -0,0 +1,129 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package de.uka.ilkd.key.proof.reference;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
+import de.uka.ilkd.key.control.KeYEnvironment;
+import de.uka.ilkd.key.proof.Proof;
+import de.uka.ilkd.key.settings.GeneralSettings;
+
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestPersistentProofCache {
+    private static final File testCaseDirectory = FindResources.getTestCasesDirectory();
+
+    @TempDir
+    Path cacheDirectory;
+
+    @Test
+    void findsBranchOfPreviousSession() throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        // test scenario:
+        // 1. Store a closed proof in the cache and close the cache.
+        // 2. Reopen the cache (as in a new session) and search for the pruned root of a copy
+        // of the proof.
+
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithRule.proof"));
+        Proof p = env.getLoadedProof();
+        assertTrue(p.closed());
+        try (PersistentProofCache cache = new PersistentProofCache(cacheDirectory, 16)) {
+            assertTrue(cache.store(p) > 0);
+        }
+        p.dispose();
+
+        KeYEnvironment<DefaultUserInterfaceControl> env2 =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithRule.proof"));
+        Proof p2 = env2.getLoadedProof();
+        p2.pruneProof(p2.root());
+        KeYEnvironment<DefaultUserInterfaceControl> env3 =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithoutRule.proof"));
+        Proof p3 = env3.getLoadedProof();
+        p3.pruneProof(p3.root());
+        try (PersistentProofCache cache = new PersistentProofCache(cacheDirectory, 16)) {
+            ClosedBy c = cache.findCachedProof(p2.root());
+            assertNotNull(c);
+            assertEquals(0, c.node().serialNr());
+            assertTrue(c.proof().closed());
+            // the user-defined rule is not available in the other proof
+            assertNull(cache.findCachedProof(p3.root()));
+        }
+
+        GeneralSettings.noPruningClosed = true;
+        p2.dispose();
+        p3.dispose();
+    }
+
+    @Test
+    void loadsStoredProofWithExecutor() throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithRule.proof"));
+        Proof p = env.getLoadedProof();
+        KeYEnvironment<DefaultUserInterfaceControl> env2 =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithRule.proof"));
+        Proof p2 = env2.getLoadedProof();
+        p2.pruneProof(p2.root());
+
+        // two instances on the same directory, as in two KeY processes
+        try (PersistentProofCache writer = new PersistentProofCache(cacheDirectory, 16);
+                PersistentProofCache reader = new PersistentProofCache(cacheDirectory, 16)) {
+            assertNull(reader.findCachedProof(p2.root()));
+            writer.store(p);
+            List<Runnable> tasks = new ArrayList<>();
+            // the proof is not loaded by the caller, but by the executor (only once)
+            assertNull(reader.findCachedProof(p2.root(), tasks::add));
+            assertNull(reader.findCachedProof(p2.root(), tasks::add));
+            assertEquals(1, tasks.size());
+            tasks.get(0).run();
+            ClosedBy c = reader.findCachedProof(p2.root(), tasks::add);
+            assertNotNull(c);
+            assertEquals(1, tasks.size());
+            assertTrue(c.proof().closed());
+        }
+
+        GeneralSettings.noPruningClosed = true;
+        p.dispose();
+        p2.dispose();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithRule.proof"));
+        Proof p = env.getLoadedProof();
+        KeYEnvironment<DefaultUserInterfaceControl> env2 =
+            KeYEnvironment.load(new File(testCaseDirectory, "proofCaching/proofWithoutRule.proof"));
+        Proof p2 = env2.getLoadedProof();
+
+        try (PersistentProofCache cache = new PersistentProofCache(cacheDirectory, 1)) {
+            cache.store(p);
+            cache.store(p2);
+        }
+        try (var files = Files.list(cacheDirectory)) {
+            // only the proof of the remaining record is kept
+            assertEquals(1, files.filter(x -> x.toString().endsWith(".proof")).count());
+        }
+        p.pruneProof(p.root());
+        try (PersistentProofCache cache = new PersistentProofCache(cacheDirectory, 1)) {
+            assertNull(cache.findCachedProof(p.root()));
+        }
+
+        GeneralSettings.noPruningClosed = true;
+        p.dispose();
+        p2.dispose();
+    }
+}
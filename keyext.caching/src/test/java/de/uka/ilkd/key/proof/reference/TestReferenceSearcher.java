@@ -146,4 +146,46 @@ class TestReferenceSearcher {
         p2.dispose();
         p3.dispose();
     }
+
+    @Test
+    void indexFollowsPruning() throws Exception {
+        GeneralSettings.noPruningClosed = false;
+        // test scenario:
+        // 1. Find a reference for a branch of a proof in a copy of the proof.
+        // 2. Prune the copy. The (now outdated) index must not return a reference anymore.
+
+        KeYEnvironment<DefaultUserInterfaceControl> env =
+            KeYEnvironment.load(new File(testCaseDirectory,
+                "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof"));
+        Proof p = env.getLoadedProof();
+        KeYEnvironment<DefaultUserInterfaceControl> env2 =
+            KeYEnvironment.load(new File(testCaseDirectory,
+                "../../../../../key.ui/examples/heap/verifyThis15_1_RelaxedPrefix/relax.proof"));
+        Proof p2 = env2.getLoadedProof();
+        List<Proof> previousProofs = new CopyOnWriteArrayList<>();
+        previousProofs.add(p2);
+
+        Node n = null;
+        for (Goal g : p.closedGoals()) {
+            Node start = g.node();
+            while (start.parent().childrenCount() == 1) {
+                start = start.parent();
+            }
+            if (ReferenceSearcher.suitableForCloseByReference(start)) {
+                n = start;
+                break;
+            }
+        }
+        assertNotNull(n);
+        ClosedBy c = ReferenceSearcher.findPreviousProof(previousProofs, n);
+        assertNotNull(c);
+        assertEquals(n.serialNr(), c.node().serialNr());
+
+        p2.pruneProof(p2.root());
+        assertNull(ReferenceSearcher.findPreviousProof(previousProofs, n));
+
+        GeneralSettings.noPruningClosed = true;
+        p.dispose();
+        p2.dispose();
+    }
 }
@@ -32,6 +32,9 @@ import org.key_project.proofmanagement.merge.ProofBundleMerger;
  * --explicit (implies --auto) stores automatically found proofs explicitly as files
  * --report generate html report, needs the target filename as parameter
  * --missing check for contracts that have no proof
+ * --threads number of threads used to load and replay the proofs concurrently
+ * --fingerprints replay only proofs affected by changes since the last check, reads and writes
+ * the fingerprints of the proofs from/to the given file
  * checks that are always enabled:
  * - check for duplicate proofs of the same contracts
  * individually and independently trigger different checks
@@ -87,6 +90,9 @@ public final class Main {
         CL_CHECK.addOption("--replay", null, STRINGS.getString("check_replay_desc"));
         // check.addOption("--auto", null, STRINGS.getString("check_auto_desc"));
         // check.addOption("--explicit", null, STRINGS.getString("check_explicit_desc"));
+        CL_CHECK.addOption("--threads", "n", STRINGS.getString("check_threads_desc"));
+        CL_CHECK.addOption("--fingerprints", "file",
+            STRINGS.getString("check_fingerprints_desc"));
         CL_CHECK.addOption("--report", "out_path", STRINGS.getString("check_report_desc"));
 
         CL_MERGE = CL.addSubCommand("merge");
@@ -102,6 +108,9 @@ public final class Main {
         CL_MERGE_CHECK.addOption("--replay", null, STRINGS.getString("check_replay_desc"));
         // CL_MERGE_CHECK.addOption("--auto", null, STRINGS.getString("check_auto_desc"));
         // CL_MERGE_CHECK.addOption("--explicit", null, STRINGS.getString("check_explicit_desc"));
+        CL_MERGE_CHECK.addOption("--threads", "n", STRINGS.getString("check_threads_desc"));
+        CL_MERGE_CHECK.addOption("--fingerprints", "file",
+            STRINGS.getString("check_fingerprints_desc"));
         CL_MERGE_CHECK.addOption("--report", "out_path", STRINGS.getString("check_report_desc"));
 
         // TODO: bundle subcommand
@@ -162,9 +171,45 @@ public final class Main {
      */
     public static void check(boolean missing, boolean settings, boolean replay, boolean dependency,
             Path bundlePath, Path reportPath) {
+        check(missing, settings, replay, dependency, bundlePath, reportPath, 1);
+    }
+
+    /**
+     * The check subcommand applies the selected checks to the proof bundle and generates an HTML
+     * report if desired.
+     *
+     * @param missing checks if there are any unproven contracts in the bundle
+     * @param settings checks if the settings for the proofs are compatible
+     * @param replay checks whether the proofs in the bundle are replayable
+     * @param dependency checks for unsound dependencies between contracts and proofs
+     * @param bundlePath the path of the bundle (directory or zip file)
+     * @param reportPath the output path for the HTML report (if selected)
+     * @param threads the number of threads used to load and replay the proofs
+     */
+    public static void check(boolean missing, boolean settings, boolean replay, boolean dependency,
+            Path bundlePath, Path reportPath, int threads) {
+        check(missing, settings, replay, dependency, bundlePath, reportPath, threads, null);
+    }
+
+    /**
+     * The check subcommand applies the selected checks to the proof bundle and generates an HTML
+     * report if desired.
+     *
+     * @param missing checks if there are any unproven contracts in the bundle
+     * @param settings checks if the settings for the proofs are compatible
+     * @param replay checks whether the proofs in the bundle are replayable
+     * @param dependency checks for unsound dependencies between contracts and proofs
+     * @param bundlePath the path of the bundle (directory or zip file)
+     * @param reportPath the output path for the HTML report (if selected)
+     * @param threads the number of threads used to load and replay the proofs
+     * @param fingerprintPath the file with the fingerprints of the proofs of the last check (if
+     *        selected): only the proofs affected by changes since then are replayed
+     */
+    public static void check(boolean missing, boolean settings, boolean replay, boolean dependency,
+            Path bundlePath, Path reportPath, int threads, Path fingerprintPath) {
 
         // we accumulate results in this variable
-        CheckerData globalResult = new CheckerData(LogLevel.DEBUG);
+        CheckerData globalResult = new CheckerData(LogLevel.DEBUG, threads);
         try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundlePath)) {
 
             globalResult.setPbh(pbh);
@@ -178,6 +223,10 @@ public final class Main {
             if (settings) {
                 new SettingsChecker().check(pbh, globalResult);
             }
+            if (fingerprintPath != null) {
+                // has to run before the replay checker, which would replay all proofs otherwise
+                new ChangeImpactChecker(fingerprintPath).check(pbh, globalResult);
+            }
             if (replay) {
                 new ReplayChecker().check(pbh, globalResult);
             }
@@ -215,8 +264,9 @@ public final class Main {
         }
     }
 
-    // check [--settings] [--dependency] [--missing] [--replay] [--report <out_path>] <bundle_path>
-    private static void check(CommandLine commandLine) {
+    // check [--settings] [--dependency] [--missing] [--replay] [--threads <n>]
+    // [--fingerprints <file>] [--report <out_path>] <bundle_path>
+    private static void check(CommandLine commandLine) throws CommandLineException {
         List<String> arguments = commandLine.getArguments();
         if (arguments.size() != 1) {
             commandLine.printUsage(System.out);
@@ -229,11 +279,17 @@ public final class Main {
             reportPath = Paths.get(outFileName).toAbsolutePath();
         }
 
+        Path fingerprintPath = null;
+        if (commandLine.isSet("--fingerprints")) {
+            String fileName = commandLine.getString("--fingerprints", "");
+            fingerprintPath = Paths.get(fileName).toAbsolutePath();
+        }
+
         String pathStr = arguments.get(0);
         Path bundlePath = Paths.get(pathStr);
         check(commandLine.isSet("--missing"), commandLine.isSet("--settings"),
             commandLine.isSet("--replay"), commandLine.isSet("--dependency"),
-            bundlePath, reportPath);
+            bundlePath, reportPath, commandLine.getInteger("--threads", 1), fingerprintPath);
     }
 
     // merge [--force] [--check "<check_args>"] <bundle1> <bundle2> ... <output>
@@ -0,0 +1,333 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import de.uka.ilkd.key.java.JavaInfo;
+import de.uka.ilkd.key.java.JavaSourceElement;
+import de.uka.ilkd.key.java.abstraction.KeYJavaType;
+import de.uka.ilkd.key.logic.op.IObserverFunction;
+import de.uka.ilkd.key.logic.op.ProgramVariable;
+import de.uka.ilkd.key.proof_references.ProofReferenceUtil;
+import de.uka.ilkd.key.proof_references.reference.IProofReference;
+import de.uka.ilkd.key.speclang.SpecificationElement;
+import de.uka.ilkd.key.util.KeYConstants;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+import org.key_project.util.java.IOUtil;
+
+/**
+ * Replays only the proofs affected by changes of the bundle since the last check.<br>
+ * Algorithm description:
+ * <ul>
+ * <li>read the fingerprints recorded by the last check (if any). The fingerprint of a proof
+ * consists of hashes of
+ * <ul>
+ * <li>the proof file itself,</li>
+ * <li>the source files declaring the types the proof refers to, i.e. the type of its contract
+ * and the types of the methods, fields, contracts, invariants and axioms used in the proof
+ * (computed by {@link ProofReferenceUtil}), including all their subtypes,</li>
+ * <li>the type hierarchy of the bundle (to detect new overriding methods) and</li>
+ * <li>the KeY version</li>
+ * </ul>
+ * </li>
+ * <li>mark all proofs with an unchanged fingerprint as still valid
+ * ({@link CheckerData.ReplayState#UNCHANGED}) with the proof state recorded before</li>
+ * <li>replay all other proofs</li>
+ * <li>record the fingerprints of all still valid and all successfully replayed proofs. Proofs
+ * that could not be replayed are not recorded, hence they are replayed by the next check
+ * again.</li>
+ * </ul>
+ *
+ * <b>Note:</b> Changes of the files of the proof header (e.g. included *.key files) or of
+ * library classes outside the bundle are not detected.
+ */
+public class ChangeImpactChecker implements Checker {
+    /** key of the hash of the type hierarchy of the bundle */
+    private static final String TYPES_KEY = "<types>";
+
+    /** key of the hash of the KeY version */
+    private static final String VERSION_KEY = "<version>";
+
+    /** hash used for files which do not exist (anymore) */
+    private static final String MISSING = "-";
+
+    /** the file the fingerprints are read from and written to */
+    private final Path fingerprintFile;
+
+    /**
+     * data container used to store checker result and share intermediate data
+     * (for example proof AST, dependency graph, ...)
+     */
+    private CheckerData data;
+
+    /** hashes of the bundle files computed during this check, by bundle relative path */
+    private final Map<String, String> fileHashes = new HashMap<>();
+
+    /**
+     * Creates a new ChangeImpactChecker.
+     *
+     * @param fingerprintFile the file the fingerprints of the last check are read from and the
+     *        new ones are written to (created if it does not exist)
+     */
+    public ChangeImpactChecker(Path fingerprintFile) {
+        this.fingerprintFile = fingerprintFile;
+    }
+
+    @Override
+    public void check(ProofBundleHandler pbh, CheckerData checkerData)
+            throws ProofManagementException {
+        this.data = checkerData;
+        data.addCheck("impact");
+        data.print("Running change impact checker ...");
+
+        KeYFacade.ensureProofsLoaded(data);
+
+        Map<String, Fingerprint> recorded = readFingerprints();
+        int unchanged = 0;
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            Fingerprint fingerprint = recorded.get(proofKey(entry));
+            if (entry.replayState == CheckerData.ReplayState.UNKNOWN && fingerprint != null
+                    && fingerprint.hashes.equals(computeHashes(entry,
+                        fingerprint.hashes.keySet()))) {
+                entry.replayState = CheckerData.ReplayState.UNCHANGED;
+                entry.proofState = fingerprint.state;
+                unchanged++;
+                data.print(LogLevel.DEBUG, "Unchanged since last check: " + entry.proof.name());
+            }
+        }
+        data.print(LogLevel.INFO, unchanged + " of " + data.getProofEntries().size()
+            + " proofs are unchanged, replaying the others ...");
+
+        KeYFacade.ensureProofsReplayed(data);
+
+        Map<String, Fingerprint> result = new TreeMap<>();
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            String key = proofKey(entry);
+            if (entry.replayUnchanged()) {
+                result.put(key, recorded.get(key));
+            } else if (entry.replaySuccess()) {
+                result.put(key, new Fingerprint(entry.proofState,
+                    computeHashes(entry, referencedKeys(entry))));
+            }
+        }
+        writeFingerprints(result);
+    }
+
+    /**
+     * Computes the keys of all parts of the bundle the given (replayed) proof depends on.
+     *
+     * @param entry the proof entry
+     * @return the bundle relative paths of the files the proof refers to and the special keys
+     */
+    private Set<String> referencedKeys(CheckerData.ProofEntry entry) {
+        Set<KeYJavaType> types = new LinkedHashSet<>();
+        types.add(entry.contract.getKJT());
+        for (IProofReference<?> reference : ProofReferenceUtil
+                .computeProofReferences(entry.proof)) {
+            Object target = reference.getTarget();
+            if (target instanceof IObserverFunction function) {
+                types.add(function.getContainerType());
+            } else if (target instanceof ProgramVariable variable) {
+                types.add(variable.getContainerType());
+            } else if (target instanceof SpecificationElement element) {
+                types.add(element.getKJT());
+            }
+        }
+        types.remove(null);
+
+        // overriding methods and their specifications are relevant for dynamic dispatch
+        JavaInfo javaInfo = entry.proof.getServices().getJavaInfo();
+        Set<KeYJavaType> withSubtypes = new LinkedHashSet<>(types);
+        for (KeYJavaType type : types) {
+            if (bundleFile(type) != null) {
+                withSubtypes.addAll(javaInfo.getAllSubtypes(type).toList());
+            }
+        }
+
+        Set<String> keys = new TreeSet<>();
+        keys.add(proofKey(entry));
+        keys.add(TYPES_KEY);
+        keys.add(VERSION_KEY);
+        for (KeYJavaType type : withSubtypes) {
+            String file = bundleFile(type);
+            if (file != null) {
+                keys.add(file);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Computes the current hashes of the given keys for a proof.
+     *
+     * @param entry the proof entry
+     * @param keys bundle relative file paths or special keys
+     * @return the hashes by key
+     */
+    private Map<String, String> computeHashes(CheckerData.ProofEntry entry, Set<String> keys)
+            throws ProofManagementException {
+        Map<String, String> result = new TreeMap<>();
+        for (String key : keys) {
+            switch (key) {
+            case TYPES_KEY -> result.put(key, typeHierarchyHash(entry));
+            case VERSION_KEY -> result.put(key, hash(KeYConstants.VERSION));
+            default -> result.put(key, fileHash(key));
+            }
+        }
+        return result;
+    }
+
+    private String fileHash(String relativePath) throws ProofManagementException {
+        String result = fileHashes.get(relativePath);
+        if (result == null) {
+            Path path = data.getPbh().getPath(relativePath);
+            try {
+                result = Files.exists(path) ? IOUtil.sha256(Files.readAllBytes(path)) : MISSING;
+            } catch (IOException e) {
+                throw new ProofManagementException("Could not read " + path
+                    + System.lineSeparator() + e.getMessage());
+            }
+            fileHashes.put(relativePath, result);
+        }
+        return result;
+    }
+
+    /**
+     * Computes a hash of the direct supertypes of all types declared in the bundle, as seen by the
+     * environment of the given proof.
+     */
+    private String typeHierarchyHash(CheckerData.ProofEntry entry) {
+        JavaInfo javaInfo = entry.proof.getServices().getJavaInfo();
+        SortedSet<String> lines = new TreeSet<>();
+        for (KeYJavaType type : javaInfo.getAllKeYJavaTypes()) {
+            if (bundleFile(type) != null) {
+                StringBuilder line = new StringBuilder(type.getFullName()).append(':');
+                for (KeYJavaType sup : javaInfo.getDirectSuperTypes(type)) {
+                    line.append(sup.getFullName()).append(',');
+                }
+                lines.add(line.toString());
+            }
+        }
+        return hash(String.join("\n", lines));
+    }
+
+    /**
+     * Returns the path of the source file declaring the given type, relative to the bundle root.
+     *
+     * @param type the type
+     * @return the relative path, or null if the type is not declared in a file of the bundle
+     */
+    private String bundleFile(KeYJavaType type) {
+        if (!(type.getJavaType() instanceof JavaSourceElement jse)) {
+            return null;
+        }
+        Optional<URI> uri = jse.getPositionInfo().getURI();
+        if (uri.isEmpty() || !"file".equals(uri.get().getScheme())) {
+            return null;
+        }
+        Path path = Paths.get(uri.get()).toAbsolutePath().normalize();
+        ProofBundleHandler pbh = data.getPbh();
+        if (!path.startsWith(pbh.getPath("src").toAbsolutePath().normalize())
+                && !path.startsWith(pbh.getPath("classpath").toAbsolutePath().normalize())) {
+            return null;
+        }
+        return relativePath(path);
+    }
+
+    private String proofKey(CheckerData.ProofEntry entry) {
+        return relativePath(entry.proofFile.toAbsolutePath().normalize());
+    }
+
+    private String relativePath(Path path) {
+        // use the same separator on all platforms, such that fingerprints can be shared
+        StringJoiner result = new StringJoiner("/");
+        for (Path name : data.getPbh().relativize(path)) {
+            result.add(name.toString());
+        }
+        return result.toString();
+    }
+
+    private static String hash(String text) {
+        return IOUtil.sha256(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads the fingerprints. The file consists of a line for each proof with its bundle relative
+     * path and its proof state, each followed by lines (starting with a tab) with the keys and
+     * hashes of the fingerprint.
+     *
+     * @return the fingerprints by the bundle relative path of the proof file
+     * @throws ProofManagementException if the file exists, but can not be read
+     */
+    private Map<String, Fingerprint> readFingerprints() throws ProofManagementException {
+        Map<String, Fingerprint> result = new HashMap<>();
+        if (!Files.exists(fingerprintFile)) {
+            data.print(LogLevel.INFO, "No fingerprints found at " + fingerprintFile
+                + ", all proofs are replayed.");
+            return result;
+        }
+        try (BufferedReader reader =
+            Files.newBufferedReader(fingerprintFile, StandardCharsets.UTF_8)) {
+            Fingerprint current = null;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (line.startsWith("\t") && parts.length == 3 && current != null) {
+                    current.hashes.put(parts[1], parts[2]);
+                } else if (!line.startsWith("\t") && parts.length == 2) {
+                    current = new Fingerprint(CheckerData.ProofState.valueOf(parts[1]),
+                        new TreeMap<>());
+                    result.put(parts[0], current);
+                } else if (!line.isBlank()) {
+                    throw new IOException("Malformed line: " + line);
+                }
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ProofManagementException("Could not read fingerprints from "
+                + fingerprintFile + System.lineSeparator() + e.getMessage());
+        }
+        return result;
+    }
+
+    private void writeFingerprints(Map<String, Fingerprint> fingerprints)
+            throws ProofManagementException {
+        try (BufferedWriter writer =
+            Files.newBufferedWriter(fingerprintFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Fingerprint> e : fingerprints.entrySet()) {
+                writer.write(e.getKey() + "\t" + e.getValue().state.name());
+                writer.newLine();
+                for (Map.Entry<String, String> h : e.getValue().hashes.entrySet()) {
+                    writer.write("\t" + h.getKey() + "\t" + h.getValue());
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new ProofManagementException("Could not write fingerprints to "
+                + fingerprintFile + System.lineSeparator() + e.getMessage());
+        }
+        data.print(LogLevel.INFO, "Fingerprints of " + fingerprints.size()
+            + " proofs written to " + fingerprintFile);
+    }
+
+    /**
+     * The recorded state of a proof together with the hashes of the parts of the bundle the proof
+     * depends on.
+     *
+     * @param state the proof state after the last replay
+     * @param hashes the hashes by bundle relative file path or special key
+     */
+    private record Fingerprint(CheckerData.ProofState state, Map<String, String> hashes) {
+    }
+}
@@ -38,7 +38,18 @@ import org.key_project.proofmanagement.io.ProofBundleHandler;
 public final class CheckerData implements Logger {
 
     public CheckerData(LogLevel minLogLevel) {
+        this(minLogLevel, 1);
+    }
+
+    /**
+     * Creates a new CheckerData object.
+     *
+     * @param minLogLevel all messages with a smaller LogLevel will be suppressed
+     * @param threads the number of threads used to load and replay proofs
+     */
+    public CheckerData(LogLevel minLogLevel, int threads) {
         this.minLogLevel = minLogLevel;
+        this.threads = Math.max(1, threads);
     }
 
     public String getCheckDate() {
@@ -55,6 +66,9 @@ public final class CheckerData implements Logger {
 
     private final List<String> messages = new ArrayList<>();
 
+    /** the number of threads used to load and replay proofs */
+    private final int threads;
+
     // TODO: side effects: may be changed by checkers (e.g. remove paths of taclet proofs)
     private List<Path> proofPaths;
 
@@ -199,6 +213,7 @@ public final class CheckerData implements Logger {
     public enum ReplayState {
         ERROR("\u2718"), // cross/xmark
         UNKNOWN("?"),
+        UNCHANGED("="), // not replayed, since nothing the proof refers to has changed
         SUCCESS("\u2714"); // checkmark
 
         private final String shortStr;
@@ -275,6 +290,10 @@ public final class CheckerData implements Logger {
             return replayState == ReplayState.SUCCESS;
         }
 
+        public boolean replayUnchanged() {
+            return replayState == ReplayState.UNCHANGED;
+        }
+
         public Path proofFile;
         public KeYUserProblemFile envInput;
         public ProblemInitializer problemInitializer;
@@ -286,6 +305,11 @@ public final class CheckerData implements Logger {
         public IntermediatePresentationProofFileParser.Result parseResult;
         public AbstractProblemLoader.ReplayResult replayResult;
 
+        /** time (in ms) needed to load the proof, or -1 if it has not been loaded */
+        public long loadingTime = -1;
+        /** time (in ms) needed to replay the proof, or -1 if it has not been replayed */
+        public long replayTime = -1;
+
         public Integer settingsId() {
             return choices2Id.get(proof.getSettings().getChoiceSettings().getDefaultChoices());
         }
@@ -320,7 +344,7 @@ public final class CheckerData implements Logger {
     }
 
     @Override
-    public void print(LogLevel level, String message) {
+    public synchronized void print(LogLevel level, String message) {
         // suppress message if level is smaller than current log level
         if (level.compareTo(minLogLevel) >= 0) {
             // for multiline strings, every line should have correct prefix
@@ -336,6 +360,10 @@ public final class CheckerData implements Logger {
         return messages;
     }
 
+    public int getThreads() {
+        return threads;
+    }
+
     public PathNode getFileTree() {
         return fileTree;
     }
@@ -421,7 +449,8 @@ public final class CheckerData implements Logger {
             globalState = GlobalState.UNKNOWN; // unknown
         } else if (srcLoadingState == LoadingState.SUCCESS
                 && proofLoadingState == LoadingState.SUCCESS
-                && replayState == ReplayState.SUCCESS
+                && (replayState == ReplayState.SUCCESS
+                        || replayState == ReplayState.UNCHANGED)
                 && settingsState == SettingsState.CONSISTENT
                 && depState == DependencyState.OK
                 && contractsWithoutProof.isEmpty()
@@ -148,7 +148,7 @@ public class DependencyChecker implements Checker {
         // have dependencies left unproven
         for (CheckerData.ProofEntry entry : data.getProofEntries()) {
             if (entry.dependencyState == CheckerData.DependencyState.UNKNOWN
-                    && entry.replayState == CheckerData.ReplayState.SUCCESS) {
+                    && (entry.replaySuccess() || entry.replayUnchanged())) {
                 entry.dependencyState = CheckerData.DependencyState.UNPROVEN_DEP;
                 data.print(LogLevel.WARNING, "Unproven dependencies found for proof "
                     + entry.proof.name());
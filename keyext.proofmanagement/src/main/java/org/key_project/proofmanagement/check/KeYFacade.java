@@ -3,13 +3,25 @@
  * SPDX-License-Identifier: GPL-2.0-only */
 package org.key_project.proofmanagement.check;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import de.uka.ilkd.key.control.DefaultUserInterfaceControl;
@@ -74,35 +86,130 @@ public final class KeYFacade {
      * Ensures that the given proof files are loaded and the ASTs are stored inside the
      * CheckerData object. Does not replay the proofs! Proofs that already have been loaded
      * are not reloaded.
+     * <p>
+     * If {@link CheckerData#getThreads()} is greater than one, the proofs are loaded concurrently:
+     * proofs with identical problem headers (sources, includes and settings) are loaded into a
+     * shared environment, such that the Java model and the taclet base are read only once for
+     * them, and the environments are set up in isolation from each other. Otherwise, every proof
+     * is loaded into an environment of its own, one after another.
+     * </p>
      *
      * @param data the CheckerData object to store the result
      * @throws ProofManagementException
      */
     public static void ensureProofsLoaded(CheckerData data) throws ProofManagementException {
         List<Path> proofPaths = data.getProofPaths();
-        try {
-            // for each proof: parse and construct intermediate AST
-            Iterator<Path> iterator = proofPaths.iterator();
-            // for (Path proofPath : proofPaths) {
-            while (iterator.hasNext()) {
-                Path proofPath = iterator.next();
-                CheckerData.ProofEntry line = ensureProofEntryExists(proofPath, data);
-                // only load every line once
-                if (line.loadingState == CheckerData.LoadingState.UNKNOWN) {
-                    if (!loadProofTree(proofPath, line, data)) {
-                        // remove invalid line (e.g. from taclet proof)
-                        data.getProofEntries().remove(line);
-                        // TODO: code quality (hidden side effect):
-                        // modifies given list of paths to check
-                        iterator.remove();
+
+        // only load every line once
+        List<CheckerData.ProofEntry> toLoad = new ArrayList<>();
+        for (Path proofPath : proofPaths) {
+            CheckerData.ProofEntry line = ensureProofEntryExists(proofPath, data);
+            if (line.loadingState == CheckerData.LoadingState.UNKNOWN) {
+                line.proofFile = proofPath;
+                toLoad.add(line);
+            }
+        }
+
+        final boolean isolated = data.getThreads() > 1;
+        Set<CheckerData.ProofEntry> ignored = ConcurrentHashMap.newKeySet();
+        List<Task> tasks = new ArrayList<>();
+        for (List<CheckerData.ProofEntry> group : groupByEnvironment(toLoad, data)) {
+            tasks.add(() -> {
+                Environment env = new Environment(isolated);
+                for (CheckerData.ProofEntry line : group) {
+                    try {
+                        long start = System.currentTimeMillis();
+                        if (!loadProofTree(line.proofFile, line, env, data)) {
+                            ignored.add(line);
+                        }
+                        line.loadingTime = System.currentTimeMillis() - start;
+                    } catch (Exception e) {
+                        // TODO: exception handling: better not throw exceptions, but print to log
+                        // and continue
+                        throw new ProofManagementException(
+                            "Could not load proof! " + System.lineSeparator() + e);
                     }
                 }
+            });
+        }
+        runTasks(tasks, data.getThreads());
+
+        for (CheckerData.ProofEntry line : ignored) {
+            // remove invalid line (e.g. from taclet proof)
+            data.getProofEntries().remove(line);
+            // TODO: code quality (hidden side effect):
+            // modifies given list of paths to check
+            proofPaths.remove(line.proofFile);
+        }
+    }
+
+    /**
+     * Groups the given proofs by their environment: proofs of the same group have identical
+     * problem headers and are loaded into one shared environment. To keep all threads busy, the
+     * groups are split into chunks of at most {@code ceil(#proofs / #threads)} proofs. With a
+     * single thread, every proof gets a group of its own.
+     *
+     * @param lines the proofs to group
+     * @param data the CheckerData object (used for logging and the number of threads)
+     * @return the groups, each to be loaded into its own environment
+     */
+    static List<List<CheckerData.ProofEntry>> groupByEnvironment(
+            List<CheckerData.ProofEntry> lines, CheckerData data) {
+        final int threads = data.getThreads();
+        Map<String, List<CheckerData.ProofEntry>> groups = new LinkedHashMap<>();
+        List<List<CheckerData.ProofEntry>> result = new ArrayList<>();
+        for (CheckerData.ProofEntry line : lines) {
+            String key = threads > 1 ? environmentKey(line.proofFile) : null;
+            if (key == null) {
+                // the proof needs an environment of its own
+                result.add(List.of(line));
+            } else {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(line);
             }
-        } catch (Exception e) {
-            // TODO: exception handling: better not throw exceptions, but print to log and continue
-            throw new ProofManagementException(
-                "Could not load proof! " + System.lineSeparator() + e);
         }
+
+        final int chunkSize = Math.max(1, (lines.size() + threads - 1) / threads);
+        for (List<CheckerData.ProofEntry> group : groups.values()) {
+            for (int i = 0; i < group.size(); i += chunkSize) {
+                result.add(group.subList(i, Math.min(group.size(), i + chunkSize)));
+            }
+        }
+        if (!lines.isEmpty()) {
+            data.print(LogLevel.DEBUG, "Loading " + lines.size() + " proofs into " + result.size()
+                + " environments using " + threads + " thread(s) ...");
+        }
+        return result;
+    }
+
+    /**
+     * Computes the key of the environment a proof can be loaded into, consisting of its
+     * directory (relative paths in the header are resolved against it) and the textual header in
+     * front of the proof obligation.
+     *
+     * @param path the path of the proof file
+     * @return the key or null, if the proof can not share its environment (e.g., because the
+     *         file itself is the proof obligation)
+     */
+    private static String environmentKey(Path path) {
+        StringBuilder key = new StringBuilder();
+        key.append(path.toAbsolutePath().getParent()).append('\n');
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String l;
+            while ((l = reader.readLine()) != null) {
+                String trimmed = l.trim();
+                if (trimmed.startsWith("\\proofObligation")
+                        || trimmed.startsWith("\\chooseContract")) {
+                    return key.toString();
+                } else if (trimmed.startsWith("\\problem") || trimmed.startsWith("\\proof")) {
+                    return null;
+                }
+                key.append(l).append('\n');
+            }
+        } catch (IOException e) {
+            // loading will report the problem
+            return null;
+        }
+        return null;
     }
 
     private static CheckerData.ProofEntry ensureProofEntryExists(Path proofPath, CheckerData data) {
@@ -123,12 +230,16 @@ public final class KeYFacade {
         return null;
     }
 
-    private static boolean loadProofTree(Path path, CheckerData.ProofEntry line, Logger logger)
-            throws Exception {
+    private static boolean loadProofTree(Path path, CheckerData.ProofEntry line, Environment env,
+            Logger logger) throws Exception {
 
         logger.print(LogLevel.DEBUG, "Loading proof from " + path);
         line.proofFile = path;
-        Proof[] proofs = loadProofFile(path, line);
+        Proof[] proofs;
+        synchronized (Environment.class) {
+            // setting up environments and proof obligations touches global state
+            proofs = loadProofFile(path, line, env);
+        }
 
         // TODO: ignore taclet proofs
         if (proofs == null || proofs.length == 0) {
@@ -155,34 +266,43 @@ public final class KeYFacade {
         return true;
     }
 
-    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line)
+    private static Proof[] loadProofFile(Path path, CheckerData.ProofEntry line, Environment env)
             throws Exception {
-        Profile profile = AbstractProfile.getDefaultProfile();
-
-        // TODO: FileRepo/InitConfig/ProblemInitializer reuse possible?
-        FileRepo fileRepo = new TrivialFileRepo();
-        fileRepo.setBaseDir(path);
-
         ProgressMonitor control = ProgressMonitor.Empty.getInstance();
 
+        if (env.initConfig == null) {
+            // TODO: FileRepo reuse possible?
+            env.fileRepo = new TrivialFileRepo();
+            env.fileRepo.setBaseDir(path);
+        }
+
         /////////////////// comparison to AbstractProblemLoader load
         /////////////////// createEnvInput
         KeYUserProblemFile keyFile = new KeYUserProblemFile(path.getFileName().toString(),
-            path.toFile(), fileRepo, control, profile, false);
+            path.toFile(), env.fileRepo, control, AbstractProfile.getDefaultProfile(), false);
         line.envInput = keyFile; // store in CheckerData for later use (e.g. in ReplayChecker)
 
-        /////////////////// createEnvInput
-        // TODO: do we need this?
-        profile = keyFile.getProfile() == null ? profile : keyFile.getProfile();
+        if (env.initConfig == null) {
+            /////////////////// createEnvInput
+            // TODO: do we need this?
+            Profile profile = keyFile.getProfile() == null ? AbstractProfile.getDefaultProfile()
+                    : keyFile.getProfile();
+            profile = env.profile(profile);
 
-        ProblemInitializer pi = new ProblemInitializer(control, new Services(profile),
-            new DefaultUserInterfaceControl());
-        pi.setFileRepo(fileRepo);
-        line.problemInitializer = pi;
+            env.problemInitializer = new ProblemInitializer(control, new Services(profile),
+                new DefaultUserInterfaceControl());
+            env.problemInitializer.setFileRepo(env.fileRepo);
 
-        ///////////////////
-        InitConfig initConfig = pi.prepare(keyFile);
-        initConfig.setFileRepo(fileRepo);
+            ///////////////////
+            env.initConfig = env.problemInitializer.prepare(keyFile);
+            env.initConfig.setFileRepo(env.fileRepo);
+        } else {
+            // the declarations of the file are already part of the shared environment
+            keyFile.setInitConfig(env.initConfig);
+        }
+        ProblemInitializer pi = env.problemInitializer;
+        InitConfig initConfig = env.initConfig;
+        line.problemInitializer = pi;
 
         /////////////////// createProofObligationContainer
         var proofObligation = keyFile.getProofObligation();
@@ -290,6 +410,11 @@ public final class KeYFacade {
      * stored
      * inside the given CheckerData object. Proofs for which a replay has already been tried are not
      * replayed again.
+     * <p>
+     * Proofs of different environments (see {@link #ensureProofsLoaded(CheckerData)}) are
+     * replayed concurrently using {@link CheckerData#getThreads()} threads, proofs sharing an
+     * environment are replayed one after another.
+     * </p>
      *
      * @param data the CheckerData object to store the result
      * @throws ProofManagementException
@@ -298,15 +423,27 @@ public final class KeYFacade {
         List<Path> proofPaths = data.getProofPaths();
         ensureProofsLoaded(data);
 
+        Map<ProblemInitializer, List<CheckerData.ProofEntry>> groups = new LinkedHashMap<>();
         for (CheckerData.ProofEntry line : data.getProofEntries()) {
             // skip replay for proofs if not requested
-            if (proofPaths.contains(line.proofFile)) {
-                // skip proofs that have already been replayed
-                if (line.replayState == CheckerData.ReplayState.UNKNOWN) {
+            // skip proofs that have already been replayed
+            if (proofPaths.contains(line.proofFile) && line.proof != null
+                    && line.replayState == CheckerData.ReplayState.UNKNOWN) {
+                groups.computeIfAbsent(line.problemInitializer, k -> new ArrayList<>()).add(line);
+            }
+        }
+
+        final int total = groups.values().stream().mapToInt(List::size).sum();
+        final AtomicInteger replayed = new AtomicInteger();
+        List<Task> tasks = new ArrayList<>();
+        for (List<CheckerData.ProofEntry> group : groups.values()) {
+            tasks.add(() -> {
+                for (CheckerData.ProofEntry line : group) {
                     Proof proof = line.proof;
                     EnvInput envInput = line.envInput;
-
-                    if (proof != null) {
+                    long start = System.currentTimeMillis();
+                    // the one step simplifier belongs to the profile, which may be shared
+                    synchronized (proof.getInitConfig().getProfile()) {
                         OneStepSimplifier.refreshOSS(proof);
                         try {
                             // store result in CheckerData
@@ -317,9 +454,13 @@ public final class KeYFacade {
                                     + System.lineSeparator() + e);
                         }
                     }
+                    line.replayTime = System.currentTimeMillis() - start;
+                    data.print(LogLevel.INFO, "[" + replayed.incrementAndGet() + "/" + total
+                        + "] Replay of " + proof.name() + " took " + line.replayTime + " ms");
                 }
-            }
+            });
         }
+        runTasks(tasks, data.getThreads());
     }
 
     private static ReplayResult replayProof(CheckerData.ProofEntry line, EnvInput envInput,
@@ -451,4 +592,90 @@ public final class KeYFacade {
                 + System.lineSeparator() + e.getMessage());
         }
     }
+
+    /**
+     * A unit of work of a checker which may be executed concurrently to other tasks.
+     */
+    @FunctionalInterface
+    private interface Task {
+        void run() throws ProofManagementException;
+    }
+
+    /**
+     * Runs the given tasks using at most the given number of threads. With a single thread, the
+     * tasks are run one after another in the calling thread.
+     *
+     * @param tasks the tasks to run
+     * @param threads the maximum number of threads
+     * @throws ProofManagementException the exception of the first failed task (in the order of
+     *         the given list), after all tasks have been finished or cancelled
+     */
+    private static void runTasks(List<Task> tasks, int threads) throws ProofManagementException {
+        if (threads <= 1 || tasks.size() <= 1) {
+            for (Task task : tasks) {
+                task.run();
+            }
+            return;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()));
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Task task : tasks) {
+                futures.add(executor.submit(() -> {
+                    task.run();
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof ProofManagementException pme) {
+                        throw pme;
+                    }
+                    throw new ProofManagementException(e.getCause().toString());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ProofManagementException("Interrupted while checking proofs!");
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * The environment (Java model, taclet base, specifications) shared by proofs with identical
+     * problem headers.
+     */
+    private static final class Environment {
+        /** whether the environment has to be isolated from concurrently used environments */
+        private final boolean isolated;
+
+        private FileRepo fileRepo;
+        private ProblemInitializer problemInitializer;
+        private InitConfig initConfig;
+
+        private Environment(boolean isolated) {
+            this.isolated = isolated;
+        }
+
+        /**
+         * Returns the profile to use for this environment. As the {@link OneStepSimplifier} is
+         * part of the profile, isolated environments get a fresh instance of the
+         * {@link JavaProfile}. Other profiles are shared and their users are synchronized on the
+         * profile.
+         *
+         * @param profile the profile of the proof file
+         * @return the profile to use
+         */
+        private Profile profile(Profile profile) {
+            if (isolated && profile.getClass() == JavaProfile.class
+                    && !((JavaProfile) profile).withPermissions()) {
+                return new JavaProfile();
+            }
+            return profile;
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestChangeImpactChecker {
+    @TempDir
+    Path tempDir;
+
+    private Path bundle;
+
+    private Path fingerprints;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        bundle = TestKeYFacade.copyBundle(tempDir.resolve("bundle"));
+        // a type not referenced by the proofs
+        Files.writeString(bundle.resolve("src/Other.java"), "public class Other {}\n");
+        fingerprints = tempDir.resolve("fingerprints.txt");
+    }
+
+    @Test
+    void writesAndReadsFingerprints() throws Exception {
+        CheckerData data = check();
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            assertTrue(entry.replaySuccess());
+        }
+        List<String> written = Files.readAllLines(fingerprints);
+        assertTrue(written.contains("a.proof\tCLOSED"));
+        assertTrue(written.contains("b.proof\tCLOSED"));
+        assertTrue(written.stream().anyMatch(l -> l.startsWith("\tsrc/MultipleRecursion.java\t")));
+        assertTrue(written.stream().anyMatch(l -> l.startsWith("\t<types>\t")));
+        assertTrue(written.stream().anyMatch(l -> l.startsWith("\t<version>\t")));
+        assertTrue(written.stream().noneMatch(l -> l.startsWith("\tsrc/Other.java\t")));
+
+        // nothing has changed: no replay, the recorded state is restored and kept
+        data = check();
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            assertTrue(entry.replayUnchanged());
+            assertEquals(CheckerData.ProofState.CLOSED, entry.proofState);
+        }
+        assertEquals(written, Files.readAllLines(fingerprints));
+    }
+
+    @Test
+    void rejectsMalformedFingerprints() throws Exception {
+        Files.writeString(fingerprints, "a.proof\tCLOSED\tsomething else\n");
+        assertThrows(ProofManagementException.class, this::check);
+    }
+
+    @Test
+    void replaysProofsReferringToChangedFile() throws Exception {
+        check();
+        append(bundle.resolve("src/Other.java"), "// unreferenced change\n");
+        assertReplayed(check(), false, false);
+        append(bundle.resolve("src/MultipleRecursion.java"), "// referenced change\n");
+        assertReplayed(check(), true, true);
+    }
+
+    @Test
+    void replaysProofsOnChangedTypeHierarchy() throws Exception {
+        check();
+        Files.writeString(bundle.resolve("src/Other.java"),
+            "public class Other extends MultipleRecursion {}\n");
+        assertReplayed(check(), true, true);
+    }
+
+    @Test
+    void replaysChangedProofFile() throws Exception {
+        check();
+        append(bundle.resolve("a.proof"), "\n");
+        assertReplayed(check(), true, false);
+        // the new fingerprint has been recorded
+        assertReplayed(check(), false, false);
+    }
+
+    private CheckerData check() throws Exception {
+        CheckerData data = new CheckerData(LogLevel.DEBUG);
+        try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundle)) {
+            data.setPbh(pbh);
+            new ChangeImpactChecker(fingerprints).check(pbh, data);
+        }
+        return data;
+    }
+
+    private static void assertReplayed(CheckerData data, boolean a, boolean b) {
+        assertEquals(a, !TestKeYFacade.entry(data, "a.proof").replayUnchanged());
+        assertEquals(b, !TestKeYFacade.entry(data, "b.proof").replayUnchanged());
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+}
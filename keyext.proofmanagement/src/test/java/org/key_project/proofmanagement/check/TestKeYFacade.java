@@ -0,0 +1,145 @@
+/* This file is part of KeY - https://key-project.org
+ * KeY is licensed under the GNU General Public License Version 2
+ * SPDX-License-Identifier: GPL-2.0-only */
+package org.key_project.proofmanagement.check;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.key_project.proofmanagement.io.LogLevel;
+import org.key_project.proofmanagement.io.ProofBundleHandler;
+import org.key_project.util.helper.FindResources;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TestKeYFacade {
+    /** bundle with two closed proofs sharing their problem header */
+    static final Path BUNDLE =
+        new File(FindResources.getTestCasesDirectory(), "multipleRecursion").toPath();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void groupsProofsOnlyWhenLoadingConcurrently() throws IOException {
+        Path a = writeProof("a.proof", "\\javaSource \"src\";\n\\proofObligation {}\n");
+        Path b = writeProof("b.proof", "\\javaSource \"src\";\n\\proofObligation {}\n");
+        Path c = writeProof("c.proof", "\\javaSource \"other\";\n\\proofObligation {}\n");
+        Path d = writeProof("d.proof", "\\problem { true }\n");
+        Path e = writeProof("e.proof", "\\javaSource \"src\";\n\\proofObligation {}\n");
+
+        // a single thread loads every proof into an environment of its own
+        CheckerData data = new CheckerData(LogLevel.ERROR, 1);
+        List<CheckerData.ProofEntry> lines = entries(data, a, b, c, d, e);
+        assertEquals(List.of(List.of(lines.get(0)), List.of(lines.get(1)),
+            List.of(lines.get(2)), List.of(lines.get(3)), List.of(lines.get(4))),
+            KeYFacade.groupByEnvironment(lines, data));
+
+        // proofs with identical headers share an environment, a \problem needs its own
+        data = new CheckerData(LogLevel.ERROR, 2);
+        lines = entries(data, a, b, c, d, e);
+        assertEquals(List.of(List.of(lines.get(3)), List.of(lines.get(0), lines.get(1),
+            lines.get(4)), List.of(lines.get(2))), KeYFacade.groupByEnvironment(lines, data));
+
+        // groups are split to keep all threads busy
+        data = new CheckerData(LogLevel.ERROR, 5);
+        lines = entries(data, a, b, c, d, e);
+        assertEquals(List.of(List.of(lines.get(3)), List.of(lines.get(0)), List.of(lines.get(1)),
+            List.of(lines.get(4)), List.of(lines.get(2))),
+            KeYFacade.groupByEnvironment(lines, data));
+    }
+
+    @Test
+    void replaysSequentially() throws Exception {
+        CheckerData data = replay(BUNDLE, 1);
+        assertEquals(2, data.getProofEntries().size());
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            assertTrue(entry.replaySuccess());
+            assertEquals(CheckerData.ProofState.CLOSED, entry.proofState);
+        }
+        assertNotSame(entry(data, "a.proof").problemInitializer,
+            entry(data, "b.proof").problemInitializer);
+    }
+
+    @Test
+    void replaysConcurrently() throws Exception {
+        Path bundle = copyBundle(tempDir.resolve("bundle"));
+        Files.copy(bundle.resolve("a.proof"), bundle.resolve("c.proof"));
+
+        // three proofs with the same header on two threads: two of them share an environment
+        CheckerData data = replay(bundle, 2);
+        assertEquals(3, data.getProofEntries().size());
+        for (CheckerData.ProofEntry entry : data.getProofEntries()) {
+            assertTrue(entry.replaySuccess());
+            assertEquals(CheckerData.ProofState.CLOSED, entry.proofState);
+            assertTrue(entry.replayTime >= 0);
+        }
+        assertEquals(2, data.getProofEntries().stream().map(p -> p.problemInitializer)
+                .distinct().count());
+    }
+
+    /**
+     * Loads and replays all proofs of the given bundle.
+     *
+     * @param bundle the bundle directory
+     * @param threads the number of threads to use
+     * @return the results
+     */
+    static CheckerData replay(Path bundle, int threads) throws Exception {
+        CheckerData data = new CheckerData(LogLevel.DEBUG, threads);
+        try (ProofBundleHandler pbh = ProofBundleHandler.createBundleHandler(bundle)) {
+            data.setPbh(pbh);
+            KeYFacade.ensureProofsReplayed(data);
+        }
+        return data;
+    }
+
+    /**
+     * Copies the test bundle to the given directory.
+     *
+     * @param target the directory to create
+     * @return the target directory
+     */
+    static Path copyBundle(Path target) throws IOException {
+        List<Path> files;
+        try (var stream = Files.walk(BUNDLE)) {
+            files = stream.toList();
+        }
+        for (Path file : files) {
+            Path copy = target.resolve(BUNDLE.relativize(file).toString());
+            if (Files.isDirectory(file)) {
+                Files.createDirectories(copy);
+            } else {
+                Files.copy(file, copy);
+            }
+        }
+        return target;
+    }
+
+    static CheckerData.ProofEntry entry(CheckerData data, String fileName) {
+        return data.getProofEntries().stream()
+                .filter(p -> p.proofFile.getFileName().toString().equals(fileName))
+                .findFirst().orElseThrow();
+    }
+
+    private Path writeProof(String name, String content) throws IOException {
+        return Files.writeString(tempDir.resolve(name), content);
+    }
+
+    private static List<CheckerData.ProofEntry> entries(CheckerData data, Path... proofFiles) {
+        List<CheckerData.ProofEntry> result = new ArrayList<>();
+        for (Path proofFile : proofFiles) {
+            CheckerData.ProofEntry line = data.new ProofEntry();
+            line.proofFile = proofFile;
+            result.add(line);
+        }
+        return result;
+    }
+}
@@ -65,7 +65,7 @@ public class TGWorker extends SwingWorker<Void, Void> implements InterruptListen
         cancel(true);
         tgInfoDialog.getLogger().writeln("\nStopping test case generation.");
         stop = true;
-        testGenerator.stopSMTLauncher();
+        testGenerator.stopModelGeneration();
     }
 
     private KeYMediator getMediator() {